@@ -0,0 +1,146 @@
+package org.pertitrack.backend.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+// Sends cache evictions to the other nodes with pg_notify when the transaction commits
+@Component
+public class CacheInvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    // NOTIFY payloads must stay below 8000 bytes
+    static final int MAX_PAYLOAD_LENGTH = 7500;
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<Consumer<InvalidationEvent>> handlers = new CopyOnWriteArrayList<>();
+
+    public CacheInvalidationBus(JdbcTemplate jdbcTemplate,
+                                @Value("${app.cache.invalidation.enabled:false}") boolean enabled,
+                                @Value("${app.cache.invalidation.channel:pertitrack_invalidation}") String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid invalidation channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.channel = channel;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String channel() {
+        return channel;
+    }
+
+    // Handlers evict locally and must not publish again
+    public void subscribe(Consumer<InvalidationEvent> handler) {
+        handlers.add(handler);
+    }
+
+    // Sent with the commit of the surrounding transaction, or at once outside of one
+    public void publish(InvalidationEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(event));
+            return;
+        }
+        // synchronizations are suspended with their transaction, so an inner REQUIRES_NEW
+        // transaction gets a batch of its own
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingEvents pending && pending.bus() == this) {
+                pending.events.add(event);
+                return;
+            }
+        }
+        PendingEvents pending = new PendingEvents();
+        pending.events.add(event);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    // A NOTIFY payload: the sending node's id, then one encoded event per line
+    public void deliver(String payload) {
+        int newline = payload.indexOf('\n');
+        if (newline < 0 || payload.substring(0, newline).equals(nodeId)) {
+            return;
+        }
+        for (String line : payload.substring(newline + 1).split("\n")) {
+            try {
+                dispatch(InvalidationEvent.decode(line));
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring invalidation event '{}'", line, e);
+            }
+        }
+    }
+
+    // Notifications sent while this node was not listening are lost; drop everything instead
+    public void resync() {
+        dispatch(InvalidationEvent.all());
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (Consumer<InvalidationEvent> handler : handlers) {
+            try {
+                handler.accept(event);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation {} failed", event, e);
+            }
+        }
+    }
+
+    private void send(Collection<InvalidationEvent> events) {
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (InvalidationEvent event : events) {
+            String line = event.encode();
+            if (payload.length() + 1 + line.length() > MAX_PAYLOAD_LENGTH) {
+                notify(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(line);
+        }
+        notify(payload.toString());
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> {
+        }, channel, payload);
+    }
+
+    // The events of one transaction, deduplicated and sent in as few notifications as possible
+    private final class PendingEvents implements TransactionSynchronization {
+        private final Set<InvalidationEvent> events = new LinkedHashSet<>();
+
+        private CacheInvalidationBus bus() {
+            return CacheInvalidationBus.this;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            send(events);
+        }
+    }
+
+}
@@ -0,0 +1,17 @@
+package org.pertitrack.backend.cluster;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Id of this process among the nodes sharing the database, new on every start
+@Component
+public class ClusterNode {
+
+    private final String id = UUID.randomUUID().toString();
+
+    public String id() {
+        return id;
+    }
+
+}
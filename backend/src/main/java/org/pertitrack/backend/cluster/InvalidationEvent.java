@@ -0,0 +1,60 @@
+package org.pertitrack.backend.cluster;
+
+import java.time.LocalDate;
+
+// A change another node has to evict from its caches, encoded as one line of a NOTIFY payload
+public record InvalidationEvent(Type type, String id, LocalDate date) {
+
+    public enum Type {
+        // one employee's day: time records and daily summary
+        DAY,
+        // a user account: password, roles, employee link
+        USER,
+        // an employee record or its user link
+        EMPLOYEE,
+        // an employee's work schedules or absences
+        TARGET_TIME,
+        // everything; delivered locally after notifications may have been missed
+        ALL
+    }
+
+    private static final char SEPARATOR = '|';
+
+    public static InvalidationEvent day(String employeeId, LocalDate date) {
+        return new InvalidationEvent(Type.DAY, employeeId, date);
+    }
+
+    public static InvalidationEvent user(String userId) {
+        return new InvalidationEvent(Type.USER, userId, null);
+    }
+
+    public static InvalidationEvent employee(String employeeId) {
+        return new InvalidationEvent(Type.EMPLOYEE, employeeId, null);
+    }
+
+    public static InvalidationEvent targetTime(String employeeId) {
+        return new InvalidationEvent(Type.TARGET_TIME, employeeId, null);
+    }
+
+    public static InvalidationEvent all() {
+        return new InvalidationEvent(Type.ALL, null, null);
+    }
+
+    public String encode() {
+        return type.name() + SEPARATOR + (id != null ? id : "") + SEPARATOR + (date != null ? date : "");
+    }
+
+    public static InvalidationEvent decode(String line) {
+        int first = line.indexOf(SEPARATOR);
+        int second = line.indexOf(SEPARATOR, first + 1);
+        if (first < 0 || second < 0) {
+            throw new IllegalArgumentException("Malformed invalidation event: " + line);
+        }
+        String id = line.substring(first + 1, second);
+        String date = line.substring(second + 1);
+        return new InvalidationEvent(Type.valueOf(line.substring(0, first)),
+                id.isEmpty() ? null : id,
+                date.isEmpty() ? null : LocalDate.parse(date));
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.pertitrack.backend.cluster;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Receives the other nodes' invalidation events on a dedicated LISTEN connection
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.enabled", havingValue = "true")
+public class PostgresInvalidationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresInvalidationListener.class);
+
+    private final CacheInvalidationBus bus;
+    private final DataSourceProperties dataSourceProperties;
+    private final int pollMillis;
+    private final Duration reconnectDelay;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public PostgresInvalidationListener(CacheInvalidationBus bus,
+                                        DataSourceProperties dataSourceProperties,
+                                        @Value("${app.cache.invalidation.poll-interval:PT0.5S}") Duration pollInterval,
+                                        @Value("${app.cache.invalidation.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.bus = bus;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollMillis = (int) pollInterval.toMillis();
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("cache-invalidation-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + bus.channel());
+                }
+                if (connectedBefore) {
+                    bus.resync();
+                }
+                connectedBefore = true;
+                log.info("Listening for cache invalidations on channel {}", bus.channel());
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            bus.deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Cache invalidation listener lost its connection, reconnecting in {}", reconnectDelay, e);
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+package org.pertitrack.backend.cluster;
+
+import org.pertitrack.backend.entity.storage.FileChunk;
+import org.pertitrack.backend.repository.FileChunkRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+// Files every node can read, stored in chunks in app_system.file_chunks
+@Component
+public class SharedFileStore {
+
+    static final int CHUNK_SIZE = 256 * 1024;
+
+    private final FileChunkRepository chunkRepository;
+    private final TransactionTemplate requiresNew;
+
+    public SharedFileStore(FileChunkRepository chunkRepository, PlatformTransactionManager transactionManager) {
+        this.chunkRepository = chunkRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Replaces the file; its content is complete once the returned stream is closed
+    public OutputStream create(String fileId) {
+        delete(fileId);
+        return new ChunkOutputStream(fileId);
+    }
+
+    // Reads the file chunk by chunk; a missing file reads as empty
+    public InputStream open(String fileId) {
+        return new ChunkInputStream(fileId);
+    }
+
+    public boolean exists(String fileId) {
+        return chunkRepository.existsByFileIdAndChunkIndex(fileId, 0);
+    }
+
+    public void delete(String fileId) {
+        deleteAll(List.of(fileId));
+    }
+
+    public void deleteAll(Collection<String> fileIds) {
+        if (!fileIds.isEmpty()) {
+            requiresNew.executeWithoutResult(status -> chunkRepository.deleteByFileIdIn(fileIds));
+        }
+    }
+
+    private final class ChunkOutputStream extends OutputStream {
+
+        private final String fileId;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int length;
+        private int chunkIndex;
+        private boolean closed;
+
+        private ChunkOutputStream(String fileId) {
+            this.fileId = fileId;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureOpen();
+            if (length == buffer.length) {
+                writeChunk();
+            }
+            buffer[length++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (length == buffer.length) {
+                    writeChunk();
+                }
+                int n = Math.min(len, buffer.length - length);
+                System.arraycopy(b, off, buffer, length, n);
+                length += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        // flush() keeps the buffer: chunks are only written full, or the last one on close
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            // an empty file still gets its first chunk, so that it exists
+            if (length > 0 || chunkIndex == 0) {
+                writeChunk();
+            }
+        }
+
+        private void writeChunk() {
+            FileChunk chunk = new FileChunk(fileId, chunkIndex++, Arrays.copyOf(buffer, length));
+            requiresNew.executeWithoutResult(status -> chunkRepository.save(chunk));
+            length = 0;
+        }
+
+        private void ensureOpen() throws IOException {
+            if (closed) {
+                throw new IOException("File " + fileId + " is already closed");
+            }
+        }
+    }
+
+    private final class ChunkInputStream extends InputStream {
+
+        private final String fileId;
+        private byte[] chunk = new byte[0];
+        private int position;
+        private int nextChunkIndex;
+        private boolean endOfFile;
+
+        private ChunkInputStream(String fileId) {
+            this.fileId = fileId;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return chunk[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int n = Math.min(len, chunk.length - position);
+            System.arraycopy(chunk, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        // Loads the next non-empty chunk once the current one is used up; false at the end of the file
+        private boolean fill() {
+            while (position == chunk.length) {
+                if (endOfFile) {
+                    return false;
+                }
+                byte[] next = chunkRepository.findData(fileId, nextChunkIndex++).orElse(null);
+                if (next == null) {
+                    endOfFile = true;
+                    return false;
+                }
+                chunk = next;
+                position = 0;
+            }
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.pertitrack.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.pertitrack.backend.util.BoundedDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Bounds concurrent connection holders when requests run on virtual threads
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Static and environment-driven: post-processors are created before regular beans
+    @Bean
+    static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        int maxConcurrent = environment.getProperty("app.datasource.max-concurrent", Integer.class,
+                environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+        Duration acquireTimeout = Duration.parse(environment.getProperty("app.datasource.acquire-timeout", "PT20S"));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BoundedDataSource)) {
+                    return new BoundedDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder boundedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof BoundedDataSource bounded) {
+                Gauge.builder("pertitrack.db.permits.available", bounded, BoundedDataSource::availablePermits)
+                        .description("Database connection permits currently free")
+                        .register(registry);
+                Gauge.builder("pertitrack.db.permits.waiting", bounded, BoundedDataSource::waitingThreads)
+                        .description("Callers waiting for a database connection permit")
+                        .register(registry);
+            }
+        };
+    }
+
+}
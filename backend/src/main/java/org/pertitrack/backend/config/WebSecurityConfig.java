@@ -1,5 +1,6 @@
 package org.pertitrack.backend.config;
 
+import jakarta.servlet.DispatcherType;
 import org.pertitrack.backend.security.AuthEntryPointJwt;
 import org.pertitrack.backend.security.AuthTokenFilter;
 import org.pertitrack.backend.security.CustomAccessDeniedHandler;
@@ -54,7 +55,10 @@ public class WebSecurityConfig {
                         .accessDeniedHandler(customAccessDeniedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers("/auth/**").permitAll()
+                        // async dispatches (e.g. completing an event stream) belong to a request
+                        // that was already authorized; the token filter does not run for them
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                                .requestMatchers("/auth/**").permitAll()
                                 .requestMatchers("/", "/index.html", "/assets/**").permitAll()
                                 .requestMatchers("/{path:^(?!auth|api|assets|index\\.html)[^\\.]*}",
                                         "/**/{path:^(?!auth|api|assets)[^\\.]*}").permitAll()
@@ -86,7 +90,8 @@ public class WebSecurityConfig {
 
         configuration.setAllowedOriginPatterns(List.of(allowedOrigins.split(",")));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Idempotency-Key"));
+        configuration.setExposedHeaders(List.of("Idempotent-Replayed"));
         configuration.setAllowCredentials(true);
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -6,9 +6,11 @@ import org.pertitrack.backend.dto.LoginRequest;
 import org.pertitrack.backend.dto.MessageResponse;
 import org.pertitrack.backend.dto.SignupRequest;
 import org.pertitrack.backend.service.AuthService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -33,7 +35,8 @@ public class AuthController {
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<MessageResponse> logoutUser() {
-        return authService.logoutUser();
+    public ResponseEntity<MessageResponse> logoutUser(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorizationHeader) {
+        return authService.logoutUser(authorizationHeader);
     }
 }
@@ -0,0 +1,81 @@
+package org.pertitrack.backend.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.dto.JobRequest;
+import org.pertitrack.backend.dto.JobResponse;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.JobService;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobService jobService;
+
+    // Queues a job and returns at once; progress is polled via GET /{id}
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<JobResponse> submitJob(@Valid @RequestBody JobRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(jobService.submit(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<JobResponse>> getMyJobs() {
+        return ResponseEntity.ok(jobService.getMyJobs());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> getJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.getJob(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(jobService.cancel(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> getJobResult(@PathVariable String id) {
+        try {
+            JobService.Result result = jobService.getResult(id);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(result.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + result.fileName() + "\"");
+            if (result.size() != null) {
+                response.contentLength(result.size());
+            }
+            return response.body(new InputStreamResource(result.content()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.pertitrack.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.dto.timeTrackingDto.PresenceResponse;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.PresenceService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timetrack/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private final PresenceService presenceService;
+
+    // Team presence board: who booked today and their current status and location,
+    // optionally filtered, e.g. ?status=WORKING&location=HOME
+    @GetMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<List<PresenceResponse>> getPresence(
+            @RequestParam(required = false) DailySummary.DayStatus status,
+            @RequestParam(required = false) TimeRecord.LocationType location) {
+        try {
+            return ResponseEntity.ok(presenceService.getPresence(status, location));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.pertitrack.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountResponse;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.TimeAccountService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/timetrack/accounts")
+@RequiredArgsConstructor
+public class TimeAccountController {
+
+    private final TimeAccountService timeAccountService;
+
+    // Flex-time account of the current employee for a year, the current one by default
+    @GetMapping("/me")
+    public ResponseEntity<TimeAccountResponse> getMyAccount(@RequestParam(required = false) Integer year) {
+        try {
+            return ResponseEntity.ok(timeAccountService.getMyAccount(yearOrCurrent(year)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{employeeId}")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<TimeAccountResponse> getAccount(@PathVariable String employeeId,
+                                                          @RequestParam(required = false) Integer year) {
+        try {
+            return ResponseEntity.ok(timeAccountService.getAccount(employeeId, yearOrCurrent(year)));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // Rebuilds the account after schedules or absences were changed retroactively
+    @PostMapping("/{employeeId}/recalculate")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<TimeAccountResponse> recalculate(@PathVariable String employeeId) {
+        try {
+            timeAccountService.recalculate(employeeId);
+            return ResponseEntity.ok(timeAccountService.getAccount(employeeId, LocalDate.now().getYear()));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    private static int yearOrCurrent(Integer year) {
+        return year != null ? year : LocalDate.now().getYear();
+    }
+
+}
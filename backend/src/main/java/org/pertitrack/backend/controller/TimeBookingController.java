@@ -6,13 +6,20 @@ import org.pertitrack.backend.dto.timeTrackingDto.CurrentStatusResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
 import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.exceptions.IdempotencyKeyReuseException;
+import org.pertitrack.backend.service.BookingIdempotencyService;
+import org.pertitrack.backend.service.StatusStreamService;
 import org.pertitrack.backend.service.TimeRecordService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/timetrack")
@@ -21,125 +28,102 @@ public class TimeBookingController {
 
     private static final String ERROR_HEADER = "X-Error-Message";
     private static final String UNEXPECTED_ERROR = "An unexpected error occurred";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
 
     private final TimeRecordService timeRecordService;
+    private final BookingIdempotencyService idempotencyService;
+    private final StatusStreamService statusStreamService;
 
+    // Booking endpoints accept an optional Idempotency-Key header; a retried request with the
+    // same key gets the original response (marked with Idempotent-Replayed) instead of a new booking
     @PostMapping("/time-records/time-bookings/clock-in")
     public ResponseEntity<TimeRecordResponse> quickClockIn(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody EnhancedQuickActionRequest request ) {
-        try {
-            TimeRecordResponse timeRecord;
+        return book(idempotencyKey, "clock-in", HttpStatus.CREATED, () -> {
             if (request.locationType() != null) {
-                timeRecord = timeRecordService.quickClockIn(
+                return timeRecordService.quickClockIn(
                         TimeRecord.RecordType.CLOCK_IN,
                         request.notes(),
                         request.locationType()
                 );
-            } else {
-                timeRecord = timeRecordService.quickClockIn(
-                        TimeRecord.RecordType.CLOCK_IN,
-                        request.notes()
-                );
             }
-            return ResponseEntity.status(HttpStatus.CREATED).body(timeRecord);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest()
-                    .header(ERROR_HEADER, e.getMessage())
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header(ERROR_HEADER, UNEXPECTED_ERROR)
-                    .build();
-        }
+            return timeRecordService.quickClockIn(
+                    TimeRecord.RecordType.CLOCK_IN,
+                    request.notes()
+            );
+        });
     }
 
     @PostMapping("/time-records/time-bookings/clock-out")
     public ResponseEntity<TimeRecordResponse> quickClockOut(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody QuickActionRequest request) {
-        try {
-            TimeRecordResponse timeRecord = timeRecordService.quickClockOut(
-                    TimeRecord.RecordType.CLOCK_OUT,
-                    request.notes()
-            );
-            return ResponseEntity.ok(timeRecord);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest()
-                    .header(ERROR_HEADER, e.getMessage())
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header(ERROR_HEADER, UNEXPECTED_ERROR)
-                    .build();
-        }
+        return book(idempotencyKey, "clock-out", HttpStatus.OK, () -> timeRecordService.quickClockOut(
+                TimeRecord.RecordType.CLOCK_OUT,
+                request.notes()
+        ));
     }
 
     @PostMapping("/time-records/time-bookings/break-start")
     public ResponseEntity<TimeRecordResponse> quickBreakStart(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody QuickActionRequest request) {
-        try {
-            TimeRecordResponse timeRecord = timeRecordService.quickBreakStart(
-                    TimeRecord.RecordType.BREAK_START,
-                    request.notes()
-            );
-            return ResponseEntity.ok(timeRecord);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest()
-                    .header(ERROR_HEADER, e.getMessage())
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header(ERROR_HEADER, UNEXPECTED_ERROR)
-                    .build();
-        }
+        return book(idempotencyKey, "break-start", HttpStatus.OK, () -> timeRecordService.quickBreakStart(
+                TimeRecord.RecordType.BREAK_START,
+                request.notes()
+        ));
     }
 
     @PostMapping("/time-records/time-bookings/break-end")
     public ResponseEntity<TimeRecordResponse> quickBreakEnd(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody QuickActionRequest request) {
-        try {
-            TimeRecordResponse timeRecord = timeRecordService.quickBreakEnd(
-                    TimeRecord.RecordType.BREAK_END,
-                    request.notes()
-            );
-            return ResponseEntity.ok(timeRecord);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest()
-                    .header(ERROR_HEADER, e.getMessage())
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header(ERROR_HEADER, UNEXPECTED_ERROR)
-                    .build();
-        }
+        return book(idempotencyKey, "break-end", HttpStatus.OK, () -> timeRecordService.quickBreakEnd(
+                TimeRecord.RecordType.BREAK_END,
+                request.notes()
+        ));
     }
 
     // Location-specific clock in endpoints
     @PostMapping("/time-records/time-bookings/clock-in/home")
     public ResponseEntity<TimeRecordResponse> clockInHome(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody(required = false) LocationClockInRequest request) {
-        try {
-            String notes = request != null ? request.notes() : null;
-            TimeRecordResponse timeRecord = timeRecordService.clockInHome(notes);
-            return ResponseEntity.status(HttpStatus.CREATED).body(timeRecord);
-        } catch (IllegalStateException e) {
-            return ResponseEntity.badRequest()
-                    .header(ERROR_HEADER, e.getMessage())
-                    .build();
-        } catch (Exception e) {
-            return ResponseEntity.internalServerError()
-                    .header(ERROR_HEADER, UNEXPECTED_ERROR)
-                    .build();
-        }
+        String notes = request != null ? request.notes() : null;
+        return book(idempotencyKey, "clock-in/home", HttpStatus.CREATED,
+                () -> timeRecordService.clockInHome(notes));
     }
 
     @PostMapping("/time-records/time-bookings/clock-in/business-trip")
     public ResponseEntity<TimeRecordResponse> clockInBusinessTrip(
+            @RequestHeader(value = BookingIdempotencyService.HEADER, required = false) String idempotencyKey,
             @RequestBody(required = false) LocationClockInRequest request) {
+        String notes = request != null ? request.notes() : null;
+        return book(idempotencyKey, "clock-in/business-trip", HttpStatus.CREATED,
+                () -> timeRecordService.clockInBusinessTrip(notes));
+    }
+
+    private ResponseEntity<TimeRecordResponse> book(String idempotencyKey, String endpoint, HttpStatus status,
+                                                    Supplier<TimeRecordResponse> booking) {
         try {
-            String notes = request != null ? request.notes() : null;
-            TimeRecordResponse timeRecord = timeRecordService.clockInBusinessTrip(notes);
-            return ResponseEntity.status(HttpStatus.CREATED).body(timeRecord);
-        } catch (IllegalStateException e) {
+            BookingIdempotencyService.Outcome outcome =
+                    idempotencyService.execute(idempotencyKey, endpoint, status, booking);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(outcome.status());
+            if (outcome.replayed()) {
+                response.header(REPLAYED_HEADER, "true");
+            }
+            return response.body(outcome.response());
+        } catch (EmployeeNotFoundException e) {
+            // the token's employee was deleted or deactivated
+            return ResponseEntity.notFound()
+                    .header(ERROR_HEADER, e.getMessage())
+                    .build();
+        } catch (IdempotencyKeyReuseException e) {
+            return ResponseEntity.unprocessableEntity()
+                    .header(ERROR_HEADER, e.getMessage())
+                    .build();
+        } catch (IllegalStateException | IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .header(ERROR_HEADER, e.getMessage())
                     .build();
@@ -156,6 +140,24 @@ public class TimeBookingController {
         try {
             CurrentStatusResponse status = timeRecordService.getCurrentStatus();
             return ResponseEntity.ok(status);
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.notFound()
+                    .header(ERROR_HEADER, e.getMessage())
+                    .build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // "status" and "summary" events on connect, on every booking change and on a periodic tick
+    @GetMapping(path = "/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamStatus() {
+        try {
+            return ResponseEntity.ok(statusStreamService.subscribe());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("X-Error-Message", e.getMessage())
+                    .build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -166,6 +168,10 @@ public class TimeBookingController {
         try {
             List<TimeRecordResponse> records = timeRecordService.getTodayTimeRecords();
             return ResponseEntity.ok(records);
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.notFound()
+                    .header(ERROR_HEADER, e.getMessage())
+                    .build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -176,6 +182,10 @@ public class TimeBookingController {
         try {
             TodaySummaryResponse summary = timeRecordService.getTodaySummary();
             return ResponseEntity.ok(summary);
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.notFound()
+                    .header(ERROR_HEADER, e.getMessage())
+                    .build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -1,22 +1,35 @@
 package org.pertitrack.backend.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.pertitrack.backend.dto.MessageResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordBatchResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordPageResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordRequest;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordUpdateRequest;
 import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
+import org.pertitrack.backend.service.TimeRecordExportService;
 import org.pertitrack.backend.service.TimeRecordService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/timetrack/time-records")
@@ -24,11 +37,43 @@ import java.util.List;
 public class TimeRecordController {
 
     private final TimeRecordService timeRecordService;
+    private final TimeRecordExportService timeRecordExportService;
+    private final ObjectMapper objectMapper;
 
+    // Every record as one JSON array, written page by page; /page is the paged alternative
     @GetMapping
-    public ResponseEntity<List<TimeRecordResponse>> getAllTimeRecords() {
-        List<TimeRecordResponse> timeRecords = timeRecordService.getAllTimeRecords();
-        return ResponseEntity.ok(timeRecords);
+    public ResponseEntity<StreamingResponseBody> getAllTimeRecords() {
+        return timeRecordList(null);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<TimeRecordPageResponse> getTimeRecordPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(timeRecordService.getTimeRecordPage(cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    // Newline-delimited JSON export for payroll; rows are streamed, never collected in memory
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTimeRecords(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String employeeId) {
+        if (endDate.isBefore(startDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = out ->
+                timeRecordExportService.exportTimeRecords(startDate, endDate, employeeId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"time-records-" + startDate + "-" + endDate + ".ndjson\"")
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -42,10 +87,21 @@ public class TimeRecordController {
     }
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<TimeRecordResponse>> getTimeRecordsByEmployeeId(
+    public ResponseEntity<StreamingResponseBody> getTimeRecordsByEmployeeId(
             @PathVariable String employeeId) {
-        List<TimeRecordResponse> timeRecords = timeRecordService.getTimeRecordsByEmployeeId(employeeId);
-        return ResponseEntity.ok(timeRecords);
+        return timeRecordList(employeeId);
+    }
+
+    @GetMapping("/employee/{employeeId}/page")
+    public ResponseEntity<TimeRecordPageResponse> getTimeRecordPageByEmployeeId(
+            @PathVariable String employeeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(timeRecordService.getTimeRecordPageByEmployeeId(employeeId, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/my-records")
@@ -63,6 +119,8 @@ public class TimeRecordController {
             return ResponseEntity.ok(timeRecords);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -73,6 +131,8 @@ public class TimeRecordController {
         try {
             List<TimeRecordResponse> timeRecords = timeRecordService.getMyTodayRecords();
             return ResponseEntity.ok(timeRecords);
+        } catch (EmployeeNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -100,6 +160,17 @@ public class TimeRecordController {
         }
     }
 
+    // Bulk ingestion with per-row results; invalid rows are reported instead of failing the request
+    @PostMapping("/bulk")
+    public ResponseEntity<TimeRecordBatchResponse> importTimeRecords(
+            @RequestBody List<TimeRecordRequest> requests) {
+        try {
+            return ResponseEntity.ok(timeRecordService.importTimeRecords(requests));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<TimeRecordResponse> updateTimeRecord(
             @PathVariable String id,
@@ -122,6 +193,25 @@ public class TimeRecordController {
         }
     }
 
+    private ResponseEntity<StreamingResponseBody> timeRecordList(String employeeId) {
+        ObjectWriter recordWriter = objectMapper.writerFor(TimeRecordResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (Stream<TimeRecordResponse> records = timeRecordService.streamTimeRecords(employeeId);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.writeStartArray();
+                Iterator<TimeRecordResponse> iterator = records.iterator();
+                while (iterator.hasNext()) {
+                    recordWriter.writeValue(generator, iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     // DTO for updating notes
     public record UpdateNotesRequest(
             @NotBlank(message = "Notes cannot be blank")
@@ -0,0 +1,73 @@
+package org.pertitrack.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportRejectionResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportResponse;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.TimeRecordImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/timetrack/imports")
+@RequiredArgsConstructor
+public class TimeRecordImportController {
+
+    private final TimeRecordImportService importService;
+
+    // Accepts a time clock CSV log; the import runs in the background and is polled via GET /{id}
+    @PostMapping
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<TimeRecordImportResponse> startImport(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        try (InputStream content = file.getInputStream()) {
+            TimeRecordImportResponse response = importService.startImport(file.getOriginalFilename(), content);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (IOException | RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TimeRecordImportResponse> getImport(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(importService.getImport(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping("/{id}/rejections")
+    public ResponseEntity<List<TimeRecordImportRejectionResponse>> getRejections(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "0") long afterLine,
+            @RequestParam(defaultValue = "100") int size) {
+        try {
+            return ResponseEntity.ok(importService.getRejections(id, afterLine, size));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasRole('ROLE_ADMIN') or hasRole('MANAGER')")
+    public ResponseEntity<TimeRecordImportResponse> resumeImport(@PathVariable String id) {
+        try {
+            return ResponseEntity.ok(importService.resumeImport(id));
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.pertitrack.backend.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import org.pertitrack.backend.entity.job.Job;
+
+public record JobRequest(
+        @NotNull
+        Job.Type type,
+
+        JsonNode parameters
+) {
+}
@@ -0,0 +1,47 @@
+package org.pertitrack.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.With;
+import org.pertitrack.backend.entity.job.Job;
+
+import java.time.LocalDateTime;
+
+@With
+public record JobResponse(
+        String id,
+        Job.Type type,
+        Job.Status status,
+        long progressCurrent,
+        Long progressTotal,
+        boolean cancelRequested,
+        String resultFileName,
+        Long resultSize,
+        String errorMessage,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime createdAt,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startedAt,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime finishedAt
+) {
+
+    public static JobResponse from(Job job) {
+        return new JobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getProgressCurrent(),
+                job.getProgressTotal(),
+                job.isCancelRequested(),
+                job.getResultFileName(),
+                job.getResultSize(),
+                job.getErrorMessage(),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt());
+    }
+
+}
@@ -0,0 +1,20 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDateTime;
+
+public record PresenceResponse(
+        String employeeId,
+        String firstName,
+        String lastName,
+        DailySummary.DayStatus status,
+        TimeRecord.LocationType location,
+
+        // time of the booking that started the current status
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime since
+) {
+}
@@ -0,0 +1,13 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import java.time.LocalDate;
+
+// All durations in seconds; balances include the carry-over of earlier months
+public record TimeAccountMonthResponse(
+        LocalDate month,
+        long workedSeconds,
+        long targetSeconds,
+        long openingBalanceSeconds,
+        long closingBalanceSeconds
+) {
+}
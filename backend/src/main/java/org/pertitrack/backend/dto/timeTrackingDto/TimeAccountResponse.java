@@ -0,0 +1,19 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// A time account for one year, durations in seconds
+public record TimeAccountResponse(
+        String employeeId,
+        int year,
+        LocalDate trackingStart,
+        LocalDate targetPostedThrough,
+        long openingBalanceSeconds,
+        long workedSeconds,
+        long targetSeconds,
+        long closingBalanceSeconds,
+        long balanceSeconds,
+        List<TimeAccountMonthResponse> months
+) {
+}
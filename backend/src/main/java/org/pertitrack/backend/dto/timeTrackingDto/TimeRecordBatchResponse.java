@@ -0,0 +1,13 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import lombok.With;
+
+import java.util.List;
+
+@With
+public record TimeRecordBatchResponse(
+        int created,
+        int rejected,
+        List<TimeRecordBatchResult> results
+) {
+}
@@ -0,0 +1,26 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import lombok.With;
+
+// Outcome of one row of a bulk time record import; index is the row's position in the request
+@With
+public record TimeRecordBatchResult(
+        int index,
+        Status status,
+        String id,
+        String message
+) {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    public static TimeRecordBatchResult created(int index, String id) {
+        return new TimeRecordBatchResult(index, Status.CREATED, id, null);
+    }
+
+    public static TimeRecordBatchResult rejected(int index, String message) {
+        return new TimeRecordBatchResult(index, Status.REJECTED, null, message);
+    }
+
+}
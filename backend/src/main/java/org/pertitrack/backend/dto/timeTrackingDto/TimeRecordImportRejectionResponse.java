@@ -0,0 +1,18 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import lombok.With;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImportRejection;
+
+@With
+public record TimeRecordImportRejectionResponse(
+        long lineNumber,
+        String reason,
+        String rawLine
+) {
+
+    public static TimeRecordImportRejectionResponse from(TimeRecordImportRejection rejection) {
+        return new TimeRecordImportRejectionResponse(
+                rejection.getLineNumber(), rejection.getReason(), rejection.getRawLine());
+    }
+
+}
@@ -0,0 +1,41 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.With;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+
+import java.time.LocalDateTime;
+
+@With
+public record TimeRecordImportResponse(
+        String id,
+        String fileName,
+        TimeRecordImport.Status status,
+        long processedLines,
+        int createdCount,
+        int duplicateCount,
+        int rejectedCount,
+        String errorMessage,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime startedAt,
+
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+        LocalDateTime finishedAt
+) {
+
+    public static TimeRecordImportResponse from(TimeRecordImport timeRecordImport) {
+        return new TimeRecordImportResponse(
+                timeRecordImport.getId(),
+                timeRecordImport.getFileName(),
+                timeRecordImport.getStatus(),
+                timeRecordImport.getProcessedLines(),
+                timeRecordImport.getCreatedCount(),
+                timeRecordImport.getDuplicateCount(),
+                timeRecordImport.getRejectedCount(),
+                timeRecordImport.getErrorMessage(),
+                timeRecordImport.getStartedAt(),
+                timeRecordImport.getFinishedAt());
+    }
+
+}
@@ -0,0 +1,13 @@
+package org.pertitrack.backend.dto.timeTrackingDto;
+
+import lombok.With;
+
+import java.util.List;
+
+// One page of time records in (recordTime, id) order; nextCursor is null on the last page
+@With
+public record TimeRecordPageResponse(
+        List<TimeRecordResponse> records,
+        String nextCursor
+) {
+}
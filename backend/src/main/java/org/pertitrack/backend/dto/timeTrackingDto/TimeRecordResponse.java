@@ -24,6 +24,7 @@ public record TimeRecordResponse(
         TimeRecord.LocationType locationType,
         String notes,
         Boolean isManual,
+        Boolean isAutoClosed,
 //        Boolean isApproved,
 
         @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
@@ -11,6 +11,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.Serial;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -53,6 +54,10 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // written only through UserRepository.revokeTokens
+    @Column(name = "tokens_valid_after", insertable = false, updatable = false)
+    private Instant tokensValidAfter;
+
     public User(String email, String password, String firstName, String lastName) {
         this.email = email;
         this.password = password;
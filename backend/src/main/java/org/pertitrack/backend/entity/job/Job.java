@@ -0,0 +1,90 @@
+package org.pertitrack.backend.entity.job;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.BaseEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// A background job, owned by ownerNode while that node renews leaseExpiresAt
+@Entity
+@Table(name = "jobs", schema = "app_system")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class Job extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    @NotNull
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @NotNull
+    private Status status = Status.QUEUED;
+
+    @Column(columnDefinition = "TEXT")
+    private String parameters;
+
+    @Column(name = "created_by", length = 36)
+    private String createdBy;
+
+    @Column(name = "progress_current", nullable = false)
+    private long progressCurrent;
+
+    @Column(name = "progress_total")
+    private Long progressTotal;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    @Column(name = "result_file_name")
+    private String resultFileName;
+
+    @Column(name = "result_content_type", length = 100)
+    private String resultContentType;
+
+    @Column(name = "result_size")
+    private Long resultSize;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "owner_node", length = 36)
+    private String ownerNode;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Type {
+        TIME_RECORD_EXPORT,
+        DAILY_SUMMARY_REBUILD,
+        ORGANISATION_REPORT
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.pertitrack.backend.entity.storage;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.BaseEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+// One piece of a SharedFileStore file
+@Entity
+@Table(name = "file_chunks", schema = "app_system",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"file_id", "chunk_index"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class FileChunk extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // Upper bound for data, see SharedFileStore.CHUNK_SIZE
+    public static final int MAX_SIZE = 1024 * 1024;
+
+    @Column(name = "file_id", nullable = false, length = 36)
+    @NotNull
+    private String fileId;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(name = "data", nullable = false, length = MAX_SIZE)
+    @NotNull
+    private byte[] data;
+
+}
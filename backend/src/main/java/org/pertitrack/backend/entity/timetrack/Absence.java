@@ -8,6 +8,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.pertitrack.backend.entity.personnel.ApprovableEntity;
 import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.service.timetrack.TargetTimeChangeListener;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -15,6 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@EntityListeners(TargetTimeChangeListener.class)
 @Table(name = "absences", schema = "app_timetrack")
 @Data
 @NoArgsConstructor
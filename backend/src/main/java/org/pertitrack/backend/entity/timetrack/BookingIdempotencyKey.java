@@ -0,0 +1,51 @@
+package org.pertitrack.backend.entity.timetrack;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.BaseEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+// The stored response of a booking request sent with an Idempotency-Key header
+@Entity
+@Table(name = "booking_idempotency_keys", schema = "app_timetrack",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"subject", "idempotency_key"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BookingIdempotencyKey extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(nullable = false)
+    @NotNull
+    private String subject;
+
+    @Column(name = "idempotency_key", nullable = false)
+    @NotNull
+    private String idempotencyKey;
+
+    @Column(nullable = false)
+    @NotNull
+    private String endpoint;
+
+    @Column(name = "response_status", nullable = false)
+    private int responseStatus;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "TEXT")
+    @NotNull
+    private String responseBody;
+
+    @Column(name = "expires_at", nullable = false)
+    @NotNull
+    private LocalDateTime expiresAt;
+
+}
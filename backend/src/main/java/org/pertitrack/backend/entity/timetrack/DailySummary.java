@@ -0,0 +1,88 @@
+package org.pertitrack.backend.entity.timetrack;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.personnel.EmployeeOwnedEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Entity
+@Table(name = "daily_summaries", schema = "app_timetrack",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "summary_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class DailySummary extends EmployeeOwnedEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "summary_date", nullable = false)
+    @NotNull
+    private LocalDate summaryDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @NotNull
+    private DayStatus status = DayStatus.NOT_STARTED;
+
+    @Column(name = "arrival_time")
+    private LocalTime arrivalTime;
+
+    @Column(name = "departure_time")
+    private LocalTime departureTime;
+
+    // closed sessions only; an open session is counted from sessionStart at read time
+    @Column(name = "working_seconds", nullable = false)
+    private long workingSeconds;
+
+    @Column(name = "break_seconds", nullable = false)
+    private long breakSeconds;
+
+    @Column(name = "session_start")
+    private LocalDateTime sessionStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "session_type", length = 10)
+    private SessionType sessionType;
+
+    @Column(name = "last_clock_in")
+    private LocalDateTime lastClockIn;
+
+    @Column(name = "last_clock_out")
+    private LocalDateTime lastClockOut;
+
+    @Column(name = "last_break_start")
+    private LocalDateTime lastBreakStart;
+
+    @Column(name = "last_break_end")
+    private LocalDateTime lastBreakEnd;
+
+    @Column(name = "last_record_time")
+    private LocalDateTime lastRecordTime;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_location_type", length = 20)
+    private TimeRecord.LocationType lastLocationType;
+
+    @Column(name = "record_count", nullable = false)
+    private int recordCount;
+
+    public enum DayStatus {
+        NOT_STARTED, WORKING, BREAK, FINISHED
+    }
+
+    public enum SessionType {
+        WORK, BREAK
+    }
+
+}
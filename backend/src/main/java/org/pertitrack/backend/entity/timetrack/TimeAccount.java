@@ -0,0 +1,45 @@
+package org.pertitrack.backend.entity.timetrack;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.personnel.EmployeeOwnedEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Written through TimeAccountLedger with atomic increments; the entity is read-only in practice
+@Entity
+@Table(name = "time_accounts", schema = "app_timetrack",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TimeAccount extends EmployeeOwnedEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "tracking_start", nullable = false)
+    @NotNull
+    private LocalDate trackingStart;
+
+    @Column(name = "target_posted_through", nullable = false)
+    @NotNull
+    private LocalDate targetPostedThrough;
+
+    @Column(name = "opening_balance_seconds", nullable = false)
+    private long openingBalanceSeconds;
+
+    @Column(name = "balance_seconds", nullable = false)
+    private long balanceSeconds;
+
+}
@@ -0,0 +1,49 @@
+package org.pertitrack.backend.entity.timetrack;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.personnel.EmployeeOwnedEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+// Written through TimeAccountLedger with atomic increments; the entity is read-only in practice
+@Entity
+@Table(name = "time_account_months", schema = "app_timetrack",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"employee_id", "month_start"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TimeAccountMonth extends EmployeeOwnedEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "month_start", nullable = false)
+    @NotNull
+    private LocalDate monthStart;
+
+    @Column(name = "worked_seconds", nullable = false)
+    private long workedSeconds;
+
+    @Column(name = "target_seconds", nullable = false)
+    private long targetSeconds;
+
+    // Closing balance of the month, carry-over of all earlier months included
+    @Column(name = "balance_seconds", nullable = false)
+    private long balanceSeconds;
+
+    public long openingBalanceSeconds() {
+        return balanceSeconds - workedSeconds + targetSeconds;
+    }
+
+}
@@ -54,6 +54,10 @@ public class TimeRecord extends ApprovableEntity implements Serializable {
     @Column(name = "is_manual")
     private Boolean isManual = false;
 
+    // Set on CLOCK_OUT records inserted by OpenSessionAutoCloser
+    @Column(name = "is_auto_closed")
+    private Boolean isAutoClosed = false;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private Employee approvedBy;
@@ -0,0 +1,39 @@
+package org.pertitrack.backend.entity.timetrack;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.pertitrack.backend.entity.BaseEntity;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+@Entity
+@Table(name = "time_record_import_rejections", schema = "app_timetrack")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class TimeRecordImportRejection extends BaseEntity implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "import_id", nullable = false, length = 36)
+    @NotNull
+    private String importId;
+
+    @Column(name = "line_number", nullable = false)
+    private long lineNumber;
+
+    @Column(nullable = false, length = 500)
+    @NotNull
+    private String reason;
+
+    @Column(name = "raw_line", columnDefinition = "TEXT")
+    private String rawLine;
+
+}
@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import org.pertitrack.backend.entity.personnel.EmployeeOwnedEntity;
+import org.pertitrack.backend.service.timetrack.TargetTimeChangeListener;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -14,6 +15,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
+@EntityListeners(TargetTimeChangeListener.class)
 @Table(name = "work_schedules", schema = "app_timetrack")
 @Data
 @NoArgsConstructor
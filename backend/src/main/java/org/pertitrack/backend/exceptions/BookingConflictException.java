@@ -0,0 +1,8 @@
+package org.pertitrack.backend.exceptions;
+
+// A booking raced with another write to the same employee day; the request can be retried
+public class BookingConflictException extends IllegalStateException {
+    public BookingConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package org.pertitrack.backend.exceptions;
+
+// An Idempotency-Key was sent again for a different action than the one it was first used for
+public class IdempotencyKeyReuseException extends RuntimeException {
+    public IdempotencyKeyReuseException(String message) {
+        super(message);
+    }
+}
@@ -57,6 +57,7 @@ public class TimeRecordMapper {
 
         // entity.getIsManual() might be Boolean or primitive; handle both
         Boolean isManual = entity.getIsManual() != null ? entity.getIsManual() : Boolean.FALSE;
+        Boolean isAutoClosed = entity.getIsAutoClosed() != null ? entity.getIsAutoClosed() : Boolean.FALSE;
 
         // entity.isApproved() might be primitive boolean; wrap to Boolean
 //        Boolean isApproved = Boolean.valueOf(entity.isApproved());
@@ -84,7 +85,7 @@ public class TimeRecordMapper {
         return new TimeRecordResponse(
                 id, employeeId, employeeFirstName, employeeLastName,
                 recordDate, recordTime, recordType, locationType, notes,
-                isManual, createdAt, updatedAt
+                isManual, isAutoClosed, createdAt, updatedAt
         );
     }
 
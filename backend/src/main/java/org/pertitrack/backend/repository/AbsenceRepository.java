@@ -0,0 +1,27 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AbsenceRepository extends JpaRepository<Absence, String> {
+
+    // Approved absences of the employees overlapping [from, to]
+    @Query("""
+            SELECT a FROM Absence a
+            WHERE a.employee.id IN :employeeIds
+              AND a.status = org.pertitrack.backend.entity.timetrack.Absence.AbsenceStatus.APPROVED
+              AND a.startDate <= :to AND a.endDate >= :from
+            """)
+    List<Absence> findApproved(@Param("employeeIds") Collection<String> employeeIds,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+
+}
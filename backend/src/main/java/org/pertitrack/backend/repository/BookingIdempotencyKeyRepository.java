@@ -0,0 +1,24 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.BookingIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface BookingIdempotencyKeyRepository extends JpaRepository<BookingIdempotencyKey, String> {
+
+    Optional<BookingIdempotencyKey> findBySubjectAndIdempotencyKey(String subject, String idempotencyKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookingIdempotencyKey k WHERE k.expiresAt < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+
+}
@@ -0,0 +1,26 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailySummaryRepository extends JpaRepository<DailySummary, String> {
+
+    Optional<DailySummary> findByEmployee_IdAndSummaryDate(String employeeId, LocalDate summaryDate);
+
+    List<DailySummary> findByEmployee_IdAndSummaryDateBetweenOrderBySummaryDateAsc(
+            String employeeId,
+            LocalDate fromDate,
+            LocalDate toDate
+    );
+
+    List<DailySummary> findByEmployee_IdAndSummaryDateGreaterThanEqual(String employeeId, LocalDate fromDate);
+
+    List<DailySummary> findBySummaryDateBetweenOrderBySummaryDateAsc(LocalDate fromDate, LocalDate toDate);
+
+}
@@ -4,12 +4,16 @@ import org.pertitrack.backend.entity.personnel.Employee;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, String> {
     Optional<Employee> findEmployeeByEmployeeNumber(String employeeNumber);
 
+    List<Employee> findByEmployeeNumberIn(Collection<String> employeeNumbers);
+
     Optional<Employee> findByUserId(String userId);
 
     Optional<Employee> findByUser_Id(String userId);
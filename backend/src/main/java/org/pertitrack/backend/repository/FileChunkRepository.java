@@ -0,0 +1,28 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.storage.FileChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface FileChunkRepository extends JpaRepository<FileChunk, String> {
+
+    // Only the bytes, so no chunk entity is kept in a persistence context
+    @Query("SELECT c.data FROM FileChunk c WHERE c.fileId = :fileId AND c.chunkIndex = :chunkIndex")
+    Optional<byte[]> findData(@Param("fileId") String fileId, @Param("chunkIndex") int chunkIndex);
+
+    boolean existsByFileIdAndChunkIndex(String fileId, int chunkIndex);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM FileChunk c WHERE c.fileId IN :fileIds")
+    int deleteByFileIdIn(@Param("fileIds") Collection<String> fileIds);
+
+}
@@ -0,0 +1,108 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.job.Job;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, String> {
+
+    List<Job> findByCreatedByOrderByCreatedAtDesc(String createdBy, Limit limit);
+
+    List<Job> findByFinishedAtBefore(LocalDateTime cutoff);
+
+    // Claims a queued job of this node for a worker; 0 if it was cancelled, claimed or taken over
+    // by another node in the meantime
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Job j SET j.status = :running, j.startedAt = :startedAt, j.leaseExpiresAt = :leaseExpiresAt
+            WHERE j.id = :id AND j.status = :queued AND j.ownerNode = :node
+            """)
+    int claim(@Param("id") String id,
+              @Param("queued") Job.Status queued,
+              @Param("running") Job.Status running,
+              @Param("node") String node,
+              @Param("startedAt") LocalDateTime startedAt,
+              @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // The heartbeat: one statement extends the leases of all of a node's queued and running jobs
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Job j SET j.leaseExpiresAt = :leaseExpiresAt
+            WHERE j.ownerNode = :node AND j.status IN :statuses
+            """)
+    int renewLeases(@Param("node") String node,
+                    @Param("statuses") Collection<Job.Status> statuses,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Unfinished jobs whose owner stopped renewing the lease; rows without a lease predate leases
+    @Query("""
+            SELECT j.id FROM Job j
+            WHERE j.status IN :statuses AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)
+            ORDER BY j.createdAt ASC
+            """)
+    List<String> findIdsWithExpiredLease(@Param("statuses") Collection<Job.Status> statuses,
+                                         @Param("now") LocalDateTime now);
+
+    // Queues a job with an expired lease again for a new owner; the version bump fails the old owner's late save
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Job j SET j.status = :queued, j.ownerNode = :node, j.leaseExpiresAt = :leaseExpiresAt,
+                             j.progressCurrent = 0, j.startedAt = NULL, j.version = j.version + 1
+            WHERE j.id = :id AND j.status IN :statuses
+              AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)
+            """)
+    int reclaim(@Param("id") String id,
+                @Param("statuses") Collection<Job.Status> statuses,
+                @Param("now") LocalDateTime now,
+                @Param("queued") Job.Status queued,
+                @Param("node") String node,
+                @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Own transaction, since handlers report progress from inside read-only ones; 0 once the job has moved on
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("""
+            UPDATE Job j SET j.progressCurrent = :current, j.progressTotal = :total
+            WHERE j.id = :id AND j.ownerNode = :node
+            """)
+    int updateProgress(@Param("id") String id, @Param("node") String node,
+                       @Param("current") long current, @Param("total") Long total);
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE Job j SET j.cancelRequested = true WHERE j.id = :id")
+    int requestCancel(@Param("id") String id);
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Query("SELECT j.cancelRequested FROM Job j WHERE j.id = :id")
+    Optional<Boolean> findCancelRequestedById(@Param("id") String id);
+
+    // Cancels a job no worker has claimed yet; 0 if it was claimed or finished in the meantime
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Job j SET j.status = :cancelled, j.cancelRequested = true, j.finishedAt = :finishedAt,
+                             j.leaseExpiresAt = NULL, j.version = j.version + 1
+            WHERE j.id = :id AND j.status = :queued
+            """)
+    int cancelQueued(@Param("id") String id,
+                     @Param("queued") Job.Status queued,
+                     @Param("cancelled") Job.Status cancelled,
+                     @Param("finishedAt") LocalDateTime finishedAt);
+
+}
@@ -0,0 +1,26 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.TimeAccountMonth;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TimeAccountMonthRepository extends JpaRepository<TimeAccountMonth, String> {
+
+    List<TimeAccountMonth> findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(
+            String employeeId,
+            LocalDate fromMonth,
+            LocalDate toMonth
+    );
+
+    // The month carrying its balance over into `monthStart`
+    Optional<TimeAccountMonth> findFirstByEmployee_IdAndMonthStartLessThanOrderByMonthStartDesc(
+            String employeeId,
+            LocalDate monthStart
+    );
+
+}
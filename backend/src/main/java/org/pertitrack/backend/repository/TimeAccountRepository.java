@@ -0,0 +1,14 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TimeAccountRepository extends JpaRepository<TimeAccount, String> {
+
+    Optional<TimeAccount> findByEmployee_Id(String employeeId);
+
+}
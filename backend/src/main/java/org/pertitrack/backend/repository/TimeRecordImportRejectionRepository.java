@@ -0,0 +1,17 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecordImportRejection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TimeRecordImportRejectionRepository extends JpaRepository<TimeRecordImportRejection, String> {
+
+    // Keyset page of rejections after the given line number
+    List<TimeRecordImportRejection> findByImportIdAndLineNumberGreaterThanOrderByLineNumberAsc(
+            String importId, long lineNumber, Limit limit);
+
+}
@@ -0,0 +1,54 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TimeRecordImportRepository extends JpaRepository<TimeRecordImport, String> {
+
+    // The heartbeat: one statement extends the leases of all of a node's queued and running imports
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE TimeRecordImport i SET i.leaseExpiresAt = :leaseExpiresAt
+            WHERE i.ownerNode = :node AND i.status IN :statuses
+            """)
+    int renewLeases(@Param("node") String node,
+                    @Param("statuses") Collection<TimeRecordImport.Status> statuses,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    // Unfinished imports whose owner stopped renewing the lease; rows without a lease predate leases
+    @Query("""
+            SELECT i.id FROM TimeRecordImport i
+            WHERE i.status IN :statuses AND (i.leaseExpiresAt IS NULL OR i.leaseExpiresAt < :now)
+            ORDER BY i.createdAt ASC
+            """)
+    List<String> findIdsWithExpiredLease(@Param("statuses") Collection<TimeRecordImport.Status> statuses,
+                                         @Param("now") LocalDateTime now);
+
+    // Hands an import with an expired lease to a new owner; the version bump fails the old owner's next chunk
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE TimeRecordImport i SET i.status = :queued, i.ownerNode = :node,
+                                          i.leaseExpiresAt = :leaseExpiresAt, i.version = i.version + 1
+            WHERE i.id = :id AND i.status IN :statuses
+              AND (i.leaseExpiresAt IS NULL OR i.leaseExpiresAt < :now)
+            """)
+    int reclaim(@Param("id") String id,
+                @Param("statuses") Collection<TimeRecordImport.Status> statuses,
+                @Param("now") LocalDateTime now,
+                @Param("queued") TimeRecordImport.Status queued,
+                @Param("node") String node,
+                @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+}
@@ -1,37 +1,144 @@
 package org.pertitrack.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
 import org.pertitrack.backend.entity.personnel.*;
 import org.pertitrack.backend.entity.timetrack.*;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.*;
 
 import java.time.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 @Repository
 public interface TimeRecordRepository extends JpaRepository<TimeRecord, String> {
 
     List<TimeRecord> findByEmployee_Id(String employeeId);
 
+    // Time records projected into response DTOs with the employee name joined in: one SQL
+    // statement per call, no lazy employee loads and nothing added to the persistence context
+    String RESPONSE_SELECT = """
+            SELECT new org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse(
+                t.id, e.id, e.firstName, e.lastName, t.recordDate, t.recordTime, t.recordType,
+                t.locationType, t.notes, COALESCE(t.isManual, false),
+                COALESCE(t.isAutoClosed, false), t.createdAt, t.updatedAt)
+            FROM TimeRecord t JOIN t.employee e
+            """;
+
+    // Keyset pagination in (recordTime, id) order, backed by the composite indexes from V013
+    @Query(RESPONSE_SELECT + """
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    List<TimeRecordResponse> findFirstPage(Limit limit);
+
+    @Query(RESPONSE_SELECT + """
+            WHERE t.recordTime > :recordTime
+               OR (t.recordTime = :recordTime AND t.id > :id)
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    List<TimeRecordResponse> findPageAfter(@Param("recordTime") LocalDateTime recordTime,
+                                           @Param("id") String id,
+                                           Limit limit);
+
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    List<TimeRecordResponse> findFirstPageByEmployeeId(@Param("employeeId") String employeeId, Limit limit);
+
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+              AND (t.recordTime > :recordTime
+                   OR (t.recordTime = :recordTime AND t.id > :id))
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    List<TimeRecordResponse> findPageAfterByEmployeeId(@Param("employeeId") String employeeId,
+                                                       @Param("recordTime") LocalDateTime recordTime,
+                                                       @Param("id") String id,
+                                                       Limit limit);
+
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+              AND t.recordDate BETWEEN :fromDate AND :toDate
+            ORDER BY t.recordTime DESC
+            """)
+    List<TimeRecordResponse> findResponsesByEmployeeIdAndRecordDateBetween(
+            @Param("employeeId") String employeeId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate);
+
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+              AND t.recordDate BETWEEN :fromDate AND :toDate
+              AND t.recordType = :recordType
+            ORDER BY t.recordTime DESC
+            """)
+    List<TimeRecordResponse> findResponsesByEmployeeIdAndRecordDateBetweenAndRecordType(
+            @Param("employeeId") String employeeId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate,
+            @Param("recordType") TimeRecord.RecordType recordType);
+
+    // The day's last booking, e.g. the last entry shown with the current status
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+              AND t.recordDate = :recordDate
+            ORDER BY t.recordTime DESC, t.id DESC
+            """)
+    List<TimeRecordResponse> findLatestResponses(@Param("employeeId") String employeeId,
+                                                 @Param("recordDate") LocalDate recordDate,
+                                                 Limit limit);
+
+    // Rows fetched per round-trip while streaming an export
+    String EXPORT_FETCH_SIZE = "1000";
+
+    // Export rows for a forward-only cursor; the caller must consume and close the stream
+    // inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_SELECT + """
+            WHERE t.recordDate BETWEEN :startDate AND :endDate
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    Stream<TimeRecordResponse> streamForExport(@Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(RESPONSE_SELECT + """
+            WHERE e.id = :employeeId
+              AND t.recordDate BETWEEN :startDate AND :endDate
+            ORDER BY t.recordTime ASC, t.id ASC
+            """)
+    Stream<TimeRecordResponse> streamForExportByEmployeeId(@Param("employeeId") String employeeId,
+                                                           @Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+
+    // All records of one day with the employee fetched, ordered for a replay per employee
+    @Query("""
+            SELECT t FROM TimeRecord t JOIN FETCH t.employee e
+            WHERE t.recordDate = :recordDate
+            ORDER BY e.id ASC, t.recordTime ASC
+            """)
+    List<TimeRecord> findByRecordDateWithEmployee(@Param("recordDate") LocalDate recordDate);
+
+    long countByRecordDateBetween(LocalDate startDate, LocalDate endDate);
+
+    long countByEmployee_IdAndRecordDateBetween(String employeeId, LocalDate startDate, LocalDate endDate);
+
     boolean existsByEmployeeAndRecordDateAndRecordType(Employee employee, LocalDate recordDate, TimeRecord.RecordType recordType);
 
     Optional<TimeRecord> findLatestByEmployeeAndRecordDateAndRecordType(
             Employee employee, LocalDate recordDate, TimeRecord.RecordType recordType);
 
-    List<TimeRecord>
-    findByEmployeeAndRecordDateBetweenAndRecordTypeOrderByRecordTimeDesc(
-            Employee currentEmployee,
-            LocalDate fromDate,
-            LocalDate toDate,
-            TimeRecord.RecordType recordType
-    );
-
-    List<TimeRecord>
-    findByEmployeeAndRecordDateBetweenOrderByRecordTimeDesc(
-            Employee currentEmployee,
-            LocalDate fromDate, LocalDate toDate
-    );
-
     List<TimeRecord>
     findByEmployeeAndRecordDateOrderByRecordTimeDesc(
             Employee currentEmployee,
@@ -44,12 +151,6 @@ public interface TimeRecordRepository extends JpaRepository<TimeRecord, String>
             LocalDate date, TimeRecord.RecordType recordType
     );
 
-    Optional<TimeRecord>
-    findTopByEmployeeAndRecordDateOrderByRecordTimeDesc(
-            Employee employee,
-            LocalDate today
-    );
-
     List<TimeRecord>
     findByEmployeeAndRecordDateOrderByRecordTimeAsc(
             Employee employee,
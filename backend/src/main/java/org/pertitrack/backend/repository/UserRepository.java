@@ -2,8 +2,14 @@ package org.pertitrack.backend.repository;
 
 import org.pertitrack.backend.entity.auth.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -11,4 +17,14 @@ public interface UserRepository extends JpaRepository<User, String> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :userId")
+    int revokeTokens(@Param("userId") String userId, @Param("validAfter") Instant validAfter);
+
+    @Query("SELECT u.tokensValidAfter FROM User u WHERE u.id = :userId")
+    Optional<Instant> findTokensValidAfterById(@Param("userId") String userId);
+
+    List<User> findByTokensValidAfterAfter(Instant cutoff);
 }
@@ -0,0 +1,26 @@
+package org.pertitrack.backend.repository;
+
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface WorkScheduleRepository extends JpaRepository<WorkSchedule, String> {
+
+    // Active schedules of the employees effective on at least one day of [from, to]
+    @Query("""
+            SELECT w FROM WorkSchedule w
+            WHERE w.employee.id IN :employeeIds AND w.isActive = true
+              AND w.effectiveFrom <= :to AND w.effectiveUntil >= :from
+            """)
+    List<WorkSchedule> findEffective(@Param("employeeIds") Collection<String> employeeIds,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+}
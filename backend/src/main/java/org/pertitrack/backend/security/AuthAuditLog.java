@@ -0,0 +1,80 @@
+package org.pertitrack.backend.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Metrics and sampled audit log of bearer-token authentication
+@Component
+public class AuthAuditLog {
+
+    static final String METRIC_NAME = "pertitrack.auth.requests";
+
+    private static final Logger AUDIT = LoggerFactory.getLogger("pertitrack.auth.audit");
+
+    public enum Outcome {
+        VALID(Level.DEBUG),
+        MISSING(Level.DEBUG),
+        EXPIRED(Level.INFO),
+        MALFORMED(Level.WARN),
+        INVALID(Level.WARN),
+        REJECTED(Level.WARN);
+
+        private final Level level;
+
+        Outcome(Level level) {
+            this.level = level;
+        }
+
+        public boolean isFailure() {
+            return level != Level.DEBUG;
+        }
+    }
+
+    private final Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+    private final double sampleRate;
+    private final double failureSampleRate;
+
+    public AuthAuditLog(MeterRegistry meterRegistry,
+                        @Value("${app.security.audit.sample-rate:0.01}") double sampleRate,
+                        @Value("${app.security.audit.failure-sample-rate:1.0}") double failureSampleRate) {
+        for (Outcome outcome : Outcome.values()) {
+            counters.put(outcome, Counter.builder(METRIC_NAME)
+                    .description("Bearer token authentication attempts by outcome")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        this.sampleRate = sampleRate;
+        this.failureSampleRate = failureSampleRate;
+    }
+
+    public void record(Outcome outcome, String method, String uri, String subject, String reason) {
+        counters.get(outcome).increment();
+
+        if (!AUDIT.isEnabledForLevel(outcome.level) || !sampled(outcome)) {
+            return;
+        }
+        AUDIT.atLevel(outcome.level)
+                .addKeyValue("outcome", outcome)
+                .addKeyValue("method", method)
+                .addKeyValue("uri", uri)
+                .addKeyValue("subject", subject)
+                .addKeyValue("reason", reason)
+                .log("bearer authentication {} for {} {}", outcome, method, uri);
+    }
+
+    private boolean sampled(Outcome outcome) {
+        double rate = outcome.isFailure() ? failureSampleRate : sampleRate;
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+}
@@ -1,14 +1,17 @@
 package org.pertitrack.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.pertitrack.backend.security.AuthAuditLog.Outcome;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -21,52 +24,107 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final AuthAuditLog auditLog;
+
+    private final TokenRevocations tokenRevocations;
 
     @Autowired
-    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+    public AuthTokenFilter(JwtUtils jwtUtils,
+                           PrincipalCache principalCache,
+                           VerifiedTokenCache verifiedTokenCache,
+                           AuthAuditLog auditLog,
+                           TokenRevocations tokenRevocations) {
         this.jwtUtils = jwtUtils;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.auditLog = auditLog;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
+        authenticate(request);
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
+        String jwt = parseJwt(request);
+        if (jwt == null) {
+            audit(Outcome.MISSING, request, null, null);
+            return;
+        }
+
+        Claims claims;
+        try {
+            // at most one signature verification per token; the claims are reused below
+            claims = verifiedClaims(jwt);
+        } catch (ExpiredJwtException e) {
+            audit(Outcome.EXPIRED, request, e.getClaims().getSubject(), null);
+            return;
+        } catch (MalformedJwtException | IllegalArgumentException e) {
+            audit(Outcome.MALFORMED, request, null, e.getMessage());
+            return;
+        } catch (Exception e) {
+            audit(Outcome.INVALID, request, null, e.getMessage());
+            return;
+        }
+
         try {
-            String jwt = parseJwt(request);
-            logger.info("=== AuthTokenFilter Processing ===");
-            logger.info("Request URI: '" + request.getRequestURI() + "'");
-            logger.info("JWT Token: '" + (jwt != null ?
-                    "Present ('" + jwt.substring(0, Math.min(20, jwt.length())) + "'...)" :
-                    "Missing"));
-
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                logger.info("Username '" + username + " 'extracted from JWT");
-
-                if (username != null) {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
-                    UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                    authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                    logger.info("Successfully set authentication for user: '" + username + "'");
-                } else {
-                    logger.warn("JWT validation failed or token missing");
-                }
+            UserPrincipal userDetails = resolvePrincipal(claims);
+            if (userDetails == null) {
+                audit(Outcome.REJECTED, request, null, "token has no subject");
+                return;
             }
+            // the claims outlive a deleted, deactivated or demoted user until the token expires
+            if (tokenRevocations.isRevoked(userDetails.userId(), claims.getIssuedAt())) {
+                audit(Outcome.REJECTED, request, userDetails.getUsername(), "token revoked");
+                return;
+            }
+
+            UsernamePasswordAuthenticationToken authenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+            audit(Outcome.VALID, request, userDetails.getUsername(), null);
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: '" + e.getMessage() + "'");
+            audit(Outcome.REJECTED, request, claims.getSubject(), e.getMessage());
         }
+    }
 
-        filterChain.doFilter(request, response);
+    // Repeat requests with the same token skip signature verification and claim parsing
+    private Claims verifiedClaims(String jwt) {
+        Claims claims = verifiedTokenCache.get(jwt);
+        if (claims == null) {
+            claims = jwtUtils.parseVerifiedClaims(jwt);
+            verifiedTokenCache.put(jwt, claims);
+        }
+        return claims;
+    }
+
+    private void audit(Outcome outcome, HttpServletRequest request, String subject, String reason) {
+        auditLog.record(outcome, request.getMethod(), request.getRequestURI(), subject, reason);
+    }
+
+    // Tokens issued with identity claims need no lookup; older tokens fall back to the principal cache
+    private UserPrincipal resolvePrincipal(Claims claims) {
+        UserPrincipal principal = JwtUtils.principalFromClaims(claims);
+        if (principal != null) {
+            return principal;
+        }
+
+        String username = claims.getSubject();
+        return username != null ? principalCache.get(username) : null;
     }
 
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
-        logger.info("Authorization header: '" + headerAuth + "'");
 
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
             return headerAuth.substring(7);
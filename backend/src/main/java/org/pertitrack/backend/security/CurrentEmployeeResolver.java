@@ -0,0 +1,25 @@
+package org.pertitrack.backend.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Resolves the caller of the current request from the token's principal
+@Component
+public class CurrentEmployeeResolver {
+
+    public Optional<UserPrincipal> currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return Optional.of(principal);
+        }
+        return Optional.empty();
+    }
+
+    public Optional<String> currentEmployeeId() {
+        return currentPrincipal().map(UserPrincipal::employeeId);
+    }
+
+}
@@ -1,11 +1,16 @@
 package org.pertitrack.backend.security;
 
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.MalformedJwtException;
-import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import org.pertitrack.backend.entity.auth.User;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,15 +23,31 @@ import java.util.Date;
 @Data
 public class JwtUtils {
 
+    static final String USER_ID_CLAIM = "uid";
+    static final String EMPLOYEE_ID_CLAIM = "eid";
+    static final String ROLE_CLAIM = "role";
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    // turn a secret key
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // built once from the secret; both are immutable and safe to share between request threads
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private SecretKey signingKey;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -36,7 +57,20 @@ public class JwtUtils {
                 .subject(userPrincipal.getUsername())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
+                .compact();
+    }
+
+    // Token carrying user id, employee id and role so requests can be authorized without a lookup
+    public String generateJwtToken(UserPrincipal principal) {
+        return Jwts.builder()
+                .subject(principal.getUsername())
+                .claim(USER_ID_CLAIM, principal.userId())
+                .claim(EMPLOYEE_ID_CLAIM, principal.employeeId())
+                .claim(ROLE_CLAIM, principal.role().name())
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -45,36 +79,48 @@ public class JwtUtils {
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    // Verify the signature once and return the claims; throws a JwtException describing why
+    // the token was rejected (expired, malformed, bad signature, ...)
+    public Claims parseVerifiedClaims(String authToken) {
+        return parser.parseSignedClaims(authToken).getPayload();
+    }
+
+    // Verified claims, or null if the token is not valid for any reason
+    public Claims getVerifiedClaims(String authToken) {
+        try {
+            return parseVerifiedClaims(authToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
-    public boolean validateJwtToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token: " + e.getMessage());
-        } catch (ExpiredJwtException e) {
-            System.err.println("JWT token is expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("JWT token is unsupported: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
+    // Principal rebuilt from the signed claims, or null for tokens issued without them
+    public UserPrincipal getPrincipalFromJwtToken(String token) {
+        return principalFromClaims(parser.parseSignedClaims(token).getPayload());
+    }
+
+    public static UserPrincipal principalFromClaims(Claims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null) {
+            return null;
         }
-        return false;
+        return new UserPrincipal(userId, claims.getSubject(), User.Role.valueOf(role),
+                claims.get(EMPLOYEE_ID_CLAIM, String.class), true);
+    }
+
+    public boolean validateJwtToken(String authToken) {
+        return getVerifiedClaims(authToken) != null;
     }
 
 }
@@ -0,0 +1,133 @@
+package org.pertitrack.backend.security;
+
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caches the authenticated principal per email
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final BoundedCache<String, UserPrincipal> principals;
+
+    // Bumped on every eviction; a load only gets cached if no eviction raced with it
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public PrincipalCache(UserRepository userRepository,
+                          EmployeeRepository employeeRepository,
+                          CacheInvalidationBus invalidationBus,
+                          @Value("${app.security.principal-cache.max-size:10000}") int maxSize,
+                          @Value("${app.security.principal-cache.ttl:PT5M}") Duration ttl) {
+        this(userRepository, employeeRepository, invalidationBus, new BoundedCache<>(maxSize, ttl, Clock.systemUTC()));
+    }
+
+    PrincipalCache(UserRepository userRepository,
+                   EmployeeRepository employeeRepository,
+                   CacheInvalidationBus invalidationBus,
+                   BoundedCache<String, UserPrincipal> principals) {
+        this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
+        this.invalidationBus = invalidationBus;
+        this.principals = principals;
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    public UserPrincipal get(String email) {
+        UserPrincipal principal = principals.get(email);
+        if (principal != null) {
+            return principal;
+        }
+
+        long generationBeforeLoad = generation.get();
+        principal = load(email);
+        if (generation.get() == generationBeforeLoad) {
+            principals.put(email, principal);
+        }
+        return principal;
+    }
+
+    public void evict(String email) {
+        evictNowAndAfterCompletion(() -> principals.remove(email));
+    }
+
+    // Also evicted on the other nodes once the surrounding transaction commits
+    public void evictUser(String userId) {
+        evictUserLocally(userId);
+        invalidationBus.publish(InvalidationEvent.user(userId));
+    }
+
+    public void evictEmployee(String employeeId) {
+        evictEmployeeLocally(employeeId);
+        invalidationBus.publish(InvalidationEvent.employee(employeeId));
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        principals.clear();
+    }
+
+    private void onRemoteInvalidation(InvalidationEvent event) {
+        switch (event.type()) {
+            case USER -> evictUserLocally(event.id());
+            case EMPLOYEE -> evictEmployeeLocally(event.id());
+            case ALL -> clear();
+            default -> {
+                // not a principal change
+            }
+        }
+    }
+
+    private void evictUserLocally(String userId) {
+        evictNowAndAfterCompletion(() -> principals.removeIf(principal -> principal.userId().equals(userId)));
+    }
+
+    private void evictEmployeeLocally(String employeeId) {
+        evictNowAndAfterCompletion(() -> principals.removeIf(principal -> employeeId.equals(principal.employeeId())));
+    }
+
+    private UserPrincipal load(String email) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found: " + email));
+        // a deactivated employee is not linked, so their tokens can no longer book
+        String employeeId = employeeRepository.findByUser_Id(user.getId())
+                .filter(employee -> !Boolean.FALSE.equals(employee.getIsActive()))
+                .map(Employee::getId)
+                .orElse(null);
+        return UserPrincipal.of(user, employeeId);
+    }
+
+    // Evict immediately and once more after the surrounding transaction completes,
+    // so a concurrent request cannot re-cache the pre-commit state
+    private void evictNowAndAfterCompletion(Runnable eviction) {
+        generation.incrementAndGet();
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+}
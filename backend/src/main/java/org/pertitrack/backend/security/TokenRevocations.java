@@ -0,0 +1,107 @@
+package org.pertitrack.backend.security;
+
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Users whose tokens were revoked within the last token lifetime
+@Component
+public class TokenRevocations {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocations.class);
+
+    private final UserRepository userRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration tokenLifetime;
+    private final Clock clock;
+    private final Map<String, Instant> validAfter = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TokenRevocations(UserRepository userRepository,
+                            CacheInvalidationBus invalidationBus,
+                            @Value("${app.jwtExpirationMs}") long jwtExpirationMs) {
+        this(userRepository, invalidationBus, Duration.ofMillis(jwtExpirationMs), Clock.systemUTC());
+    }
+
+    TokenRevocations(UserRepository userRepository,
+                     CacheInvalidationBus invalidationBus,
+                     Duration tokenLifetime,
+                     Clock clock) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+        this.tokenLifetime = tokenLifetime;
+        this.clock = clock;
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    // Token issue times have whole seconds, so a token issued in the second of the revocation is rejected too
+    public boolean isRevoked(String userId, Date issuedAt) {
+        Instant marker = userId != null ? validAfter.get(userId) : null;
+        return marker != null && (issuedAt == null || !issuedAt.toInstant().isAfter(marker));
+    }
+
+    // Rejects every token the user holds now, on all nodes once the surrounding transaction commits
+    public void revoke(String userId) {
+        Instant now = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+        userRepository.revokeTokens(userId, now);
+        remember(userId, now);
+        invalidationBus.publish(InvalidationEvent.user(userId));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            for (User user : userRepository.findByTokensValidAfterAfter(cutoff())) {
+                remember(user.getId(), user.getTokensValidAfter());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not load the token revocations", e);
+        }
+    }
+
+    // Tokens issued before the cutoff have expired anyway
+    @Scheduled(fixedDelayString = "${app.security.token-revocations.purge-interval:PT1M}")
+    public void purgeExpired() {
+        Instant cutoff = cutoff();
+        validAfter.values().removeIf(marker -> marker.isBefore(cutoff));
+    }
+
+    private void onRemoteInvalidation(InvalidationEvent event) {
+        switch (event.type()) {
+            case USER -> userRepository.findTokensValidAfterById(event.id())
+                    .filter(marker -> marker.isAfter(cutoff()))
+                    .ifPresent(marker -> remember(event.id(), marker));
+            case ALL -> load();
+            default -> {
+                // not a user change
+            }
+        }
+    }
+
+    private void remember(String userId, Instant marker) {
+        validAfter.merge(userId, marker, (current, added) -> added.isAfter(current) ? added : current);
+    }
+
+    private Instant cutoff() {
+        return clock.instant().minus(tokenLifetime);
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.pertitrack.backend.security;
+
+import org.pertitrack.backend.entity.auth.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Principal placed in the security context for token-authenticated requests
+public record UserPrincipal(
+        String userId,
+        String email,
+        User.Role role,
+        String employeeId,
+        boolean enabled
+) implements UserDetails {
+
+    public static UserPrincipal of(User user, String employeeId) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getRole(), employeeId, user.isEnabled());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+}
@@ -0,0 +1,65 @@
+package org.pertitrack.backend.security;
+
+import io.jsonwebtoken.Claims;
+import org.pertitrack.backend.util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+
+// Claims of already verified bearer tokens, keyed by the token's SHA-256 digest
+@Component
+public class VerifiedTokenCache {
+
+    private final BoundedCache<String, Claims> verified;
+    private final Clock clock;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${app.security.token-cache.max-size:10000}") int maxSize,
+                              @Value("${app.jwtExpirationMs}") long jwtExpirationMs) {
+        this(new BoundedCache<>(maxSize, Duration.ofMillis(jwtExpirationMs)), Clock.systemUTC());
+    }
+
+    VerifiedTokenCache(BoundedCache<String, Claims> verified, Clock clock) {
+        this.verified = verified;
+        this.clock = clock;
+    }
+
+    // Claims of a previously verified, unexpired token, or null
+    public Claims get(String token) {
+        return verified.get(digest(token));
+    }
+
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return; // tokens without expiry are always verified again
+        }
+        verified.put(digest(token), claims, Duration.between(clock.instant(), expiration.toInstant()));
+    }
+
+    public void evict(String token) {
+        verified.remove(digest(token));
+    }
+
+    public void clear() {
+        verified.clear();
+    }
+
+    static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
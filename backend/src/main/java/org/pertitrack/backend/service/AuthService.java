@@ -11,6 +11,7 @@ import org.springframework.security.core.*;
 import org.springframework.security.core.context.*;
 import org.springframework.security.crypto.password.*;
 import org.springframework.stereotype.*;
+import org.springframework.util.StringUtils;
 import org.springframework.transaction.annotation.*;
 
 import java.util.*;
@@ -25,6 +26,7 @@ public class AuthService {
     private final EmployeeRepository employeeRepository;
     private final PasswordEncoder encoder;
     private final JwtUtils jwtUtils;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public AuthService(
             AuthenticationManager authenticationManager,
@@ -32,13 +34,15 @@ public class AuthService {
             EmployeeService employeeService,
             PasswordEncoder encoder,
             JwtUtils jwtUtils,
-            EmployeeRepository employeeRepository) {
+            EmployeeRepository employeeRepository,
+            VerifiedTokenCache verifiedTokenCache) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.employeeService = employeeService;
         this.encoder = encoder;
         this.jwtUtils = jwtUtils;
         this.employeeRepository = employeeRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     public ResponseEntity<JwtResponse> authenticateUser(LoginRequest loginRequest) {
@@ -47,7 +51,6 @@ public class AuthService {
                 new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtUtils.generateJwtToken(authentication);
 
         User userDetails = (User) authentication.getPrincipal();
         List<String> roles = userDetails.getAuthorities().stream()
@@ -56,6 +59,10 @@ public class AuthService {
 
         EmployeeDto employee = employeeService.findEmployeeByUserId(userDetails.getId());
 
+        // sign user id, employee id and role into the token so later requests need no lookup
+        String jwt = jwtUtils.generateJwtToken(
+                UserPrincipal.of(userDetails, employee != null ? employee.id() : null));
+
         return ResponseEntity.ok(new JwtResponse(
                 jwt,
                 userDetails.getId(),
@@ -99,7 +106,12 @@ public class AuthService {
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 
-    public ResponseEntity<MessageResponse> logoutUser() {
+    public ResponseEntity<MessageResponse> logoutUser(String authorizationHeader) {
+        // forget the verified token so it is not served from the cache any more
+        if (StringUtils.hasText(authorizationHeader) && authorizationHeader.startsWith("Bearer ")) {
+            verifiedTokenCache.evict(authorizationHeader.substring(7));
+        }
+
         // clear the security context
         SecurityContextHolder.clearContext();
 
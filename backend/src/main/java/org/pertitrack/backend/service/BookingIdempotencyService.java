@@ -0,0 +1,179 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.entity.timetrack.BookingIdempotencyKey;
+import org.pertitrack.backend.exceptions.IdempotencyKeyReuseException;
+import org.pertitrack.backend.repository.BookingIdempotencyKeyRepository;
+import org.pertitrack.backend.util.BoundedCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+// Replays the stored response to retried booking requests with the same Idempotency-Key
+@Service
+public class BookingIdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingIdempotencyService.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final BookingIdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BoundedCache<String, Outcome> recent;
+    private final Duration ttl;
+
+    // The response to send and whether it is a replay of an earlier request
+    public record Outcome(String endpoint, HttpStatus status, TimeRecordResponse response, boolean replayed) {
+    }
+
+    public BookingIdempotencyService(BookingIdempotencyKeyRepository repository,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${app.timetrack.idempotency.max-size:10000}") int maxSize,
+                                     @Value("${app.timetrack.idempotency.ttl:PT24H}") Duration ttl) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.recent = new BoundedCache<>(maxSize, ttl);
+        this.ttl = ttl;
+    }
+
+    // Runs the booking unless the key was already used by the caller, in which case the stored
+    // response is returned. Without a key the booking simply runs.
+    public Outcome execute(String key, String endpoint, HttpStatus status, Supplier<TimeRecordResponse> booking) {
+        if (key == null) {
+            return new Outcome(endpoint, status, booking.get(), false);
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String subject = currentSubject();
+        Outcome stored = recent.get(cacheKey(subject, key));
+        if (stored != null) {
+            return replay(stored, endpoint);
+        }
+        Optional<BookingIdempotencyKey> existing = repository.findBySubjectAndIdempotencyKey(subject, key);
+        if (existing.isPresent() && !isExpired(existing.get())) {
+            return replay(remember(subject, key, toOutcome(existing.get())), endpoint);
+        }
+
+        // an expired row still holds the key and is reused for the new response
+        BookingIdempotencyKey row = existing.orElseGet(BookingIdempotencyKey::new);
+        Outcome outcome;
+        try {
+            outcome = transactionTemplate.execute(tx -> {
+                // Claimed before the booking runs, so a concurrent request with the same key waits
+                // on the unique key until this transaction completes
+                BookingIdempotencyKey claimed = repository.saveAndFlush(claim(row, subject, key, endpoint, status));
+                TimeRecordResponse response = booking.get();
+                claimed.setResponseBody(writeResponse(response));
+                return new Outcome(endpoint, status, response, false);
+            });
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // Another request claimed the key first; its response is the answer to this one too
+            Outcome winner = find(subject, key, endpoint);
+            if (winner != null) {
+                return winner;
+            }
+            throw e;
+        }
+        remember(subject, key, outcome);
+        return outcome;
+    }
+
+    @Scheduled(fixedDelayString = "${app.timetrack.idempotency.cleanup-interval:PT1H}",
+            initialDelayString = "${app.timetrack.idempotency.cleanup-interval:PT1H}")
+    public void purgeExpiredKeys() {
+        try {
+            int purged = repository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys", purged);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired idempotency keys", e);
+        }
+    }
+
+    private Outcome find(String subject, String key, String endpoint) {
+        return repository.findBySubjectAndIdempotencyKey(subject, key)
+                .filter(row -> !isExpired(row))
+                .map(row -> replay(remember(subject, key, toOutcome(row)), endpoint))
+                .orElse(null);
+    }
+
+    private Outcome remember(String subject, String key, Outcome outcome) {
+        recent.put(cacheKey(subject, key), outcome);
+        return outcome;
+    }
+
+    private static Outcome replay(Outcome stored, String endpoint) {
+        if (!stored.endpoint().equals(endpoint)) {
+            throw new IdempotencyKeyReuseException(HEADER + " was already used for " + stored.endpoint());
+        }
+        return new Outcome(stored.endpoint(), stored.status(), stored.response(), true);
+    }
+
+    private static boolean isExpired(BookingIdempotencyKey row) {
+        return !row.getExpiresAt().isAfter(LocalDateTime.now());
+    }
+
+    private BookingIdempotencyKey claim(BookingIdempotencyKey row, String subject, String key, String endpoint,
+                                        HttpStatus status) {
+        row.setSubject(subject);
+        row.setIdempotencyKey(key);
+        row.setEndpoint(endpoint);
+        row.setResponseStatus(status.value());
+        row.setResponseBody("");
+        row.setExpiresAt(LocalDateTime.now().plus(ttl));
+        return row;
+    }
+
+    private Outcome toOutcome(BookingIdempotencyKey row) {
+        try {
+            return new Outcome(row.getEndpoint(), HttpStatus.valueOf(row.getResponseStatus()),
+                    objectMapper.readValue(row.getResponseBody(), TimeRecordResponse.class), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response of " + HEADER + " is unreadable", e);
+        }
+    }
+
+    private String writeResponse(TimeRecordResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Booking response cannot be stored", e);
+        }
+    }
+
+    private static String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new IllegalStateException(HEADER + " requires an authenticated caller");
+        }
+        return authentication.getName();
+    }
+
+    private static String cacheKey(String subject, String key) {
+        return subject + '\n' + key;
+    }
+
+}
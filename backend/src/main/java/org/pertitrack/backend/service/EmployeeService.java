@@ -6,6 +6,7 @@ import org.pertitrack.backend.entity.personnel.*;
 import org.pertitrack.backend.exceptions.*;
 import org.pertitrack.backend.mapper.*;
 import org.pertitrack.backend.repository.*;
+import org.pertitrack.backend.security.*;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.*;
 import org.springframework.transaction.annotation.*;
@@ -22,14 +23,20 @@ public class EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final EmployeeMapper employeeMapper;
+    private final PrincipalCache principalCache;
+    private final TokenRevocations tokenRevocations;
 
     public EmployeeService(EmployeeRepository employeeRepository,
                            UserRepository userRepository,
-                           EmployeeMapper employeeMapper
+                           EmployeeMapper employeeMapper,
+                           PrincipalCache principalCache,
+                           TokenRevocations tokenRevocations
     ) {
         this.employeeRepository = employeeRepository;
         this.userRepository = userRepository;
         this.employeeMapper = employeeMapper;
+        this.principalCache = principalCache;
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Transactional(readOnly = true)
@@ -99,6 +106,9 @@ public class EmployeeService {
         }
 
         Employee saved = employeeRepository.save(employee);
+        if (saved.getUser() != null) {
+            principalCache.evictUser(saved.getUser().getId());
+        }
 
         // Handle case where employee might not be linked to a user
         String userId = null;
@@ -138,9 +148,14 @@ public class EmployeeService {
             employee.setLastName(request.getLastName());
         }
 
+        boolean deactivated = !Boolean.FALSE.equals(employee.getIsActive()) && !request.isActive();
         employee.setIsActive(request.isActive());
 
         Employee updated = employeeRepository.save(employee);
+        principalCache.evictEmployee(id);
+        if (deactivated && employee.getUser() != null) {
+            tokenRevocations.revoke(employee.getUser().getId());
+        }
 
         return employeeMapper.toDto(updated);
     }
@@ -168,10 +183,15 @@ public class EmployeeService {
 
 
     public boolean deleteEmployee(String employeeId) {
-        if (!employeeRepository.existsById(employeeId)) {
+        Employee employee = employeeRepository.findById(employeeId).orElse(null);
+        if (employee == null) {
             return false;
         }
         employeeRepository.deleteById(employeeId);
+        principalCache.evictEmployee(employeeId);
+        if (employee.getUser() != null) {
+            tokenRevocations.revoke(employee.getUser().getId());
+        }
         return true;
     }
 
@@ -196,6 +216,7 @@ public class EmployeeService {
         employee.setIsActive(true);
 
         employeeRepository.save(employee);
+        principalCache.evictUser(user.getId());
     }
 
     /**
@@ -0,0 +1,309 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.pertitrack.backend.cluster.ClusterNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.dto.JobRequest;
+import org.pertitrack.backend.dto.JobResponse;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.JobRepository;
+import org.pertitrack.backend.security.CurrentEmployeeResolver;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.pertitrack.backend.service.job.JobContext;
+import org.pertitrack.backend.service.job.JobHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+// Runs long operations as background jobs
+@Service
+public class JobService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobService.class);
+
+    static final int MAX_LISTED_JOBS = 50;
+
+    private static final EnumSet<Job.Status> UNFINISHED = EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING);
+
+    private final JobRepository jobRepository;
+    private final Map<Job.Type, JobHandler> handlers = new EnumMap<>(Job.Type.class);
+    private final CurrentEmployeeResolver currentEmployeeResolver;
+    private final ObjectMapper objectMapper;
+    private final SharedFileStore fileStore;
+    private final String nodeId;
+    private final Duration lease;
+    private final Duration retention;
+    private final Semaphore permits;
+    private final ExecutorService executor;
+    private final Map<String, JobContext> running = new ConcurrentHashMap<>();
+
+    public JobService(JobRepository jobRepository,
+                      List<JobHandler> handlers,
+                      CurrentEmployeeResolver currentEmployeeResolver,
+                      ObjectMapper objectMapper,
+                      SharedFileStore fileStore,
+                      ClusterNode clusterNode,
+                      @Value("${app.jobs.max-concurrent:4}") int maxConcurrent,
+                      @Value("${app.jobs.lease:PT1M}") Duration lease,
+                      @Value("${app.jobs.retention:P7D}") Duration retention) {
+        this.jobRepository = jobRepository;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.currentEmployeeResolver = currentEmployeeResolver;
+        this.objectMapper = objectMapper;
+        this.fileStore = fileStore;
+        this.nodeId = clusterNode.id();
+        this.lease = lease;
+        this.retention = retention;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // job threads are virtual (daemon) threads; jobs cut off by the JVM exit are taken over by
+        // another node, or this one after a restart, once their lease has expired
+        executor.shutdown();
+    }
+
+    public JobResponse submit(JobRequest request) {
+        JobHandler handler = handlers.get(request.type());
+        if (handler == null) {
+            throw new IllegalArgumentException("Unsupported job type: " + request.type());
+        }
+        handler.validate(request.parameters());
+
+        Job job = new Job();
+        job.setType(request.type());
+        job.setParameters(writeParameters(request.parameters()));
+        job.setCreatedBy(currentEmployeeResolver.currentPrincipal().map(UserPrincipal::userId).orElse(null));
+        job.setOwnerNode(nodeId);
+        job.setLeaseExpiresAt(leaseUntil(LocalDateTime.now()));
+        job = jobRepository.save(job);
+
+        submit(job.getId());
+        return JobResponse.from(job);
+    }
+
+    public JobResponse getJob(String jobId) {
+        return JobResponse.from(findJob(jobId));
+    }
+
+    // Most recent jobs started by the current user
+    public List<JobResponse> getMyJobs() {
+        return currentEmployeeResolver.currentPrincipal()
+                .map(principal -> jobRepository.findByCreatedByOrderByCreatedAtDesc(
+                        principal.userId(), Limit.of(MAX_LISTED_JOBS)))
+                .orElse(List.of())
+                .stream()
+                .map(JobResponse::from)
+                .toList();
+    }
+
+    // A queued job is cancelled at once; a running one stops at its handler's next cancellation check
+    public JobResponse cancel(String jobId) {
+        Job job = findJob(jobId);
+        if (job.getStatus().isFinished()) {
+            throw new IllegalStateException("Job " + jobId + " is already " + job.getStatus());
+        }
+        if (job.getStatus() == Job.Status.QUEUED
+                && jobRepository.cancelQueued(jobId, Job.Status.QUEUED, Job.Status.CANCELLED, LocalDateTime.now()) == 1) {
+            return JobResponse.from(findJob(jobId));
+        }
+
+        jobRepository.requestCancel(jobId);
+        JobContext context = running.get(jobId);
+        if (context != null) {
+            context.cancel();
+        }
+        return JobResponse.from(job).withCancelRequested(true);
+    }
+
+    // The result is read from the shared store as the caller consumes the stream
+    public Result getResult(String jobId) {
+        Job job = findJob(jobId);
+        if (job.getStatus() != Job.Status.SUCCEEDED || job.getResultFileName() == null) {
+            throw new IllegalStateException("Job " + jobId + " has no result");
+        }
+        if (!fileStore.exists(jobId)) {
+            throw new EntityNotFoundException("Result of job " + jobId + " is no longer available");
+        }
+        return new Result(fileStore.open(jobId), job.getResultFileName(), job.getResultContentType(),
+                job.getResultSize());
+    }
+
+    public record Result(InputStream content, String fileName, String contentType, Long size) {
+    }
+
+    // Keeps the jobs of this node from being taken over while it is alive
+    @Scheduled(fixedDelayString = "${app.jobs.heartbeat-interval:PT15S}")
+    public void renewLeases() {
+        try {
+            jobRepository.renewLeases(nodeId, UNFINISHED, leaseUntil(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Could not renew the job leases of this node", e);
+        }
+    }
+
+    // Jobs of nodes that stopped, this one's previous run included, start over here. Each job is
+    // taken over with a conditional update, so of several nodes looking at once only one gets it.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jobs.lease:PT1M}", initialDelayString = "${app.jobs.lease:PT1M}")
+    public void reclaimExpiredJobs() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (String jobId : jobRepository.findIdsWithExpiredLease(UNFINISHED, now)) {
+                if (jobRepository.reclaim(jobId, UNFINISHED, now, Job.Status.QUEUED, nodeId, leaseUntil(now)) == 1) {
+                    log.info("Taking over job {} after its lease expired", jobId);
+                    submit(jobId);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not look up jobs with an expired lease", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.cleanup-interval:PT1H}",
+            initialDelayString = "${app.jobs.cleanup-interval:PT1H}")
+    public void purgeExpiredJobs() {
+        try {
+            List<Job> expired = jobRepository.findByFinishedAtBefore(LocalDateTime.now().minus(retention));
+            fileStore.deleteAll(expired.stream()
+                    .filter(job -> job.getResultFileName() != null)
+                    .map(Job::getId)
+                    .toList());
+            jobRepository.deleteAll(expired);
+            if (!expired.isEmpty()) {
+                log.info("Purged {} finished jobs older than {}", expired.size(), retention);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not purge expired jobs", e);
+        }
+    }
+
+    private void submit(String jobId) {
+        executor.execute(() -> execute(jobId));
+    }
+
+    void execute(String jobId) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (jobRepository.claim(jobId, Job.Status.QUEUED, Job.Status.RUNNING, nodeId, now, leaseUntil(now)) == 0) {
+                return;
+            }
+            Job job = findJob(jobId);
+            JobContext context = new JobContext(jobId, readParameters(job.getParameters()), nodeId,
+                    jobRepository, fileStore);
+            running.put(jobId, context);
+            try {
+                run(job, context);
+            } finally {
+                running.remove(jobId);
+            }
+        } catch (RuntimeException e) {
+            log.error("Job {} could not be completed", jobId, e);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void run(Job job, JobContext context) {
+        Job.Status status;
+        String errorMessage = null;
+        try {
+            handlers.get(job.getType()).run(context);
+            context.checkCancelled();
+            status = Job.Status.SUCCEEDED;
+        } catch (CancellationException e) {
+            status = Job.Status.CANCELLED;
+        } catch (Exception e) {
+            log.warn("{} job {} failed", job.getType(), job.getId(), e);
+            status = Job.Status.FAILED;
+            errorMessage = e.getMessage();
+        }
+        finish(job.getId(), status, errorMessage, context);
+    }
+
+    private void finish(String jobId, Job.Status status, String errorMessage, JobContext context) {
+        Job job = findJob(jobId);
+        if (!nodeId.equals(job.getOwnerNode())) {
+            // the lease ran out and another node runs the job now; its outcome is the one that counts
+            log.warn("Job {} was taken over by node {}, discarding this run", jobId, job.getOwnerNode());
+            return;
+        }
+        job.setStatus(status);
+        job.setErrorMessage(errorMessage);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setLeaseExpiresAt(null);
+        job.setProgressCurrent(context.progressCurrent());
+        job.setProgressTotal(context.progressTotal());
+        if (status == Job.Status.SUCCEEDED && context.hasResult()) {
+            job.setResultFileName(context.resultFileName());
+            job.setResultContentType(context.resultContentType());
+            job.setResultSize(context.resultSize());
+        } else if (context.hasResult()) {
+            fileStore.delete(jobId);
+        }
+        try {
+            jobRepository.save(job);
+        } catch (OptimisticLockingFailureException e) {
+            // taken over between the read above and this save
+            log.warn("Job {} was taken over by another node, discarding this run", jobId);
+        }
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plus(lease);
+    }
+
+    private Job findJob(String jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found with id: " + jobId));
+    }
+
+    private String writeParameters(JsonNode parameters) {
+        try {
+            return parameters == null ? null : objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid job parameters", e);
+        }
+    }
+
+    private JsonNode readParameters(String parameters) {
+        try {
+            return parameters == null ? objectMapper.nullNode() : objectMapper.readTree(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored job parameters are not valid JSON", e);
+        }
+    }
+
+}
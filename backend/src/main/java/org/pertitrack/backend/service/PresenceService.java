@@ -0,0 +1,169 @@
+package org.pertitrack.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.dto.timeTrackingDto.PresenceResponse;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Live index of who is working, on break or finished today
+@Service
+public class PresenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(PresenceService.class);
+
+    private static final Comparator<PresenceResponse> BY_NAME = Comparator
+            .comparing(PresenceResponse::lastName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(PresenceResponse::firstName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(PresenceResponse::employeeId);
+
+    private final TimeRecordService timeRecordService;
+    private final TimeRecordRepository timeRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final Executor updater;
+    private final Map<String, Presence> index = new ConcurrentHashMap<>();
+
+    // Only touched by the updater thread
+    private LocalDate indexDay = LocalDate.MIN;
+
+    private record Presence(LocalDate date, PresenceResponse response) {
+    }
+
+    @Autowired
+    public PresenceService(TimeRecordService timeRecordService,
+                           TimeRecordRepository timeRecordRepository,
+                           EmployeeRepository employeeRepository,
+                           EmployeeDayStateRegistry dayStateRegistry,
+                           CacheInvalidationBus invalidationBus) {
+        this(timeRecordService, timeRecordRepository, employeeRepository, dayStateRegistry, invalidationBus,
+                Executors.newSingleThreadExecutor(Thread.ofVirtual().name("presence").factory()));
+    }
+
+    PresenceService(TimeRecordService timeRecordService,
+                    TimeRecordRepository timeRecordRepository,
+                    EmployeeRepository employeeRepository,
+                    EmployeeDayStateRegistry dayStateRegistry,
+                    CacheInvalidationBus invalidationBus,
+                    Executor updater) {
+        this.timeRecordService = timeRecordService;
+        this.timeRecordRepository = timeRecordRepository;
+        this.employeeRepository = employeeRepository;
+        this.updater = updater;
+        dayStateRegistry.addChangeListener((employeeId, date) -> {
+            // edits of past days do not change anyone's presence
+            if (date.equals(LocalDate.now())) {
+                updater.execute(() -> refresh(employeeId, date));
+            }
+        });
+        // changes from other nodes may have been missed
+        invalidationBus.subscribe(event -> {
+            if (event.type() == InvalidationEvent.Type.ALL) {
+                hydrate();
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (updater instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void hydrate() {
+        updater.execute(() -> load(LocalDate.now()));
+    }
+
+    // Employees with bookings today, ordered by name; null filters match everything
+    public List<PresenceResponse> getPresence(DailySummary.DayStatus status, TimeRecord.LocationType location) {
+        LocalDate today = LocalDate.now();
+        List<PresenceResponse> board = new ArrayList<>();
+        for (Presence presence : index.values()) {
+            PresenceResponse response = presence.response();
+            if (presence.date().equals(today)
+                    && (status == null || response.status() == status)
+                    && (location == null || response.location() == location)) {
+                board.add(response);
+            }
+        }
+        board.sort(BY_NAME);
+        return board;
+    }
+
+    private void load(LocalDate date) {
+        try {
+            Map<String, List<TimeRecord>> recordsByEmployee = new LinkedHashMap<>();
+            for (TimeRecord record : timeRecordRepository.findByRecordDateWithEmployee(date)) {
+                recordsByEmployee.computeIfAbsent(record.getEmployee().getId(), id -> new ArrayList<>()).add(record);
+            }
+            rollOver(date);
+            index.keySet().removeIf(employeeId -> !recordsByEmployee.containsKey(employeeId));
+            recordsByEmployee.forEach((employeeId, records) -> {
+                Employee employee = records.get(0).getEmployee();
+                put(employeeId, employee.getFirstName(), employee.getLastName(), date, EmployeeDayState.replay(records));
+            });
+            log.info("Presence index loaded with {} employees", recordsByEmployee.size());
+        } catch (RuntimeException e) {
+            log.warn("Could not load the presence index", e);
+        }
+    }
+
+    private void refresh(String employeeId, LocalDate date) {
+        try {
+            rollOver(date);
+            EmployeeDayState state = timeRecordService.getDayState(employeeId, date);
+            Presence current = index.get(employeeId);
+            if (current != null && current.date().equals(date)) {
+                put(employeeId, current.response().firstName(), current.response().lastName(), date, state);
+                return;
+            }
+            employeeRepository.findById(employeeId).ifPresent(employee ->
+                    put(employeeId, employee.getFirstName(), employee.getLastName(), date, state));
+        } catch (RuntimeException e) {
+            log.warn("Could not refresh presence of employee {}", employeeId, e);
+        }
+    }
+
+    private void put(String employeeId, String firstName, String lastName, LocalDate date, EmployeeDayState state) {
+        if (state.phase() == EmployeeDayState.Phase.NOT_STARTED) {
+            // all of today's records were deleted
+            index.remove(employeeId);
+            return;
+        }
+        index.put(employeeId, new Presence(date, new PresenceResponse(employeeId, firstName, lastName,
+                DailySummary.DayStatus.valueOf(state.phase().name()), state.lastLocation(), state.lastRecordTime())));
+    }
+
+    // Yesterday's entries are hidden by getPresence and dropped with the first update of a new day
+    private void rollOver(LocalDate date) {
+        if (date.isAfter(indexDay)) {
+            indexDay = date;
+            index.values().removeIf(presence -> presence.date().isBefore(date));
+        }
+    }
+
+}
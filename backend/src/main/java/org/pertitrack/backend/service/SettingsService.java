@@ -7,6 +7,7 @@ import org.pertitrack.backend.dto.PasswordChangeRequest;
 import org.pertitrack.backend.entity.auth.User;
 import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.PrincipalCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,7 @@ public class SettingsService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PrincipalCache principalCache;
 
     // change password
     @Transactional
@@ -47,6 +49,8 @@ public class SettingsService {
         user.setPassword(passwordEncoder.encode(request.newPassword()));
         // save in user repo
         userRepository.save(user);
+        // drop the cached principal so the next request reloads the user
+        principalCache.evictUser(user.getId());
 
         log.info("Password changed for user: {}", user.getEmail());
     }
@@ -0,0 +1,226 @@
+package org.pertitrack.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.dto.timeTrackingDto.CurrentStatusResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Pushes status and today's summary to connected clients as server-sent events
+@Service
+public class StatusStreamService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusStreamService.class);
+
+    static final String STATUS_EVENT = "status";
+    static final String SUMMARY_EVENT = "summary";
+
+    private final TimeRecordService timeRecordService;
+    private final int maxConnections;
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private volatile LocalDate lastTickDay = LocalDate.now();
+
+    public StatusStreamService(TimeRecordService timeRecordService,
+                               EmployeeDayStateRegistry dayStateRegistry,
+                               CacheInvalidationBus invalidationBus,
+                               @Value("${app.timetrack.status-stream.max-connections:10000}") int maxConnections,
+                               @Value("${app.timetrack.status-stream.timeout:PT30M}") Duration timeout) {
+        this.timeRecordService = timeRecordService;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeout.toMillis();
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("status-push-", 0).factory());
+        dayStateRegistry.addChangeListener((employeeId, date) -> {
+            Channel channel = channels.get(employeeId);
+            if (channel != null) {
+                schedule(channel, true, false);
+            }
+        });
+        // changes from other nodes may have been missed
+        invalidationBus.subscribe(event -> {
+            if (event.type() == InvalidationEvent.Type.ALL) {
+                channels.values().forEach(channel -> schedule(channel, true, false));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(s -> s.emitter.complete()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("pertitrack.status.streams", connections, AtomicInteger::get)
+                .description("Open status event streams")
+                .register(registry);
+    }
+
+    // Opens a stream for the current employee; the first events carry the full status and summary
+    public SseEmitter subscribe() {
+        String employeeId = timeRecordService.getCurrentEmployeeId();
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("Too many open status streams. Please retry later.");
+        }
+
+        SseEmitter emitter = newEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> unsubscribe(employeeId, subscriber));
+        emitter.onTimeout(() -> unsubscribe(employeeId, subscriber));
+        emitter.onError(e -> unsubscribe(employeeId, subscriber));
+
+        Channel channel = channels.compute(employeeId, (id, existing) -> {
+            Channel c = existing != null ? existing : new Channel(id);
+            c.subscribers.add(subscriber);
+            return c;
+        });
+        // the snapshot goes through the channel too, so it cannot overtake a newer push
+        schedule(channel, true, false);
+        return emitter;
+    }
+
+    @Scheduled(fixedRateString = "${app.timetrack.status-stream.tick:PT1M}",
+            initialDelayString = "${app.timetrack.status-stream.tick:PT1M}")
+    public void tick() {
+        // the status only changes with bookings, except at midnight when a new day starts
+        LocalDate today = LocalDate.now();
+        boolean newDay = !today.equals(lastTickDay);
+        lastTickDay = today;
+        channels.values().forEach(channel -> schedule(channel, newDay, true));
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    private void unsubscribe(String employeeId, Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        connections.decrementAndGet();
+        channels.computeIfPresent(employeeId, (id, channel) -> {
+            channel.subscribers.remove(subscriber);
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+    }
+
+    // Pushes for one employee run one at a time, so an older computation can never be sent
+    // after a newer one; requests arriving meanwhile are merged into a single follow-up push
+    private void schedule(Channel channel, boolean withStatus, boolean heartbeat) {
+        if (withStatus) {
+            channel.statusRequested.set(true);
+        }
+        if (heartbeat) {
+            channel.heartbeatRequested.set(true);
+        }
+        if (channel.pending.getAndIncrement() == 0) {
+            executor.execute(() -> drain(channel));
+        }
+    }
+
+    private void drain(Channel channel) {
+        int seen = channel.pending.get();
+        do {
+            push(channel, channel.statusRequested.getAndSet(false), channel.heartbeatRequested.getAndSet(false));
+            seen = channel.pending.addAndGet(-seen);
+        } while (seen != 0);
+    }
+
+    private void push(Channel channel, boolean withStatus, boolean heartbeat) {
+        if (channel.subscribers.isEmpty()) {
+            return;
+        }
+        CurrentStatusResponse status;
+        TodaySummaryResponse summary;
+        try {
+            status = withStatus ? timeRecordService.getCurrentStatus(channel.employeeId) : null;
+            summary = timeRecordService.getTodaySummary(channel.employeeId);
+        } catch (RuntimeException e) {
+            log.warn("Could not compute status for employee {}", channel.employeeId, e);
+            return;
+        }
+
+        for (Subscriber subscriber : channel.subscribers) {
+            try {
+                subscriber.send(status, summary, heartbeat);
+            } catch (IOException | IllegalStateException e) {
+                // client went away or the emitter already completed
+                unsubscribe(channel.employeeId, subscriber);
+            }
+        }
+    }
+
+    private static final class Channel {
+        private final String employeeId;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicBoolean statusRequested = new AtomicBoolean();
+        private final AtomicBoolean heartbeatRequested = new AtomicBoolean();
+
+        private Channel(String employeeId) {
+            this.employeeId = employeeId;
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private CurrentStatusResponse lastStatus;
+        private TodaySummaryResponse lastSummary;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        // status is null when it was not recomputed
+        private synchronized void send(CurrentStatusResponse status, TodaySummaryResponse summary,
+                                       boolean heartbeat) throws IOException {
+            boolean sent = false;
+            if (status != null && !status.equals(lastStatus)) {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT).data(status));
+                lastStatus = status;
+                sent = true;
+            }
+            if (!Objects.equals(summary, lastSummary)) {
+                emitter.send(SseEmitter.event().name(SUMMARY_EVENT).data(summary));
+                lastSummary = summary;
+                sent = true;
+            }
+            if (heartbeat && !sent) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            }
+        }
+    }
+
+}
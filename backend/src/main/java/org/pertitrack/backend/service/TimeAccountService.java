@@ -0,0 +1,98 @@
+package org.pertitrack.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountMonthResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountResponse;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.pertitrack.backend.entity.timetrack.TimeAccountMonth;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeAccountMonthRepository;
+import org.pertitrack.backend.repository.TimeAccountRepository;
+import org.pertitrack.backend.service.timetrack.TargetTimeCalendar;
+import org.pertitrack.backend.service.timetrack.TimeAccountLedger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Reads the time accounts kept by TimeAccountLedger
+@Service
+@RequiredArgsConstructor
+public class TimeAccountService {
+
+    private final TimeAccountRepository timeAccountRepository;
+    private final TimeAccountMonthRepository timeAccountMonthRepository;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final TimeAccountLedger timeAccountLedger;
+    private final TargetTimeCalendar targetTimeCalendar;
+    private final TimeRecordService timeRecordService;
+
+    @Transactional(readOnly = true)
+    public TimeAccountResponse getMyAccount(int year) {
+        return getAccount(timeRecordService.getCurrentEmployeeId(), year);
+    }
+
+    @Transactional(readOnly = true)
+    public TimeAccountResponse getAccount(String employeeId, int year) {
+        TimeAccount account = findAccount(employeeId);
+        LocalDate firstMonth = LocalDate.of(year, 1, 1);
+        List<TimeAccountMonth> months = timeAccountMonthRepository
+                .findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(employeeId, firstMonth, LocalDate.of(year, 12, 1));
+
+        long opening = timeAccountMonthRepository
+                .findFirstByEmployee_IdAndMonthStartLessThanOrderByMonthStartDesc(employeeId, firstMonth)
+                .map(TimeAccountMonth::getBalanceSeconds)
+                .orElse(account.getOpeningBalanceSeconds());
+        long worked = months.stream().mapToLong(TimeAccountMonth::getWorkedSeconds).sum();
+        long target = months.stream().mapToLong(TimeAccountMonth::getTargetSeconds).sum();
+
+        return new TimeAccountResponse(
+                employeeId,
+                year,
+                account.getTrackingStart(),
+                account.getTargetPostedThrough(),
+                opening,
+                worked,
+                target,
+                opening + worked - target,
+                account.getBalanceSeconds(),
+                months.stream()
+                        .map(month -> new TimeAccountMonthResponse(month.getMonthStart(), month.getWorkedSeconds(),
+                                month.getTargetSeconds(), month.openingBalanceSeconds(), month.getBalanceSeconds()))
+                        .toList()
+        );
+    }
+
+    // Rebuilds the account from the daily summaries and the current schedules and absences,
+    // e.g. after a schedule was changed retroactively
+    @Transactional
+    public void recalculate(String employeeId) {
+        TimeAccount account = findAccount(employeeId);
+        // resetting locks the account row, postings from concurrent bookings queue behind it
+        timeAccountLedger.reset(employeeId);
+        targetTimeCalendar.evict(employeeId);
+
+        List<TimeAccountLedger.Posting> postings = new ArrayList<>();
+        for (DailySummary summary : dailySummaryRepository
+                .findByEmployee_IdAndSummaryDateGreaterThanEqual(employeeId, account.getTrackingStart())) {
+            postings.add(TimeAccountLedger.Posting.worked(
+                    employeeId, summary.getSummaryDate(), summary.getWorkingSeconds()));
+        }
+        if (!account.getTargetPostedThrough().isBefore(account.getTrackingStart())) {
+            targetTimeCalendar.targets(employeeId, account.getTrackingStart(), account.getTargetPostedThrough())
+                    .forEach((date, target) -> postings.add(
+                            TimeAccountLedger.Posting.target(employeeId, date, target.toSeconds())));
+        }
+        timeAccountLedger.postAll(postings);
+    }
+
+    private TimeAccount findAccount(String employeeId) {
+        return timeAccountRepository.findByEmployee_Id(employeeId)
+                .orElseThrow(() -> new EntityNotFoundException("Time account not found for employee: " + employeeId));
+    }
+
+}
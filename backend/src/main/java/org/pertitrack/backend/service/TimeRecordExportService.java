@@ -0,0 +1,77 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+// Streams time records as newline-delimited JSON
+@Service
+public class TimeRecordExportService {
+
+    static final int FLUSH_INTERVAL = 1000;
+
+    private final TimeRecordRepository timeRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+
+    public TimeRecordExportService(TimeRecordRepository timeRecordRepository, ObjectMapper objectMapper) {
+        this.timeRecordRepository = timeRecordRepository;
+        this.objectMapper = objectMapper;
+        // flushing after every row would turn each line into its own socket write
+        this.rowWriter = objectMapper.writerFor(TimeRecordResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Writes all records between the dates (inclusive), optionally for one employee, in
+    // (recordTime, id) order and returns the number of rows written. The output stream is not closed.
+    @Transactional(readOnly = true)
+    public long exportTimeRecords(LocalDate startDate, LocalDate endDate, String employeeId,
+                                  OutputStream out) throws IOException {
+        return exportTimeRecords(startDate, endDate, employeeId, out, written -> {
+        });
+    }
+
+    // As above, reporting the running row count to onProgress at every flush
+    @Transactional(readOnly = true)
+    public long exportTimeRecords(LocalDate startDate, LocalDate endDate, String employeeId,
+                                  OutputStream out, LongConsumer onProgress) throws IOException {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid export range: " + startDate + " to " + endDate);
+        }
+
+        try (Stream<TimeRecordResponse> rows = employeeId == null
+                ? timeRecordRepository.streamForExport(startDate, endDate)
+                : timeRecordRepository.streamForExportByEmployeeId(employeeId, startDate, endDate);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            long count = 0;
+            Iterator<TimeRecordResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    onProgress.accept(count);
+                }
+            }
+            generator.flush();
+            onProgress.accept(count);
+            return count;
+        }
+    }
+
+}
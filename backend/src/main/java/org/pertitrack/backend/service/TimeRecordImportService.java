@@ -0,0 +1,260 @@
+package org.pertitrack.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import org.pertitrack.backend.cluster.ClusterNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportRejectionResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.TimeRecordImportRejectionRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRepository;
+import org.pertitrack.backend.service.timetrack.TimeRecordImportProcessor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Server-side import of time clock CSV logs
+@Service
+public class TimeRecordImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeRecordImportService.class);
+
+    static final int MAX_REJECTION_PAGE_SIZE = 500;
+
+    private static final EnumSet<TimeRecordImport.Status> UNFINISHED =
+            EnumSet.of(TimeRecordImport.Status.QUEUED, TimeRecordImport.Status.RUNNING);
+
+    private final TimeRecordImportRepository importRepository;
+    private final TimeRecordImportRejectionRepository rejectionRepository;
+    private final TimeRecordImportProcessor importProcessor;
+    private final SharedFileStore fileStore;
+    private final String nodeId;
+    private final Duration lease;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    public TimeRecordImportService(TimeRecordImportRepository importRepository,
+                                   TimeRecordImportRejectionRepository rejectionRepository,
+                                   TimeRecordImportProcessor importProcessor,
+                                   SharedFileStore fileStore,
+                                   ClusterNode clusterNode,
+                                   @Value("${app.timetrack.import.lease:PT1M}") Duration lease,
+                                   @Value("${app.timetrack.import.chunk-size:500}") int chunkSize,
+                                   @Value("${app.timetrack.import.workers:2}") int workers) {
+        this.importRepository = importRepository;
+        this.rejectionRepository = rejectionRepository;
+        this.importProcessor = importProcessor;
+        this.fileStore = fileStore;
+        this.nodeId = clusterNode.id();
+        this.lease = lease;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers),
+                Thread.ofVirtual().name("time-record-import-", 0).factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // running imports stop at their last committed chunk; another node, or this one after a
+        // restart, resumes them once their lease has expired
+        executor.shutdownNow();
+    }
+
+    public TimeRecordImportResponse startImport(String fileName, InputStream content) {
+        String uploadId = UUID.randomUUID().toString();
+        store(uploadId, content);
+
+        TimeRecordImport timeRecordImport = new TimeRecordImport();
+        timeRecordImport.setFileName(fileName != null ? fileName : uploadId + ".csv");
+        timeRecordImport.setUploadId(uploadId);
+        timeRecordImport.setOwnerNode(nodeId);
+        timeRecordImport.setLeaseExpiresAt(leaseUntil(LocalDateTime.now()));
+        timeRecordImport = importRepository.save(timeRecordImport);
+
+        submit(timeRecordImport.getId());
+        return TimeRecordImportResponse.from(timeRecordImport);
+    }
+
+    public TimeRecordImportResponse getImport(String importId) {
+        return TimeRecordImportResponse.from(findImport(importId));
+    }
+
+    public List<TimeRecordImportRejectionResponse> getRejections(String importId, long afterLine, int size) {
+        findImport(importId);
+        return rejectionRepository.findByImportIdAndLineNumberGreaterThanOrderByLineNumberAsc(
+                        importId, afterLine, Limit.of(Math.clamp(size, 1, MAX_REJECTION_PAGE_SIZE)))
+                .stream()
+                .map(TimeRecordImportRejectionResponse::from)
+                .toList();
+    }
+
+    // Restart a failed import from its checkpoint
+    public TimeRecordImportResponse resumeImport(String importId) {
+        TimeRecordImport timeRecordImport = findImport(importId);
+        if (timeRecordImport.getStatus() != TimeRecordImport.Status.FAILED) {
+            throw new IllegalStateException("Only failed imports can be resumed, import is "
+                    + timeRecordImport.getStatus());
+        }
+        timeRecordImport.setStatus(TimeRecordImport.Status.QUEUED);
+        timeRecordImport.setErrorMessage(null);
+        timeRecordImport.setFinishedAt(null);
+        timeRecordImport.setOwnerNode(nodeId);
+        timeRecordImport.setLeaseExpiresAt(leaseUntil(LocalDateTime.now()));
+        timeRecordImport = importRepository.save(timeRecordImport);
+
+        submit(importId);
+        return TimeRecordImportResponse.from(timeRecordImport);
+    }
+
+    // Keeps the imports of this node from being taken over while it is alive
+    @Scheduled(fixedDelayString = "${app.timetrack.import.heartbeat-interval:PT15S}")
+    public void renewLeases() {
+        try {
+            importRepository.renewLeases(nodeId, UNFINISHED, leaseUntil(LocalDateTime.now()));
+        } catch (DataAccessException e) {
+            log.warn("Could not renew the time record import leases of this node", e);
+        }
+    }
+
+    // Imports of nodes that stopped, this one's previous run included, resume here. Each import
+    // is taken over with a conditional update, so of several nodes looking at once only one gets it.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.timetrack.import.lease:PT1M}",
+            initialDelayString = "${app.timetrack.import.lease:PT1M}")
+    public void reclaimExpiredImports() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            for (String importId : importRepository.findIdsWithExpiredLease(UNFINISHED, now)) {
+                if (importRepository.reclaim(importId, UNFINISHED, now, TimeRecordImport.Status.QUEUED,
+                        nodeId, leaseUntil(now)) == 1) {
+                    log.info("Taking over time record import {} after its lease expired", importId);
+                    submit(importId);
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not look up time record imports with an expired lease", e);
+        }
+    }
+
+    private void submit(String importId) {
+        executor.execute(() -> run(importId));
+    }
+
+    // Reads the upload from the line after the checkpoint and processes it chunk by chunk
+    void run(String importId) {
+        TimeRecordImport timeRecordImport = findImport(importId);
+        if (!nodeId.equals(timeRecordImport.getOwnerNode())) {
+            return;
+        }
+        long checkpoint = timeRecordImport.getProcessedLines();
+        String uploadId = timeRecordImport.getUploadId();
+        timeRecordImport.setStatus(TimeRecordImport.Status.RUNNING);
+        if (timeRecordImport.getStartedAt() == null) {
+            timeRecordImport.setStartedAt(LocalDateTime.now());
+        }
+
+        try {
+            importRepository.save(timeRecordImport);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(fileStore.open(uploadId), StandardCharsets.UTF_8))) {
+                List<TimeRecordImportProcessor.Line> chunk = new ArrayList<>(chunkSize);
+                long lineNumber = 0;
+                String text;
+                while ((text = reader.readLine()) != null) {
+                    if (++lineNumber <= checkpoint) {
+                        continue;
+                    }
+                    chunk.add(new TimeRecordImportProcessor.Line(lineNumber, text));
+                    if (chunk.size() == chunkSize) {
+                        importProcessor.processChunk(importId, nodeId, chunk);
+                        chunk = new ArrayList<>(chunkSize);
+                    }
+                    if (Thread.currentThread().isInterrupted()) {
+                        // shutting down: keep RUNNING so the import resumes from the checkpoint
+                        return;
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    importProcessor.processChunk(importId, nodeId, chunk);
+                }
+            }
+            if (finish(importId, TimeRecordImport.Status.COMPLETED, null)) {
+                fileStore.delete(uploadId);
+            }
+        } catch (CancellationException | OptimisticLockingFailureException e) {
+            // the lease ran out and another node resumes the import from the last committed chunk
+            log.warn("Time record import {} was taken over by another node, stopping here", importId);
+        } catch (IOException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.info("Time record import {} interrupted, will resume once its lease expires", importId);
+                return;
+            }
+            log.warn("Time record import {} failed", importId, e);
+            finish(importId, TimeRecordImport.Status.FAILED, e.getMessage());
+        }
+    }
+
+    // Records the outcome unless another node owns the import by now; false if it does
+    private boolean finish(String importId, TimeRecordImport.Status status, String errorMessage) {
+        TimeRecordImport timeRecordImport = findImport(importId);
+        if (!nodeId.equals(timeRecordImport.getOwnerNode())) {
+            log.warn("Time record import {} was taken over by node {}, discarding this run",
+                    importId, timeRecordImport.getOwnerNode());
+            return false;
+        }
+        timeRecordImport.setStatus(status);
+        timeRecordImport.setErrorMessage(errorMessage);
+        timeRecordImport.setFinishedAt(LocalDateTime.now());
+        timeRecordImport.setLeaseExpiresAt(null);
+        try {
+            importRepository.save(timeRecordImport);
+            return true;
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Time record import {} was taken over by another node, discarding this run", importId);
+            return false;
+        }
+    }
+
+    private TimeRecordImport findImport(String importId) {
+        return importRepository.findById(importId)
+                .orElseThrow(() -> new EntityNotFoundException("Time record import not found with id: " + importId));
+    }
+
+    private void store(String uploadId, InputStream content) {
+        try (OutputStream out = fileStore.create(uploadId)) {
+            content.transferTo(out);
+        } catch (IOException e) {
+            fileStore.delete(uploadId);
+            throw new UncheckedIOException("Could not store import file", e);
+        }
+    }
+
+    private LocalDateTime leaseUntil(LocalDateTime now) {
+        return now.plus(lease);
+    }
+
+}
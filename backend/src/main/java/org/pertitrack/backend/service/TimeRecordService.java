@@ -2,6 +2,9 @@ package org.pertitrack.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import org.pertitrack.backend.dto.timeTrackingDto.CurrentStatusResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordBatchResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordBatchResult;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordPageResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordRequest;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordUpdateRequest;
@@ -9,40 +12,64 @@ import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
 import org.pertitrack.backend.entity.auth.User;
 import org.pertitrack.backend.entity.personnel.Employee;
 import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.BookingConflictException;
 import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.exceptions.TimeRecordNotFoundException;
 import org.pertitrack.backend.mapper.TimeRecordMapper;
+import org.pertitrack.backend.repository.DailySummaryRepository;
 import org.pertitrack.backend.repository.EmployeeRepository;
 import org.pertitrack.backend.repository.TimeRecordRepository;
 import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.pertitrack.backend.security.CurrentEmployeeResolver;
+import org.pertitrack.backend.service.timetrack.DailySummaryRollup;
+import org.pertitrack.backend.service.timetrack.DaySummaryCalculator;
+import org.pertitrack.backend.service.timetrack.DayTimelineReader;
+import org.pertitrack.backend.service.timetrack.EmployeeBookingLock;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.pertitrack.backend.service.timetrack.TargetTimeCalendar;
+import org.pertitrack.backend.service.timetrack.TimeRecordBulkWriter;
+import org.pertitrack.backend.service.timetrack.TimeRecordCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-
-import static org.pertitrack.backend.util.TimeUtils.shortFormatTime;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class TimeRecordService {
 
-    private static final String NOT_STARTED_STATUS = "Not Started";
-    private static final String BREAK_SESSION_TYPE = "BREAK";
-    private static final String WORK_SESSION_TYPE = "WORK";
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
 
     private final TimeRecordRepository timeRecordRepository;
     private final EmployeeRepository employeeRepository;
     private final UserRepository userRepository;
     private final TimeRecordMapper timeRecordMapper;
+    private final EmployeeDayStateRegistry dayStateRegistry;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final DailySummaryRollup dailySummaryRollup;
+    private final CurrentEmployeeResolver currentEmployeeResolver;
+    private final TimeRecordBulkWriter timeRecordBulkWriter;
+    private final EmployeeBookingLock bookingLock;
+    private final TargetTimeCalendar targetTimeCalendar;
+    private final DayTimelineReader dayTimelineReader;
 
     // Authentication methods
     // -------------------------------------------------------------
@@ -55,6 +82,16 @@ public class TimeRecordService {
     }
 
     private Employee getCurrentEmployee() {
+        // Token-authenticated requests already carry the employee id; no lookup needed
+        Optional<UserPrincipal> principal = currentEmployeeResolver.currentPrincipal();
+        if (principal.isPresent()) {
+            String employeeId = principal.get().employeeId();
+            if (employeeId == null) {
+                throw new EmployeeNotFoundException("Current employee not found", principal.get().email());
+            }
+            return employeeRepository.getReferenceById(employeeId);
+        }
+
         User currentUser = getCurrentUser();
         return employeeRepository.findByUser_Id(currentUser.getId())
                 .orElseThrow(() -> new EmployeeNotFoundException("Current employee not found", currentUser.getEmail()));
@@ -71,7 +108,8 @@ public class TimeRecordService {
         LocalDate today = now.toLocalDate();
 
         // Check if employee can clock in
-        if (!canClockIn(employee, today)) {
+        EmployeeDayState dayState = lockDayState(employee, today);
+        if (!dayState.canClockIn()) {
             throw new IllegalStateException("Employee is already clocked in. " +
                     "Please clock out first.");
         }
@@ -81,8 +119,7 @@ public class TimeRecordService {
                 locationType != null ? locationType : TimeRecord.LocationType.OFFICE,
                 notes != null ? notes : "Clock in", false);
 
-        TimeRecord savedRecord = timeRecordRepository.save(timeRecord);
-        return timeRecordMapper.toResponse(savedRecord);
+        return book(employee, dayState, timeRecord);
     }
 
     @Transactional
@@ -99,7 +136,8 @@ public class TimeRecordService {
         LocalDate today = now.toLocalDate();
 
         // Check if employee can clock out
-        if (!canClockOut(employee, today)) {
+        EmployeeDayState dayState = lockDayState(employee, today);
+        if (!dayState.canClockOut()) {
             throw new IllegalStateException("Employee is not clocked in." +
                     " Cannot clock out.");
         }
@@ -108,8 +146,7 @@ public class TimeRecordService {
         TimeRecord timeRecord = createTimeRecord(employee, today, now, TimeRecord.RecordType.CLOCK_OUT,
                 TimeRecord.LocationType.OFFICE, notes != null ? notes : "Clock out", false);
 
-        TimeRecord savedRecord = timeRecordRepository.save(timeRecord);
-        return timeRecordMapper.toResponse(savedRecord);
+        return book(employee, dayState, timeRecord);
     }
 
     @Transactional
@@ -118,9 +155,9 @@ public class TimeRecordService {
         LocalDateTime now = LocalDateTime.now();
         LocalDate today = now.toLocalDate();
 
-        if (!canStartBreak(employee, today)) {
-            StatusCalculationResult status = getCurrentStatusForEmployee(employee, today);
-            if (status.isOnBreak) {
+        EmployeeDayState dayState = lockDayState(employee, today);
+        if (!dayState.canStartBreak()) {
+            if (dayState.isOnBreak()) {
                 throw new IllegalStateException("Employee is already on break.");
             } else {
                 throw new IllegalStateException("Employee must be clocked in to start break.");
@@ -131,8 +168,7 @@ public class TimeRecordService {
         TimeRecord timeRecord = createTimeRecord(employee, today, now, TimeRecord.RecordType.BREAK_START,
                 TimeRecord.LocationType.OFFICE, notes != null ? notes : "Break started", false);
 
-        TimeRecord savedRecord = timeRecordRepository.save(timeRecord);
-        return timeRecordMapper.toResponse(savedRecord);
+        return book(employee, dayState, timeRecord);
     }
 
     @Transactional
@@ -141,7 +177,8 @@ public class TimeRecordService {
         LocalDateTime now = LocalDateTime.now();
         LocalDate today = now.toLocalDate();
 
-        if (!canEndBreak(employee, today)) {
+        EmployeeDayState dayState = lockDayState(employee, today);
+        if (!dayState.canEndBreak()) {
             throw new IllegalStateException("Employee is not on break. " +
                     "Cannot end break.");
         }
@@ -149,8 +186,7 @@ public class TimeRecordService {
         TimeRecord timeRecord = createTimeRecord(employee, today, now, TimeRecord.RecordType.BREAK_END,
                 TimeRecord.LocationType.OFFICE, notes != null ? notes : "Break ended", false);
 
-        TimeRecord savedRecord = timeRecordRepository.save(timeRecord);
-        return timeRecordMapper.toResponse(savedRecord);
+        return book(employee, dayState, timeRecord);
     }
 
     // Location-specific clock in methods
@@ -173,41 +209,62 @@ public class TimeRecordService {
 
     @Transactional(readOnly = true)
     public CurrentStatusResponse getCurrentStatus() {
-        Employee employee = getCurrentEmployee();
-        LocalDate today = LocalDate.now();
+        return currentStatusOf(getCurrentEmployee());
+    }
 
-        // Get today's records in chronological order for accurate status determination
-        List<TimeRecord> todayRecords = timeRecordRepository
-                .findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, today);
+    // For pushes outside the employee's own request, e.g. the status stream
+    @Transactional(readOnly = true)
+    public CurrentStatusResponse getCurrentStatus(String employeeId) {
+        return currentStatusOf(employeeRepository.getReferenceById(employeeId));
+    }
+
+    @Transactional(readOnly = true)
+    public TodaySummaryResponse getTodaySummary() {
+        return todaySummaryOf(getCurrentEmployee());
+    }
 
-        // Calculate current status using the SAME logic as calculateTodaySummary
-        StatusCalculationResult statusResult = calculateCurrentStatus(todayRecords);
+    @Transactional(readOnly = true)
+    public TodaySummaryResponse getTodaySummary(String employeeId) {
+        return todaySummaryOf(employeeRepository.getReferenceById(employeeId));
+    }
 
-        // Get last time record entry for location
-        Optional<TimeRecord> lastEntry = timeRecordRepository
-                .findTopByEmployeeAndRecordDateOrderByRecordTimeDesc(employee, today);
+    // Any employee's day as seen by the booking validation, served from the day state cache
+    @Transactional(readOnly = true)
+    public EmployeeDayState getDayState(String employeeId, LocalDate date) {
+        return getDayState(employeeRepository.getReferenceById(employeeId), date);
+    }
+
+    @Transactional(readOnly = true)
+    public String getCurrentEmployeeId() {
+        return getCurrentEmployee().getId();
+    }
+
+    private CurrentStatusResponse currentStatusOf(Employee employee) {
+        LocalDate today = LocalDate.now();
 
-        String currentLocation = lastEntry
-                .map(record -> record.getLocationType().name())
-                .orElse("OFFICE");
+        // Day state is kept up to date on every booking, so no rescan of today's records is needed
+        EmployeeDayState dayState = getDayState(employee, today);
+
+        // Last entry as a projection, and only if there is one
+        TimeRecordResponse lastEntry = dayState.recordCount() == 0 ? null : timeRecordRepository
+                .findLatestResponses(employee.getId(), today, Limit.of(1))
+                .stream().findFirst().orElse(null);
+
+        String currentLocation = dayState.lastLocation() != null ? dayState.lastLocation().name() : "OFFICE";
 
         return new CurrentStatusResponse(
-                statusResult.isWorking,
-                statusResult.isOnBreak,
+                dayState.isWorking(),
+                dayState.isOnBreak(),
                 currentLocation,
-                lastEntry.map(timeRecordMapper::toResponse).orElse(null)
+                lastEntry
         );
     }
 
-    @Transactional(readOnly = true)
-    public TodaySummaryResponse getTodaySummary() {
-        Employee employee = getCurrentEmployee();
+    private TodaySummaryResponse todaySummaryOf(Employee employee) {
         LocalDate today = LocalDate.now();
 
-        List<TimeRecord> todayRecords = timeRecordRepository
-                .findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, today);
-
-        return calculateTodaySummary(todayRecords);
+        return DaySummaryCalculator.summarize(getDayState(employee, today), LocalDateTime.now(),
+                targetTimeCalendar.targetFor(employee.getId(), today));
     }
 
     // CRUD operations
@@ -221,17 +278,12 @@ public class TimeRecordService {
         LocalDate fromDate = startDate != null ? startDate : LocalDate.now().minusDays(30);
         LocalDate toDate = endDate != null ? endDate : LocalDate.now();
 
-        List<TimeRecord> timeRecords;
-
         if (recordType != null) {
-            timeRecords = timeRecordRepository.findByEmployeeAndRecordDateBetweenAndRecordTypeOrderByRecordTimeDesc(
-                    currentEmployee, fromDate, toDate, recordType);
-        } else {
-            timeRecords = timeRecordRepository.findByEmployeeAndRecordDateBetweenOrderByRecordTimeDesc(
-                    currentEmployee, fromDate, toDate);
+            return timeRecordRepository.findResponsesByEmployeeIdAndRecordDateBetweenAndRecordType(
+                    currentEmployee.getId(), fromDate, toDate, recordType);
         }
-
-        return timeRecordMapper.toResponseList(timeRecords);
+        return timeRecordRepository.findResponsesByEmployeeIdAndRecordDateBetween(
+                currentEmployee.getId(), fromDate, toDate);
     }
 
     @Transactional(readOnly = true)
@@ -247,10 +299,21 @@ public class TimeRecordService {
                 .toList();
     }
 
+    // Every record, optionally of one employee, in keyset order. Pages of MAX_PAGE_SIZE are fetched
+    // as the stream is consumed, each in a query of its own, so no page outlives its write
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<TimeRecordResponse> streamTimeRecords(String employeeId) {
+        return Stream.iterate(findPage(employeeId, null, MAX_PAGE_SIZE),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < MAX_PAGE_SIZE
+                                ? List.of()
+                                : findPage(employeeId, TimeRecordCursor.of(page.get(page.size() - 1)), MAX_PAGE_SIZE))
+                .flatMap(List::stream);
+    }
+
     @Transactional(readOnly = true)
-    public List<TimeRecordResponse> getAllTimeRecords() {
-        List<TimeRecord> entities = timeRecordRepository.findAll();
-        return timeRecordMapper.toResponseList(entities);
+    public TimeRecordPageResponse getTimeRecordPage(String cursor, Integer size) {
+        return readPage(null, cursor, size);
     }
 
     @Transactional(readOnly = true)
@@ -261,36 +324,146 @@ public class TimeRecordService {
     }
 
     @Transactional(readOnly = true)
-    public List<TimeRecordResponse> getTimeRecordsByEmployeeId(String employeeId) {
-        List<TimeRecord> entities = timeRecordRepository.findByEmployee_Id(employeeId);
-        return timeRecordMapper.toResponseList(entities);
+    public TimeRecordPageResponse getTimeRecordPageByEmployeeId(String employeeId, String cursor, Integer size) {
+        return readPage(employeeId, cursor, size);
+    }
+
+    // Keyset pagination
+    // -------------------------------------------------------------
+    private TimeRecordPageResponse readPage(String employeeId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+        TimeRecordCursor after = cursor == null || cursor.isBlank() ? null : TimeRecordCursor.decode(cursor);
+
+        // One extra row tells whether another page follows without a count query
+        List<TimeRecordResponse> records = findPage(employeeId, after, pageSize + 1);
+        if (records.size() <= pageSize) {
+            return new TimeRecordPageResponse(records, null);
+        }
+
+        List<TimeRecordResponse> page = List.copyOf(records.subList(0, pageSize));
+        String nextCursor = TimeRecordCursor.of(page.get(pageSize - 1)).encode();
+        return new TimeRecordPageResponse(page, nextCursor);
+    }
+
+    private List<TimeRecordResponse> findPage(String employeeId, TimeRecordCursor after, int limit) {
+        Limit pageLimit = Limit.of(limit);
+        if (employeeId == null) {
+            return after == null
+                    ? timeRecordRepository.findFirstPage(pageLimit)
+                    : timeRecordRepository.findPageAfter(after.recordTime(), after.id(), pageLimit);
+        }
+        return after == null
+                ? timeRecordRepository.findFirstPageByEmployeeId(employeeId, pageLimit)
+                : timeRecordRepository.findPageAfterByEmployeeId(employeeId, after.recordTime(), after.id(), pageLimit);
+    }
+
+    private static int pageSize(Integer size) {
+        if (size == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
     @Transactional
     public TimeRecordResponse createTimeRecord(TimeRecordRequest request) {
         Employee employee = employeeRepository.findById(request.employeeId())
                 .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: ", request.employeeId()));
+        bookingLock.lock(employee.getId());
 
         TimeRecord timeRecord = timeRecordMapper.toEntity(request, employee);
         TimeRecord savedTimeRecord = timeRecordRepository.save(timeRecord);
+        dayChanged(employee, request.recordDate());
         return timeRecordMapper.toResponse(savedTimeRecord);
     }
 
+    // All-or-nothing batch: an unknown employee fails the whole request
     @Transactional
     public List<TimeRecordResponse> createTimeRecords(List<TimeRecordRequest> requests) {
-        List<TimeRecordResponse> responses = new ArrayList<>();
+        Map<String, Employee> employees = findEmployees(requests);
+        bookingLock.lockAll(employees.keySet());
+
+        List<TimeRecord> timeRecords = new ArrayList<>(requests.size());
+        for (TimeRecordRequest request : requests) {
+            Employee employee = employees.get(request.employeeId());
+            if (employee == null) {
+                throw new EmployeeNotFoundException("Employee not found with id: ", request.employeeId());
+            }
+            timeRecords.add(timeRecordMapper.toEntity(request, employee));
+        }
+
+        timeRecordBulkWriter.insertAll(timeRecords);
+        daysChanged(timeRecords);
+        return timeRecordMapper.toResponseList(timeRecords);
+    }
+
+    // Bulk ingestion: invalid rows are rejected individually, all valid rows are inserted
+    @Transactional
+    public TimeRecordBatchResponse importTimeRecords(List<TimeRecordRequest> requests) {
+        Map<String, Employee> employees = findEmployees(requests);
+        bookingLock.lockAll(employees.keySet());
+
+        TimeRecordBatchResult[] results = new TimeRecordBatchResult[requests.size()];
+        List<TimeRecord> timeRecords = new ArrayList<>(requests.size());
+        List<Integer> rowIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TimeRecordRequest request = requests.get(i);
+            String problem = validateImportRow(request, employees);
+            if (problem != null) {
+                results[i] = TimeRecordBatchResult.rejected(i, problem);
+                continue;
+            }
+            timeRecords.add(timeRecordMapper.toEntity(request, employees.get(request.employeeId())));
+            rowIndexes.add(i);
+        }
+
+        timeRecordBulkWriter.insertAll(timeRecords);
+        daysChanged(timeRecords);
 
+        for (int i = 0; i < timeRecords.size(); i++) {
+            int row = rowIndexes.get(i);
+            results[row] = TimeRecordBatchResult.created(row, timeRecords.get(i).getId());
+        }
+        return new TimeRecordBatchResponse(timeRecords.size(), requests.size() - timeRecords.size(),
+                List.of(results));
+    }
+
+    // Every referenced employee in a single IN query
+    private Map<String, Employee> findEmployees(List<TimeRecordRequest> requests) {
+        Set<String> employeeIds = new HashSet<>();
         for (TimeRecordRequest request : requests) {
-            Employee employee = employeeRepository.findById(request.employeeId())
-                    .orElseThrow(() -> new EmployeeNotFoundException(
-                            "Employee not found with id: ", request.employeeId()));
+            if (request != null && request.employeeId() != null) {
+                employeeIds.add(request.employeeId());
+            }
+        }
+        if (employeeIds.isEmpty()) {
+            return Map.of();
+        }
 
-            TimeRecord timeRecord = timeRecordMapper.toEntity(request, employee);
-            TimeRecord savedTimeRecord = timeRecordRepository.save(timeRecord);
-            responses.add(timeRecordMapper.toResponse(savedTimeRecord));
+        Map<String, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findAllById(employeeIds)) {
+            employees.put(employee.getId(), employee);
         }
+        return employees;
+    }
 
-        return responses;
+    private static String validateImportRow(TimeRecordRequest request, Map<String, Employee> employees) {
+        if (request == null) {
+            return "Row is empty";
+        }
+        if (request.employeeId() == null || request.recordDate() == null
+                || request.recordTime() == null || request.recordType() == null) {
+            return "employeeId, recordDate, recordTime and recordType are required";
+        }
+        if (!request.recordTime().toLocalDate().equals(request.recordDate())) {
+            return "recordTime is not on recordDate";
+        }
+        if (!employees.containsKey(request.employeeId())) {
+            return "Employee not found with id: " + request.employeeId();
+        }
+        return null;
     }
 
     @Transactional
@@ -298,9 +471,17 @@ public class TimeRecordService {
         TimeRecord timeRecord = timeRecordRepository.findById(id)
                 .orElseThrow(() -> new TimeRecordNotFoundException("Time record not found with id: ", id));
 
+        bookingLock.lock(timeRecord.getEmployee().getId());
+
+        // the edit may move the record to another day, so both days are recomputed
+        LocalDate previousDate = timeRecord.getRecordDate();
         timeRecordMapper.updateEntity(timeRecord, request);
 
         TimeRecord updatedTimeRecord = timeRecordRepository.save(timeRecord);
+        dayChanged(timeRecord.getEmployee(), previousDate);
+        if (!previousDate.equals(timeRecord.getRecordDate())) {
+            dayChanged(timeRecord.getEmployee(), timeRecord.getRecordDate());
+        }
         return timeRecordMapper.toResponse(updatedTimeRecord);
     }
 
@@ -327,44 +508,64 @@ public class TimeRecordService {
 
     @Transactional
     public void deleteTimeRecord(String id) {
-        if (!timeRecordRepository.existsById(id)) {
-            throw new TimeRecordNotFoundException("Time record not found with id: ", id);
-        }
-        timeRecordRepository.deleteById(id);
+        TimeRecord timeRecord = timeRecordRepository.findById(id)
+                .orElseThrow(() -> new TimeRecordNotFoundException("Time record not found with id: ", id));
+        bookingLock.lock(timeRecord.getEmployee().getId());
+
+        timeRecordRepository.delete(timeRecord);
+        dayChanged(timeRecord.getEmployee(), timeRecord.getRecordDate());
     }
 
     // Helper methods
     // -------------------------------------------------------------
 
-    // Helper method to get current status for an employee on a specific date
-    private StatusCalculationResult getCurrentStatusForEmployee(Employee employee, LocalDate date) {
-        List<TimeRecord> todayRecords = timeRecordRepository
-                .findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, date);
-        return calculateCurrentStatus(todayRecords);
+    // Helper method to get the day state for an employee on a specific date
+    // (memory first, then the daily summary row, and only then a replay of the day's records)
+    private EmployeeDayState getDayState(Employee employee, LocalDate date) {
+        return dayStateRegistry.get(employee.getId(), date, () -> dailySummaryRepository
+                .findByEmployee_IdAndSummaryDate(employee.getId(), date)
+                .map(EmployeeDayState::fromSummary)
+                .orElseGet(() -> EmployeeDayState.replay(dayTimelineReader.read(employee.getId(), date))));
     }
 
-    // Helper method for checking if employee can clock in
-    private boolean canClockIn(Employee employee, LocalDate date) {
-        StatusCalculationResult status = getCurrentStatusForEmployee(employee, date);
-        return !status.isWorking && !status.isOnBreak;
+    // Serialize this employee's bookings until the transaction completes, then read the day state;
+    // the cached state only advances after commit, so it is current for whoever holds the lock
+    private EmployeeDayState lockDayState(Employee employee, LocalDate date) {
+        bookingLock.lock(employee.getId());
+        return getDayState(employee, date);
     }
 
-    // Helper method for checking if employee can clock out
-    private boolean canClockOut(Employee employee, LocalDate date) {
-        StatusCalculationResult status = getCurrentStatusForEmployee(employee, date);
-        return status.isWorking || status.isOnBreak;
+    // Persist a booking together with its daily summary, then advance the cached day state
+    private TimeRecordResponse book(Employee employee, EmployeeDayState dayState, TimeRecord timeRecord) {
+        TimeRecord savedRecord = timeRecordRepository.save(timeRecord);
+        try {
+            dailySummaryRollup.append(employee, timeRecord.getRecordDate(), dayState, dayState.apply(timeRecord));
+        } catch (BookingConflictException e) {
+            // written meanwhile by another instance: forget the stale state so a retry reloads the day
+            dayStateRegistry.invalidate(employee.getId(), timeRecord.getRecordDate());
+            throw e;
+        }
+        dayStateRegistry.recordAppended(timeRecord);
+        return timeRecordMapper.toResponse(savedRecord);
     }
 
-    // Helper method for checking if employee can start break
-    private boolean canStartBreak(Employee employee, LocalDate date) {
-        StatusCalculationResult status = getCurrentStatusForEmployee(employee, date);
-        return status.isWorking && !status.isOnBreak;
+    // Recompute the summary row of a day whose records were edited and drop its cached state
+    private void dayChanged(Employee employee, LocalDate date) {
+        dailySummaryRollup.rebuild(employee, date);
+        dayStateRegistry.invalidate(employee.getId(), date);
     }
 
-    // Helper method for checking if employee can end break
-    private boolean canEndBreak(Employee employee, LocalDate date) {
-        StatusCalculationResult status = getCurrentStatusForEmployee(employee, date);
-        return status.isOnBreak;
+    // Rebuild each touched employee day once, however many records it received
+    private void daysChanged(List<TimeRecord> timeRecords) {
+        Map<String, Employee> employees = new HashMap<>();
+        Set<Map.Entry<String, LocalDate>> days = new LinkedHashSet<>();
+        for (TimeRecord timeRecord : timeRecords) {
+            employees.putIfAbsent(timeRecord.getEmployee().getId(), timeRecord.getEmployee());
+            days.add(Map.entry(timeRecord.getEmployee().getId(), timeRecord.getRecordDate()));
+        }
+        for (Map.Entry<String, LocalDate> day : days) {
+            dayChanged(employees.get(day.getKey()), day.getValue());
+        }
     }
 
     private TimeRecord createTimeRecord(Employee employee, LocalDate recordDate, LocalDateTime recordTime,
@@ -383,189 +584,6 @@ public class TimeRecordService {
         return timeRecord;
     }
 
-    // Status calculation Logic
-    // -------------------------------------------------------------
-    private StatusCalculationResult calculateCurrentStatus(List<TimeRecord> records) {
-        if (records.isEmpty()) {
-            return new StatusCalculationResult(NOT_STARTED_STATUS, false, false);
-        }
-
-        LocalDateTime lastClockIn = null;
-        LocalDateTime lastClockOut = null;
-        LocalDateTime lastBreakStart = null;
-        LocalDateTime lastBreakEnd = null;
-
-        // Find the most recent records of each type
-        for (TimeRecord record : records) {
-            switch (record.getRecordType()) {
-                case CLOCK_IN:
-                    lastClockIn = record.getRecordTime();
-                    break;
-                case CLOCK_OUT:
-                    lastClockOut = record.getRecordTime();
-                    break;
-                case BREAK_START:
-                    lastBreakStart = record.getRecordTime();
-                    break;
-                case BREAK_END:
-                    lastBreakEnd = record.getRecordTime();
-                    break;
-            }
-        }
-
-        // Determine current status based on the most recent actions
-        boolean isClockedIn = lastClockIn != null &&
-                (lastClockOut == null || lastClockIn.isAfter(lastClockOut));
-
-        boolean isOnBreak = lastBreakStart != null &&
-                (lastBreakEnd == null || lastBreakStart.isAfter(lastBreakEnd));
-
-        // Status logic:
-        String status;
-        boolean isWorking;
-
-        if (isClockedIn && !isOnBreak) {
-            status = "Working";
-            isWorking = true;
-        } else if (isClockedIn && isOnBreak) {
-            status = "Break";
-            isWorking = false; // On break = not actively working
-        } else if (lastClockOut != null) {
-            status = "Finished";
-            isWorking = false;
-        } else {
-            status = NOT_STARTED_STATUS;
-            isWorking = false;
-        }
-
-        return new StatusCalculationResult(status, isWorking, isOnBreak && isClockedIn);
-    }
-
-    private TodaySummaryResponse calculateTodaySummary(List<TimeRecord> records) {
-        if (records.isEmpty()) {
-            return new TodaySummaryResponse(
-                    null, null,
-                    "00:00", "00:00", "-08:00", NOT_STARTED_STATUS,
-                    false, false);
-        }
-
-        LocalTime arrivalTime = null;
-        LocalTime departureTime = null;
-        Duration totalWorkingTime = Duration.ZERO;
-        Duration totalBreakTime = Duration.ZERO;
-
-        LocalDateTime sessionStart = null;
-        String sessionType = null; // "WORK" or "BREAK"
-
-        // Process records to calculate times
-        for (TimeRecord record : records) {
-            switch (record.getRecordType()) {
-                case CLOCK_IN -> {
-                    if (arrivalTime == null) {
-                        arrivalTime = record.getRecordTime().toLocalTime();
-                    }
-                    sessionStart = record.getRecordTime();
-                    sessionType = WORK_SESSION_TYPE;
-                }
-                case BREAK_START -> {
-                    if (WORK_SESSION_TYPE.equals(sessionType) && sessionStart != null) {
-                        totalWorkingTime = totalWorkingTime.plus(
-                                Duration.between(sessionStart, record.getRecordTime()));
-                    }
-                    sessionStart = record.getRecordTime();
-                    sessionType = BREAK_SESSION_TYPE;
-                }
-                case BREAK_END -> {
-                    if (BREAK_SESSION_TYPE.equals(sessionType) && sessionStart != null) {
-                        totalBreakTime = totalBreakTime.plus(
-                                Duration.between(sessionStart, record.getRecordTime()));
-                    }
-                    sessionStart = record.getRecordTime();
-                    sessionType = WORK_SESSION_TYPE;
-                }
-                case CLOCK_OUT -> {
-                    departureTime = record.getRecordTime().toLocalTime();
-                    if (WORK_SESSION_TYPE.equals(sessionType) && sessionStart != null) {
-                        totalWorkingTime = totalWorkingTime.plus(
-                                Duration.between(sessionStart, record.getRecordTime()));
-                    } else if (BREAK_SESSION_TYPE.equals(sessionType) && sessionStart != null) {
-                        totalBreakTime = totalBreakTime.plus(
-                                Duration.between(sessionStart, record.getRecordTime()));
-                    }
-                    sessionStart = null;
-                    sessionType = null;
-                }
-            }
-        }
-
-        // add current session time based on actual status
-        LocalDateTime now = LocalDateTime.now();
-
-        // Only add current time if we're actually in an active session
-        if (sessionStart != null) {
-            if (WORK_SESSION_TYPE.equals(sessionType)) {
-                totalWorkingTime = totalWorkingTime.plus(Duration.between(sessionStart, now));
-            } else if (BREAK_SESSION_TYPE.equals(sessionType)) {
-                totalBreakTime = totalBreakTime.plus(Duration.between(sessionStart, now));
-            }
-        }
-
-        Duration netWorkingTime = totalWorkingTime;
-        if (netWorkingTime.isNegative()) netWorkingTime = Duration.ZERO;
-
-        // Standard work day (8 hours)
-        Duration standardWorkDay = Duration.ofHours(8);
-        Duration flexTime = netWorkingTime.minus(standardWorkDay);
-
-        // Calculate current status using unified logic
-        StatusCalculationResult statusResult = calculateCurrentStatus(records);
-
-
-        return new TodaySummaryResponse(
-                arrivalTime != null ? shortFormatTime(arrivalTime) : null,
-                departureTime != null ? shortFormatTime(departureTime) : null,
-                formatDurationNoSeconds(totalBreakTime),
-                formatFlexTimeNoSeconds(netWorkingTime),
-                formatFlexTimeNoSeconds(flexTime),
-                statusResult.status,
-                statusResult.isWorking,
-                statusResult.isOnBreak
-        );
-    }
-
-    // Formatting Helpers
-    // -------------------------------------------------------------
-    private String formatDurationNoSeconds(Duration duration) {
-        long hours = duration.toHours();
-        long minutes = duration.toMinutesPart();
-//        long seconds = duration.toSecondsPart();
-//        return String.format("%02d:%02d:%02d", hours, minutes, seconds);
-        return String.format("%02d:%02d", hours, minutes);
-    }
-
-    private String formatFlexTimeNoSeconds(Duration flexTime) {
-        String sign = flexTime.isNegative() ? "-" : "+";
-        Duration abs = flexTime.abs();
-        long hours = abs.toHours();
-        long minutes = abs.toMinutesPart();
-//        long seconds = abs.toSecondsPart();
-//        return String.format("%s%02d:%02d:%02d", sign, hours, minutes, seconds);
-        return String.format("%s%02d:%02d", sign, hours, minutes);
-    }
-
-    // Helper class for status calculation
-    private static class StatusCalculationResult {
-        final String status;
-        final boolean isWorking;
-        final boolean isOnBreak;
-
-        StatusCalculationResult(String status, boolean isWorking, boolean isOnBreak) {
-            this.status = status;
-            this.isWorking = isWorking;
-            this.isOnBreak = isOnBreak;
-        }
-    }
-
     @Transactional(readOnly = true)
     public List<TimeRecordResponse> getMyTodayRecords() {
         Employee currentEmployee = getCurrentEmployee();
@@ -0,0 +1,64 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.service.timetrack.DailySummaryRollup;
+import org.pertitrack.backend.service.timetrack.EmployeeBookingLock;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Recomputes daily_summaries from time_records for a date range
+@Component
+@RequiredArgsConstructor
+public class DailySummaryRebuildJob implements JobHandler {
+
+    private final EmployeeRepository employeeRepository;
+    private final DailySummaryRollup dailySummaryRollup;
+    private final EmployeeDayStateRegistry dayStateRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeBookingLock bookingLock;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.DAILY_SUMMARY_REBUILD;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        DateRangeParameters.from(parameters);
+    }
+
+    @Override
+    public void run(JobContext context) {
+        DateRangeParameters range = DateRangeParameters.from(context.parameters());
+        List<Employee> employees = range.employeeId() == null
+                ? employeeRepository.findAll()
+                : List.of(employeeRepository.findById(range.employeeId())
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id: ", range.employeeId())));
+
+        long total = employees.size() * range.days();
+        long done = 0;
+        context.progress(done, total);
+        for (Employee employee : employees) {
+            context.checkCancelled();
+            transactionTemplate.executeWithoutResult(status -> {
+                bookingLock.lock(employee.getId());
+                for (LocalDate date = range.startDate(); !date.isAfter(range.endDate()); date = date.plusDays(1)) {
+                    dailySummaryRollup.rebuild(employee, date);
+                    dayStateRegistry.invalidate(employee.getId(), date);
+                }
+            });
+            done += range.days();
+            context.progress(done, total);
+        }
+    }
+
+}
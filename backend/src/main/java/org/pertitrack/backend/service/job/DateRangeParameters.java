@@ -0,0 +1,41 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// startDate, endDate and an optional employeeId, as taken by the time record jobs
+public record DateRangeParameters(LocalDate startDate, LocalDate endDate, String employeeId) {
+
+    public static DateRangeParameters from(JsonNode parameters) {
+        if (parameters == null || !parameters.isObject()) {
+            throw new IllegalArgumentException("Job parameters must be an object");
+        }
+        LocalDate startDate = date(parameters, "startDate");
+        LocalDate endDate = date(parameters, "endDate");
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid date range: " + startDate + " to " + endDate);
+        }
+        JsonNode employeeId = parameters.get("employeeId");
+        return new DateRangeParameters(startDate, endDate,
+                employeeId == null || employeeId.isNull() ? null : employeeId.asText());
+    }
+
+    public long days() {
+        return endDate.toEpochDay() - startDate.toEpochDay() + 1;
+    }
+
+    private static LocalDate date(JsonNode parameters, String name) {
+        JsonNode value = parameters.get(name);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException(name + " is required");
+        }
+        try {
+            return LocalDate.parse(value.asText());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value.asText());
+        }
+    }
+
+}
@@ -0,0 +1,128 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.repository.JobRepository;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+// What a running job sees: parameters, progress, cancellation and the result file
+public class JobContext {
+
+    static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(1);
+
+    private final String jobId;
+    private final JsonNode parameters;
+    private final String ownerNode;
+    private final JobRepository jobRepository;
+    private final SharedFileStore fileStore;
+
+    private volatile boolean cancelled;
+    private long progressCurrent;
+    private Long progressTotal;
+    private long lastFlushNanos = System.nanoTime();
+    private String resultFileName;
+    private String resultContentType;
+    private long resultSize;
+
+    public JobContext(String jobId, JsonNode parameters, String ownerNode,
+                      JobRepository jobRepository, SharedFileStore fileStore) {
+        this.jobId = jobId;
+        this.parameters = parameters;
+        this.ownerNode = ownerNode;
+        this.jobRepository = jobRepository;
+        this.fileStore = fileStore;
+    }
+
+    public String jobId() {
+        return jobId;
+    }
+
+    public JsonNode parameters() {
+        return parameters;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Job " + jobId + " was cancelled");
+        }
+    }
+
+    // Called by JobService when a cancel request arrives on this instance
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void progress(long current, Long total) {
+        progressCurrent = current;
+        progressTotal = total;
+        long now = System.nanoTime();
+        if (now - lastFlushNanos >= PROGRESS_INTERVAL.toNanos()) {
+            lastFlushNanos = now;
+            flushProgress();
+        }
+    }
+
+    public void flushProgress() {
+        if (jobRepository.updateProgress(jobId, ownerNode, progressCurrent, progressTotal) == 0) {
+            cancelled = true;
+        } else if (jobRepository.findCancelRequestedById(jobId).orElse(false)) {
+            cancelled = true;
+        }
+    }
+
+    public long progressCurrent() {
+        return progressCurrent;
+    }
+
+    public Long progressTotal() {
+        return progressTotal;
+    }
+
+    // Opens the job's result file; writes fail with a CancellationException once the job is cancelled
+    public OutputStream openResult(String fileName, String contentType) {
+        this.resultFileName = fileName;
+        this.resultContentType = contentType;
+        this.resultSize = 0;
+        return new FilterOutputStream(fileStore.create(jobId)) {
+            @Override
+            public void write(int b) throws IOException {
+                checkCancelled();
+                out.write(b);
+                resultSize++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                checkCancelled();
+                out.write(b, off, len);
+                resultSize += len;
+            }
+        };
+    }
+
+    public boolean hasResult() {
+        return resultFileName != null;
+    }
+
+    public long resultSize() {
+        return resultSize;
+    }
+
+    public String resultFileName() {
+        return resultFileName;
+    }
+
+    public String resultContentType() {
+        return resultContentType;
+    }
+
+}
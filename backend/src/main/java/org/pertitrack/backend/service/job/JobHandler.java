@@ -0,0 +1,17 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.pertitrack.backend.entity.job.Job;
+
+// Implementation of one job type
+public interface JobHandler {
+
+    Job.Type type();
+
+    // Rejects unusable parameters with an IllegalArgumentException before the job is queued
+    void validate(JsonNode parameters);
+
+    // Should report progress and call checkCancelled between units of work
+    void run(JobContext context) throws Exception;
+
+}
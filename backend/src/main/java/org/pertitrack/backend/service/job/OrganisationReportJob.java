@@ -0,0 +1,56 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.service.report.OrganisationReport;
+import org.pertitrack.backend.service.report.OrganisationReportService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Organisation report as a JSON result file
+@Component
+@RequiredArgsConstructor
+public class OrganisationReportJob implements JobHandler {
+
+    private final OrganisationReportService organisationReportService;
+    private final TimeRecordRepository timeRecordRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.ORGANISATION_REPORT;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        DateRangeParameters.from(parameters);
+    }
+
+    @Override
+    public void run(JobContext context) throws IOException {
+        DateRangeParameters range = DateRangeParameters.from(context.parameters());
+        long total = range.employeeId() == null
+                ? timeRecordRepository.countByRecordDateBetween(range.startDate(), range.endDate())
+                : timeRecordRepository.countByEmployee_IdAndRecordDateBetween(
+                        range.employeeId(), range.startDate(), range.endDate());
+        context.progress(0, total);
+
+        OrganisationReport report = organisationReportService.build(range.startDate(), range.endDate(),
+                range.employeeId(), read -> {
+                    context.checkCancelled();
+                    context.progress(read, Math.max(total, read));
+                });
+
+        String fileName = "organisation-report-" + range.startDate() + "-" + range.endDate() + ".json";
+        try (OutputStream out = context.openResult(fileName, MediaType.APPLICATION_JSON_VALUE)) {
+            objectMapper.writeValue(out, report);
+        }
+    }
+
+}
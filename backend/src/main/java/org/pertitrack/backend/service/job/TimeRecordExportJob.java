@@ -0,0 +1,48 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.service.TimeRecordExportService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// NDJSON export of time records into the job's result file, same format as GET /export
+@Component
+@RequiredArgsConstructor
+public class TimeRecordExportJob implements JobHandler {
+
+    private final TimeRecordExportService timeRecordExportService;
+    private final TimeRecordRepository timeRecordRepository;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.TIME_RECORD_EXPORT;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        DateRangeParameters.from(parameters);
+    }
+
+    @Override
+    public void run(JobContext context) throws IOException {
+        DateRangeParameters range = DateRangeParameters.from(context.parameters());
+        long total = range.employeeId() == null
+                ? timeRecordRepository.countByRecordDateBetween(range.startDate(), range.endDate())
+                : timeRecordRepository.countByEmployee_IdAndRecordDateBetween(
+                        range.employeeId(), range.startDate(), range.endDate());
+        context.progress(0, total);
+
+        String fileName = "time-records-" + range.startDate() + "-" + range.endDate() + ".ndjson";
+        try (OutputStream out = context.openResult(fileName, MediaType.APPLICATION_NDJSON_VALUE)) {
+            timeRecordExportService.exportTimeRecords(range.startDate(), range.endDate(), range.employeeId(),
+                    out, written -> context.progress(written, Math.max(total, written)));
+        }
+    }
+
+}
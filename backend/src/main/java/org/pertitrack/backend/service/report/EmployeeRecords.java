@@ -0,0 +1,82 @@
+package org.pertitrack.backend.service.report;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.util.Arrays;
+
+// One employee's time records in time order as primitive columns
+public final class EmployeeRecords {
+
+    public static final byte CLOCK_IN = 0;
+    public static final byte CLOCK_OUT = 1;
+    public static final byte BREAK_START = 2;
+    public static final byte BREAK_END = 3;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final String employeeId;
+    private long[] times;
+    private byte[] types;
+    private byte[] locations;
+    private int size;
+
+    public EmployeeRecords(String employeeId) {
+        this(employeeId, INITIAL_CAPACITY);
+    }
+
+    public EmployeeRecords(String employeeId, int capacity) {
+        this.employeeId = employeeId;
+        int initial = Math.max(1, capacity);
+        this.times = new long[initial];
+        this.types = new byte[initial];
+        this.locations = new byte[initial];
+    }
+
+    public static byte typeCode(TimeRecord.RecordType type) {
+        return switch (type) {
+            case CLOCK_IN -> CLOCK_IN;
+            case CLOCK_OUT -> CLOCK_OUT;
+            case BREAK_START -> BREAK_START;
+            case BREAK_END -> BREAK_END;
+        };
+    }
+
+    public static byte locationCode(TimeRecord.LocationType location) {
+        return (byte) location.ordinal();
+    }
+
+    // Records must be added in time order
+    public void add(long epochSecond, byte type, byte location) {
+        if (size == times.length) {
+            int capacity = size * 2;
+            times = Arrays.copyOf(times, capacity);
+            types = Arrays.copyOf(types, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+        }
+        times[size] = epochSecond;
+        types[size] = type;
+        locations[size] = location;
+        size++;
+    }
+
+    public String employeeId() {
+        return employeeId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    long time(int index) {
+        return times[index];
+    }
+
+    byte type(int index) {
+        return types[index];
+    }
+
+    byte location(int index) {
+        return locations[index];
+    }
+
+}
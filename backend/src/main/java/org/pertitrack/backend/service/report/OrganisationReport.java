@@ -0,0 +1,47 @@
+package org.pertitrack.backend.service.report;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+// Totals per employee and per day over all employees
+public record OrganisationReport(
+        LocalDate startDate,
+        LocalDate endDate,
+        long recordCount,
+        List<EmployeeTotals> employees,
+        List<DayTotals> days
+) {
+
+    public record EmployeeTotals(
+            String employeeId,
+            String employeeNumber,
+            String firstName,
+            String lastName,
+            int daysPresent,
+            long workedSeconds,
+            long breakSeconds,
+            // days on which the statutory minimum break was not taken
+            int breakViolations,
+            Map<TimeRecord.LocationType, Long> workedSecondsByLocation
+    ) {
+
+        public EmployeeTotals withNames(String number, String first, String last) {
+            return new EmployeeTotals(employeeId, number, first, last, daysPresent, workedSeconds, breakSeconds,
+                    breakViolations, workedSecondsByLocation);
+        }
+    }
+
+    public record DayTotals(
+            LocalDate date,
+            int employeesPresent,
+            long workedSeconds,
+            long breakSeconds,
+            int breakViolations,
+            Map<TimeRecord.LocationType, Long> workedSecondsByLocation
+    ) {
+    }
+
+}
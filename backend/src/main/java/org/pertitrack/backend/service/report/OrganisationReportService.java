@@ -0,0 +1,145 @@
+package org.pertitrack.backend.service.report;
+
+import jakarta.annotation.PreDestroy;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+// Organisation-wide working time, break compliance and location totals
+@Service
+public class OrganisationReportService {
+
+    static final int FETCH_SIZE = 5000;
+    static final int BATCH_RECORDS = 20_000;
+    static final int PROGRESS_INTERVAL = 10_000;
+
+    private static final String RECORDS_SQL = """
+            SELECT t.employee_id,
+                   CAST(FLOOR(EXTRACT(EPOCH FROM t.record_time)) AS BIGINT),
+                   %s,
+                   %s
+            FROM app_timetrack.time_records t
+            WHERE t.record_date BETWEEN ? AND ?%s
+            ORDER BY t.employee_id, t.record_time, t.id
+            """;
+
+    private static final String EMPLOYEES_SQL =
+            "SELECT e.id, e.employee_number, e.first_name, e.last_name FROM app_personnel.employees e";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ForkJoinPool pool;
+
+    public OrganisationReportService(JdbcTemplate jdbcTemplate,
+                                     @Value("${app.reports.parallelism:0}") int parallelism) {
+        // own template, so the fetch size does not leak into other queries
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // The transaction only keeps the cursor open; onProgress must write in its own
+    @Transactional(readOnly = true)
+    public OrganisationReport build(LocalDate startDate, LocalDate endDate, String employeeId,
+                                    LongConsumer onProgress) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid report range: " + startDate + " to " + endDate);
+        }
+
+        ParallelReportAggregator aggregator = new ParallelReportAggregator(pool, startDate, endDate,
+                BATCH_RECORDS, 2 * pool.getParallelism());
+        RecordReader reader = new RecordReader(aggregator, onProgress);
+        if (employeeId == null) {
+            jdbcTemplate.query(recordsSql(false), reader, startDate, endDate);
+        } else {
+            jdbcTemplate.query(recordsSql(true), reader, startDate, endDate, employeeId);
+        }
+        reader.finish();
+
+        OrganisationReport report = aggregator.finish();
+        return withEmployeeNames(report);
+    }
+
+    private OrganisationReport withEmployeeNames(OrganisationReport report) {
+        Map<String, String[]> names = new HashMap<>();
+        jdbcTemplate.query(EMPLOYEES_SQL, (RowCallbackHandler) rs -> names.put(rs.getString(1),
+                new String[]{rs.getString(2), rs.getString(3), rs.getString(4)}));
+
+        List<OrganisationReport.EmployeeTotals> employees = new ArrayList<>(report.employees().size());
+        for (OrganisationReport.EmployeeTotals totals : report.employees()) {
+            String[] name = names.get(totals.employeeId());
+            employees.add(name == null ? totals : totals.withNames(name[0], name[1], name[2]));
+        }
+        return new OrganisationReport(report.startDate(), report.endDate(), report.recordCount(),
+                employees, report.days());
+    }
+
+    // Codes are computed by the database so the row carries two small integers instead of strings
+    static String recordsSql(boolean singleEmployee) {
+        String typeCase = Arrays.stream(TimeRecord.RecordType.values())
+                .map(type -> "WHEN '" + type.name() + "' THEN " + EmployeeRecords.typeCode(type))
+                .collect(Collectors.joining(" ", "CASE t.record_type ", " END"));
+        // records without a location count as OFFICE, the entity default
+        String locationCase = Arrays.stream(TimeRecord.LocationType.values())
+                .map(location -> "WHEN '" + location.name() + "' THEN " + EmployeeRecords.locationCode(location))
+                .collect(Collectors.joining(" ", "CASE t.location_type ",
+                        " ELSE " + EmployeeRecords.locationCode(TimeRecord.LocationType.OFFICE) + " END"));
+        return RECORDS_SQL.formatted(typeCase, locationCase, singleEmployee ? " AND t.employee_id = ?" : "");
+    }
+
+    // Cuts the ordered rows into one EmployeeRecords block per employee
+    private static final class RecordReader implements RowCallbackHandler {
+
+        private final ParallelReportAggregator aggregator;
+        private final LongConsumer onProgress;
+        private EmployeeRecords current;
+        private long rows;
+
+        RecordReader(ParallelReportAggregator aggregator, LongConsumer onProgress) {
+            this.aggregator = aggregator;
+            this.onProgress = onProgress;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String employeeId = rs.getString(1);
+            if (current == null || !current.employeeId().equals(employeeId)) {
+                if (current != null) {
+                    aggregator.add(current);
+                }
+                current = new EmployeeRecords(employeeId);
+            }
+            current.add(rs.getLong(2), rs.getByte(3), rs.getByte(4));
+            if (++rows % PROGRESS_INTERVAL == 0) {
+                onProgress.accept(rows);
+            }
+        }
+
+        void finish() {
+            if (current != null) {
+                aggregator.add(current);
+            }
+            onProgress.accept(rows);
+        }
+    }
+
+}
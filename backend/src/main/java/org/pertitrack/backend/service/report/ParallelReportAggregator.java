@@ -0,0 +1,68 @@
+package org.pertitrack.backend.service.report;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// Aggregates batches of employees on a ForkJoinPool while the caller keeps reading
+public final class ParallelReportAggregator {
+
+    private final ForkJoinPool pool;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final int batchRecords;
+    private final int maxInFlight;
+
+    private final ReportAccumulator result;
+    private final Deque<ForkJoinTask<ReportAccumulator>> inFlight = new ArrayDeque<>();
+    private List<EmployeeRecords> batch = new ArrayList<>();
+    private int batchSize;
+
+    public ParallelReportAggregator(ForkJoinPool pool, LocalDate startDate, LocalDate endDate,
+                                    int batchRecords, int maxInFlight) {
+        this.pool = pool;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.batchRecords = batchRecords;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.result = new ReportAccumulator(startDate, endDate);
+    }
+
+    // Employees must be added one complete block at a time
+    public void add(EmployeeRecords records) {
+        batch.add(records);
+        batchSize += records.size();
+        if (batchSize >= batchRecords) {
+            submitBatch();
+        }
+    }
+
+    public OrganisationReport finish() {
+        if (!batch.isEmpty()) {
+            submitBatch();
+        }
+        while (!inFlight.isEmpty()) {
+            result.combine(inFlight.poll().join());
+        }
+        return result.toReport();
+    }
+
+    private void submitBatch() {
+        List<EmployeeRecords> submitted = batch;
+        batch = new ArrayList<>();
+        batchSize = 0;
+        inFlight.add(pool.submit(() -> {
+            ReportAccumulator partial = new ReportAccumulator(startDate, endDate);
+            submitted.forEach(partial::add);
+            return partial;
+        }));
+        while (inFlight.size() > maxInFlight) {
+            result.combine(inFlight.poll().join());
+        }
+    }
+
+}
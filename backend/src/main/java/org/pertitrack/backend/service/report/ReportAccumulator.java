@@ -0,0 +1,180 @@
+package org.pertitrack.backend.service.report;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-employee and per-day totals; not thread-safe
+public final class ReportAccumulator {
+
+    // Working time law: more than six hours need a 30 minute break, more than nine hours 45 minutes
+    static final long SIX_HOURS = 6 * 3600;
+    static final long NINE_HOURS = 9 * 3600;
+    static final long BREAK_OVER_SIX_HOURS = 30 * 60;
+    static final long BREAK_OVER_NINE_HOURS = 45 * 60;
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final TimeRecord.LocationType[] LOCATIONS = TimeRecord.LocationType.values();
+
+    private static final byte NO_SESSION = 0;
+    private static final byte WORK = 1;
+    private static final byte BREAK = 2;
+
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final long firstDay;
+    private final int days;
+
+    private final int[] dayPresent;
+    private final long[] dayWorked;
+    private final long[] dayBreak;
+    private final int[] dayViolations;
+    // days x locations
+    private final long[] dayLocation;
+
+    private final List<OrganisationReport.EmployeeTotals> employees = new ArrayList<>();
+    private long recordCount;
+
+    // working seconds per location of the day being replayed
+    private final long[] location = new long[LOCATIONS.length];
+
+    public ReportAccumulator(LocalDate startDate, LocalDate endDate) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.firstDay = startDate.toEpochDay();
+        this.days = Math.toIntExact(endDate.toEpochDay() - firstDay + 1);
+        this.dayPresent = new int[days];
+        this.dayWorked = new long[days];
+        this.dayBreak = new long[days];
+        this.dayViolations = new int[days];
+        this.dayLocation = new long[days * LOCATIONS.length];
+    }
+
+    public void add(EmployeeRecords records) {
+        long[] employeeLocation = new long[LOCATIONS.length];
+        int present = 0;
+        long worked = 0;
+        long breaks = 0;
+        int violations = 0;
+
+        int n = records.size();
+        int i = 0;
+        while (i < n) {
+            long day = Math.floorDiv(records.time(i), SECONDS_PER_DAY);
+            long dayEnd = (day + 1) * SECONDS_PER_DAY;
+            Arrays.fill(location, 0);
+            long workedToday = 0;
+            long breakToday = 0;
+            byte session = NO_SESSION;
+            long sessionStart = 0;
+            int sessionLocation = 0;
+
+            for (; i < n && records.time(i) < dayEnd; i++) {
+                long time = records.time(i);
+                switch (records.type(i)) {
+                    case EmployeeRecords.CLOCK_IN -> {
+                        session = WORK;
+                        sessionStart = time;
+                        sessionLocation = records.location(i);
+                    }
+                    case EmployeeRecords.BREAK_START -> {
+                        if (session == WORK) {
+                            workedToday += time - sessionStart;
+                            location[sessionLocation] += time - sessionStart;
+                        }
+                        session = BREAK;
+                        sessionStart = time;
+                    }
+                    case EmployeeRecords.BREAK_END -> {
+                        if (session == BREAK) {
+                            breakToday += time - sessionStart;
+                        }
+                        session = WORK;
+                        sessionStart = time;
+                        sessionLocation = records.location(i);
+                    }
+                    case EmployeeRecords.CLOCK_OUT -> {
+                        if (session == WORK) {
+                            workedToday += time - sessionStart;
+                            location[sessionLocation] += time - sessionStart;
+                        } else if (session == BREAK) {
+                            breakToday += time - sessionStart;
+                        }
+                        session = NO_SESSION;
+                    }
+                }
+            }
+
+            int index = (int) (day - firstDay);
+            if (index < 0 || index >= days) {
+                continue;
+            }
+            boolean violation = violatesBreakRule(workedToday, breakToday);
+            dayPresent[index]++;
+            dayWorked[index] += workedToday;
+            dayBreak[index] += breakToday;
+            int offset = index * LOCATIONS.length;
+            for (int l = 0; l < LOCATIONS.length; l++) {
+                dayLocation[offset + l] += location[l];
+                employeeLocation[l] += location[l];
+            }
+            present++;
+            worked += workedToday;
+            breaks += breakToday;
+            if (violation) {
+                dayViolations[index]++;
+                violations++;
+            }
+        }
+
+        employees.add(new OrganisationReport.EmployeeTotals(records.employeeId(), null, null, null,
+                present, worked, breaks, violations, locationMap(employeeLocation, 0)));
+        recordCount += n;
+    }
+
+    static boolean violatesBreakRule(long workedSeconds, long breakSeconds) {
+        if (workedSeconds > NINE_HOURS) {
+            return breakSeconds < BREAK_OVER_NINE_HOURS;
+        }
+        return workedSeconds > SIX_HOURS && breakSeconds < BREAK_OVER_SIX_HOURS;
+    }
+
+    // Adds the other accumulator's totals; its employees follow this one's
+    public ReportAccumulator combine(ReportAccumulator other) {
+        for (int d = 0; d < days; d++) {
+            dayPresent[d] += other.dayPresent[d];
+            dayWorked[d] += other.dayWorked[d];
+            dayBreak[d] += other.dayBreak[d];
+            dayViolations[d] += other.dayViolations[d];
+        }
+        for (int d = 0; d < dayLocation.length; d++) {
+            dayLocation[d] += other.dayLocation[d];
+        }
+        employees.addAll(other.employees);
+        recordCount += other.recordCount;
+        return this;
+    }
+
+    public OrganisationReport toReport() {
+        List<OrganisationReport.DayTotals> dayTotals = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            dayTotals.add(new OrganisationReport.DayTotals(startDate.plusDays(d), dayPresent[d], dayWorked[d],
+                    dayBreak[d], dayViolations[d], locationMap(dayLocation, d * LOCATIONS.length)));
+        }
+        return new OrganisationReport(startDate, endDate, recordCount, List.copyOf(employees), dayTotals);
+    }
+
+    private static Map<TimeRecord.LocationType, Long> locationMap(long[] seconds, int offset) {
+        Map<TimeRecord.LocationType, Long> map = new EnumMap<>(TimeRecord.LocationType.class);
+        for (int l = 0; l < LOCATIONS.length; l++) {
+            map.put(LOCATIONS[l], seconds[offset + l]);
+        }
+        return map;
+    }
+
+}
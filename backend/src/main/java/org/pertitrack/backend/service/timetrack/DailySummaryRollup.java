@@ -0,0 +1,117 @@
+package org.pertitrack.backend.service.timetrack;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.BookingConflictException;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Keeps app_timetrack.daily_summaries in step with time_records
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class DailySummaryRollup {
+
+    private final DailySummaryRepository dailySummaryRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final TimeAccountLedger timeAccountLedger;
+
+    // Persist an already computed state, e.g. after appending a booking to the cached day state
+    public DailySummary store(Employee employee, LocalDate date, EmployeeDayState state) {
+        DailySummary summary = dailySummaryRepository.findByEmployee_IdAndSummaryDate(employee.getId(), date)
+                .orElseGet(() -> newSummary(employee, date));
+
+        return save(employee, date, summary, state);
+    }
+
+    // A stored row that no longer describes `before` means another booking got there first
+    public DailySummary append(Employee employee, LocalDate date, EmployeeDayState before, EmployeeDayState after) {
+        Optional<DailySummary> existing = dailySummaryRepository.findByEmployee_IdAndSummaryDate(employee.getId(), date);
+        if (existing.isPresent() && !describes(existing.get(), before)) {
+            throw new BookingConflictException("The day was changed by another booking. Please retry.");
+        }
+
+        DailySummary summary = existing.orElseGet(() -> newSummary(employee, date));
+        return save(employee, date, summary, after);
+    }
+
+    // Recompute the row from the day's records after a manual insert, edit or delete
+    public EmployeeDayState rebuild(Employee employee, LocalDate date) {
+        List<TimeRecord> records = timeRecordRepository
+                .findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, date);
+        EmployeeDayState state = EmployeeDayState.replay(records);
+
+        if (state.recordCount() == 0) {
+            dailySummaryRepository.findByEmployee_IdAndSummaryDate(employee.getId(), date)
+                    .ifPresent(summary -> {
+                        postWorked(employee, date, -summary.getWorkingSeconds());
+                        dailySummaryRepository.delete(summary);
+                    });
+        } else {
+            store(employee, date, state);
+        }
+        return state;
+    }
+
+    private DailySummary save(Employee employee, LocalDate date, DailySummary summary, EmployeeDayState state) {
+        long before = summary.getWorkingSeconds();
+        copyState(state, summary);
+        postWorked(employee, date, summary.getWorkingSeconds() - before);
+        return dailySummaryRepository.save(summary);
+    }
+
+    private void postWorked(Employee employee, LocalDate date, long seconds) {
+        if (seconds != 0) {
+            timeAccountLedger.post(TimeAccountLedger.Posting.worked(employee.getId(), date, seconds));
+        }
+    }
+
+    // Timestamps are compared at millisecond precision; the column may store fewer digits
+    // than the clock that produced the cached state
+    private static boolean describes(DailySummary summary, EmployeeDayState state) {
+        return summary.getRecordCount() == state.recordCount()
+                && Objects.equals(toMillis(summary.getLastRecordTime()), toMillis(state.lastRecordTime()));
+    }
+
+    private static LocalDateTime toMillis(LocalDateTime time) {
+        return time != null ? time.truncatedTo(ChronoUnit.MILLIS) : null;
+    }
+
+    private DailySummary newSummary(Employee employee, LocalDate date) {
+        DailySummary summary = new DailySummary();
+        summary.setEmployee(employee);
+        summary.setSummaryDate(date);
+        return summary;
+    }
+
+    private void copyState(EmployeeDayState state, DailySummary summary) {
+        summary.setStatus(DailySummary.DayStatus.valueOf(state.phase().name()));
+        summary.setArrivalTime(state.arrivalTime());
+        summary.setDepartureTime(state.departureTime());
+        summary.setWorkingSeconds(state.closedWorkingTime().toSeconds());
+        summary.setBreakSeconds(state.closedBreakTime().toSeconds());
+        summary.setSessionStart(state.sessionStart());
+        summary.setSessionType(state.sessionType() != null
+                ? DailySummary.SessionType.valueOf(state.sessionType().name())
+                : null);
+        summary.setLastClockIn(state.lastClockIn());
+        summary.setLastClockOut(state.lastClockOut());
+        summary.setLastBreakStart(state.lastBreakStart());
+        summary.setLastBreakEnd(state.lastBreakEnd());
+        summary.setLastRecordTime(state.lastRecordTime());
+        summary.setLastLocationType(state.lastLocation());
+        summary.setRecordCount(state.recordCount());
+    }
+
+}
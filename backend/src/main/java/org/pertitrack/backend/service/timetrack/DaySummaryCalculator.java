@@ -0,0 +1,66 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.pertitrack.backend.util.TimeUtils.shortFormatTime;
+
+// Today's summary of an employee, computed from the day state
+public final class DaySummaryCalculator {
+
+    static final String NOT_STARTED_STATUS = "Not Started";
+
+    private DaySummaryCalculator() {
+    }
+
+    public static TodaySummaryResponse summarize(EmployeeDayState state, LocalDateTime now, Duration targetTime) {
+        if (state.recordCount() == 0) {
+            return new TodaySummaryResponse(
+                    null, null,
+                    "00:00", "00:00", formatFlexTimeNoSeconds(targetTime.negated()), NOT_STARTED_STATUS,
+                    false, false);
+        }
+
+        Duration totalBreakTime = state.breakTimeAt(now);
+        Duration netWorkingTime = state.workingTimeAt(now);
+        if (netWorkingTime.isNegative()) netWorkingTime = Duration.ZERO;
+        Duration flexTime = netWorkingTime.minus(targetTime);
+
+        return new TodaySummaryResponse(
+                state.arrivalTime() != null ? shortFormatTime(state.arrivalTime()) : null,
+                state.departureTime() != null ? shortFormatTime(state.departureTime()) : null,
+                formatDurationNoSeconds(totalBreakTime),
+                formatFlexTimeNoSeconds(netWorkingTime),
+                formatFlexTimeNoSeconds(flexTime),
+                status(state.phase()),
+                state.isWorking(),
+                state.isOnBreak()
+        );
+    }
+
+    private static String status(EmployeeDayState.Phase phase) {
+        return switch (phase) {
+            case WORKING -> "Working";
+            case BREAK -> "Break";
+            case FINISHED -> "Finished";
+            case NOT_STARTED -> NOT_STARTED_STATUS;
+        };
+    }
+
+    static String formatDurationNoSeconds(Duration duration) {
+        long hours = duration.toHours();
+        long minutes = duration.toMinutesPart();
+        return String.format("%02d:%02d", hours, minutes);
+    }
+
+    static String formatFlexTimeNoSeconds(Duration flexTime) {
+        String sign = flexTime.isNegative() ? "-" : "+";
+        Duration abs = flexTime.abs();
+        long hours = abs.toHours();
+        long minutes = abs.toMinutesPart();
+        return String.format("%s%02d:%02d", sign, hours, minutes);
+    }
+
+}
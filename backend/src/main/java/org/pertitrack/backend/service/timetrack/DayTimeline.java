@@ -0,0 +1,88 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+// One employee's bookings of a day in time order as primitive columns
+public final class DayTimeline {
+
+    private static final TimeRecord.RecordType[] TYPES = TimeRecord.RecordType.values();
+    private static final TimeRecord.LocationType[] LOCATIONS = TimeRecord.LocationType.values();
+    private static final int INITIAL_CAPACITY = 8;
+    // location code of records stored without a location
+    static final byte NO_LOCATION = -1;
+
+    private long[] times;
+    private byte[] types;
+    private byte[] locations;
+    private int size;
+
+    public DayTimeline() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public DayTimeline(int capacity) {
+        this.times = new long[capacity];
+        this.types = new byte[capacity];
+        this.locations = new byte[capacity];
+    }
+
+    // From records ordered by record time ascending
+    public static DayTimeline of(List<TimeRecord> records) {
+        DayTimeline timeline = new DayTimeline(records.size());
+        for (TimeRecord record : records) {
+            timeline.add(toMicros(record.getRecordTime()), (byte) record.getRecordType().ordinal(),
+                    record.getLocationType() != null ? (byte) record.getLocationType().ordinal() : NO_LOCATION);
+        }
+        return timeline;
+    }
+
+    // Records must be added in time order
+    public void add(long epochMicros, byte type, byte location) {
+        if (size == times.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            times = Arrays.copyOf(times, capacity);
+            types = Arrays.copyOf(types, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+        }
+        times[size] = epochMicros;
+        types[size] = type;
+        locations[size] = location;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long micros(int index) {
+        return times[index];
+    }
+
+    public TimeRecord.RecordType type(int index) {
+        return TYPES[types[index]];
+    }
+
+    public TimeRecord.LocationType location(int index) {
+        return locations[index] == NO_LOCATION ? null : LOCATIONS[locations[index]];
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), time);
+    }
+
+    static LocalDateTime toDateTime(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000),
+                (int) Math.floorMod(epochMicros, 1_000_000) * 1000, ZoneOffset.UTC);
+    }
+
+}
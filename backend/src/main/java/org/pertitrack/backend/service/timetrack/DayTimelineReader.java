@@ -0,0 +1,49 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+// Loads one employee day as a DayTimeline
+@Component
+public class DayTimelineReader {
+
+    static final String DAY_SQL = """
+            SELECT t.record_time,
+                   %s,
+                   %s
+            FROM app_timetrack.time_records t
+            WHERE t.employee_id = ? AND t.record_date = ?
+            ORDER BY t.record_time ASC, t.id ASC
+            """.formatted(
+            ordinalCase("t.record_type", TimeRecord.RecordType.values(), ""),
+            ordinalCase("t.location_type", TimeRecord.LocationType.values(), " ELSE " + DayTimeline.NO_LOCATION));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DayTimelineReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // The day's records ordered by record time ascending, as replayed by EmployeeDayState
+    public DayTimeline read(String employeeId, LocalDate date) {
+        DayTimeline timeline = new DayTimeline();
+        jdbcTemplate.query(DAY_SQL, (RowCallbackHandler) rs ->
+                timeline.add(DayTimeline.toMicros(rs.getObject(1, LocalDateTime.class)), rs.getByte(2), rs.getByte(3)),
+                employeeId, date);
+        return timeline;
+    }
+
+    private static String ordinalCase(String column, Enum<?>[] values, String orElse) {
+        return Arrays.stream(values)
+                .map(value -> "WHEN '" + value.name() + "' THEN " + value.ordinal())
+                .collect(Collectors.joining(" ", "CASE " + column + " ", orElse + " END"));
+    }
+
+}
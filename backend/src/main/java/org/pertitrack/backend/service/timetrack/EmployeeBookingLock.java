@@ -0,0 +1,108 @@
+package org.pertitrack.backend.service.timetrack;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.pertitrack.backend.exceptions.BookingConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Serializes writes to an employee's time records until the writing transaction completes
+@Component
+public class EmployeeBookingLock {
+
+    // First key of the two-key advisory lock, so booking locks never collide with other users
+    static final int ADVISORY_NAMESPACE = 0x50545442;
+
+    private static final String ADVISORY_LOCK_SQL =
+            "SELECT 1 FROM (SELECT pg_advisory_xact_lock(:namespace, :key)) AS booking_lock";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutNanos;
+    private final boolean advisory;
+
+    public EmployeeBookingLock(@Value("${app.timetrack.booking-lock.stripes:256}") int stripes,
+                               @Value("${app.timetrack.booking-lock.timeout:PT5S}") Duration timeout,
+                               @Value("${app.timetrack.booking-lock.advisory:false}") boolean advisory) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("Booking lock stripes must be positive: " + stripes);
+        }
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.timeoutNanos = timeout.toNanos();
+        this.advisory = advisory;
+    }
+
+    // Must be called inside the writing transaction; the lock is held until it completes
+    public void lock(String employeeId) {
+        lockAll(List.of(employeeId));
+    }
+
+    // Stripes and advisory keys are always taken in ascending order, so transactions touching
+    // several employees cannot deadlock each other
+    public void lockAll(Collection<String> employeeIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Booking lock requires an active transaction");
+        }
+
+        TreeSet<Integer> stripeIndexes = new TreeSet<>();
+        TreeSet<Integer> advisoryKeys = new TreeSet<>();
+        for (String employeeId : employeeIds) {
+            stripeIndexes.add(stripeOf(employeeId));
+            advisoryKeys.add(employeeId.hashCode());
+        }
+
+        for (int stripe : stripeIndexes) {
+            acquire(stripes[stripe]);
+        }
+        if (advisory) {
+            for (int key : advisoryKeys) {
+                entityManager.createNativeQuery(ADVISORY_LOCK_SQL)
+                        .setParameter("namespace", ADVISORY_NAMESPACE)
+                        .setParameter("key", key)
+                        .getSingleResult();
+            }
+        }
+    }
+
+    public boolean isHeldByCurrentThread(String employeeId) {
+        return stripes[stripeOf(employeeId)].isHeldByCurrentThread();
+    }
+
+    private void acquire(ReentrantLock lock) {
+        try {
+            if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new BookingConflictException("Another booking for this employee is in progress. Please retry.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Interrupted while waiting for another booking of this employee");
+        }
+
+        // Completion callbacks run on the thread that owns the transaction, i.e. the lock owner
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private int stripeOf(String employeeId) {
+        return Math.floorMod(employeeId.hashCode(), stripes.length);
+    }
+
+}
@@ -0,0 +1,273 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Immutable snapshot of one employee's booking day
+public record EmployeeDayState(
+        LocalDateTime lastClockIn,
+        LocalDateTime lastClockOut,
+        LocalDateTime lastBreakStart,
+        LocalDateTime lastBreakEnd,
+        LocalTime arrivalTime,
+        LocalTime departureTime,
+        LocalDateTime sessionStart,
+        SessionType sessionType,
+        Duration closedWorkingTime,
+        Duration closedBreakTime,
+        LocalDateTime lastRecordTime,
+        TimeRecord.LocationType lastLocation,
+        int recordCount
+) {
+
+    private static final EmployeeDayState EMPTY = new EmployeeDayState(
+            null, null, null, null, null, null, null, null,
+            Duration.ZERO, Duration.ZERO, null, null, 0);
+
+    // no time yet in replay(DayTimeline)
+    private static final long NONE = Long.MIN_VALUE;
+
+    public enum Phase {
+        NOT_STARTED, WORKING, BREAK, FINISHED
+    }
+
+    public enum SessionType {
+        WORK, BREAK
+    }
+
+    public static EmployeeDayState empty() {
+        return EMPTY;
+    }
+
+    // Rebuild the state from a day's records ordered by record time ascending
+    public static EmployeeDayState replay(List<TimeRecord> records) {
+        return replay(DayTimeline.of(records));
+    }
+
+    // The fold on the timeline's primitive columns; the snapshot's date-times and durations are
+    // created once at the end instead of once per record
+    public static EmployeeDayState replay(DayTimeline timeline) {
+        int size = timeline.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        long clockIn = NONE;
+        long clockOut = NONE;
+        long breakStart = NONE;
+        long breakEnd = NONE;
+        long arrival = NONE;
+        long start = NONE;
+        SessionType type = null;
+        long working = 0;
+        long breaks = 0;
+
+        for (int i = 0; i < size; i++) {
+            long time = timeline.micros(i);
+            switch (timeline.type(i)) {
+                case CLOCK_IN -> {
+                    clockIn = time;
+                    if (arrival == NONE) {
+                        arrival = time;
+                    }
+                    start = time;
+                    type = SessionType.WORK;
+                }
+                case BREAK_START -> {
+                    breakStart = time;
+                    if (type == SessionType.WORK) {
+                        working += time - start;
+                    }
+                    start = time;
+                    type = SessionType.BREAK;
+                }
+                case BREAK_END -> {
+                    breakEnd = time;
+                    if (type == SessionType.BREAK) {
+                        breaks += time - start;
+                    }
+                    start = time;
+                    type = SessionType.WORK;
+                }
+                case CLOCK_OUT -> {
+                    clockOut = time;
+                    if (type == SessionType.WORK) {
+                        working += time - start;
+                    } else if (type == SessionType.BREAK) {
+                        breaks += time - start;
+                    }
+                    start = NONE;
+                    type = null;
+                }
+            }
+        }
+
+        LocalDateTime departure = dateTime(clockOut);
+        return new EmployeeDayState(dateTime(clockIn), departure, dateTime(breakStart), dateTime(breakEnd),
+                arrival != NONE ? dateTime(arrival).toLocalTime() : null,
+                departure != null ? departure.toLocalTime() : null,
+                dateTime(start), type,
+                Duration.of(working, ChronoUnit.MICROS), Duration.of(breaks, ChronoUnit.MICROS),
+                dateTime(timeline.micros(size - 1)), timeline.location(size - 1), size);
+    }
+
+    private static LocalDateTime dateTime(long epochMicros) {
+        return epochMicros != NONE ? DayTimeline.toDateTime(epochMicros) : null;
+    }
+
+    // Restore the state persisted in a daily_summaries row
+    public static EmployeeDayState fromSummary(DailySummary summary) {
+        return new EmployeeDayState(
+                summary.getLastClockIn(),
+                summary.getLastClockOut(),
+                summary.getLastBreakStart(),
+                summary.getLastBreakEnd(),
+                summary.getArrivalTime(),
+                summary.getDepartureTime(),
+                summary.getSessionStart(),
+                summary.getSessionType() != null ? SessionType.valueOf(summary.getSessionType().name()) : null,
+                Duration.ofSeconds(summary.getWorkingSeconds()),
+                Duration.ofSeconds(summary.getBreakSeconds()),
+                summary.getLastRecordTime(),
+                summary.getLastLocationType(),
+                summary.getRecordCount());
+    }
+
+    // Returns the state after appending one more record to the day
+    public EmployeeDayState apply(TimeRecord record) {
+        LocalDateTime time = record.getRecordTime();
+
+        LocalDateTime clockIn = lastClockIn;
+        LocalDateTime clockOut = lastClockOut;
+        LocalDateTime breakStart = lastBreakStart;
+        LocalDateTime breakEnd = lastBreakEnd;
+        LocalTime arrival = arrivalTime;
+        LocalTime departure = departureTime;
+        LocalDateTime start = sessionStart;
+        SessionType type = sessionType;
+        Duration working = closedWorkingTime;
+        Duration breaks = closedBreakTime;
+
+        switch (record.getRecordType()) {
+            case CLOCK_IN -> {
+                clockIn = time;
+                if (arrival == null) {
+                    arrival = time.toLocalTime();
+                }
+                start = time;
+                type = SessionType.WORK;
+            }
+            case BREAK_START -> {
+                breakStart = time;
+                if (type == SessionType.WORK && start != null) {
+                    working = working.plus(Duration.between(start, time));
+                }
+                start = time;
+                type = SessionType.BREAK;
+            }
+            case BREAK_END -> {
+                breakEnd = time;
+                if (type == SessionType.BREAK && start != null) {
+                    breaks = breaks.plus(Duration.between(start, time));
+                }
+                start = time;
+                type = SessionType.WORK;
+            }
+            case CLOCK_OUT -> {
+                clockOut = time;
+                departure = time.toLocalTime();
+                if (type == SessionType.WORK && start != null) {
+                    working = working.plus(Duration.between(start, time));
+                } else if (type == SessionType.BREAK && start != null) {
+                    breaks = breaks.plus(Duration.between(start, time));
+                }
+                start = null;
+                type = null;
+            }
+        }
+
+        return new EmployeeDayState(clockIn, clockOut, breakStart, breakEnd, arrival, departure,
+                start, type, working, breaks, time, record.getLocationType(), recordCount + 1);
+    }
+
+    // Whether a record at the given time can be appended without replaying the day
+    public boolean acceptsAppendAt(LocalDateTime time) {
+        return lastRecordTime == null || !time.isBefore(lastRecordTime);
+    }
+
+    public boolean isClockedIn() {
+        return lastClockIn != null && (lastClockOut == null || lastClockIn.isAfter(lastClockOut));
+    }
+
+    private boolean hasOpenBreak() {
+        return lastBreakStart != null && (lastBreakEnd == null || lastBreakStart.isAfter(lastBreakEnd));
+    }
+
+    public Phase phase() {
+        boolean clockedIn = isClockedIn();
+        if (clockedIn && !hasOpenBreak()) {
+            return Phase.WORKING;
+        } else if (clockedIn) {
+            return Phase.BREAK;
+        } else if (lastClockOut != null) {
+            return Phase.FINISHED;
+        }
+        return Phase.NOT_STARTED;
+    }
+
+    public boolean isWorking() {
+        return phase() == Phase.WORKING;
+    }
+
+    public boolean isOnBreak() {
+        return phase() == Phase.BREAK;
+    }
+
+    public boolean canClockIn() {
+        return !isWorking() && !isOnBreak();
+    }
+
+    public boolean canClockOut() {
+        return isWorking() || isOnBreak();
+    }
+
+    public boolean canStartBreak() {
+        return isWorking();
+    }
+
+    public boolean canEndBreak() {
+        return isOnBreak();
+    }
+
+    // Whether a booking of the given type is a valid next step for the day
+    public boolean allows(TimeRecord.RecordType recordType) {
+        return switch (recordType) {
+            case CLOCK_IN -> canClockIn();
+            case CLOCK_OUT -> canClockOut();
+            case BREAK_START -> canStartBreak();
+            case BREAK_END -> canEndBreak();
+        };
+    }
+
+    // Working time including the running work session up to the given instant
+    public Duration workingTimeAt(LocalDateTime now) {
+        if (sessionType == SessionType.WORK && sessionStart != null) {
+            return closedWorkingTime.plus(Duration.between(sessionStart, now));
+        }
+        return closedWorkingTime;
+    }
+
+    // Break time including the running break up to the given instant
+    public Duration breakTimeAt(LocalDateTime now) {
+        if (sessionType == SessionType.BREAK && sessionStart != null) {
+            return closedBreakTime.plus(Duration.between(sessionStart, now));
+        }
+        return closedBreakTime;
+    }
+
+}
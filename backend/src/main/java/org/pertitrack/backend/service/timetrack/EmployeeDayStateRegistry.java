@@ -0,0 +1,192 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// In-memory day state per employee and date
+@Component
+public class EmployeeDayStateRegistry {
+
+    private static final int STRIPES = 64;
+
+    private final ConcurrentMap<DayKey, EmployeeDayState> states = new ConcurrentHashMap<>();
+
+    // Bumped on every write to a stripe; a replay only gets cached if no write raced with it
+    private final AtomicLongArray stripeVersions = new AtomicLongArray(STRIPES);
+
+    private final List<DayChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private volatile LocalDate newestDay = LocalDate.MIN;
+
+    private record DayKey(String employeeId, LocalDate date) {
+    }
+
+    // Runs on the committing thread or the invalidation listener, so implementations must
+    // hand off any real work
+    @FunctionalInterface
+    public interface DayChangeListener {
+        void dayChanged(String employeeId, LocalDate date);
+    }
+
+    public EmployeeDayStateRegistry() {
+        this(null);
+    }
+
+    @Autowired
+    public EmployeeDayStateRegistry(CacheInvalidationBus invalidationBus) {
+        this.invalidationBus = invalidationBus;
+        if (invalidationBus != null) {
+            invalidationBus.subscribe(this::onRemoteInvalidation);
+        }
+    }
+
+    public void addChangeListener(DayChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public EmployeeDayState get(String employeeId, LocalDate date, Supplier<EmployeeDayState> loader) {
+        DayKey key = new DayKey(employeeId, date);
+        EmployeeDayState state = states.get(key);
+        if (state != null) {
+            return state;
+        }
+
+        int stripe = stripeOf(key);
+        long versionBeforeLoad = stripeVersions.get(stripe);
+        EmployeeDayState loaded = loader.get();
+
+        if (stripeVersions.get(stripe) == versionBeforeLoad) {
+            rollOver(date);
+            EmployeeDayState existing = states.putIfAbsent(key, loaded);
+            return existing != null ? existing : loaded;
+        }
+        return loaded;
+    }
+
+    // Advance the cached state once the surrounding transaction commits
+    public void recordAppended(TimeRecord record) {
+        String employeeId = record.getEmployee().getId();
+        LocalDate date = record.getRecordDate();
+        runAfterCommit(() -> {
+            append(new DayKey(employeeId, date), record);
+            notifyChanged(employeeId, date);
+        });
+        publish(employeeId, date);
+    }
+
+    // Drop the cached state now and again after the transaction completes,
+    // so a concurrent reader cannot re-cache a pre-commit view of the day
+    public void invalidate(String employeeId, LocalDate date) {
+        DayKey key = new DayKey(employeeId, date);
+        evict(key);
+        runAfterCompletion(() -> evict(key));
+        runAfterCommit(() -> notifyChanged(employeeId, date));
+        publish(employeeId, date);
+    }
+
+    public void invalidate(TimeRecord record) {
+        invalidate(record.getEmployee().getId(), record.getRecordDate());
+    }
+
+    public void clear() {
+        states.clear();
+        for (int i = 0; i < STRIPES; i++) {
+            stripeVersions.incrementAndGet(i);
+        }
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private void append(DayKey key, TimeRecord record) {
+        states.computeIfPresent(key, (k, state) -> state.acceptsAppendAt(record.getRecordTime())
+                ? state.apply(record)
+                : null);
+        stripeVersions.incrementAndGet(stripeOf(key));
+    }
+
+    // Other nodes cannot apply the record to their copy, so they evict it
+    private void publish(String employeeId, LocalDate date) {
+        if (invalidationBus != null) {
+            invalidationBus.publish(InvalidationEvent.day(employeeId, date));
+        }
+    }
+
+    // Runs on the listener thread once the other node's transaction has committed
+    private void onRemoteInvalidation(InvalidationEvent event) {
+        switch (event.type()) {
+            case DAY -> {
+                evict(new DayKey(event.id(), event.date()));
+                notifyChanged(event.id(), event.date());
+            }
+            case ALL -> clear();
+            default -> {
+                // not a day state change
+            }
+        }
+    }
+
+    private void notifyChanged(String employeeId, LocalDate date) {
+        for (DayChangeListener listener : listeners) {
+            listener.dayChanged(employeeId, date);
+        }
+    }
+
+    private void evict(DayKey key) {
+        states.remove(key);
+        stripeVersions.incrementAndGet(stripeOf(key));
+    }
+
+    // Only one day is hot at a time; drop older days when the first booking of a new day arrives
+    private void rollOver(LocalDate date) {
+        if (date.isAfter(newestDay)) {
+            newestDay = date;
+            states.keySet().removeIf(key -> key.date().isBefore(date));
+        }
+    }
+
+    private int stripeOf(DayKey key) {
+        return Math.floorMod(key.hashCode(), STRIPES);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void runAfterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+// Closes the sessions of employees who forgot to clock out
+@Component
+public class OpenSessionAutoCloser {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenSessionAutoCloser.class);
+
+    static final String AUTO_CLOSE_NOTE = "Automatically clocked out: no clock out was recorded";
+
+    // Days with records but no summary row, e.g. booked before the summaries existed; they get
+    // their row from the records first, so an open session there is closed as well
+    private static final String DAYS_WITHOUT_SUMMARY_SQL = """
+            SELECT DISTINCT tr.employee_id, tr.record_date FROM app_timetrack.time_records tr
+            WHERE tr.record_date < ? AND NOT EXISTS (
+                SELECT 1 FROM app_timetrack.daily_summaries ds
+                WHERE ds.employee_id = tr.employee_id AND ds.summary_date = tr.record_date)
+            """;
+
+    private static final String OPEN_DAYS = """
+            FROM app_timetrack.daily_summaries ds
+            WHERE ds.status IN ('WORKING', 'BREAK') AND ds.summary_date < ?
+            """;
+
+    // Locks the open summaries, so a second node running the same schedule waits and then
+    // finds nothing left to close
+    private static final String LOCK_OPEN_DAYS_SQL = "SELECT ds.id " + OPEN_DAYS + "FOR UPDATE";
+
+    private static final String SCHEDULED_END = """
+            (SELECT MAX(ws.end_time) FROM app_timetrack.work_schedules ws
+             WHERE ws.employee_id = ds.employee_id
+               AND ws.day_of_week = EXTRACT(ISODOW FROM ds.summary_date)
+               AND ws.is_active = true AND ws.is_working_day = true
+               AND ds.summary_date BETWEEN ws.effective_from AND ws.effective_until)
+            """;
+
+    private static final String INSERT_CLOCK_OUTS_SQL = """
+            INSERT INTO app_timetrack.time_records
+                (id, employee_id, record_date, record_time, record_type, location_type, notes,
+                 is_manual, is_auto_closed, version, created_at, updated_at)
+            SELECT %s, ds.employee_id, ds.summary_date,
+                   GREATEST(ds.last_record_time, COALESCE(ds.summary_date + %s, ds.last_record_time)),
+                   'CLOCK_OUT', COALESCE(ds.last_location_type, 'OFFICE'), ?,
+                   false, true, 0, ?, ?
+            """ + OPEN_DAYS;
+
+    // The CLOCK_OUT inserted by this run for the summary's day, identified by its created_at
+    private static final String CLOSE_TIME = """
+            (SELECT tr.record_time FROM app_timetrack.time_records tr
+             WHERE tr.employee_id = ds.employee_id AND tr.record_date = ds.summary_date
+               AND tr.is_auto_closed = true AND tr.created_at = ?)
+            """;
+
+    private static final String UPDATE_SUMMARIES_SQL = """
+            UPDATE app_timetrack.daily_summaries ds SET
+                working_seconds = ds.working_seconds + CASE WHEN ds.session_type = 'WORK'
+                    THEN CAST(FLOOR(EXTRACT(EPOCH FROM (%1$s - ds.session_start))) AS BIGINT) ELSE 0 END,
+                break_seconds = ds.break_seconds + CASE WHEN ds.session_type = 'BREAK'
+                    THEN CAST(FLOOR(EXTRACT(EPOCH FROM (%1$s - ds.session_start))) AS BIGINT) ELSE 0 END,
+                last_clock_out = %1$s,
+                departure_time = CAST(%1$s AS TIME),
+                last_record_time = %1$s,
+                status = 'FINISHED',
+                session_start = NULL,
+                session_type = NULL,
+                record_count = ds.record_count + 1,
+                version = ds.version + 1,
+                updated_at = ?
+            WHERE ds.status IN ('WORKING', 'BREAK') AND ds.summary_date < ?
+              AND EXISTS %1$s
+            """.formatted(CLOSE_TIME);
+
+    // The closed days with the working time the close adds, read before the summaries change
+    private static final String CLOSED_DAYS_SQL = """
+            SELECT ds.employee_id, ds.summary_date, CASE WHEN ds.session_type = 'WORK'
+                THEN CAST(FLOOR(EXTRACT(EPOCH FROM (%1$s - ds.session_start))) AS BIGINT) ELSE 0 END
+            FROM app_timetrack.daily_summaries ds
+            WHERE ds.status IN ('WORKING', 'BREAK') AND ds.summary_date < ?
+              AND EXISTS %1$s
+            """.formatted(CLOSE_TIME);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeDayStateRegistry dayStateRegistry;
+    private final TimeAccountLedger timeAccountLedger;
+    private final DailySummaryRollup dailySummaryRollup;
+    private final EmployeeRepository employeeRepository;
+    private final boolean enabled;
+
+    private volatile String insertClockOutsSql;
+
+    public OpenSessionAutoCloser(JdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 EmployeeDayStateRegistry dayStateRegistry,
+                                 TimeAccountLedger timeAccountLedger,
+                                 DailySummaryRollup dailySummaryRollup,
+                                 EmployeeRepository employeeRepository,
+                                 @Value("${app.timetrack.auto-close.enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dayStateRegistry = dayStateRegistry;
+        this.timeAccountLedger = timeAccountLedger;
+        this.dailySummaryRollup = dailySummaryRollup;
+        this.employeeRepository = employeeRepository;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.timetrack.auto-close.cron:0 15 0 * * *}")
+    public void closeForgottenSessions() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            int closed = closeOpenSessionsBefore(LocalDate.now());
+            if (closed > 0) {
+                log.info("Auto-closed {} open sessions in {} ms", closed,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not auto-close open sessions", e);
+        }
+    }
+
+    // Closes the open sessions of all days before the given date; returns the number of days closed
+    public int closeOpenSessionsBefore(LocalDate date) {
+        // created_at marks this run's records; the column keeps microseconds at most
+        LocalDateTime runStamp = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Integer closed = transactionTemplate.execute(status -> {
+            summarizeDaysWithoutSummary(date);
+            if (jdbcTemplate.queryForList(LOCK_OPEN_DAYS_SQL, String.class, date).isEmpty()) {
+                return 0;
+            }
+            int inserted = jdbcTemplate.update(insertClockOutsSql(),
+                    AUTO_CLOSE_NOTE, runStamp, runStamp, date);
+            List<TimeAccountLedger.Posting> closedDays = jdbcTemplate.query(CLOSED_DAYS_SQL,
+                    (rs, rowNum) -> TimeAccountLedger.Posting.worked(
+                            rs.getString(1), rs.getDate(2).toLocalDate(), rs.getLong(3)),
+                    runStamp, date, runStamp);
+            jdbcTemplate.update(UPDATE_SUMMARIES_SQL,
+                    runStamp, runStamp, runStamp, runStamp, runStamp, runStamp, date, runStamp);
+            timeAccountLedger.postAll(closedDays);
+            closedDays.forEach(day -> dayStateRegistry.invalidate(day.employeeId(), day.date()));
+            return inserted;
+        });
+        return closed != null ? closed : 0;
+    }
+
+    private void summarizeDaysWithoutSummary(LocalDate date) {
+        List<MissingSummary> days = jdbcTemplate.query(DAYS_WITHOUT_SUMMARY_SQL,
+                (rs, rowNum) -> new MissingSummary(rs.getString(1), rs.getDate(2).toLocalDate()), date);
+        if (days.isEmpty()) {
+            return;
+        }
+        for (MissingSummary day : days) {
+            dailySummaryRollup.rebuild(employeeRepository.getReferenceById(day.employeeId()), day.date());
+        }
+        // the statements below run on the same connection but past Hibernate
+        employeeRepository.flush();
+        log.info("Created the missing daily summaries of {} days", days.size());
+    }
+
+    private record MissingSummary(String employeeId, LocalDate date) {
+    }
+
+    // time_records.id is filled by the application; PostgreSQL and H2 name the UUID function differently
+    private String insertClockOutsSql() {
+        String sql = insertClockOutsSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            String uuid = "H2".equals(product) ? "RANDOM_UUID()" : "gen_random_uuid()";
+            sql = INSERT_CLOCK_OUTS_SQL.formatted("CAST(" + uuid + " AS VARCHAR(36))", SCHEDULED_END);
+            insertClockOutsSql = sql;
+        }
+        return sql;
+    }
+
+}
@@ -0,0 +1,156 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.cluster.InvalidationEvent;
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.pertitrack.backend.repository.AbsenceRepository;
+import org.pertitrack.backend.repository.WorkScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Target working time of an employee per day
+@Component
+public class TargetTimeCalendar {
+
+    // Used when no schedule is known, as it was before targets came from schedules
+    public static final Duration STANDARD_DAY = Duration.ofHours(8);
+
+    private final WorkScheduleRepository workScheduleRepository;
+    private final AbsenceRepository absenceRepository;
+    private final CacheInvalidationBus invalidationBus;
+    private final Duration defaultDailyTarget;
+
+    private final Map<String, DayTarget> cache = new ConcurrentHashMap<>();
+
+    private record DayTarget(LocalDate date, Duration target) {
+    }
+
+    public TargetTimeCalendar(WorkScheduleRepository workScheduleRepository,
+                              AbsenceRepository absenceRepository,
+                              CacheInvalidationBus invalidationBus,
+                              @Value("${app.timetrack.account.default-daily-target:PT8H}") Duration defaultDailyTarget) {
+        this.workScheduleRepository = workScheduleRepository;
+        this.absenceRepository = absenceRepository;
+        this.invalidationBus = invalidationBus;
+        this.defaultDailyTarget = defaultDailyTarget;
+        invalidationBus.subscribe(this::onRemoteInvalidation);
+    }
+
+    public Duration targetFor(String employeeId, LocalDate date) {
+        DayTarget cached = cache.get(employeeId);
+        if (cached != null && cached.date().equals(date)) {
+            return cached.target();
+        }
+        List<String> ids = List.of(employeeId);
+        Duration target = target(date,
+                workScheduleRepository.findEffective(ids, date, date),
+                absenceRepository.findApproved(ids, date, date));
+        cache.put(employeeId, new DayTarget(date, target));
+        return target;
+    }
+
+    // Target of every day in [from, to] with a single load of schedules and absences
+    public Map<LocalDate, Duration> targets(String employeeId, LocalDate from, LocalDate to) {
+        List<String> ids = List.of(employeeId);
+        List<WorkSchedule> schedules = workScheduleRepository.findEffective(ids, from, to);
+        List<Absence> absences = absenceRepository.findApproved(ids, from, to);
+        Map<LocalDate, Duration> targets = new LinkedHashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            targets.put(date, target(date, schedules, absences));
+        }
+        return targets;
+    }
+
+    // After the employee's schedules or absences changed. Evicted again once the transaction
+    // completes, so a concurrent read cannot re-cache the old target, and on the other nodes
+    public void evict(String employeeId) {
+        cache.remove(employeeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.remove(employeeId);
+                }
+            });
+        }
+        invalidationBus.publish(InvalidationEvent.targetTime(employeeId));
+    }
+
+    private void onRemoteInvalidation(InvalidationEvent event) {
+        switch (event.type()) {
+            case TARGET_TIME -> cache.remove(event.id());
+            case ALL -> cache.clear();
+            default -> {
+                // not a schedule or absence change
+            }
+        }
+    }
+
+    // Target of one day from the employee's schedules and approved absences; both lists may
+    // hold entries for other days, which are ignored
+    public Duration target(LocalDate date, List<WorkSchedule> schedules, List<Absence> absences) {
+        Duration scheduled = scheduled(date, schedules);
+        if (scheduled.isZero()) {
+            return scheduled;
+        }
+
+        Duration absent = Duration.ZERO;
+        for (Absence absence : absences) {
+            if (date.isBefore(absence.getStartDate()) || date.isAfter(absence.getEndDate())) {
+                continue;
+            }
+            if (absence.getStartTime() == null || absence.getEndTime() == null) {
+                return Duration.ZERO;
+            }
+            absent = absent.plus(positive(Duration.between(absence.getStartTime(), absence.getEndTime())));
+        }
+        return positive(scheduled.minus(absent));
+    }
+
+    private Duration scheduled(LocalDate date, List<WorkSchedule> schedules) {
+        List<WorkSchedule> effective = schedules.stream()
+                .filter(schedule -> !date.isBefore(schedule.getEffectiveFrom())
+                        && !date.isAfter(schedule.getEffectiveUntil()))
+                .toList();
+        if (effective.isEmpty()) {
+            DayOfWeek day = date.getDayOfWeek();
+            return day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY ? Duration.ZERO : defaultDailyTarget;
+        }
+
+        // the most recently started schedule wins if several overlap
+        Optional<WorkSchedule> forDay = effective.stream()
+                .filter(schedule -> schedule.getDayOfWeek() == date.getDayOfWeek().getValue())
+                .max(Comparator.comparing(WorkSchedule::getEffectiveFrom));
+        if (forDay.isEmpty() || !Boolean.TRUE.equals(forDay.get().getIsWorkingDay())) {
+            return Duration.ZERO;
+        }
+
+        WorkSchedule schedule = forDay.get();
+        LocalTime start = schedule.getStartTime();
+        LocalTime end = schedule.getEndTime();
+        if (start == null || end == null) {
+            return defaultDailyTarget;
+        }
+        int breakMinutes = schedule.getBreakDurationMinutes() != null ? schedule.getBreakDurationMinutes() : 0;
+        return positive(Duration.between(start, end).minusMinutes(breakMinutes));
+    }
+
+    private static Duration positive(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+}
@@ -0,0 +1,38 @@
+package org.pertitrack.backend.service.timetrack;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+// Evicts the cached target when a work schedule or absence is written
+@Component
+public class TargetTimeChangeListener {
+
+    // looked up lazily: Hibernate creates the listener while the repositories are still being set up
+    private final ObjectProvider<TargetTimeCalendar> targetTimeCalendar;
+
+    public TargetTimeChangeListener(ObjectProvider<TargetTimeCalendar> targetTimeCalendar) {
+        this.targetTimeCalendar = targetTimeCalendar;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        Employee employee = switch (entity) {
+            case WorkSchedule schedule -> schedule.getEmployee();
+            case Absence absence -> absence.getEmployee();
+            default -> null;
+        };
+        TargetTimeCalendar calendar = targetTimeCalendar.getIfAvailable();
+        if (employee != null && calendar != null) {
+            calendar.evict(employee.getId());
+        }
+    }
+
+}
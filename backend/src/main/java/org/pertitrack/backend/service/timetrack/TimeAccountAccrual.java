@@ -0,0 +1,187 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.pertitrack.backend.repository.AbsenceRepository;
+import org.pertitrack.backend.repository.WorkScheduleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Posts the target time of finished days into the time accounts
+@Component
+public class TimeAccountAccrual {
+
+    private static final Logger log = LoggerFactory.getLogger(TimeAccountAccrual.class);
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String EMPLOYEES_WITHOUT_ACCOUNT_SQL = """
+            SELECT e.id FROM app_personnel.employees e
+            WHERE e.is_active = true
+              AND NOT EXISTS (SELECT 1 FROM app_timetrack.time_accounts a WHERE a.employee_id = e.id)
+            """;
+
+    private static final String OPEN_ACCOUNT_SQL = """
+            INSERT INTO app_timetrack.time_accounts
+                (id, employee_id, tracking_start, target_posted_through, opening_balance_seconds,
+                 balance_seconds, version, created_at, updated_at)
+            VALUES (?, ?, ?, ?, 0, 0, 0, ?, ?)
+            """;
+
+    private static final String DUE_ACCOUNTS_SQL = """
+            SELECT a.employee_id, a.target_posted_through, COALESCE(e.is_active, true)
+            FROM app_timetrack.time_accounts a
+            JOIN app_personnel.employees e ON e.id = a.employee_id
+            WHERE a.target_posted_through < ? AND a.employee_id > ?
+            ORDER BY a.employee_id
+            FETCH FIRST %d ROWS ONLY
+            """.formatted(CHUNK_SIZE);
+
+    private static final String ADVANCE_SQL = """
+            UPDATE app_timetrack.time_accounts SET target_posted_through = ?
+            WHERE employee_id = ? AND target_posted_through = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TimeAccountLedger timeAccountLedger;
+    private final TargetTimeCalendar targetTimeCalendar;
+    private final WorkScheduleRepository workScheduleRepository;
+    private final AbsenceRepository absenceRepository;
+    private final boolean enabled;
+
+    private record DueAccount(String employeeId, LocalDate postedThrough, boolean active) {
+    }
+
+    public TimeAccountAccrual(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              TimeAccountLedger timeAccountLedger,
+                              TargetTimeCalendar targetTimeCalendar,
+                              WorkScheduleRepository workScheduleRepository,
+                              AbsenceRepository absenceRepository,
+                              @Value("${app.timetrack.account.accrual-enabled:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.timeAccountLedger = timeAccountLedger;
+        this.targetTimeCalendar = targetTimeCalendar;
+        this.workScheduleRepository = workScheduleRepository;
+        this.absenceRepository = absenceRepository;
+        this.enabled = enabled;
+    }
+
+    @Scheduled(cron = "${app.timetrack.account.accrual-cron:0 45 0 * * *}")
+    public void accrueYesterday() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            LocalDate today = LocalDate.now();
+            openAccounts(today);
+            int accrued = accrueThrough(today.minusDays(1));
+            if (accrued > 0) {
+                log.info("Posted target time for {} time accounts in {} ms", accrued,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not post target time to the time accounts", e);
+        }
+    }
+
+    // Opens an account starting on the given day for every active employee without one;
+    // returns the number of accounts opened
+    public int openAccounts(LocalDate trackingStart) {
+        List<String> employeeIds = jdbcTemplate.queryForList(EMPLOYEES_WITHOUT_ACCOUNT_SQL, String.class);
+        if (employeeIds.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = employeeIds.stream()
+                .map(id -> new Object[]{UUID.randomUUID().toString(), id, trackingStart,
+                        trackingStart.minusDays(1), now, now})
+                .toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(OPEN_ACCOUNT_SQL, rows));
+        } catch (DataIntegrityViolationException e) {
+            // another node opened them concurrently
+            log.debug("Time accounts were opened concurrently", e);
+            return 0;
+        }
+        return rows.size();
+    }
+
+    // Posts the target time of all days up to and including the given date; returns the number
+    // of accounts advanced
+    public int accrueThrough(LocalDate through) {
+        int accrued = 0;
+        String after = "";
+        while (true) {
+            List<DueAccount> chunk = jdbcTemplate.query(DUE_ACCOUNTS_SQL,
+                    (rs, rowNum) -> new DueAccount(rs.getString(1), rs.getDate(2).toLocalDate(), rs.getBoolean(3)),
+                    through, after);
+            if (chunk.isEmpty()) {
+                return accrued;
+            }
+            Integer advanced = transactionTemplate.execute(status -> accrueChunk(chunk, through));
+            accrued += advanced != null ? advanced : 0;
+            after = chunk.getLast().employeeId();
+        }
+    }
+
+    private int accrueChunk(List<DueAccount> chunk, LocalDate through) {
+        int[] advanced = jdbcTemplate.batchUpdate(ADVANCE_SQL, chunk.stream()
+                .map(account -> new Object[]{through, account.employeeId(), account.postedThrough()})
+                .toList());
+
+        List<DueAccount> won = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (advanced[i] == 1 && chunk.get(i).active()) {
+                won.add(chunk.get(i));
+            }
+        }
+        if (!won.isEmpty()) {
+            timeAccountLedger.postAll(targets(won, through));
+        }
+        return (int) Arrays.stream(advanced).filter(count -> count == 1).count();
+    }
+
+    private List<TimeAccountLedger.Posting> targets(List<DueAccount> accounts, LocalDate through) {
+        List<String> ids = accounts.stream().map(DueAccount::employeeId).toList();
+        LocalDate from = accounts.stream().map(DueAccount::postedThrough).min(LocalDate::compareTo)
+                .orElse(through).plusDays(1);
+        Map<String, List<WorkSchedule>> schedules = workScheduleRepository.findEffective(ids, from, through).stream()
+                .collect(Collectors.groupingBy(schedule -> schedule.getEmployee().getId()));
+        Map<String, List<Absence>> absences = absenceRepository.findApproved(ids, from, through).stream()
+                .collect(Collectors.groupingBy(absence -> absence.getEmployee().getId()));
+
+        List<TimeAccountLedger.Posting> postings = new ArrayList<>();
+        for (DueAccount account : accounts) {
+            List<WorkSchedule> ownSchedules = schedules.getOrDefault(account.employeeId(), List.of());
+            List<Absence> ownAbsences = absences.getOrDefault(account.employeeId(), List.of());
+            for (LocalDate date = account.postedThrough().plusDays(1); !date.isAfter(through); date = date.plusDays(1)) {
+                long seconds = targetTimeCalendar.target(date, ownSchedules, ownAbsences).toSeconds();
+                if (seconds > 0) {
+                    postings.add(TimeAccountLedger.Posting.target(account.employeeId(), date, seconds));
+                }
+            }
+        }
+        return postings;
+    }
+
+}
@@ -0,0 +1,167 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Posts worked and target time into the time accounts
+@Component
+public class TimeAccountLedger {
+
+    private static final String UPDATE_ACCOUNT_SQL = """
+            UPDATE app_timetrack.time_accounts
+            SET balance_seconds = balance_seconds + ?, version = version + 1, updated_at = ?
+            WHERE employee_id = ? AND tracking_start <= ?
+            """;
+
+    private static final String UPDATE_MONTH_SQL = """
+            UPDATE app_timetrack.time_account_months
+            SET worked_seconds = worked_seconds + ?, target_seconds = target_seconds + ?,
+                version = version + 1, updated_at = ?
+            WHERE employee_id = ? AND month_start = ?
+            """;
+
+    private static final String INSERT_MONTH_SQL = """
+            INSERT INTO app_timetrack.time_account_months
+                (id, employee_id, month_start, worked_seconds, target_seconds, balance_seconds,
+                 version, created_at, updated_at)
+            SELECT ?, a.employee_id, ?, ?, ?,
+                   COALESCE((SELECT m.balance_seconds FROM app_timetrack.time_account_months m
+                             WHERE m.employee_id = a.employee_id AND m.month_start < ?
+                             ORDER BY m.month_start DESC FETCH FIRST 1 ROWS ONLY),
+                            a.opening_balance_seconds),
+                   0, ?, ?
+            FROM app_timetrack.time_accounts a
+            WHERE a.employee_id = ?
+            """;
+
+    private static final String CARRY_OVER_SQL = """
+            UPDATE app_timetrack.time_account_months
+            SET balance_seconds = balance_seconds + ?
+            WHERE employee_id = ? AND month_start >= ?
+            """;
+
+    private static final String RESET_ACCOUNT_SQL = """
+            UPDATE app_timetrack.time_accounts
+            SET balance_seconds = opening_balance_seconds, version = version + 1, updated_at = ?
+            WHERE employee_id = ?
+            """;
+
+    private static final String DELETE_MONTHS_SQL =
+            "DELETE FROM app_timetrack.time_account_months WHERE employee_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeAccountLedger(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record Posting(String employeeId, LocalDate date, long workedSeconds, long targetSeconds) {
+
+        public static Posting worked(String employeeId, LocalDate date, long seconds) {
+            return new Posting(employeeId, date, seconds, 0);
+        }
+
+        public static Posting target(String employeeId, LocalDate date, long seconds) {
+            return new Posting(employeeId, date, 0, seconds);
+        }
+
+        long delta() {
+            return workedSeconds - targetSeconds;
+        }
+    }
+
+    private record MonthKey(String employeeId, LocalDate monthStart) implements Comparable<MonthKey> {
+        @Override
+        public int compareTo(MonthKey other) {
+            int byEmployee = employeeId.compareTo(other.employeeId);
+            return byEmployee != 0 ? byEmployee : monthStart.compareTo(other.monthStart);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void post(Posting posting) {
+        postAll(List.of(posting));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void postAll(Collection<Posting> postings) {
+        List<Posting> effective = postings.stream()
+                .filter(posting -> posting.workedSeconds() != 0 || posting.targetSeconds() != 0)
+                .sorted((a, b) -> a.employeeId().compareTo(b.employeeId()))
+                .toList();
+        if (effective.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        int[] accounts = batch(UPDATE_ACCOUNT_SQL, effective.stream()
+                .map(p -> new Object[]{p.delta(), now, p.employeeId(), p.date()})
+                .toList());
+
+        // one month write per employee and month, in ascending order for the carry-over
+        Map<MonthKey, Posting> months = new TreeMap<>();
+        for (int i = 0; i < effective.size(); i++) {
+            if (accounts[i] == 0) {
+                continue;
+            }
+            Posting posting = effective.get(i);
+            months.merge(new MonthKey(posting.employeeId(), posting.date().withDayOfMonth(1)), posting,
+                    (a, b) -> new Posting(a.employeeId(), a.date(),
+                            a.workedSeconds() + b.workedSeconds(), a.targetSeconds() + b.targetSeconds()));
+        }
+        if (months.isEmpty()) {
+            return;
+        }
+        List<MonthKey> keys = new ArrayList<>(months.keySet());
+
+        int[] updated = batch(UPDATE_MONTH_SQL, keys.stream()
+                .map(key -> new Object[]{months.get(key).workedSeconds(), months.get(key).targetSeconds(),
+                        now, key.employeeId(), key.monthStart()})
+                .toList());
+
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (updated[i] == 0) {
+                MonthKey key = keys.get(i);
+                Posting posting = months.get(key);
+                inserts.add(new Object[]{UUID.randomUUID().toString(), key.monthStart(), posting.workedSeconds(),
+                        posting.targetSeconds(), key.monthStart(), now, now, key.employeeId()});
+            }
+        }
+        batch(INSERT_MONTH_SQL, inserts);
+
+        batch(CARRY_OVER_SQL, keys.stream()
+                .map(key -> new Object[]{months.get(key).delta(), key.employeeId(), key.monthStart()})
+                .toList());
+    }
+
+    // Drops everything posted to the employee's account, leaving the opening balance; the
+    // caller posts the recomputed days in the same transaction. Returns false without an account.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean reset(String employeeId) {
+        if (jdbcTemplate.update(RESET_ACCOUNT_SQL, LocalDateTime.now(), employeeId) == 0) {
+            return false;
+        }
+        jdbcTemplate.update(DELETE_MONTHS_SQL, employeeId);
+        return true;
+    }
+
+    private int[] batch(String sql, List<Object[]> arguments) {
+        if (arguments.isEmpty()) {
+            return new int[0];
+        }
+        return jdbcTemplate.batchUpdate(sql, arguments);
+    }
+
+}
@@ -0,0 +1,75 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Parses one line of a time clock log: employee_number,record_time,record_type[,location_type]
+public final class TimeClockCsvParser {
+
+    private static final Pattern SEPARATOR = Pattern.compile("[,;]");
+    private static final DateTimeFormatter SPACE_SEPARATED = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm[:ss]");
+
+    public record Entry(
+            String employeeNumber,
+            LocalDateTime recordTime,
+            TimeRecord.RecordType recordType,
+            TimeRecord.LocationType locationType
+    ) {
+    }
+
+    private TimeClockCsvParser() {
+    }
+
+    // Returns null for lines without a booking; throws IllegalArgumentException with the reason
+    // a booking line cannot be read
+    public static Entry parse(String line) {
+        String trimmed = line == null ? "" : line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#") || isHeader(trimmed)) {
+            return null;
+        }
+
+        String[] fields = SEPARATOR.split(trimmed, -1);
+        if (fields.length < 3 || fields.length > 4) {
+            throw new IllegalArgumentException("Expected 3 or 4 fields but found " + fields.length);
+        }
+
+        String employeeNumber = fields[0].strip();
+        if (employeeNumber.isEmpty()) {
+            throw new IllegalArgumentException("Employee number is missing");
+        }
+
+        return new Entry(
+                employeeNumber,
+                parseTime(fields[1].strip()),
+                parseEnum(TimeRecord.RecordType.class, fields[2], "record type"),
+                fields.length == 4 && !fields[3].isBlank()
+                        ? parseEnum(TimeRecord.LocationType.class, fields[3], "location type")
+                        : TimeRecord.LocationType.OFFICE);
+    }
+
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "employee", 0, "employee".length());
+    }
+
+    private static LocalDateTime parseTime(String value) {
+        try {
+            return value.indexOf('T') > 0 ? LocalDateTime.parse(value) : LocalDateTime.parse(value, SPACE_SEPARATED);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid record time: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value.strip());
+        }
+    }
+
+}
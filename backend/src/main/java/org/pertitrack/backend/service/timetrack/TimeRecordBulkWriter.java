@@ -0,0 +1,39 @@
+package org.pertitrack.backend.service.timetrack;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Inserts many new time records with Hibernate JDBC batching
+@Component
+public class TimeRecordBulkWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int batchSize;
+
+    public TimeRecordBulkWriter(@Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Joins the caller's transaction; clearing the session detaches everything the caller loaded
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void insertAll(List<TimeRecord> records) {
+        for (int i = 0; i < records.size(); i++) {
+            entityManager.persist(records.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+    }
+
+}
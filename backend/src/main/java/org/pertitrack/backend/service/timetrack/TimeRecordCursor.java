@@ -0,0 +1,41 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset position of the last time record on a page, as an opaque URL-safe token
+public record TimeRecordCursor(LocalDateTime recordTime, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static TimeRecordCursor of(TimeRecordResponse timeRecord) {
+        return new TimeRecordCursor(timeRecord.recordTime(), timeRecord.id());
+    }
+
+    public String encode() {
+        String raw = recordTime + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for anything that was not produced by encode()
+    public static TimeRecordCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new TimeRecordCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    raw.substring(separator + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+}
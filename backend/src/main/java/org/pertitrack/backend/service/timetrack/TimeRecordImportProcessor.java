@@ -0,0 +1,187 @@
+package org.pertitrack.backend.service.timetrack;
+
+import lombok.RequiredArgsConstructor;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImportRejection;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRejectionRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+// Validates and writes one chunk of a time clock import in a single transaction
+@Component
+@RequiredArgsConstructor
+@Transactional
+public class TimeRecordImportProcessor {
+
+    static final int MAX_RAW_LINE_LENGTH = 1000;
+
+    private final TimeRecordImportRepository importRepository;
+    private final TimeRecordImportRejectionRepository rejectionRepository;
+    private final TimeRecordRepository timeRecordRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TimeRecordBulkWriter timeRecordBulkWriter;
+    private final DailySummaryRollup dailySummaryRollup;
+    private final EmployeeDayStateRegistry dayStateRegistry;
+    private final EmployeeBookingLock bookingLock;
+
+    public record Line(long number, String text) {
+    }
+
+    private record DayKey(String employeeId, LocalDate date) {
+    }
+
+    private record BookingKey(LocalDateTime recordTime, TimeRecord.RecordType recordType) {
+    }
+
+    // Day state and existing bookings of one employee day, advanced as lines are accepted
+    private static final class Day {
+        private final Employee employee;
+        private final LocalDate date;
+        private final Set<BookingKey> bookings = new HashSet<>();
+        private EmployeeDayState state;
+
+        private Day(Employee employee, LocalDate date, List<TimeRecord> existing) {
+            this.employee = employee;
+            this.date = date;
+            this.state = EmployeeDayState.replay(existing);
+            existing.forEach(timeRecord -> bookings.add(
+                    new BookingKey(timeRecord.getRecordTime(), timeRecord.getRecordType())));
+        }
+
+        private void append(TimeRecord timeRecord) {
+            state = state.apply(timeRecord);
+            bookings.add(new BookingKey(timeRecord.getRecordTime(), timeRecord.getRecordType()));
+        }
+    }
+
+    public TimeRecordImport processChunk(String importId, String ownerNode, List<Line> lines) {
+        TimeRecordImport timeRecordImport = importRepository.findById(importId)
+                .orElseThrow(() -> new EntityNotFoundException("Time record import not found with id: " + importId));
+        if (!ownerNode.equals(timeRecordImport.getOwnerNode())) {
+            throw new CancellationException("Time record import " + importId + " was taken over by node "
+                    + timeRecordImport.getOwnerNode());
+        }
+
+        List<TimeClockCsvParser.Entry> entries = new ArrayList<>(lines.size());
+        List<TimeRecordImportRejection> rejections = new ArrayList<>();
+        for (Line line : lines) {
+            try {
+                entries.add(TimeClockCsvParser.parse(line.text()));
+            } catch (IllegalArgumentException e) {
+                entries.add(null);
+                rejections.add(rejection(importId, line, e.getMessage()));
+            }
+        }
+
+        Map<String, Employee> employees = findEmployees(entries);
+        // queue behind live bookings so each day is replayed from its committed records
+        bookingLock.lockAll(employees.values().stream().map(Employee::getId).toList());
+        Map<DayKey, Day> days = new LinkedHashMap<>();
+        List<TimeRecord> timeRecords = new ArrayList<>();
+        int duplicates = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            TimeClockCsvParser.Entry entry = entries.get(i);
+            if (entry == null) {
+                continue;
+            }
+            Line line = lines.get(i);
+            Employee employee = employees.get(entry.employeeNumber());
+            if (employee == null) {
+                rejections.add(rejection(importId, line, "Unknown employee number: " + entry.employeeNumber()));
+                continue;
+            }
+
+            LocalDate date = entry.recordTime().toLocalDate();
+            Day day = days.computeIfAbsent(new DayKey(employee.getId(), date), key -> new Day(employee, date,
+                    timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, date)));
+
+            if (day.bookings.contains(new BookingKey(entry.recordTime(), entry.recordType()))) {
+                duplicates++;
+            } else if (!day.state.acceptsAppendAt(entry.recordTime())) {
+                rejections.add(rejection(importId, line, "Booking is earlier than the last booking of the day"));
+            } else if (!day.state.allows(entry.recordType())) {
+                rejections.add(rejection(importId, line,
+                        entry.recordType() + " is not allowed while " + day.state.phase()));
+            } else {
+                TimeRecord timeRecord = toTimeRecord(employee, entry);
+                day.append(timeRecord);
+                timeRecords.add(timeRecord);
+            }
+        }
+
+        timeRecordBulkWriter.insertAll(timeRecords);
+        for (Day day : days.values()) {
+            dailySummaryRollup.store(day.employee, day.date, day.state);
+            dayStateRegistry.invalidate(day.employee.getId(), day.date);
+        }
+        rejectionRepository.saveAll(rejections);
+
+        timeRecordImport.setCreatedCount(timeRecordImport.getCreatedCount() + timeRecords.size());
+        timeRecordImport.setDuplicateCount(timeRecordImport.getDuplicateCount() + duplicates);
+        timeRecordImport.setRejectedCount(timeRecordImport.getRejectedCount() + rejections.size());
+        if (!lines.isEmpty()) {
+            timeRecordImport.setProcessedLines(lines.get(lines.size() - 1).number());
+        }
+        return importRepository.save(timeRecordImport);
+    }
+
+    private Map<String, Employee> findEmployees(List<TimeClockCsvParser.Entry> entries) {
+        Set<String> employeeNumbers = new HashSet<>();
+        for (TimeClockCsvParser.Entry entry : entries) {
+            if (entry != null) {
+                employeeNumbers.add(entry.employeeNumber());
+            }
+        }
+        if (employeeNumbers.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Employee> employees = new HashMap<>();
+        for (Employee employee : employeeRepository.findByEmployeeNumberIn(employeeNumbers)) {
+            employees.put(employee.getEmployeeNumber(), employee);
+        }
+        return employees;
+    }
+
+    private static TimeRecord toTimeRecord(Employee employee, TimeClockCsvParser.Entry entry) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(employee);
+        timeRecord.setRecordDate(entry.recordTime().toLocalDate());
+        timeRecord.setRecordTime(entry.recordTime());
+        timeRecord.setRecordType(entry.recordType());
+        timeRecord.setLocationType(entry.locationType());
+        timeRecord.setIsManual(false);
+        return timeRecord;
+    }
+
+    private static TimeRecordImportRejection rejection(String importId, Line line, String reason) {
+        TimeRecordImportRejection rejection = new TimeRecordImportRejection();
+        rejection.setImportId(importId);
+        rejection.setLineNumber(line.number());
+        rejection.setReason(reason.length() > 500 ? reason.substring(0, 500) : reason);
+        String text = line.text();
+        rejection.setRawLine(text != null && text.length() > MAX_RAW_LINE_LENGTH
+                ? text.substring(0, MAX_RAW_LINE_LENGTH)
+                : text);
+        return rejection;
+    }
+
+}
@@ -0,0 +1,73 @@
+CREATE SCHEMA IF NOT EXISTS app_timetrack;
+
+-- Create daily_summaries table with String IDs
+-- One row per employee and day, maintained in the same transaction as every time record write
+CREATE TABLE IF NOT EXISTS app_timetrack.daily_summaries (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    employee_id VARCHAR(36) NOT NULL REFERENCES app_personnel.employees(id) ON DELETE CASCADE,
+    summary_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'NOT_STARTED',
+    arrival_time TIME,
+    departure_time TIME,
+    working_seconds BIGINT NOT NULL DEFAULT 0,
+    break_seconds BIGINT NOT NULL DEFAULT 0,
+    session_start TIMESTAMP WITHOUT TIME ZONE,
+    session_type VARCHAR(10),
+    last_clock_in TIMESTAMP WITHOUT TIME ZONE,
+    last_clock_out TIMESTAMP WITHOUT TIME ZONE,
+    last_break_start TIMESTAMP WITHOUT TIME ZONE,
+    last_break_end TIMESTAMP WITHOUT TIME ZONE,
+    last_record_time TIMESTAMP WITHOUT TIME ZONE,
+    last_location_type VARCHAR(20),
+    record_count INTEGER NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+    );
+
+-- Add constraints
+ALTER TABLE app_timetrack.daily_summaries
+    ADD CONSTRAINT check_daily_summary_status
+        CHECK (status IN ('NOT_STARTED', 'WORKING', 'BREAK', 'FINISHED'));
+
+ALTER TABLE app_timetrack.daily_summaries
+    ADD CONSTRAINT check_daily_summary_session_type
+        CHECK (session_type IS NULL OR session_type IN ('WORK', 'BREAK'));
+
+ALTER TABLE app_timetrack.daily_summaries
+    ADD CONSTRAINT check_daily_summary_durations
+        CHECK (working_seconds >= 0 AND break_seconds >= 0 AND record_count >= 0);
+
+-- Create unique constraint
+CREATE UNIQUE INDEX IF NOT EXISTS idx_daily_summaries_employee_date
+    ON app_timetrack.daily_summaries(employee_id, summary_date);
+
+-- Create indexes
+CREATE INDEX IF NOT EXISTS idx_daily_summaries_summary_date ON app_timetrack.daily_summaries(summary_date);
+CREATE INDEX IF NOT EXISTS idx_daily_summaries_status ON app_timetrack.daily_summaries(status);
+
+-- Drop trigger if exists before creating
+DROP TRIGGER IF EXISTS update_daily_summaries_updated_at ON app_timetrack.daily_summaries;
+
+-- Create trigger to automatically update updated_at
+CREATE TRIGGER update_daily_summaries_updated_at
+    BEFORE UPDATE ON app_timetrack.daily_summaries
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- Add comments for documentation
+COMMENT ON TABLE app_timetrack.daily_summaries IS 'Per employee and day rollup of time records (arrival, departure, working and break time)';
+COMMENT ON COLUMN app_timetrack.daily_summaries.id IS 'Unique identifier for the daily summary';
+COMMENT ON COLUMN app_timetrack.daily_summaries.employee_id IS 'Reference to the employee this summary belongs to';
+COMMENT ON COLUMN app_timetrack.daily_summaries.summary_date IS 'Day the summary covers';
+COMMENT ON COLUMN app_timetrack.daily_summaries.status IS 'Status after the last record of the day (NOT_STARTED, WORKING, BREAK, FINISHED)';
+COMMENT ON COLUMN app_timetrack.daily_summaries.arrival_time IS 'Time of the first clock in of the day';
+COMMENT ON COLUMN app_timetrack.daily_summaries.departure_time IS 'Time of the last clock out of the day';
+COMMENT ON COLUMN app_timetrack.daily_summaries.working_seconds IS 'Working time of closed sessions in seconds';
+COMMENT ON COLUMN app_timetrack.daily_summaries.break_seconds IS 'Break time of closed sessions in seconds';
+COMMENT ON COLUMN app_timetrack.daily_summaries.session_start IS 'Start of the currently open session (null if none)';
+COMMENT ON COLUMN app_timetrack.daily_summaries.session_type IS 'Type of the currently open session (WORK or BREAK)';
+COMMENT ON COLUMN app_timetrack.daily_summaries.last_record_time IS 'Timestamp of the latest time record of the day';
+COMMENT ON COLUMN app_timetrack.daily_summaries.last_location_type IS 'Location of the latest time record of the day';
+COMMENT ON COLUMN app_timetrack.daily_summaries.record_count IS 'Number of time records of the day';
+COMMENT ON COLUMN app_timetrack.daily_summaries.version IS 'Version number for optimistic locking';
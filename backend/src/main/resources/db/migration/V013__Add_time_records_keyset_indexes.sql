@@ -0,0 +1,7 @@
+-- Keyset pagination walks time records in (record_time, id) order
+-- Composite indexes let each page start with an index seek instead of an offset scan
+CREATE INDEX IF NOT EXISTS idx_time_records_record_time_id
+    ON app_timetrack.time_records(record_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_time_records_employee_record_time_id
+    ON app_timetrack.time_records(employee_id, record_time, id);
@@ -0,0 +1,45 @@
+CREATE SCHEMA IF NOT EXISTS app_timetrack;
+
+-- Create time_record_imports table with String IDs
+-- One row per uploaded terminal log; processed_lines is the resume checkpoint and is committed
+-- in the same transaction as the time records of each chunk
+CREATE TABLE IF NOT EXISTS app_timetrack.time_record_imports (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    file_name VARCHAR(255) NOT NULL,
+    storage_path VARCHAR(1000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    processed_lines BIGINT NOT NULL DEFAULT 0,
+    created_count INTEGER NOT NULL DEFAULT 0,
+    duplicate_count INTEGER NOT NULL DEFAULT 0,
+    rejected_count INTEGER NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP WITHOUT TIME ZONE,
+    finished_at TIMESTAMP WITHOUT TIME ZONE,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+    );
+
+ALTER TABLE app_timetrack.time_record_imports
+    ADD CONSTRAINT check_time_record_import_status
+        CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED'));
+
+CREATE INDEX IF NOT EXISTS idx_time_record_imports_status ON app_timetrack.time_record_imports(status);
+
+-- Lines of an import that failed parsing or booking validation
+CREATE TABLE IF NOT EXISTS app_timetrack.time_record_import_rejections (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    import_id VARCHAR(36) NOT NULL REFERENCES app_timetrack.time_record_imports(id) ON DELETE CASCADE,
+    line_number BIGINT NOT NULL,
+    reason VARCHAR(500) NOT NULL,
+    raw_line TEXT,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+    );
+
+CREATE INDEX IF NOT EXISTS idx_time_record_import_rejections_import_line
+    ON app_timetrack.time_record_import_rejections(import_id, line_number);
+
+COMMENT ON TABLE app_timetrack.time_record_imports IS 'Server-side imports of time clock CSV logs with resume checkpoint';
+COMMENT ON TABLE app_timetrack.time_record_import_rejections IS 'Rejected lines of a time record import';
@@ -0,0 +1,35 @@
+CREATE SCHEMA IF NOT EXISTS app_system;
+
+-- Create jobs table with String IDs
+-- Background jobs (exports, recalculations) run outside request threads; progress columns are
+-- updated while a job runs and finished rows are purged after the retention period
+CREATE TABLE IF NOT EXISTS app_system.jobs (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    parameters TEXT,
+    created_by VARCHAR(36),
+    progress_current BIGINT NOT NULL DEFAULT 0,
+    progress_total BIGINT,
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    result_path VARCHAR(1000),
+    result_file_name VARCHAR(255),
+    result_content_type VARCHAR(100),
+    result_size BIGINT,
+    error_message TEXT,
+    started_at TIMESTAMP WITHOUT TIME ZONE,
+    finished_at TIMESTAMP WITHOUT TIME ZONE,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+    );
+
+ALTER TABLE app_system.jobs
+    ADD CONSTRAINT check_job_status
+        CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED', 'CANCELLED'));
+
+CREATE INDEX IF NOT EXISTS idx_jobs_status ON app_system.jobs(status);
+CREATE INDEX IF NOT EXISTS idx_jobs_created_by ON app_system.jobs(created_by, created_at DESC);
+CREATE INDEX IF NOT EXISTS idx_jobs_finished_at ON app_system.jobs(finished_at);
+
+COMMENT ON TABLE app_system.jobs IS 'Background jobs with progress, cancellation and result retention';
@@ -0,0 +1,23 @@
+CREATE SCHEMA IF NOT EXISTS app_timetrack;
+
+-- Create booking_idempotency_keys table with String IDs
+-- Responses of booking requests sent with an Idempotency-Key header. A row is written in the
+-- same transaction as the booking, so a retried request finds either both or neither
+CREATE TABLE IF NOT EXISTS app_timetrack.booking_idempotency_keys (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    subject VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    endpoint VARCHAR(255) NOT NULL,
+    response_status INTEGER NOT NULL,
+    response_body TEXT NOT NULL,
+    expires_at TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_booking_idempotency_keys_subject_key UNIQUE (subject, idempotency_key)
+    );
+
+CREATE INDEX IF NOT EXISTS idx_booking_idempotency_keys_expires_at
+    ON app_timetrack.booking_idempotency_keys(expires_at);
+
+COMMENT ON TABLE app_timetrack.booking_idempotency_keys IS 'Stored responses of idempotent booking requests, purged after expires_at';
@@ -0,0 +1,15 @@
+-- Flag CLOCK_OUT records inserted by the nightly auto-close of forgotten open sessions, so they
+-- can be listed for review and told apart from bookings made by the employee
+ALTER TABLE app_timetrack.time_records
+    ADD COLUMN IF NOT EXISTS is_auto_closed BOOLEAN NOT NULL DEFAULT false;
+
+-- The auto-close looks for open days through daily_summaries; only the few open rows are indexed
+CREATE INDEX IF NOT EXISTS idx_daily_summaries_open_date
+    ON app_timetrack.daily_summaries(summary_date)
+    WHERE status IN ('WORKING', 'BREAK');
+
+CREATE INDEX IF NOT EXISTS idx_time_records_auto_closed
+    ON app_timetrack.time_records(record_date)
+    WHERE is_auto_closed;
+
+COMMENT ON COLUMN app_timetrack.time_records.is_auto_closed IS 'Whether this CLOCK_OUT was inserted by the nightly auto-close because the employee forgot to clock out';
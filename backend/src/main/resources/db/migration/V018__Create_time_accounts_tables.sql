@@ -0,0 +1,65 @@
+CREATE SCHEMA IF NOT EXISTS app_timetrack;
+
+-- Create time_accounts table with String IDs
+-- One flex-time account per employee. balance_seconds is the running balance (opening balance
+-- plus worked minus target time of every posted day), so reading it is a single row lookup
+CREATE TABLE IF NOT EXISTS app_timetrack.time_accounts (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    employee_id VARCHAR(36) NOT NULL REFERENCES app_personnel.employees(id) ON DELETE CASCADE,
+    tracking_start DATE NOT NULL,
+    target_posted_through DATE NOT NULL,
+    opening_balance_seconds BIGINT NOT NULL DEFAULT 0,
+    balance_seconds BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_time_accounts_employee UNIQUE (employee_id)
+    );
+
+-- Create time_account_months table with String IDs
+-- Worked and target time per employee and month; balance_seconds is the closing balance of the
+-- month including the carry-over of all earlier months
+CREATE TABLE IF NOT EXISTS app_timetrack.time_account_months (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    employee_id VARCHAR(36) NOT NULL REFERENCES app_personnel.employees(id) ON DELETE CASCADE,
+    month_start DATE NOT NULL,
+    worked_seconds BIGINT NOT NULL DEFAULT 0,
+    target_seconds BIGINT NOT NULL DEFAULT 0,
+    balance_seconds BIGINT NOT NULL DEFAULT 0,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_time_account_months_employee_month UNIQUE (employee_id, month_start),
+    CONSTRAINT check_time_account_months_month_start CHECK (EXTRACT(DAY FROM month_start) = 1)
+    );
+
+-- Create indexes
+CREATE INDEX IF NOT EXISTS idx_time_accounts_target_posted_through
+    ON app_timetrack.time_accounts(target_posted_through);
+
+-- Drop triggers if exist before creating
+DROP TRIGGER IF EXISTS update_time_accounts_updated_at ON app_timetrack.time_accounts;
+DROP TRIGGER IF EXISTS update_time_account_months_updated_at ON app_timetrack.time_account_months;
+
+-- Create triggers to automatically update updated_at
+CREATE TRIGGER update_time_accounts_updated_at
+    BEFORE UPDATE ON app_timetrack.time_accounts
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+CREATE TRIGGER update_time_account_months_updated_at
+    BEFORE UPDATE ON app_timetrack.time_account_months
+    FOR EACH ROW
+    EXECUTE FUNCTION update_updated_at_column();
+
+-- Add comments for documentation
+COMMENT ON TABLE app_timetrack.time_accounts IS 'Flex-time account per employee with its running balance';
+COMMENT ON COLUMN app_timetrack.time_accounts.tracking_start IS 'First day counted in the account';
+COMMENT ON COLUMN app_timetrack.time_accounts.target_posted_through IS 'Last day whose target time has been posted by the nightly accrual';
+COMMENT ON COLUMN app_timetrack.time_accounts.opening_balance_seconds IS 'Balance carried over from before tracking_start in seconds';
+COMMENT ON COLUMN app_timetrack.time_accounts.balance_seconds IS 'Current balance in seconds (opening balance plus worked minus target time)';
+COMMENT ON TABLE app_timetrack.time_account_months IS 'Worked and target time per employee and month with the closing balance';
+COMMENT ON COLUMN app_timetrack.time_account_months.month_start IS 'First day of the month';
+COMMENT ON COLUMN app_timetrack.time_account_months.worked_seconds IS 'Working time of closed sessions in the month in seconds';
+COMMENT ON COLUMN app_timetrack.time_account_months.target_seconds IS 'Posted target time of the month in seconds';
+COMMENT ON COLUMN app_timetrack.time_account_months.balance_seconds IS 'Closing balance of the month including the carry-over in seconds';
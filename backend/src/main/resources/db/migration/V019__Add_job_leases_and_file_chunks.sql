@@ -0,0 +1,25 @@
+-- A queued or running job belongs to the node in owner_node while that node keeps renewing
+-- lease_expires_at; another node takes the job over only after the lease has expired
+ALTER TABLE app_system.jobs ADD COLUMN IF NOT EXISTS owner_node VARCHAR(36);
+ALTER TABLE app_system.jobs ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP WITHOUT TIME ZONE;
+
+-- Results are kept in app_system.file_chunks under the job id instead of on a node's disk
+ALTER TABLE app_system.jobs DROP COLUMN IF EXISTS result_path;
+
+CREATE INDEX IF NOT EXISTS idx_jobs_status_lease ON app_system.jobs(status, lease_expires_at);
+
+-- Create file_chunks table with String IDs
+-- Files every node has to reach (job results, uploaded import logs), stored as ordered chunks
+-- that are written and read one at a time
+CREATE TABLE IF NOT EXISTS app_system.file_chunks (
+    id VARCHAR(36) PRIMARY KEY DEFAULT gen_random_uuid()::text,
+    file_id VARCHAR(36) NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    data BYTEA NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uq_file_chunks_file_chunk_index UNIQUE (file_id, chunk_index)
+    );
+
+COMMENT ON TABLE app_system.file_chunks IS 'Chunks of files shared by all backend nodes';
@@ -0,0 +1,23 @@
+-- A queued or running import belongs to the node in owner_node while that node keeps renewing
+-- lease_expires_at; another node takes the import over only after the lease has expired
+ALTER TABLE app_timetrack.time_record_imports ADD COLUMN IF NOT EXISTS owner_node VARCHAR(36);
+ALTER TABLE app_timetrack.time_record_imports ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP WITHOUT TIME ZONE;
+
+-- Uploads are kept in app_system.file_chunks under upload_id instead of on a node's disk.
+-- Unfinished imports still point to a local file no other node can read; they fail and have to
+-- be uploaded again.
+ALTER TABLE app_timetrack.time_record_imports ADD COLUMN IF NOT EXISTS upload_id VARCHAR(36);
+
+UPDATE app_timetrack.time_record_imports
+SET status = 'FAILED',
+    error_message = 'The upload was stored on a single node before shared storage; upload the file again',
+    finished_at = CURRENT_TIMESTAMP
+WHERE status IN ('QUEUED', 'RUNNING');
+
+UPDATE app_timetrack.time_record_imports SET upload_id = id WHERE upload_id IS NULL;
+
+ALTER TABLE app_timetrack.time_record_imports ALTER COLUMN upload_id SET NOT NULL;
+ALTER TABLE app_timetrack.time_record_imports DROP COLUMN IF EXISTS storage_path;
+
+CREATE INDEX IF NOT EXISTS idx_time_record_imports_status_lease
+    ON app_timetrack.time_record_imports(status, lease_expires_at);
@@ -0,0 +1,5 @@
+-- Tokens of a user issued up to tokens_valid_after are rejected; set when the user loses access
+ALTER TABLE app_users.users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX IF NOT EXISTS idx_users_tokens_valid_after
+    ON app_users.users(tokens_valid_after) WHERE tokens_valid_after IS NOT NULL;
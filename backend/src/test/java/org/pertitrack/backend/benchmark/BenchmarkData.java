@@ -0,0 +1,49 @@
+package org.pertitrack.backend.benchmark;
+
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Bookings shared by the benchmarks: four a day on consecutive days
+final class BenchmarkData {
+
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2024, 3, 4, 0, 0);
+    private static final TimeRecord.RecordType[] DAY_CYCLE = {TimeRecord.RecordType.CLOCK_IN,
+            TimeRecord.RecordType.BREAK_START, TimeRecord.RecordType.BREAK_END, TimeRecord.RecordType.CLOCK_OUT};
+    private static final int[] HOURS = {8, 12, 12, 17};
+    private static final int[] MINUTES = {0, 0, 30, 0};
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee() {
+        Employee employee = new Employee("Anna", "Schmidt", "EMP001", null);
+        ReflectionTestUtils.setField(employee, "id", "emp-1");
+        return employee;
+    }
+
+    static List<TimeRecord> timeRecords(Employee employee, int count) {
+        List<TimeRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime time = FIRST_DAY.plusDays(i / 4).withHour(HOURS[i % 4]).withMinute(MINUTES[i % 4]);
+            TimeRecord record = new TimeRecord();
+            ReflectionTestUtils.setField(record, "id", "tr-" + i);
+            record.setEmployee(employee);
+            record.setRecordDate(time.toLocalDate());
+            record.setRecordTime(time);
+            record.setRecordType(DAY_CYCLE[i % 4]);
+            record.setLocationType(TimeRecord.LocationType.OFFICE);
+            record.setNotes(i % 4 == 0 ? "Morning stand-up" : null);
+            record.setIsManual(false);
+            record.setCreatedAt(time);
+            record.setUpdatedAt(time);
+            records.add(record);
+        }
+        return records;
+    }
+
+}
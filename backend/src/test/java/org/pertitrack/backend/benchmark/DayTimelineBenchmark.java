@@ -0,0 +1,81 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.timetrack.DayTimeline;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Day state from a day's rows as entities versus as a DayTimeline; compare allocation with -prof gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DayTimelineBenchmark {
+
+    private static final TimeRecord.RecordType[] TYPES = TimeRecord.RecordType.values();
+    private static final TimeRecord.LocationType[] LOCATIONS = TimeRecord.LocationType.values();
+
+    // bookings of the day: 4 is a regular day, 16 one with many interruptions
+    @Param({"4", "16"})
+    public int records;
+
+    // row values as the database delivers them
+    private long[] micros;
+    private byte[] types;
+    private byte[] locations;
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        micros = new long[records];
+        types = new byte[records];
+        locations = new byte[records];
+        long start = LocalDateTime.of(2024, 3, 4, 8, 0).toEpochSecond(ZoneOffset.UTC) * 1_000_000;
+        TimeRecord.RecordType[] cycle = {TimeRecord.RecordType.CLOCK_IN, TimeRecord.RecordType.BREAK_START,
+                TimeRecord.RecordType.BREAK_END, TimeRecord.RecordType.CLOCK_OUT};
+        for (int i = 0; i < records; i++) {
+            micros[i] = start + i * 1_800_000_000L;
+            types[i] = (byte) cycle[i % cycle.length].ordinal();
+            locations[i] = (byte) TimeRecord.LocationType.OFFICE.ordinal();
+        }
+        employee = new Employee();
+    }
+
+    @Benchmark
+    public EmployeeDayState entityRows() {
+        List<TimeRecord> day = new ArrayList<>();
+        for (int i = 0; i < records; i++) {
+            TimeRecord record = new TimeRecord();
+            record.setEmployee(employee);
+            record.setRecordTime(LocalDateTime.ofEpochSecond(micros[i] / 1_000_000, 0, ZoneOffset.UTC));
+            record.setRecordDate(record.getRecordTime().toLocalDate());
+            record.setRecordType(TYPES[types[i]]);
+            record.setLocationType(LOCATIONS[locations[i]]);
+            day.add(record);
+        }
+        return EmployeeDayState.replay(day);
+    }
+
+    @Benchmark
+    public EmployeeDayState timelineRows() {
+        DayTimeline timeline = new DayTimeline();
+        for (int i = 0; i < records; i++) {
+            timeline.add(micros[i], types[i], locations[i]);
+        }
+        return EmployeeDayState.replay(timeline);
+    }
+
+}
@@ -0,0 +1,31 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.entity.personnel.Employee;
+
+import java.util.concurrent.TimeUnit;
+
+// Employee.setFullName for one, two and three name parts
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EmployeeNameBenchmark {
+
+    @Param({"Anna", "Anna Schmidt", "Anna Maria Schmidt"})
+    public String fullName;
+
+    private final Employee employee = new Employee();
+
+    @Benchmark
+    public Employee setFullName() {
+        employee.setFullName(fullName);
+        return employee;
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.pertitrack.backend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.security.JwtUtils;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.pertitrack.backend.security.VerifiedTokenCache;
+
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of turning a bearer token into an authenticated principal
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParsingBenchmark {
+
+    private static final String SECRET = "benchmark-secret-that-is-long-enough-for-hs256";
+
+    private JwtUtils jwtUtils;
+    private VerifiedTokenCache tokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        jwtUtils.setJwtSecret(SECRET);
+        jwtUtils.setJwtExpirationMs(3_600_000);
+        jwtUtils.init();
+        token = jwtUtils.generateJwtToken(
+                new UserPrincipal("user-1", "bench@pertitrack.org", User.Role.EMPLOYEE, "emp-1", true));
+        tokenCache = new VerifiedTokenCache(10_000, 3_600_000);
+        tokenCache.put(token, jwtUtils.getVerifiedClaims(token));
+    }
+
+    @Benchmark
+    public String perRequestKeyAndTwoParses() {
+        Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token);
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    @Benchmark
+    public UserPrincipal parseOnce() {
+        Claims claims = jwtUtils.getVerifiedClaims(token);
+        return JwtUtils.principalFromClaims(claims);
+    }
+
+    @Benchmark
+    public UserPrincipal cachedToken() {
+        return JwtUtils.principalFromClaims(tokenCache.get(token));
+    }
+
+}
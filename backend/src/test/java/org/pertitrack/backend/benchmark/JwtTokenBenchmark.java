@@ -0,0 +1,46 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.security.JwtUtils;
+import org.pertitrack.backend.security.UserPrincipal;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue and validation in JwtUtils
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenBenchmark {
+
+    private JwtUtils jwtUtils;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        jwtUtils.setJwtSecret("benchmark-secret-that-is-long-enough-for-hs256");
+        jwtUtils.setJwtExpirationMs(3_600_000);
+        jwtUtils.init();
+        principal = new UserPrincipal("user-1", "bench@pertitrack.org", User.Role.EMPLOYEE, "emp-1", true);
+        token = jwtUtils.generateJwtToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtils.generateJwtToken(principal);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+}
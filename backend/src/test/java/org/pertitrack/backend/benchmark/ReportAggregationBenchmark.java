@@ -0,0 +1,132 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.report.EmployeeRecords;
+import org.pertitrack.backend.service.report.OrganisationReport;
+import org.pertitrack.backend.service.report.ParallelReportAggregator;
+import org.pertitrack.backend.service.report.ReportAccumulator;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Report aggregation of in-memory rows: entities versus EmployeeRecords columns
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReportAggregationBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2024, 3, 1);
+    private static final LocalDate END = LocalDate.of(2024, 3, 31);
+
+    @Param({"100", "1000"})
+    public int employees;
+
+    private List<TimeRecord> entities;
+    private List<EmployeeRecords> columns;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        entities = new ArrayList<>();
+        columns = new ArrayList<>();
+        for (int e = 0; e < employees; e++) {
+            Employee employee = new Employee();
+            ReflectionTestUtils.setField(employee, "id", "emp-" + e);
+            EmployeeRecords records = new EmployeeRecords(employee.getId());
+            for (LocalDate date = START; !date.isAfter(END); date = date.plusDays(1)) {
+                if (date.getDayOfWeek().getValue() > 5) {
+                    continue;
+                }
+                int shift = e % 60;
+                add(employee, records, date.atTime(8, shift), TimeRecord.RecordType.CLOCK_IN);
+                add(employee, records, date.atTime(12, shift), TimeRecord.RecordType.BREAK_START);
+                add(employee, records, date.atTime(12, 30 + shift / 2), TimeRecord.RecordType.BREAK_END);
+                add(employee, records, date.atTime(17, shift), TimeRecord.RecordType.CLOCK_OUT);
+            }
+            columns.add(records);
+        }
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    private void add(Employee employee, EmployeeRecords records, LocalDateTime time, TimeRecord.RecordType type) {
+        TimeRecord record = new TimeRecord();
+        record.setEmployee(employee);
+        record.setRecordDate(time.toLocalDate());
+        record.setRecordTime(time);
+        record.setRecordType(type);
+        record.setLocationType(TimeRecord.LocationType.OFFICE);
+        entities.add(record);
+        records.add(time.toEpochSecond(ZoneOffset.UTC), EmployeeRecords.typeCode(type),
+                EmployeeRecords.locationCode(TimeRecord.LocationType.OFFICE));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public long perRecordObjects() {
+        Map<String, Map<LocalDate, List<TimeRecord>>> byEmployeeAndDay = new LinkedHashMap<>();
+        for (TimeRecord record : entities) {
+            byEmployeeAndDay.computeIfAbsent(record.getEmployee().getId(), id -> new HashMap<>())
+                    .computeIfAbsent(record.getRecordDate(), date -> new ArrayList<>())
+                    .add(record);
+        }
+        long violations = 0;
+        Duration worked = Duration.ZERO;
+        for (Map<LocalDate, List<TimeRecord>> days : byEmployeeAndDay.values()) {
+            for (List<TimeRecord> day : days.values()) {
+                EmployeeDayState state = EmployeeDayState.replay(day);
+                worked = worked.plus(state.closedWorkingTime());
+                if (state.closedWorkingTime().compareTo(Duration.ofHours(6)) > 0
+                        && state.closedBreakTime().compareTo(Duration.ofMinutes(30)) < 0) {
+                    violations++;
+                }
+            }
+        }
+        return worked.toSeconds() + violations;
+    }
+
+    @Benchmark
+    public OrganisationReport columnarSequential() {
+        ReportAccumulator accumulator = new ReportAccumulator(START, END);
+        for (EmployeeRecords records : columns) {
+            accumulator.add(records);
+        }
+        return accumulator.toReport();
+    }
+
+    @Benchmark
+    public OrganisationReport columnarParallel() {
+        ParallelReportAggregator aggregator = new ParallelReportAggregator(pool, START, END, 20_000,
+                2 * pool.getParallelism());
+        for (EmployeeRecords records : columns) {
+            aggregator.add(records);
+        }
+        return aggregator.finish();
+    }
+
+}
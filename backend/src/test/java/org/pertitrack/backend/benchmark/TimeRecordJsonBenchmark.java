@@ -0,0 +1,56 @@
+package org.pertitrack.backend.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.mapper.TimeRecordMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON serialization of TimeRecordResponse with Spring Boot's mapper defaults
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeRecordJsonBenchmark {
+
+    @Param({"4", "100", "1000"})
+    public int records;
+
+    private ObjectWriter singleWriter;
+    private ObjectWriter listWriter;
+    private TimeRecordResponse response;
+    private List<TimeRecordResponse> responses;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        singleWriter = objectMapper.writerFor(TimeRecordResponse.class);
+        listWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, TimeRecordResponse.class));
+        responses = new TimeRecordMapper().toResponseList(
+                BenchmarkData.timeRecords(BenchmarkData.employee(), records));
+        response = responses.getFirst();
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return singleWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] list() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(responses);
+    }
+
+}
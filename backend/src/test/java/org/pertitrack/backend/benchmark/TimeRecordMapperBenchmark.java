@@ -0,0 +1,45 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.mapper.TimeRecordMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to response mapping of time records for a single record and for lists
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeRecordMapperBenchmark {
+
+    @Param({"4", "100", "1000"})
+    public int records;
+
+    private final TimeRecordMapper mapper = new TimeRecordMapper();
+    private List<TimeRecord> timeRecords;
+
+    @Setup
+    public void setUp() {
+        timeRecords = BenchmarkData.timeRecords(BenchmarkData.employee(), records);
+    }
+
+    @Benchmark
+    public TimeRecordResponse toResponse() {
+        return mapper.toResponse(timeRecords.getFirst());
+    }
+
+    @Benchmark
+    public List<TimeRecordResponse> toResponseList() {
+        return mapper.toResponseList(timeRecords);
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.pertitrack.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.timetrack.DaySummaryCalculator;
+import org.pertitrack.backend.service.timetrack.DayTimeline;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.pertitrack.backend.service.timetrack.TargetTimeCalendar;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+// The steps of a status or today-summary request for a day of bookings
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeRecordSummaryBenchmark {
+
+    private static final TimeRecord.RecordType[] CYCLE = {TimeRecord.RecordType.CLOCK_IN,
+            TimeRecord.RecordType.BREAK_START, TimeRecord.RecordType.BREAK_END, TimeRecord.RecordType.CLOCK_OUT};
+
+    // bookings of the day
+    @Param({"4", "16", "64"})
+    public int records;
+
+    private DayTimeline timeline;
+    private DailySummary summary;
+    private EmployeeDayState state;
+    private LocalDateTime now;
+
+    @Setup
+    public void setUp() {
+        // ten minutes apart from 07:00, an open session at the end when the count is odd
+        LocalDateTime start = LocalDateTime.of(2024, 3, 4, 7, 0);
+        long startMicros = start.toEpochSecond(ZoneOffset.UTC) * 1_000_000;
+        timeline = new DayTimeline(records);
+        for (int i = 0; i < records; i++) {
+            timeline.add(startMicros + i * 600_000_000L, (byte) CYCLE[i % CYCLE.length].ordinal(),
+                    (byte) TimeRecord.LocationType.OFFICE.ordinal());
+        }
+        state = EmployeeDayState.replay(timeline);
+        summary = summaryOf(state);
+        now = start.plusMinutes(10L * records);
+    }
+
+    // The row DailySummaryRollup stores for the state
+    private static DailySummary summaryOf(EmployeeDayState state) {
+        DailySummary summary = new DailySummary();
+        summary.setArrivalTime(state.arrivalTime());
+        summary.setDepartureTime(state.departureTime());
+        summary.setWorkingSeconds(state.closedWorkingTime().toSeconds());
+        summary.setBreakSeconds(state.closedBreakTime().toSeconds());
+        summary.setSessionStart(state.sessionStart());
+        summary.setSessionType(state.sessionType() != null
+                ? DailySummary.SessionType.valueOf(state.sessionType().name())
+                : null);
+        summary.setLastClockIn(state.lastClockIn());
+        summary.setLastClockOut(state.lastClockOut());
+        summary.setLastBreakStart(state.lastBreakStart());
+        summary.setLastBreakEnd(state.lastBreakEnd());
+        summary.setLastRecordTime(state.lastRecordTime());
+        summary.setLastLocationType(state.lastLocation());
+        summary.setRecordCount(state.recordCount());
+        return summary;
+    }
+
+    @Benchmark
+    public TodaySummaryResponse summarize() {
+        return DaySummaryCalculator.summarize(state, now, TargetTimeCalendar.STANDARD_DAY);
+    }
+
+    @Benchmark
+    public TodaySummaryResponse fromSummary() {
+        return DaySummaryCalculator.summarize(EmployeeDayState.fromSummary(summary), now,
+                TargetTimeCalendar.STANDARD_DAY);
+    }
+
+    @Benchmark
+    public TodaySummaryResponse replay() {
+        return DaySummaryCalculator.summarize(EmployeeDayState.replay(timeline), now,
+                TargetTimeCalendar.STANDARD_DAY);
+    }
+
+}
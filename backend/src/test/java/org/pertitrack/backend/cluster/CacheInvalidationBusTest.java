@@ -0,0 +1,185 @@
+package org.pertitrack.backend.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    private static final String CHANNEL = "pertitrack_invalidation";
+    private static final String NOTIFY = "SELECT pg_notify(?, ?)";
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CacheInvalidationBus bus;
+    private List<InvalidationEvent> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CacheInvalidationBus(jdbcTemplate, true, CHANNEL);
+        received = new ArrayList<>();
+        bus.subscribe(received::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private List<String> sentPayloads() {
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, atLeast(1)).query(eq(NOTIFY), any(RowCallbackHandler.class), eq(CHANNEL), payload.capture());
+        return payload.getAllValues();
+    }
+
+    private static List<TransactionSynchronization> endTransaction() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        return synchronizations;
+    }
+
+    @Test
+    void publish_withoutTransaction_notifiesAtOnce() {
+        // Act
+        bus.publish(InvalidationEvent.day("emp-1", DAY));
+
+        // Assert
+        String payload = sentPayloads().get(0);
+        assertTrue(payload.endsWith("\nDAY|emp-1|2024-10-01"));
+    }
+
+    @Test
+    void publish_inTransaction_sendsDeduplicatedBatchBeforeCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        bus.publish(InvalidationEvent.day("emp-1", DAY));
+        bus.publish(InvalidationEvent.user("user-1"));
+        bus.publish(InvalidationEvent.day("emp-1", DAY));
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        endTransaction().forEach(s -> s.beforeCommit(false));
+
+        // Assert: one notification carrying both events
+        List<String> payloads = sentPayloads();
+        assertEquals(1, payloads.size());
+        assertTrue(payloads.get(0).endsWith("\nDAY|emp-1|2024-10-01\nUSER|user-1|"));
+    }
+
+    @Test
+    void publish_inRolledBackTransaction_sendsNothing() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        bus.publish(InvalidationEvent.employee("emp-1"));
+
+        // Act
+        endTransaction().forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void publish_largeBatch_isSplitBelowPayloadLimit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 500; i++) {
+            bus.publish(InvalidationEvent.day("employee-" + i, DAY));
+        }
+
+        // Act
+        endTransaction().forEach(s -> s.beforeCommit(false));
+
+        // Assert
+        List<String> payloads = sentPayloads();
+        assertTrue(payloads.size() > 1);
+        assertTrue(payloads.stream().allMatch(p -> p.length() <= CacheInvalidationBus.MAX_PAYLOAD_LENGTH));
+        assertEquals(500, payloads.stream().mapToLong(p -> p.lines().count() - 1).sum());
+    }
+
+    @Test
+    void publish_whenDisabled_doesNothing() {
+        // Arrange
+        bus = new CacheInvalidationBus(jdbcTemplate, false, CHANNEL);
+
+        // Act
+        bus.publish(InvalidationEvent.user("user-1"));
+
+        // Assert
+        verify(jdbcTemplate, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void deliver_eventsOfOtherNode_reachSubscribers() {
+        // Act
+        bus.deliver("other-node\nDAY|emp-1|2024-10-01\nEMPLOYEE|emp-2|");
+
+        // Assert
+        assertEquals(List.of(InvalidationEvent.day("emp-1", DAY), InvalidationEvent.employee("emp-2")), received);
+    }
+
+    @Test
+    void deliver_ownEvents_areIgnored() {
+        // Arrange
+        bus.publish(InvalidationEvent.user("user-1"));
+        String ownPayload = sentPayloads().get(0);
+
+        // Act
+        bus.deliver(ownPayload);
+
+        // Assert
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    void deliver_malformedLine_isSkipped() {
+        // Act
+        bus.deliver("other-node\nnonsense\nUSER|user-1|");
+
+        // Assert
+        assertEquals(List.of(InvalidationEvent.user("user-1")), received);
+    }
+
+    @Test
+    void resync_deliversAllLocally() {
+        // Act
+        bus.resync();
+
+        // Assert
+        assertEquals(List.of(InvalidationEvent.all()), received);
+    }
+
+    @Test
+    void constructor_rejectsUnsafeChannelName() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CacheInvalidationBus(jdbcTemplate, true, "x; DROP TABLE users"));
+    }
+
+}
@@ -0,0 +1,84 @@
+package org.pertitrack.backend.cluster;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.pertitrack.backend.BackendApplication;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Two application contexts sharing one PostgreSQL database; runs only with PERTITRACK_TEST_POSTGRES_URL set
+@EnabledIfEnvironmentVariable(named = "PERTITRACK_TEST_POSTGRES_URL", matches = ".+")
+class CacheInvalidationClusterTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = startNode();
+        nodeB = startNode();
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeA != null) {
+            nodeA.close();
+        }
+        if (nodeB != null) {
+            nodeB.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode() {
+        return new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + System.getenv("PERTITRACK_TEST_POSTGRES_URL"),
+                        "spring.datasource.username=" + System.getenv().getOrDefault("PERTITRACK_TEST_POSTGRES_USER", "postgres"),
+                        "spring.datasource.password=" + System.getenv().getOrDefault("PERTITRACK_TEST_POSTGRES_PASSWORD", ""),
+                        "spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "app.cache.invalidation.enabled=true",
+                        "app.cache.invalidation.poll-interval=PT0.1S")
+                .run();
+    }
+
+    @Test
+    void invalidationCommittedOnOneNode_evictsDayStateOnTheOther() throws InterruptedException {
+        // Arrange
+        EmployeeDayStateRegistry registryA = nodeA.getBean(EmployeeDayStateRegistry.class);
+        EmployeeDayStateRegistry registryB = nodeB.getBean(EmployeeDayStateRegistry.class);
+        registryB.get("emp-cluster", TODAY, EmployeeDayState::empty);
+        CountDownLatch changed = new CountDownLatch(1);
+        registryB.addChangeListener((employeeId, date) -> {
+            if (employeeId.equals("emp-cluster") && date.equals(TODAY)) {
+                changed.countDown();
+            }
+        });
+
+        // Act
+        new TransactionTemplate(nodeA.getBean(PlatformTransactionManager.class))
+                .executeWithoutResult(status -> registryA.invalidate("emp-cluster", TODAY));
+
+        // Assert
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+        assertEquals(0, registryB.size());
+    }
+
+}
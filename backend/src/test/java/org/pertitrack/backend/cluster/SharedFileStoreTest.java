@@ -0,0 +1,108 @@
+package org.pertitrack.backend.cluster;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.repository.FileChunkRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Without a test transaction, since the store writes in transactions of its own
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import(SharedFileStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SharedFileStoreTest {
+
+    @Autowired
+    private SharedFileStore fileStore;
+
+    @Autowired
+    private FileChunkRepository chunkRepository;
+
+    @AfterEach
+    void tearDown() {
+        chunkRepository.deleteAll();
+    }
+
+    private void write(String fileId, byte[] content) throws IOException {
+        try (OutputStream out = fileStore.create(fileId)) {
+            out.write(content);
+        }
+    }
+
+    private byte[] read(String fileId) throws IOException {
+        try (InputStream in = fileStore.open(fileId)) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    void create_thenOpen_returnsContentSpanningSeveralChunks() throws IOException {
+        // Arrange
+        byte[] content = new byte[SharedFileStore.CHUNK_SIZE * 2 + 17];
+        new Random(42).nextBytes(content);
+
+        // Act
+        write("file-1", content);
+
+        // Assert
+        assertTrue(fileStore.exists("file-1"));
+        assertArrayEquals(content, read("file-1"));
+    }
+
+    @Test
+    void create_emptyFile_existsAndReadsAsEmpty() throws IOException {
+        // Act
+        write("file-1", new byte[0]);
+
+        // Assert
+        assertTrue(fileStore.exists("file-1"));
+        assertEquals(0, read("file-1").length);
+    }
+
+    @Test
+    void create_existingFile_replacesContent() throws IOException {
+        // Arrange
+        write("file-1", new byte[SharedFileStore.CHUNK_SIZE + 1]);
+
+        // Act
+        write("file-1", "new".getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals("new", new String(read("file-1"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void deleteAll_removesOnlyTheGivenFiles() throws IOException {
+        // Arrange
+        write("file-1", "one".getBytes(StandardCharsets.UTF_8));
+        write("file-2", "two".getBytes(StandardCharsets.UTF_8));
+        write("file-3", "three".getBytes(StandardCharsets.UTF_8));
+
+        // Act
+        fileStore.deleteAll(List.of("file-1", "file-2"));
+
+        // Assert
+        assertFalse(fileStore.exists("file-1"));
+        assertFalse(fileStore.exists("file-2"));
+        assertEquals(0, read("file-1").length);
+        assertTrue(fileStore.exists("file-3"));
+    }
+
+}
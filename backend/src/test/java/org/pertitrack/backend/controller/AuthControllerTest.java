@@ -109,11 +109,11 @@ class AuthControllerTest {
     void logoutUser_returnSuccessMessage() {
         // Arrange
         MessageResponse expectedResponse = new MessageResponse("User logged out successfully!");
-        when(authService.logoutUser())
+        when(authService.logoutUser("Bearer test.jwt.token"))
                 .thenReturn(ResponseEntity.ok(expectedResponse));
 
         // Act
-        ResponseEntity<MessageResponse> result = authController.logoutUser();
+        ResponseEntity<MessageResponse> result = authController.logoutUser("Bearer test.jwt.token");
 
         // assert
         assertNotNull(result);
@@ -121,6 +121,6 @@ class AuthControllerTest {
         assertEquals(expectedResponse, result.getBody());
 
         // verify service was called
-        verify(authService).logoutUser();
+        verify(authService).logoutUser("Bearer test.jwt.token");
     }
 }
\ No newline at end of file
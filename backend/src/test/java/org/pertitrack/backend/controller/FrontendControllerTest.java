@@ -28,6 +28,18 @@ class FrontendControllerTest {
     @MockitoBean(name = "userDetailsServiceImpl")
     private UserDetailsServiceImpl userDetailsServiceImpl;
 
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
     @Test
     void forward_rootPath_returnsIndexHtml() throws Exception {
         mockMvc.perform(get("/"))
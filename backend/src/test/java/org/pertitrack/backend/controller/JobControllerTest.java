@@ -0,0 +1,161 @@
+package org.pertitrack.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.JobRequest;
+import org.pertitrack.backend.dto.JobResponse;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.JobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JobController.class)
+@ActiveProfiles("test")
+class JobControllerTest {
+
+    private static final String BASE_URL = "/api/jobs";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JobService jobService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.JwtUtils jwtUtils;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void submitJob_returnsAccepted() throws Exception {
+        // Arrange
+        when(jobService.submit(any(JobRequest.class))).thenReturn(response(Job.Status.QUEUED));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type":"TIME_RECORD_EXPORT","parameters":{"startDate":"2024-01-01","endDate":"2024-01-31"}}
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void submitJob_withInvalidParameters_returnsBadRequest() throws Exception {
+        // Arrange
+        when(jobService.submit(any(JobRequest.class))).thenThrow(new IllegalArgumentException("startDate is required"));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"TIME_RECORD_EXPORT\",\"parameters\":{}}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void getMyJobs_returnsJobs() throws Exception {
+        // Arrange
+        when(jobService.getMyJobs()).thenReturn(List.of(response(Job.Status.RUNNING)));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("RUNNING"))
+                .andExpect(jsonPath("$[0].progressCurrent").value(250));
+    }
+
+    @Test
+    @WithMockUser
+    void getJob_whenNotFound_returnsNotFound() throws Exception {
+        // Arrange
+        when(jobService.getJob("missing")).thenThrow(new EntityNotFoundException("not found"));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void cancelJob_whenFinished_returnsConflict() throws Exception {
+        // Arrange
+        when(jobService.cancel("job-1")).thenThrow(new IllegalStateException("already SUCCEEDED"));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL + "/job-1/cancel").with(csrf()))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @WithMockUser
+    void getJobResult_streamsResultFile() throws Exception {
+        // Arrange
+        byte[] content = "{\"id\":\"tr-1\"}\n".getBytes(StandardCharsets.UTF_8);
+        when(jobService.getResult("job-1")).thenReturn(new JobService.Result(
+                new ByteArrayInputStream(content), "time-records.ndjson", "application/x-ndjson", (long) content.length));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/job-1/result"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition",
+                        "attachment; filename=\"time-records.ndjson\""))
+                .andExpect(header().longValue("Content-Length", content.length))
+                .andExpect(content().string("{\"id\":\"tr-1\"}\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void getJobResult_whenNotSucceeded_returnsConflict() throws Exception {
+        // Arrange
+        when(jobService.getResult("job-1")).thenThrow(new IllegalStateException("no result"));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/job-1/result"))
+                .andExpect(status().isConflict());
+    }
+
+    private JobResponse response(Job.Status status) {
+        return new JobResponse("job-1", Job.Type.TIME_RECORD_EXPORT, status, 250, 1000L, false,
+                null, null, null, null, null, null);
+    }
+
+}
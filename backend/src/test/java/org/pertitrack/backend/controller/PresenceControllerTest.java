@@ -0,0 +1,96 @@
+package org.pertitrack.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.timeTrackingDto.PresenceResponse;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.PresenceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(PresenceController.class)
+@ActiveProfiles("test")
+class PresenceControllerTest {
+
+    private static final String BASE_URL = "/api/timetrack/presence";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private PresenceService presenceService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.JwtUtils jwtUtils;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void getPresence_withFilters_passesThemToService() throws Exception {
+        // Arrange
+        PresenceResponse alice = new PresenceResponse("emp-a", "Alice", "Adams", DailySummary.DayStatus.WORKING,
+                TimeRecord.LocationType.HOME, LocalDateTime.of(2024, 10, 1, 8, 0));
+        when(presenceService.getPresence(DailySummary.DayStatus.WORKING, TimeRecord.LocationType.HOME))
+                .thenReturn(List.of(alice));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL).param("status", "WORKING").param("location", "HOME"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employeeId").value("emp-a"))
+                .andExpect(jsonPath("$[0].status").value("WORKING"))
+                .andExpect(jsonPath("$[0].location").value("HOME"))
+                .andExpect(jsonPath("$[0].since").value("2024-10-01T08:00:00"));
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void getPresence_withoutFilters_returnsWholeBoard() throws Exception {
+        // Arrange
+        when(presenceService.getPresence(null, null)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void getPresence_withUnknownStatus_returnsBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL).param("status", "SLEEPING"))
+                .andExpect(status().isBadRequest());
+
+        verify(presenceService, never()).getPresence(any(), any());
+    }
+
+}
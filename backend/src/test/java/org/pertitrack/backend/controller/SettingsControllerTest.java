@@ -45,6 +45,18 @@ class SettingsControllerTest {
     @MockitoBean
     private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
 
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
     @MockitoBean
     private org.pertitrack.backend.security.JwtUtils jwtUtils;
 
@@ -0,0 +1,143 @@
+package org.pertitrack.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountMonthResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountResponse;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.TimeAccountService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TimeAccountController.class)
+@ActiveProfiles("test")
+class TimeAccountControllerTest {
+
+    private static final String BASE_URL = "/api/timetrack/accounts";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TimeAccountService timeAccountService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.JwtUtils jwtUtils;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
+    private static TimeAccountResponse account(String employeeId, int year) {
+        TimeAccountMonthResponse march = new TimeAccountMonthResponse(LocalDate.of(year, 3, 1),
+                30 * 3600, 28 * 3600, 3600, 3 * 3600);
+        return new TimeAccountResponse(employeeId, year, LocalDate.of(year, 3, 1), LocalDate.of(year, 3, 31),
+                3600, 30 * 3600, 28 * 3600, 3 * 3600, 3 * 3600, List.of(march));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyAccount_withYear_returnsAccountOfThatYear() throws Exception {
+        // Arrange
+        when(timeAccountService.getMyAccount(2024)).thenReturn(account("emp-1", 2024));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/me").param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("emp-1"))
+                .andExpect(jsonPath("$.openingBalanceSeconds").value(3600))
+                .andExpect(jsonPath("$.balanceSeconds").value(3 * 3600))
+                .andExpect(jsonPath("$.months[0].month").value("2024-03-01"))
+                .andExpect(jsonPath("$.months[0].closingBalanceSeconds").value(3 * 3600));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyAccount_withoutYear_usesCurrentYear() throws Exception {
+        // Arrange
+        int year = LocalDate.now().getYear();
+        when(timeAccountService.getMyAccount(year)).thenReturn(account("emp-1", year));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/me"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(year));
+    }
+
+    @Test
+    @WithMockUser
+    void getMyAccount_withoutAccount_returnsNotFound() throws Exception {
+        // Arrange
+        when(timeAccountService.getMyAccount(2024))
+                .thenThrow(new EntityNotFoundException("Time account not found for employee: emp-1"));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/me").param("year", "2024"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void getAccount_asManager_returnsEmployeesAccount() throws Exception {
+        // Arrange
+        when(timeAccountService.getAccount("emp-2", 2024)).thenReturn(account("emp-2", 2024));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/emp-2").param("year", "2024"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employeeId").value("emp-2"));
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void recalculate_rebuildsAndReturnsCurrentYear() throws Exception {
+        // Arrange
+        int year = LocalDate.now().getYear();
+        when(timeAccountService.getAccount("emp-2", year)).thenReturn(account("emp-2", year));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL + "/emp-2/recalculate").with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.year").value(year));
+        verify(timeAccountService).recalculate("emp-2");
+    }
+
+    @Test
+    @WithMockUser(roles = "MANAGER")
+    void recalculate_withoutAccount_returnsNotFound() throws Exception {
+        // Arrange
+        doThrow(new EntityNotFoundException("Time account not found for employee: emp-9"))
+                .when(timeAccountService).recalculate("emp-9");
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL + "/emp-9/recalculate").with(csrf()))
+                .andExpect(status().isNotFound());
+    }
+
+}
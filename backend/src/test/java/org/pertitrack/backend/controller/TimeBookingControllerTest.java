@@ -11,34 +11,47 @@ import org.pertitrack.backend.dto.timeTrackingDto.CurrentStatusResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
 import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
 import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.exceptions.IdempotencyKeyReuseException;
+import org.pertitrack.backend.service.BookingIdempotencyService;
+import org.pertitrack.backend.service.StatusStreamService;
 import org.pertitrack.backend.service.TimeRecordService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TimeBookingController.class)
@@ -54,9 +67,27 @@ class TimeBookingControllerTest {
     @MockitoBean
     private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
 
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
     @MockitoBean
     private TimeRecordService timeRecordService;
 
+    @MockitoBean
+    private BookingIdempotencyService idempotencyService;
+
+    @MockitoBean
+    private StatusStreamService statusStreamService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -71,6 +102,14 @@ class TimeBookingControllerTest {
 
     @BeforeEach
     void setUp() {
+        // requests without a replay simply run the booking
+        when(idempotencyService.execute(any(), anyString(), any(HttpStatus.class), any()))
+                .thenAnswer(invocation -> new BookingIdempotencyService.Outcome(
+                        invocation.getArgument(1),
+                        invocation.getArgument(2),
+                        invocation.<Supplier<TimeRecordResponse>>getArgument(3).get(),
+                        false));
+
         mockTimeRecordResponse = new TimeRecordResponse(
                 "550e8400-e29b-41d4-a716-446655440000",
                 "0041",
@@ -82,6 +121,7 @@ class TimeBookingControllerTest {
                 TimeRecord.LocationType.OFFICE,
                 "Test notes",
                 false,
+                false,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -97,6 +137,7 @@ class TimeBookingControllerTest {
                 TimeRecord.LocationType.OFFICE,
                 "Test notes",
                 false,
+                false,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -173,6 +214,103 @@ class TimeBookingControllerTest {
             verify(timeRecordService, times(1))
                     .quickClockIn(any(TimeRecord.RecordType.class), anyString());
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return 404 Not Found when the token's employee no longer exists")
+        void quickClockIn_employeeGone_Returns404NotFound() throws Exception {
+            // Arrange
+            when(timeRecordService.quickClockIn(any(TimeRecord.RecordType.class), anyString()))
+                    .thenThrow(new EmployeeNotFoundException("Current employee not found", "user@example.com"));
+
+            // Act & Assert
+            mockMvc.perform(post(BASE_URL + "/clock-in")
+                            .with(csrf())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(mockEnhancedRequest)))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency Key Tests")
+    class IdempotencyKeyTests {
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should pass the Idempotency-Key header and endpoint to the idempotency service")
+        void quickClockIn_withKey_passesKeyToIdempotencyService() throws Exception {
+            // Arrange
+            when(timeRecordService.quickClockIn(any(TimeRecord.RecordType.class), anyString()))
+                    .thenReturn(mockResponse);
+
+            // Act & Assert
+            mockMvc.perform(post(BASE_URL + "/clock-in")
+                            .with(csrf())
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(mockEnhancedRequest)))
+                    .andExpect(status().isCreated())
+                    .andExpect(header().doesNotExist("Idempotent-Replayed"));
+
+            verify(idempotencyService).execute(eq("retry-1"), eq("clock-in"), eq(HttpStatus.CREATED), any());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return the stored response of a replayed request without booking again")
+        void quickClockOut_replayed_returnsStoredResponse() throws Exception {
+            // Arrange
+            when(idempotencyService.execute(eq("retry-1"), eq("clock-out"), eq(HttpStatus.OK), any()))
+                    .thenReturn(new BookingIdempotencyService.Outcome("clock-out", HttpStatus.OK, mockResponse, true));
+
+            // Act & Assert
+            mockMvc.perform(post(BASE_URL + "/clock-out")
+                            .with(csrf())
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(mockRequest)))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Idempotent-Replayed", "true"))
+                    .andExpect(jsonPath("$.id").value(mockResponse.id()));
+
+            verify(timeRecordService, never()).quickClockOut(any(), any());
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return 422 when the key was used for another booking action")
+        void quickBreakStart_keyUsedForOtherAction_returns422() throws Exception {
+            // Arrange
+            when(idempotencyService.execute(eq("retry-1"), eq("break-start"), eq(HttpStatus.OK), any()))
+                    .thenThrow(new IdempotencyKeyReuseException("Idempotency-Key was already used for clock-in"));
+
+            // Act & Assert
+            mockMvc.perform(post(BASE_URL + "/break-start")
+                            .with(csrf())
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(mockRequest)))
+                    .andExpect(status().isUnprocessableEntity())
+                    .andExpect(header().string("X-Error-Message", "Idempotency-Key was already used for clock-in"));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return 400 for an invalid Idempotency-Key")
+        void clockInHome_invalidKey_returns400() throws Exception {
+            // Arrange
+            when(idempotencyService.execute(eq(" "), eq("clock-in/home"), eq(HttpStatus.CREATED), any()))
+                    .thenThrow(new IllegalArgumentException("Idempotency-Key must be 1 to 255 characters"));
+
+            // Act & Assert
+            mockMvc.perform(post(BASE_URL + "/clock-in/home")
+                            .with(csrf())
+                            .header("Idempotency-Key", " ")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new LocationClockInRequest("notes"))))
+                    .andExpect(status().isBadRequest());
+        }
     }
 
     // --- Nested tests for /clock-out endpoint ---
@@ -537,6 +675,50 @@ class TimeBookingControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Status Stream Tests")
+    class StatusStreamTests {
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should stream status events asynchronously")
+        void streamStatus_returnsEventStream() throws Exception {
+            // Arrange
+            SseEmitter emitter = new SseEmitter();
+            when(statusStreamService.subscribe()).thenReturn(emitter);
+
+            // Act
+            MvcResult result = mockMvc.perform(get("/api/timetrack/status/stream")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            emitter.send(SseEmitter.event().name("status").data(mockCurrentStatusResponse));
+            emitter.complete();
+
+            // Assert
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Content-Type", MediaType.TEXT_EVENT_STREAM_VALUE))
+                    .andExpect(content().string(containsString("event:status")))
+                    .andExpect(content().string(containsString("\"isWorking\":true")));
+        }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return 503 Service Unavailable when too many streams are open")
+        void streamStatus_whenLimitReached_returnsServiceUnavailable() throws Exception {
+            // Arrange
+            when(statusStreamService.subscribe())
+                    .thenThrow(new IllegalStateException("Too many open status streams. Please retry later."));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/timetrack/status/stream")
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string("X-Error-Message", "Too many open status streams. Please retry later."));
+        }
+    }
+
     @Nested
     @DisplayName("Get Current Status Tests")
     class GetCurrentStatusTests {
@@ -749,6 +931,20 @@ class TimeBookingControllerTest {
 
             verify(timeRecordService, times(1)).getTodaySummary();
         }
+
+        @Test
+        @WithMockUser
+        @DisplayName("Should return 404 Not Found when the token's employee no longer exists")
+        void getTodaySummary_employeeGone_returnsNotFound() throws Exception {
+            // Arrange
+            when(timeRecordService.getTodaySummary())
+                    .thenThrow(new EmployeeNotFoundException("Current employee not found", "user@example.com"));
+
+            // Act & Assert
+            mockMvc.perform(get("/api/timetrack/summary/today")
+                            .with(csrf()))
+                    .andExpect(status().isNotFound());
+        }
     }
 
     @Nested
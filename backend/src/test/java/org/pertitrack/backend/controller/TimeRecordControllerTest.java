@@ -18,6 +18,7 @@ import org.springframework.test.web.servlet.*;
 
 import java.time.*;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -37,12 +38,27 @@ class TimeRecordControllerTest {
     @MockitoBean
     private TimeRecordService timeRecordService;
 
+    @MockitoBean
+    private TimeRecordExportService timeRecordExportService;
+
     @MockitoBean
     private org.pertitrack.backend.security.JwtUtils jwtUtils;
 
     @MockitoBean
     private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
 
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -101,23 +117,118 @@ class TimeRecordControllerTest {
 
     @Test
     @WithMockUser
-    void getAllTimeRecords_ShouldReturnListOfTimeRecords() throws Exception {
+    void getAllTimeRecords_ShouldStreamJsonArray() throws Exception {
         // Given
-        List<TimeRecordResponse> timeRecords = Arrays.asList(
+        when(timeRecordService.streamTimeRecords(null)).thenReturn(Stream.of(
                 createTimeRecordResponse("1", "emp1"),
-                createTimeRecordResponse("2", "emp2")
-        );
-        when(timeRecordService.getAllTimeRecords()).thenReturn(timeRecords);
+                createTimeRecordResponse("2", "emp2")));
 
-        // When & Then
-        mockMvc.perform(get("/api/timetrack/time-records"))
+        // When
+        MvcResult result = mockMvc.perform(get("/api/timetrack/time-records"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].id").value("1"))
                 .andExpect(jsonPath("$[1].id").value("2"));
 
-        verify(timeRecordService).getAllTimeRecords();
+        verify(timeRecordService).streamTimeRecords(null);
+        verifyNoInteractions(timeRecordExportService);
+    }
+
+    @Test
+    @WithMockUser
+    void getTimeRecordPage_ShouldReturnRecordsAndNextCursor() throws Exception {
+        // Given
+        TimeRecordPageResponse page = new TimeRecordPageResponse(
+                List.of(createTimeRecordResponse("1", "emp1")), "next-cursor");
+        when(timeRecordService.getTimeRecordPage("cursor", 1)).thenReturn(page);
+
+        // When & Then
+        mockMvc.perform(get("/api/timetrack/time-records/page")
+                        .param("cursor", "cursor")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records.length()").value(1))
+                .andExpect(jsonPath("$.records[0].id").value("1"))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @WithMockUser
+    void getTimeRecordPageByEmployeeId_WithInvalidCursor_ShouldReturnBadRequest() throws Exception {
+        // Given
+        when(timeRecordService.getTimeRecordPageByEmployeeId("emp1", "broken", null))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: broken"));
+
+        // When & Then
+        mockMvc.perform(get("/api/timetrack/time-records/employee/emp1/page")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser
+    void exportTimeRecords_ShouldStreamNdjson() throws Exception {
+        // Given
+        LocalDate startDate = LocalDate.of(2024, 1, 1);
+        LocalDate endDate = LocalDate.of(2024, 1, 31);
+        when(timeRecordExportService.exportTimeRecords(eq(startDate), eq(endDate), eq("emp1"), any()))
+                .thenAnswer(invocation -> {
+                    java.io.OutputStream out = invocation.getArgument(3);
+                    out.write("{\"id\":\"1\"}\n{\"id\":\"2\"}\n".getBytes());
+                    return 2L;
+                });
+
+        // When
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/export")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2024-01-31")
+                        .param("employeeId", "emp1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":\"1\"}\n{\"id\":\"2\"}\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportTimeRecords_WithReversedRange_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/export")
+                        .param("startDate", "2024-02-01")
+                        .param("endDate", "2024-01-31"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(timeRecordExportService);
+    }
+
+    @Test
+    @WithMockUser
+    void importTimeRecords_ShouldReturnPerRowResults() throws Exception {
+        // Given
+        TimeRecordBatchResponse response = new TimeRecordBatchResponse(1, 1, List.of(
+                TimeRecordBatchResult.created(0, "tr-1"),
+                TimeRecordBatchResult.rejected(1, "Employee not found with id: emp-x")));
+        when(timeRecordService.importTimeRecords(anyList())).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"employeeId\":\"emp1\"},{\"employeeId\":\"emp-x\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"));
     }
 
     @Test
@@ -155,24 +266,27 @@ class TimeRecordControllerTest {
 
     @Test
     @WithMockUser
-    void getTimeRecordsByEmployeeId_ShouldReturnEmployeeTimeRecords() throws Exception {
+    void getTimeRecordsByEmployeeId_ShouldStreamEmployeeTimeRecords() throws Exception {
         // Given
         String employeeId = "emp1";
-        List<TimeRecordResponse> timeRecords = Arrays.asList(
+        when(timeRecordService.streamTimeRecords(employeeId)).thenReturn(Stream.of(
                 createTimeRecordResponse("1", employeeId),
-                createTimeRecordResponse("2", employeeId)
-        );
-        when(timeRecordService.getTimeRecordsByEmployeeId(employeeId)).thenReturn(timeRecords);
+                createTimeRecordResponse("2", employeeId)));
 
-        // When & Then
-        mockMvc.perform(get("/api/timetrack/time-records/employee/{employeeId}", employeeId))
+        // When
+        MvcResult result = mockMvc.perform(get("/api/timetrack/time-records/employee/{employeeId}", employeeId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].employeeId").value(employeeId))
                 .andExpect(jsonPath("$[1].employeeId").value(employeeId));
 
-        verify(timeRecordService).getTimeRecordsByEmployeeId(employeeId);
+        verify(timeRecordService).streamTimeRecords(employeeId);
     }
 
     @Test
@@ -486,6 +600,7 @@ class TimeRecordControllerTest {
                 TimeRecord.LocationType.OFFICE,
                 "Test notes",
                 false,
+                false,
 //                false,
                 LocalDateTime.of(2024, 1, 15, 9, 0),
                 LocalDateTime.of(2024, 1, 15, 9, 0)
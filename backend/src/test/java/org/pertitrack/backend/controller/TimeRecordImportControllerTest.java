@@ -0,0 +1,132 @@
+package org.pertitrack.backend.controller;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportRejectionResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.service.TimeRecordImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TimeRecordImportController.class)
+@ActiveProfiles("test")
+class TimeRecordImportControllerTest {
+
+    private static final String BASE_URL = "/api/timetrack/imports";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private TimeRecordImportService importService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.JwtUtils jwtUtils;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.UserDetailsServiceImpl userDetailsService;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.PrincipalCache principalCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private org.pertitrack.backend.security.AuthAuditLog authAuditLog;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startImport_returnsAccepted() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "terminal.csv", "text/csv",
+                "EMP001,2024-03-04 08:00,CLOCK_IN\n".getBytes());
+        when(importService.startImport(eq("terminal.csv"), any(InputStream.class)))
+                .thenReturn(response(TimeRecordImport.Status.QUEUED));
+
+        // Act & Assert
+        mockMvc.perform(multipart(BASE_URL).file(file).with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("import-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void startImport_withEmptyFile_returnsBadRequest() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "terminal.csv", "text/csv", new byte[0]);
+
+        // Act & Assert
+        mockMvc.perform(multipart(BASE_URL).file(file).with(csrf()))
+                .andExpect(status().isBadRequest());
+        verify(importService, never()).startImport(any(), any());
+    }
+
+    @Test
+    @WithMockUser
+    void getImport_whenNotFound_returnsNotFound() throws Exception {
+        // Arrange
+        when(importService.getImport("missing")).thenThrow(new EntityNotFoundException("not found"));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/missing"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void getRejections_passesCursorAndSize() throws Exception {
+        // Arrange
+        when(importService.getRejections("import-1", 40, 20)).thenReturn(List.of(
+                new TimeRecordImportRejectionResponse(41, "Unknown employee number: EMP999", "EMP999,...")));
+
+        // Act & Assert
+        mockMvc.perform(get(BASE_URL + "/import-1/rejections")
+                        .param("afterLine", "40")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lineNumber").value(41));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void resumeImport_whenNotFailed_returnsConflict() throws Exception {
+        // Arrange
+        when(importService.resumeImport("import-1")).thenThrow(new IllegalStateException("running"));
+
+        // Act & Assert
+        mockMvc.perform(post(BASE_URL + "/import-1/resume").with(csrf()))
+                .andExpect(status().isConflict());
+    }
+
+    private TimeRecordImportResponse response(TimeRecordImport.Status status) {
+        return new TimeRecordImportResponse("import-1", "terminal.csv", status, 0, 0, 0, 0,
+                null, null, null);
+    }
+
+}
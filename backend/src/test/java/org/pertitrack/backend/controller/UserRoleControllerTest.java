@@ -6,7 +6,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pertitrack.backend.dto.UserRoleDto;
 import org.pertitrack.backend.security.JwtUtils;
+import org.pertitrack.backend.security.AuthAuditLog;
+import org.pertitrack.backend.security.PrincipalCache;
 import org.pertitrack.backend.security.UserDetailsServiceImpl;
+import org.pertitrack.backend.security.TokenRevocations;
+import org.pertitrack.backend.security.VerifiedTokenCache;
 import org.pertitrack.backend.service.UserRoleService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -47,6 +51,18 @@ class UserRoleControllerTest {
     @MockitoBean
     private UserDetailsServiceImpl userDetailsService;
 
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @MockitoBean
+    private TokenRevocations tokenRevocations;
+
+    @MockitoBean
+    private AuthAuditLog authAuditLog;
+
     @Test
 //    @WithMockUser(username = "testuser", roles = {"ADMIN"})
     void testGetAllRoles() throws Exception {
@@ -28,6 +28,7 @@ class CurrentStatusResponseTest {
                 TimeRecord.LocationType.OFFICE,
                 "Test notes",
                 false,
+                false,
                 LocalDateTime.now(),
                 LocalDateTime.now()
         );
@@ -0,0 +1,101 @@
+package org.pertitrack.backend.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts the JDBC statements each HTTP request prepares on its own thread, per endpoint
+class QueryCounter extends OncePerRequestFilter {
+
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private final Map<String, Count> counts = new ConcurrentHashMap<>();
+
+    static DataSource counting(DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            @NonNull
+            public Connection getConnection() throws SQLException {
+                return counting(super.getConnection());
+            }
+
+            @Override
+            @NonNull
+            public Connection getConnection(@NonNull String username, @NonNull String password) throws SQLException {
+                return counting(super.getConnection(username, password));
+            }
+        };
+    }
+
+    private static Connection counting(Connection target) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        int[] current = CURRENT.get();
+                        if (current != null && STATEMENT_FACTORIES.contains(method.getName())) {
+                            current[0]++;
+                        }
+                        try {
+                            yield method.invoke(target, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    }
+                });
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        int[] statements = new int[1];
+        CURRENT.set(statements);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CURRENT.remove();
+            counts.computeIfAbsent(request.getMethod() + " " + request.getRequestURI(), endpoint -> new Count())
+                    .add(statements[0]);
+        }
+    }
+
+    // Average statements per request, or NaN for an endpoint that was not called since the last reset
+    double statementsPerRequest(String endpoint) {
+        Count count = counts.get(endpoint);
+        return count == null ? Double.NaN : count.statements.sum() / (double) count.requests.sum();
+    }
+
+    void reset() {
+        counts.clear();
+    }
+
+    private static final class Count {
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+
+        void add(int requestStatements) {
+            requests.increment();
+            statements.add(requestStatements);
+        }
+    }
+
+}
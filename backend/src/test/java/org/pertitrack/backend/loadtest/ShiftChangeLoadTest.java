@@ -0,0 +1,317 @@
+package org.pertitrack.backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.BackendApplication;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.JwtUtils;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Shift change of many employees against the full stack; latency, throughput and statements per endpoint
+// mvn -Pload-test test -Dtest=ShiftChangeLoadTest [-DargLine="-Dloadtest.employees=1000 -Dloadtest.concurrency=200"]
+@Tag("load")
+class ShiftChangeLoadTest {
+
+    private static final int EMPLOYEES = Integer.getInteger("loadtest.employees", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 50);
+    private static final int SHIFTS = Integer.getInteger("loadtest.shifts", 2);
+    private static final int POLLS = Integer.getInteger("loadtest.polls", 2);
+    private static final Long MAX_P99_MILLIS = Long.getLong("loadtest.max-p99-millis");
+    private static final Path RESULT = Path.of(System.getProperty("loadtest.result", "target/load-test-result.json"));
+    private static final String PROFILE = "shift-change-load-test";
+    private static final String BASE_PATH = "/api/timetrack/";
+
+    @Test
+    void shiftChangeStaysWithinStatementBudget() throws Exception {
+        try (ConfigurableApplicationContext context = start();
+             ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .build()) {
+            // Arrange
+            List<String> tokens = seed(context);
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + BASE_PATH);
+            QueryCounter queryCounter = context.getBean(QueryCounter.class);
+            Traffic warmup = new Traffic(http, baseUri);
+            warmup.run(clients, tokens, 1);
+            queryCounter.reset();
+
+            // Act
+            Traffic traffic = new Traffic(http, baseUri);
+            long started = System.nanoTime();
+            traffic.run(clients, tokens, SHIFTS);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+            // Assert
+            List<EndpointResult> results = new ArrayList<>();
+            for (Endpoint endpoint : Endpoint.values()) {
+                results.add(traffic.result(endpoint, elapsed,
+                        queryCounter.statementsPerRequest(endpoint.method + " " + BASE_PATH + endpoint.path)));
+            }
+            report(results, elapsed);
+            assertEquals(0, warmup.errors.get(), "warm-up: " + warmup.errorSamples);
+            assertEquals(0, traffic.errors.get(), "measurement: " + traffic.errorSamples);
+            for (EndpointResult result : results) {
+                Endpoint endpoint = Endpoint.valueOf(result.endpoint());
+                assertTrue(result.statementsPerRequest() <= endpoint.statementBudget,
+                        result.endpoint() + " prepares " + result.statementsPerRequest()
+                                + " statements per request, budget " + endpoint.statementBudget);
+                if (MAX_P99_MILLIS != null) {
+                    assertTrue(result.p99Millis() <= MAX_P99_MILLIS,
+                            result.endpoint() + " p99 " + result.p99Millis() + " ms");
+                }
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BackendApplication.class, Instrumentation.class)
+                .profiles("test", PROFILE)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:shift-change;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    // One user with a linked employee per simulated client; tokens carry the identity claims
+    // like the ones issued at login, so authentication itself needs no lookup
+    private List<String> seed(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        EmployeeRepository employeeRepository = context.getBean(EmployeeRepository.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            users.add(new User("load-" + i + "@pertitrack.org", "load-test", "Load", "User " + i));
+        }
+        users = userRepository.saveAll(users);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            employees.add(new Employee("Load", "Employee " + i, "LT-" + i, users.get(i)));
+        }
+        employees = employeeRepository.saveAll(employees);
+
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < EMPLOYEES; i++) {
+            tokens.add(jwtUtils.generateJwtToken(UserPrincipal.of(users.get(i), employees.get(i).getId())));
+        }
+        return tokens;
+    }
+
+    private void report(List<EndpointResult> results, Duration elapsed) throws Exception {
+        long requests = results.stream().mapToLong(EndpointResult::requests).sum();
+        System.out.printf(Locale.ROOT, "%d employees, %d concurrent, %d shifts: %,d requests in %.1f s (%,.0f req/s)%n",
+                EMPLOYEES, CONCURRENCY, SHIFTS, requests, elapsed.toMillis() / 1000.0,
+                requests / (elapsed.toNanos() / 1e9));
+        System.out.printf(Locale.ROOT, "%-12s %8s %9s %8s %8s %8s %8s %11s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "statements");
+        for (EndpointResult result : results) {
+            System.out.println(result.describe());
+        }
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("employees", EMPLOYEES);
+        json.put("concurrency", CONCURRENCY);
+        json.put("shifts", SHIFTS);
+        json.put("polls", POLLS);
+        json.put("elapsedMillis", elapsed.toMillis());
+        json.put("endpoints", results);
+        Files.createDirectories(RESULT.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(RESULT.toFile(), json);
+    }
+
+    // The endpoints of TimeBookingController a shift exercises, each with a budget for the average
+    // statements per request: what it needs today, rounded up. Raise one only for a deliberate change
+    private enum Endpoint {
+        CLOCK_IN("POST", "time-records/time-bookings/clock-in", 201, 5),
+        BREAK_START("POST", "time-records/time-bookings/break-start", 200, 5),
+        BREAK_END("POST", "time-records/time-bookings/break-end", 200, 5),
+        CLOCK_OUT("POST", "time-records/time-bookings/clock-out", 200, 5),
+        STATUS("GET", "status/current", 200, 1),
+        SUMMARY("GET", "summary/today", 200, 1),
+        TODAY("GET", "time-records/today", 200, 2);
+
+        private final String method;
+        private final String path;
+        private final int expectedStatus;
+        private final double statementBudget;
+
+        Endpoint(String method, String path, int expectedStatus, double statementBudget) {
+            this.method = method;
+            this.path = path;
+            this.expectedStatus = expectedStatus;
+            this.statementBudget = statementBudget;
+        }
+    }
+
+    private static final class Traffic {
+
+        private static final int MAX_ERROR_SAMPLES = 10;
+
+        private final HttpClient http;
+        private final URI baseUri;
+        private final Map<Endpoint, Queue<Long>> latencies = new EnumMap<>(Endpoint.class);
+        private final AtomicInteger errors = new AtomicInteger();
+        private final List<String> errorSamples = Collections.synchronizedList(new ArrayList<>());
+
+        Traffic(HttpClient http, URI baseUri) {
+            this.http = http;
+            this.baseUri = baseUri;
+            for (Endpoint endpoint : Endpoint.values()) {
+                latencies.put(endpoint, new ConcurrentLinkedQueue<>());
+            }
+        }
+
+        // Each employee's requests run in order on one client; employees run CONCURRENCY at a time
+        void run(ExecutorService clients, List<String> tokens, int shifts) throws Exception {
+            List<Future<?>> futures = new ArrayList<>();
+            for (String token : tokens) {
+                futures.add(clients.submit(() -> {
+                    for (int shift = 0; shift < shifts; shift++) {
+                        book(Endpoint.CLOCK_IN, token);
+                        book(Endpoint.BREAK_START, token);
+                        book(Endpoint.BREAK_END, token);
+                        book(Endpoint.CLOCK_OUT, token);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        private void book(Endpoint booking, String token) {
+            call(booking, token);
+            call(Endpoint.STATUS, token);
+            call(Endpoint.SUMMARY, token);
+            call(Endpoint.TODAY, token);
+            for (int i = 0; i < POLLS; i++) {
+                call(Endpoint.STATUS, token);
+            }
+        }
+
+        private void call(Endpoint endpoint, String token) {
+            HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(endpoint.path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60));
+            if (endpoint.method.equals("POST")) {
+                request.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"recordType\":\"" + endpoint.name() + "\"}"));
+            }
+            long started = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == endpoint.expectedStatus) {
+                    latencies.get(endpoint).add(System.nanoTime() - started);
+                } else {
+                    error(endpoint + " " + response.statusCode() + " "
+                            + response.headers().firstValue("X-Error-Message").orElse(""));
+                }
+            } catch (Exception e) {
+                error(endpoint + " " + e);
+            }
+        }
+
+        private void error(String sample) {
+            if (errors.incrementAndGet() <= MAX_ERROR_SAMPLES) {
+                errorSamples.add(sample);
+            }
+        }
+
+        EndpointResult result(Endpoint endpoint, Duration elapsed, double statementsPerRequest) {
+            List<Long> sorted = new ArrayList<>(latencies.get(endpoint));
+            Collections.sort(sorted);
+            return new EndpointResult(endpoint.name(), sorted.size(), sorted.size() / (elapsed.toNanos() / 1e9),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    percentile(sorted, 1.0), statementsPerRequest);
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            if (sorted.isEmpty()) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+            return sorted.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+
+    record EndpointResult(String endpoint, long requests, double throughput, double p50Millis, double p95Millis,
+                          double p99Millis, double maxMillis, double statementsPerRequest) {
+
+        String describe() {
+            return String.format(Locale.ROOT, "%-12s %,8d %,9.0f %8.1f %8.1f %8.1f %8.1f %11.1f",
+                    endpoint, requests, throughput, p50Millis, p95Millis, p99Millis, maxMillis, statementsPerRequest);
+        }
+    }
+
+    // Registered as an extra source; the profile keeps component scans of other test contexts from picking it up
+    @Configuration(proxyBeanMethods = false)
+    @Profile(PROFILE)
+    static class Instrumentation {
+
+        @Bean
+        QueryCounter queryCounter() {
+            return new QueryCounter();
+        }
+
+        // Outermost, so the count covers the security filters as well as the controller
+        @Bean
+        FilterRegistrationBean<QueryCounter> queryCounterRegistration(QueryCounter queryCounter) {
+            FilterRegistrationBean<QueryCounter> registration = new FilterRegistrationBean<>(queryCounter);
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? QueryCounter.counting(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package org.pertitrack.backend.loadtest;
+
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.BackendApplication;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.security.JwtUtils;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Throughput at 1,000 concurrent clients on platform threads and on virtual threads
+// mvn -Pload-test test [-DargLine=-Dload.clients=1000]
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 1000);
+    private static final long BLOCKING_MILLIS = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+    private static final int MIN_PROCESSORS = 4;
+    private static final String PROBE_PATH = "/api/load-test/probe";
+
+    @Test
+    void virtualThreadsServeMoreConcurrentClientsThanPlatformPool() throws Exception {
+        // Arrange
+        List<String> pinnedInApplication = Collections.synchronizedList(new ArrayList<>());
+
+        // Act
+        Result platform;
+        Result virtual;
+        try (RecordingStream pinning = new RecordingStream()) {
+            pinning.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(5)).withStackTrace();
+            pinning.onEvent("jdk.VirtualThreadPinned", event -> {
+                if (event.getStackTrace() != null && event.getStackTrace().getFrames().stream()
+                        .map(RecordedFrame::getMethod)
+                        .anyMatch(method -> method.getType().getName().startsWith("org.pertitrack"))) {
+                    pinnedInApplication.add(event.getStackTrace().getFrames().getFirst().getMethod().getName());
+                }
+            });
+            pinning.startAsync();
+            platform = run(false);
+            virtual = run(true);
+        }
+
+        // Assert
+        System.out.println(platform.describe("platform"));
+        System.out.println(virtual.describe("virtual "));
+        assertEquals(0, virtual.errors());
+        assertTrue(pinnedInApplication.isEmpty(), "virtual threads pinned in application code: " + pinnedInApplication);
+        // clients and server share the machine; with few cores the run measures CPU, not threading
+        assumeTrue(Runtime.getRuntime().availableProcessors() >= MIN_PROCESSORS,
+                "throughput comparison needs at least " + MIN_PROCESSORS + " cores");
+        assertTrue(virtual.throughput() > platform.throughput(),
+                "virtual " + virtual.throughput() + " req/s, platform " + platform.throughput() + " req/s");
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             ExecutorService clients = Executors.newThreadPerTaskExecutor(Thread.ofPlatform().factory());
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .build()) {
+            String token = context.getBean(JwtUtils.class).generateJwtToken(
+                    new UserPrincipal("load-user", "load@pertitrack.org", User.Role.EMPLOYEE, "load-employee", true));
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + PROBE_PATH);
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            long measureFrom = System.nanoTime() + WARMUP.toNanos();
+            long measureUntil = measureFrom + MEASUREMENT.toNanos();
+            AtomicInteger errors = new AtomicInteger();
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                futures.add(clients.submit(() -> {
+                    List<Long> latencies = new ArrayList<>();
+                    long now;
+                    while ((now = System.nanoTime()) < measureUntil) {
+                        boolean measured = now >= measureFrom;
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                            } else if (measured) {
+                                latencies.add(System.nanoTime() - now);
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    return latencies;
+                }));
+            }
+
+            List<Long> latencies = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                latencies.addAll(future.get());
+            }
+            Collections.sort(latencies);
+            return new Result(latencies, errors.get());
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BackendApplication.class, LoadProbeController.class)
+                .profiles("test", "load-test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:load-" + virtualThreads + ";DB_CLOSE_DELAY=-1",
+                        "spring.datasource.hikari.maximum-pool-size=10",
+                        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+                        "server.tomcat.max-connections=" + (CLIENTS * 2),
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    // Registered as an extra source; the profile keeps component scans of other test contexts from picking it up
+    @RestController
+    @Profile("load-test")
+    static class LoadProbeController {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        LoadProbeController(JdbcTemplate jdbcTemplate) {
+            this.jdbcTemplate = jdbcTemplate;
+        }
+
+        @GetMapping(PROBE_PATH)
+        String probe() throws InterruptedException {
+            Long records = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_timetrack.time_records", Long.class);
+            Thread.sleep(BLOCKING_MILLIS);
+            return String.valueOf(records);
+        }
+    }
+
+    private record Result(List<Long> sortedLatencies, int errors) {
+
+        double throughput() {
+            return sortedLatencies.size() / (double) MEASUREMENT.toSeconds();
+        }
+
+        String describe(String mode) {
+            return String.format(Locale.ROOT, "%s threads: %,8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  errors %d",
+                    mode, throughput(), percentile(0.50), percentile(0.99), errors);
+        }
+
+        private double percentile(double p) {
+            if (sortedLatencies.isEmpty()) {
+                return Double.NaN;
+            }
+            int index = (int) Math.min(sortedLatencies.size() - 1, Math.ceil(p * sortedLatencies.size()) - 1);
+            return sortedLatencies.get(Math.max(0, index)) / 1_000_000.0;
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package org.pertitrack.backend.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.job.Job;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Without a test transaction, since progress and cancel writes run in their own
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobRepositoryTest {
+
+    private static final Set<Job.Status> UNFINISHED = EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 3, 4, 12, 0);
+
+    private Job persistJob(Job.Status status, String ownerNode, LocalDateTime leaseExpiresAt) {
+        Job job = new Job();
+        job.setType(Job.Type.TIME_RECORD_EXPORT);
+        job.setStatus(status);
+        job.setOwnerNode(ownerNode);
+        job.setLeaseExpiresAt(leaseExpiresAt);
+        return jobRepository.save(job);
+    }
+
+    private Job reload(Job job) {
+        return jobRepository.findById(job.getId()).orElseThrow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobRepository.deleteAll();
+    }
+
+    @Test
+    void findIdsWithExpiredLease_skipsLiveAndFinishedJobs() {
+        // Arrange
+        Job expired = persistJob(Job.Status.RUNNING, "node-a", now.minusSeconds(1));
+        persistJob(Job.Status.RUNNING, "node-b", now.plusMinutes(1));
+        persistJob(Job.Status.SUCCEEDED, "node-a", now.minusMinutes(5));
+
+        // Act
+        List<String> ids = jobRepository.findIdsWithExpiredLease(UNFINISHED, now);
+
+        // Assert
+        assertEquals(List.of(expired.getId()), ids);
+    }
+
+    @Test
+    void reclaim_expiredLease_requeuesJobForNewOwner() {
+        // Arrange
+        Job job = persistJob(Job.Status.RUNNING, "node-a", now.minusSeconds(1));
+
+        // Act
+        int updated = jobRepository.reclaim(job.getId(), UNFINISHED, now, Job.Status.QUEUED, "node-b",
+                now.plusMinutes(1));
+
+        // Assert
+        assertEquals(1, updated);
+        Job reclaimed = reload(job);
+        assertEquals(Job.Status.QUEUED, reclaimed.getStatus());
+        assertEquals("node-b", reclaimed.getOwnerNode());
+        assertEquals(job.getVersion() + 1, reclaimed.getVersion());
+    }
+
+    @Test
+    void reclaim_liveLease_leavesJobWithOwner() {
+        // Arrange
+        Job job = persistJob(Job.Status.RUNNING, "node-a", now.plusSeconds(30));
+
+        // Act
+        int updated = jobRepository.reclaim(job.getId(), UNFINISHED, now, Job.Status.QUEUED, "node-b",
+                now.plusMinutes(1));
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals("node-a", reload(job).getOwnerNode());
+    }
+
+    @Test
+    void claimAndProgress_requireTheOwningNode() {
+        // Arrange
+        Job job = persistJob(Job.Status.QUEUED, "node-a", now.plusMinutes(1));
+
+        // Act & Assert
+        assertEquals(0, jobRepository.claim(job.getId(), Job.Status.QUEUED, Job.Status.RUNNING, "node-b",
+                now, now.plusMinutes(1)));
+        assertEquals(0, jobRepository.updateProgress(job.getId(), "node-b", 5, 10L));
+        assertEquals(1, jobRepository.claim(job.getId(), Job.Status.QUEUED, Job.Status.RUNNING, "node-a",
+                now, now.plusMinutes(1)));
+        assertEquals(1, jobRepository.updateProgress(job.getId(), "node-a", 5, 10L));
+    }
+
+    @Test
+    void renewLeases_extendsOnlyTheNodesUnfinishedJobs() {
+        // Arrange
+        Job own = persistJob(Job.Status.RUNNING, "node-a", now);
+        Job foreign = persistJob(Job.Status.RUNNING, "node-b", now);
+        LocalDateTime renewed = now.plusMinutes(1);
+
+        // Act
+        int updated = jobRepository.renewLeases("node-a", UNFINISHED, renewed);
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(renewed, reload(own).getLeaseExpiresAt());
+        assertEquals(now, reload(foreign).getLeaseExpiresAt());
+    }
+
+    @Test
+    void cancelQueued_cancelsOnlyUnclaimedJobs() {
+        // Arrange
+        Job queued = persistJob(Job.Status.QUEUED, "node-a", now.plusMinutes(1));
+        Job running = persistJob(Job.Status.RUNNING, "node-a", now.plusMinutes(1));
+
+        // Act & Assert
+        assertEquals(1, jobRepository.cancelQueued(queued.getId(), Job.Status.QUEUED, Job.Status.CANCELLED, now));
+        assertEquals(0, jobRepository.cancelQueued(running.getId(), Job.Status.QUEUED, Job.Status.CANCELLED, now));
+        Job cancelled = reload(queued);
+        assertEquals(Job.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(true, cancelled.isCancelRequested());
+        assertEquals(Job.Status.RUNNING, reload(running).getStatus());
+    }
+
+}
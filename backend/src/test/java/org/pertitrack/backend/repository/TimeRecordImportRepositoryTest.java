@@ -0,0 +1,99 @@
+package org.pertitrack.backend.repository;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Runs the lease statements against H2: an import only changes owner once its lease has expired
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+class TimeRecordImportRepositoryTest {
+
+    private static final Set<TimeRecordImport.Status> UNFINISHED =
+            EnumSet.of(TimeRecordImport.Status.QUEUED, TimeRecordImport.Status.RUNNING);
+
+    @Autowired
+    private TimeRecordImportRepository importRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 3, 4, 12, 0);
+
+    private TimeRecordImport persistImport(String ownerNode, LocalDateTime leaseExpiresAt) {
+        TimeRecordImport timeRecordImport = new TimeRecordImport();
+        timeRecordImport.setFileName("terminal.csv");
+        timeRecordImport.setUploadId("upload-1");
+        timeRecordImport.setStatus(TimeRecordImport.Status.RUNNING);
+        timeRecordImport.setProcessedLines(500);
+        timeRecordImport.setOwnerNode(ownerNode);
+        timeRecordImport.setLeaseExpiresAt(leaseExpiresAt);
+        entityManager.persistAndFlush(timeRecordImport);
+        return timeRecordImport;
+    }
+
+    private TimeRecordImport reload(TimeRecordImport timeRecordImport) {
+        entityManager.clear();
+        return entityManager.find(TimeRecordImport.class, timeRecordImport.getId());
+    }
+
+    @Test
+    void reclaim_expiredLease_keepsCheckpointForNewOwner() {
+        // Arrange
+        TimeRecordImport timeRecordImport = persistImport("node-a", now.minusSeconds(1));
+
+        // Act
+        List<String> expired = importRepository.findIdsWithExpiredLease(UNFINISHED, now);
+        int updated = importRepository.reclaim(timeRecordImport.getId(), UNFINISHED, now,
+                TimeRecordImport.Status.QUEUED, "node-b", now.plusMinutes(1));
+
+        // Assert
+        assertEquals(List.of(timeRecordImport.getId()), expired);
+        assertEquals(1, updated);
+        TimeRecordImport reclaimed = reload(timeRecordImport);
+        assertEquals(TimeRecordImport.Status.QUEUED, reclaimed.getStatus());
+        assertEquals("node-b", reclaimed.getOwnerNode());
+        assertEquals(500, reclaimed.getProcessedLines());
+        assertEquals(timeRecordImport.getVersion() + 1, reclaimed.getVersion());
+    }
+
+    @Test
+    void reclaim_liveLease_leavesImportWithOwner() {
+        // Arrange
+        TimeRecordImport timeRecordImport = persistImport("node-a", now.plusSeconds(30));
+
+        // Act
+        int updated = importRepository.reclaim(timeRecordImport.getId(), UNFINISHED, now,
+                TimeRecordImport.Status.QUEUED, "node-b", now.plusMinutes(1));
+
+        // Assert
+        assertEquals(0, updated);
+        assertEquals("node-a", reload(timeRecordImport).getOwnerNode());
+    }
+
+    @Test
+    void renewLeases_extendsOnlyTheNodesUnfinishedImports() {
+        // Arrange
+        TimeRecordImport own = persistImport("node-a", now);
+        TimeRecordImport foreign = persistImport("node-b", now);
+
+        // Act
+        int updated = importRepository.renewLeases("node-a", UNFINISHED, now.plusMinutes(1));
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(now.plusMinutes(1), reload(own).getLeaseExpiresAt());
+        assertEquals(now, reload(foreign).getLeaseExpiresAt());
+    }
+
+}
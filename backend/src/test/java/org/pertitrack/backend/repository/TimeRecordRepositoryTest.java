@@ -0,0 +1,148 @@
+package org.pertitrack.backend.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the projection queries against H2 and counts the SQL statements they issue
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+class TimeRecordRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistEmployee("EMP-A", "Alice", "Adams");
+        bob = persistEmployee("EMP-B", "Bob", "Baker");
+        for (int i = 0; i < 5; i++) {
+            persistRecord(alice, DAY.atTime(8, i), TimeRecord.RecordType.CLOCK_IN);
+            persistRecord(bob, DAY.atTime(9, i), TimeRecord.RecordType.CLOCK_OUT);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findFirstPage_loadsRecordsWithEmployeeNamesInOneStatement() {
+        // Act
+        List<TimeRecordResponse> page = timeRecordRepository.findFirstPage(Limit.of(100));
+
+        // Assert
+        assertEquals(10, page.size());
+        assertEquals("Alice", page.get(0).employeeFirstName());
+        assertEquals("Baker", page.get(9).employeeLastName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void keysetPages_coverAllRecordsInOrderWithOneStatementPerPage() {
+        // Act
+        List<TimeRecordResponse> first = timeRecordRepository.findFirstPage(Limit.of(4));
+        TimeRecordResponse last = first.get(3);
+        List<TimeRecordResponse> rest = timeRecordRepository.findPageAfter(last.recordTime(), last.id(), Limit.of(100));
+
+        // Assert
+        assertEquals(4, first.size());
+        assertEquals(6, rest.size());
+        assertTrue(rest.get(0).recordTime().isAfter(last.recordTime()));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findResponsesByEmployeeId_filtersByEmployeeDateAndType() {
+        // Act
+        List<TimeRecordResponse> all = timeRecordRepository.findResponsesByEmployeeIdAndRecordDateBetween(
+                alice.getId(), DAY, DAY);
+        List<TimeRecordResponse> clockOuts = timeRecordRepository.findResponsesByEmployeeIdAndRecordDateBetweenAndRecordType(
+                alice.getId(), DAY, DAY, TimeRecord.RecordType.CLOCK_OUT);
+
+        // Assert
+        assertEquals(5, all.size());
+        assertTrue(all.get(0).recordTime().isAfter(all.get(4).recordTime()));
+        assertTrue(clockOuts.isEmpty());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamForExport_streamsEveryRowInOneStatement() {
+        // Act
+        long count;
+        try (Stream<TimeRecordResponse> rows = timeRecordRepository.streamForExport(DAY, DAY)) {
+            count = rows.filter(row -> row.employeeFirstName() != null).count();
+        }
+
+        // Assert
+        assertEquals(10, count);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByRecordDateWithEmployee_groupsRecordsByEmployeeInOneStatement() {
+        // Act
+        List<TimeRecord> records = timeRecordRepository.findByRecordDateWithEmployee(DAY);
+
+        // Assert: the employee names are fetched with the records, not lazily
+        assertEquals(10, records.size());
+        String firstEmployee = records.get(0).getEmployee().getId();
+        assertTrue(records.subList(0, 5).stream().allMatch(r -> r.getEmployee().getId().equals(firstEmployee)));
+        assertTrue(records.get(0).getRecordTime().isBefore(records.get(4).getRecordTime()));
+        assertTrue(records.stream().allMatch(r -> r.getEmployee().getLastName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private Employee persistEmployee(String number, String firstName, String lastName) {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber(number);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        return entityManager.persist(employee);
+    }
+
+    private void persistRecord(Employee employee, LocalDateTime time, TimeRecord.RecordType type) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(employee);
+        timeRecord.setRecordDate(time.toLocalDate());
+        timeRecord.setRecordTime(time);
+        timeRecord.setRecordType(type);
+        entityManager.persist(timeRecord);
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.pertitrack.backend.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.security.AuthAuditLog.Outcome;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthAuditLogTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthAuditLog auditLog;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuthAuditLog(meterRegistry, 0.0, 1.0);
+    }
+
+    @Test
+    void constructor_registersCounterPerOutcome() {
+        for (Outcome outcome : Outcome.values()) {
+            assertEquals(0.0, count(outcome));
+        }
+    }
+
+    @Test
+    void record_incrementsOutcomeCounter() {
+        // Act
+        auditLog.record(Outcome.VALID, "GET", "/api/timetrack/status", "test@test.com", null);
+        auditLog.record(Outcome.VALID, "GET", "/api/timetrack/status", "test@test.com", null);
+        auditLog.record(Outcome.EXPIRED, "GET", "/api/timetrack/status", "test@test.com", null);
+        auditLog.record(Outcome.MISSING, "GET", "/", null, null);
+
+        // Assert
+        assertEquals(2.0, count(Outcome.VALID));
+        assertEquals(1.0, count(Outcome.EXPIRED));
+        assertEquals(1.0, count(Outcome.MISSING));
+        assertEquals(0.0, count(Outcome.MALFORMED));
+    }
+
+    @Test
+    void outcome_classifiesFailures() {
+        assertFalse(Outcome.VALID.isFailure());
+        assertFalse(Outcome.MISSING.isFailure());
+        assertTrue(Outcome.EXPIRED.isFailure());
+        assertTrue(Outcome.MALFORMED.isFailure());
+        assertTrue(Outcome.INVALID.isFailure());
+        assertTrue(Outcome.REJECTED.isFailure());
+    }
+
+    private double count(Outcome outcome) {
+        return meterRegistry.get(AuthAuditLog.METRIC_NAME)
+                .tag("outcome", outcome.name().toLowerCase())
+                .counter()
+                .count();
+    }
+
+}
@@ -1,5 +1,9 @@
 package org.pertitrack.backend.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,14 +15,20 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.security.AuthAuditLog.Outcome;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.Date;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -36,7 +46,16 @@ class AuthTokenFilterTest {
     private JwtUtils jwtUtils;
 
     @Mock
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private AuthAuditLog auditLog;
+
+    @Mock
+    private TokenRevocations tokenRevocations;
 
     @Mock
     private FilterChain filterChain;
@@ -49,6 +68,8 @@ class AuthTokenFilterTest {
 
     private User testUser;
 
+    private UserPrincipal testPrincipal;
+
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
@@ -61,6 +82,8 @@ class AuthTokenFilterTest {
         testUser.setLastName("User");
         testUser.setRole(User.Role.EMPLOYEE);
         testUser.setEnabled(true);
+
+        testPrincipal = UserPrincipal.of(testUser, "employee-1");
     }
 
     @AfterEach
@@ -80,8 +103,9 @@ class AuthTokenFilterTest {
         // assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils, never()).validateJwtToken(anyString());
-        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
+        verify(principalCache, never()).get(anyString());
+        verify(auditLog).record(Outcome.MISSING, null, "/api/test", null, null);
     }
 
     @Test
@@ -89,7 +113,7 @@ class AuthTokenFilterTest {
         // arrange
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid");
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken("invalid")).thenReturn(false);
+        when(jwtUtils.parseVerifiedClaims("invalid")).thenThrow(new MalformedJwtException("Invalid compact JWT string"));
 
         // act
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -97,8 +121,9 @@ class AuthTokenFilterTest {
         // assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils).validateJwtToken("invalid");
-        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(jwtUtils).parseVerifiedClaims("invalid");
+        verify(principalCache, never()).get(anyString());
+        verify(auditLog).record(eq(Outcome.MALFORMED), any(), eq("/api/test"), isNull(), anyString());
     }
 
     @Test
@@ -106,7 +131,7 @@ class AuthTokenFilterTest {
         // arrange
         when(request.getHeader("Authorization")).thenReturn("Bearer expired");
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken("expired")).thenReturn(false);
+        when(jwtUtils.parseVerifiedClaims("expired")).thenThrow(new ExpiredJwtException(null, Jwts.claims().subject("test@test.com").build(), "JWT expired"));
 
         // act
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -114,8 +139,9 @@ class AuthTokenFilterTest {
         // assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils).validateJwtToken("expired");
-        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(jwtUtils).parseVerifiedClaims("expired");
+        verify(principalCache, never()).get(anyString());
+        verify(auditLog).record(Outcome.EXPIRED, null, "/api/test", "test@test.com", null);
     }
 
     @Test
@@ -126,20 +152,19 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(testUser);
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject(username).build());
+        when(principalCache.get(username)).thenReturn(testPrincipal);
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         verify(filterChain).doFilter(request, response);
-        verify(jwtUtils).validateJwtToken(validToken);
-        verify(jwtUtils).getUserNameFromJwtToken(validToken);
-        verify(userDetailsService).loadUserByUsername(username);
+        verify(jwtUtils).parseVerifiedClaims(validToken);
+        verify(principalCache).get(username);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(auditLog).record(Outcome.VALID, null, "/api/test", username, null);
         assertEquals(username, SecurityContextHolder.getContext().getAuthentication().getName());
     }
 
@@ -155,7 +180,7 @@ class AuthTokenFilterTest {
         // Assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils, never()).validateJwtToken(anyString());
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
     }
 
     @Test
@@ -170,7 +195,7 @@ class AuthTokenFilterTest {
         // Assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtils, never()).validateJwtToken(anyString());
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
     }
 
     @Test
@@ -181,9 +206,8 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username))
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject(username).build());
+        when(principalCache.get(username))
                 .thenThrow(new UsernameNotFoundException("User not found"));
 
         // Act
@@ -201,7 +225,7 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(token)).thenThrow(new RuntimeException("JWT parsing error"));
+        when(jwtUtils.parseVerifiedClaims(token)).thenThrow(new RuntimeException("JWT parsing error"));
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -209,6 +233,7 @@ class AuthTokenFilterTest {
         // Assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(auditLog).record(Outcome.INVALID, null, "/api/test", null, "JWT parsing error");
     }
 
     @Test
@@ -218,8 +243,7 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn(null);
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject(null).build());
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -227,7 +251,7 @@ class AuthTokenFilterTest {
         // Assert
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(principalCache, never()).get(anyString());
     }
 
     @Test
@@ -237,8 +261,7 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn("");
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject("").build());
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -271,16 +294,15 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(testUser);
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject(username).build());
+        when(principalCache.get(username)).thenReturn(testPrincipal);
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
-        assertEquals(testUser, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals(testPrincipal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         assertTrue(SecurityContextHolder.getContext().getAuthentication().isAuthenticated());
     }
 
@@ -292,16 +314,14 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(token)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(token)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(testUser);
+        when(jwtUtils.parseVerifiedClaims(token)).thenReturn(Jwts.claims().subject(username).build());
+        when(principalCache.get(username)).thenReturn(testPrincipal);
 
         // Act
         authTokenFilter.doFilterInternal(request, response, filterChain);
 
         // Assert
-        verify(jwtUtils).validateJwtToken(token);
-        verify(jwtUtils).getUserNameFromJwtToken(token);
+        verify(jwtUtils).parseVerifiedClaims(token);
     }
 
     @Test
@@ -312,9 +332,8 @@ class AuthTokenFilterTest {
 
         when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
         when(request.getRequestURI()).thenReturn("/api/test");
-        when(jwtUtils.validateJwtToken(validToken)).thenReturn(true);
-        when(jwtUtils.getUserNameFromJwtToken(validToken)).thenReturn(username);
-        when(userDetailsService.loadUserByUsername(username)).thenReturn(testUser);
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims().subject(username).build());
+        when(principalCache.get(username)).thenReturn(testPrincipal);
 
         // Act - first request
         authTokenFilter.doFilterInternal(request, response, filterChain);
@@ -330,4 +349,107 @@ class AuthTokenFilterTest {
         verify(filterChain, times(2)).doFilter(request, response);
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAuthenticateFromTokenClaimsWithoutLookup() throws Exception {
+        // Arrange
+        String validToken = "valid.jwt.token";
+        UserPrincipal claimsPrincipal =
+                new UserPrincipal("user-1", "test@test.com", User.Role.EMPLOYEE, "employee-1", true);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims()
+                .subject(claimsPrincipal.email())
+                .add("uid", claimsPrincipal.userId())
+                .add("eid", claimsPrincipal.employeeId())
+                .add("role", claimsPrincipal.role().name())
+                .build());
+
+        // Act
+        authTokenFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        assertEquals(claimsPrincipal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        verify(principalCache, never()).get(anyString());
+    }
+
+    @Test
+    void shouldRejectRevokedTokenOfDeactivatedEmployee() throws Exception {
+        // Arrange
+        String validToken = "valid.jwt.token";
+        Date issuedAt = new Date(1_700_000_000_000L);
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(Jwts.claims()
+                .subject("test@test.com")
+                .add("uid", "user-1")
+                .add("eid", "employee-1")
+                .add("role", User.Role.ADMIN.name())
+                .issuedAt(issuedAt)
+                .build());
+        when(tokenRevocations.isRevoked("user-1", issuedAt)).thenReturn(true);
+
+        // Act
+        authTokenFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(filterChain).doFilter(request, response);
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(auditLog).record(Outcome.REJECTED, null, "/api/test", "test@test.com", "token revoked");
+    }
+
+    @Test
+    void shouldCacheClaimsAfterFirstVerification() throws Exception {
+        // Arrange
+        String validToken = "valid.jwt.token";
+        Claims claims = Jwts.claims().subject("test@test.com").build();
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(jwtUtils.parseVerifiedClaims(validToken)).thenReturn(claims);
+        when(principalCache.get("test@test.com")).thenReturn(testPrincipal);
+
+        // Act
+        authTokenFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(verifiedTokenCache).put(validToken, claims);
+        assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void shouldSkipVerificationForCachedToken() throws Exception {
+        // Arrange
+        String validToken = "valid.jwt.token";
+
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + validToken);
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(verifiedTokenCache.get(validToken)).thenReturn(Jwts.claims().subject("test@test.com").build());
+        when(principalCache.get("test@test.com")).thenReturn(testPrincipal);
+
+        // Act
+        authTokenFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(jwtUtils, never()).parseVerifiedClaims(anyString());
+        assertEquals(testPrincipal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+    }
+
+    @Test
+    void shouldNotCacheRejectedToken() throws Exception {
+        // Arrange
+        when(request.getHeader("Authorization")).thenReturn("Bearer invalid");
+        when(request.getRequestURI()).thenReturn("/api/test");
+        when(jwtUtils.parseVerifiedClaims("invalid")).thenThrow(new MalformedJwtException("Invalid compact JWT string"));
+
+        // Act
+        authTokenFilter.doFilterInternal(request, response, filterChain);
+
+        // Assert
+        verify(verifiedTokenCache, never()).put(anyString(), any());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+}
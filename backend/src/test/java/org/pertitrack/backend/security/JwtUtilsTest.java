@@ -0,0 +1,129 @@
+package org.pertitrack.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.auth.User;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilsTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+
+    private JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = new JwtUtils();
+        jwtUtils.setJwtSecret(SECRET);
+        jwtUtils.setJwtExpirationMs(60_000);
+        jwtUtils.init();
+    }
+
+    @Test
+    void generateJwtToken_withPrincipal_roundTripsIdentityClaims() {
+        // Arrange
+        UserPrincipal principal =
+                new UserPrincipal("user-1", "test@test.com", User.Role.MANAGER, "emp-1", true);
+
+        // Act
+        String token = jwtUtils.generateJwtToken(principal);
+
+        // Assert
+        assertTrue(jwtUtils.validateJwtToken(token));
+        assertEquals("test@test.com", jwtUtils.getUserNameFromJwtToken(token));
+        assertEquals(principal, jwtUtils.getPrincipalFromJwtToken(token));
+    }
+
+    @Test
+    void generateJwtToken_withoutEmployee_omitsEmployeeClaim() {
+        // Arrange
+        UserPrincipal principal =
+                new UserPrincipal("user-1", "test@test.com", User.Role.ADMIN, null, true);
+
+        // Act
+        UserPrincipal parsed = jwtUtils.getPrincipalFromJwtToken(jwtUtils.generateJwtToken(principal));
+
+        // Assert
+        assertEquals("user-1", parsed.userId());
+        assertNull(parsed.employeeId());
+    }
+
+    @Test
+    void getPrincipalFromJwtToken_withSubjectOnlyToken_returnsNull() {
+        // Arrange
+        String token = jwtUtils.generateTokenFromUsername("test@test.com");
+
+        // Act & Assert
+        assertNull(jwtUtils.getPrincipalFromJwtToken(token));
+    }
+
+    @Test
+    void getVerifiedClaims_returnsClaimsFromSingleParse() {
+        // Arrange
+        UserPrincipal principal =
+                new UserPrincipal("user-1", "test@test.com", User.Role.EMPLOYEE, "emp-1", true);
+        String token = jwtUtils.generateJwtToken(principal);
+
+        // Act
+        Claims claims = jwtUtils.getVerifiedClaims(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("test@test.com", claims.getSubject());
+        assertEquals(principal, JwtUtils.principalFromClaims(claims));
+    }
+
+    @Test
+    void getVerifiedClaims_withForeignSignature_returnsNull() {
+        // Arrange
+        String token = Jwts.builder()
+                .subject("test@test.com")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor("another-secret-that-is-long-enough-for-hs256".getBytes()))
+                .compact();
+
+        // Act & Assert
+        assertNull(jwtUtils.getVerifiedClaims(token));
+        assertFalse(jwtUtils.validateJwtToken(token));
+    }
+
+    @Test
+    void getVerifiedClaims_withExpiredToken_returnsNull() {
+        // Arrange
+        jwtUtils.setJwtExpirationMs(-1_000);
+        String token = jwtUtils.generateTokenFromUsername("test@test.com");
+
+        // Act & Assert
+        assertNull(jwtUtils.getVerifiedClaims(token));
+    }
+
+    @Test
+    void getVerifiedClaims_withMalformedToken_returnsNull() {
+        assertNull(jwtUtils.getVerifiedClaims("not-a-token"));
+    }
+
+    @Test
+    void parseVerifiedClaims_withExpiredToken_throwsExpiredJwtException() {
+        // Arrange
+        jwtUtils.setJwtExpirationMs(-1_000);
+        String token = jwtUtils.generateTokenFromUsername("test@test.com");
+
+        // Act & Assert
+        ExpiredJwtException exception =
+                assertThrows(ExpiredJwtException.class, () -> jwtUtils.parseVerifiedClaims(token));
+        assertEquals("test@test.com", exception.getClaims().getSubject());
+    }
+
+}
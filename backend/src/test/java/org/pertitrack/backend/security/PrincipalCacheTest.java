@@ -0,0 +1,176 @@
+package org.pertitrack.backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.UserRepository;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "test@test.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+
+    private PrincipalCache principalCache;
+
+    private User testUser;
+    private Employee testEmployee;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = new PrincipalCache(userRepository, employeeRepository, invalidationBus, 100, Duration.ofMinutes(5));
+
+        testUser = new User(EMAIL, "encodedPassword", "John", "Doe");
+        ReflectionTestUtils.setField(testUser, "id", "user-1");
+        testUser.setRole(User.Role.MANAGER);
+
+        testEmployee = new Employee();
+        ReflectionTestUtils.setField(testEmployee, "id", "emp-1");
+        testEmployee.setUser(testUser);
+    }
+
+    @Test
+    void get_loadsPrincipalOnceAndServesRepeatsFromCache() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+
+        // Act
+        UserPrincipal first = principalCache.get(EMAIL);
+        UserPrincipal second = principalCache.get(EMAIL);
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals("user-1", first.userId());
+        assertEquals("emp-1", first.employeeId());
+        assertEquals(User.Role.MANAGER, first.role());
+        assertEquals("ROLE_MANAGER", first.getAuthorities().iterator().next().getAuthority());
+        assertNull(first.getPassword());
+        verify(userRepository, times(1)).findByEmail(EMAIL);
+        verify(employeeRepository, times(1)).findByUser_Id("user-1");
+    }
+
+    @Test
+    void get_withUserWithoutEmployee_cachesNullEmployeeId() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.empty());
+
+        // Act
+        UserPrincipal principal = principalCache.get(EMAIL);
+
+        // Assert
+        assertNull(principal.employeeId());
+    }
+
+    @Test
+    void get_withDeactivatedEmployee_linksNoEmployee() {
+        // Arrange
+        testEmployee.setIsActive(false);
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+
+        // Act
+        UserPrincipal principal = principalCache.get(EMAIL);
+
+        // Assert
+        assertNull(principal.employeeId());
+    }
+
+    @Test
+    void get_withUnknownEmail_throwsUsernameNotFoundException() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get(EMAIL));
+    }
+
+    @Test
+    void evictUser_forcesReload() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+        principalCache.get(EMAIL);
+
+        // Act
+        principalCache.evictUser("user-1");
+        principalCache.get(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void evictEmployee_forcesReload() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+        principalCache.get(EMAIL);
+
+        // Act
+        principalCache.evictEmployee("emp-1");
+        principalCache.get(EMAIL);
+
+        // Assert
+        verify(employeeRepository, times(2)).findByUser_Id("user-1");
+    }
+
+    @Test
+    void userChangedOnOtherNode_forcesReload() {
+        // Arrange
+        when(userRepository.findByEmail(EMAIL)).thenReturn(Optional.of(testUser));
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+        principalCache.get(EMAIL);
+
+        // Act
+        invalidationBus.deliver("other-node\nUSER|user-1|");
+        principalCache.get(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+    @Test
+    void get_whenEvictedWhileLoading_doesNotCacheStaleResult() {
+        // Arrange - the eviction lands between the user lookup and the cache write
+        when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> {
+            principalCache.evict(EMAIL);
+            return Optional.of(testUser);
+        });
+        when(employeeRepository.findByUser_Id("user-1")).thenReturn(Optional.of(testEmployee));
+
+        // Act
+        principalCache.get(EMAIL);
+        principalCache.get(EMAIL);
+
+        // Assert
+        verify(userRepository, times(2)).findByEmail(EMAIL);
+    }
+
+}
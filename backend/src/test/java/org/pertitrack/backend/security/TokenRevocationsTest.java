@@ -0,0 +1,105 @@
+package org.pertitrack.backend.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.repository.UserRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationsTest {
+
+    private static final Instant NOW = Instant.parse("2024-03-04T12:00:00.750Z");
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(15);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+
+    private TokenRevocations tokenRevocations;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocations = new TokenRevocations(userRepository, invalidationBus, TOKEN_LIFETIME,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static Date issuedAt(Instant instant) {
+        return Date.from(instant);
+    }
+
+    @Test
+    void revoke_rejectsTokensIssuedUpToTheRevocationSecond() {
+        // Act
+        tokenRevocations.revoke("user-1");
+
+        // Assert
+        verify(userRepository).revokeTokens("user-1", Instant.parse("2024-03-04T12:00:00Z"));
+        assertTrue(tokenRevocations.isRevoked("user-1", issuedAt(NOW.minusSeconds(60))));
+        assertTrue(tokenRevocations.isRevoked("user-1", issuedAt(Instant.parse("2024-03-04T12:00:00Z"))));
+        assertFalse(tokenRevocations.isRevoked("user-1", issuedAt(Instant.parse("2024-03-04T12:00:01Z"))));
+        assertFalse(tokenRevocations.isRevoked("user-2", issuedAt(NOW.minusSeconds(60))));
+    }
+
+    @Test
+    void load_keepsOnlyMarkersWithinTheTokenLifetime() {
+        // Arrange
+        User revoked = new User("test@test.com", "encodedPassword", "John", "Doe");
+        ReflectionTestUtils.setField(revoked, "id", "user-1");
+        ReflectionTestUtils.setField(revoked, "tokensValidAfter", NOW.minusSeconds(30));
+        when(userRepository.findByTokensValidAfterAfter(NOW.minus(TOKEN_LIFETIME))).thenReturn(List.of(revoked));
+
+        // Act
+        tokenRevocations.load();
+
+        // Assert
+        assertTrue(tokenRevocations.isRevoked("user-1", issuedAt(NOW.minusSeconds(60))));
+        assertFalse(tokenRevocations.isRevoked("user-1", issuedAt(NOW)));
+    }
+
+    @Test
+    void purgeExpired_dropsMarkersOlderThanAnyLiveToken() {
+        // Arrange
+        tokenRevocations = new TokenRevocations(userRepository, invalidationBus, TOKEN_LIFETIME,
+                Clock.fixed(NOW.minus(TOKEN_LIFETIME).minusSeconds(1), ZoneOffset.UTC));
+        tokenRevocations.revoke("user-1");
+        ReflectionTestUtils.setField(tokenRevocations, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // Act
+        tokenRevocations.purgeExpired();
+
+        // Assert
+        assertFalse(tokenRevocations.isRevoked("user-1", issuedAt(NOW.minus(TOKEN_LIFETIME).minusSeconds(60))));
+    }
+
+    @Test
+    void remoteUserEvent_reloadsTheMarkerRevokedOnAnotherNode() {
+        // Arrange
+        when(userRepository.findTokensValidAfterById("user-1")).thenReturn(Optional.of(NOW.minusSeconds(1)));
+
+        // Act
+        invalidationBus.deliver("other-node\nUSER|user-1|");
+
+        // Assert
+        assertTrue(tokenRevocations.isRevoked("user-1", issuedAt(NOW.minusSeconds(60))));
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.pertitrack.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.util.BoundedCache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new VerifiedTokenCache(
+                new BoundedCache<>(100, Duration.ofMinutes(15)), Clock.systemUTC());
+    }
+
+    @Test
+    void get_returnsClaimsOfVerifiedToken() {
+        // Arrange
+        Claims claims = claimsExpiringIn(Duration.ofMinutes(5));
+        tokenCache.put("token-a", claims);
+
+        // Act & Assert
+        assertEquals(claims, tokenCache.get("token-a"));
+        assertNull(tokenCache.get("token-b"));
+    }
+
+    @Test
+    void put_withExpiredToken_isNotCached() {
+        // Arrange
+        tokenCache.put("token-a", claimsExpiringIn(Duration.ofSeconds(-1)));
+
+        // Act & Assert
+        assertNull(tokenCache.get("token-a"));
+    }
+
+    @Test
+    void put_withoutExpiry_isNotCached() {
+        // Arrange
+        tokenCache.put("token-a", Jwts.claims().subject("test@test.com").build());
+
+        // Act & Assert
+        assertNull(tokenCache.get("token-a"));
+    }
+
+    @Test
+    void evict_removesToken() {
+        // Arrange
+        tokenCache.put("token-a", claimsExpiringIn(Duration.ofMinutes(5)));
+
+        // Act
+        tokenCache.evict("token-a");
+
+        // Assert
+        assertNull(tokenCache.get("token-a"));
+    }
+
+    @Test
+    void digest_isStableAndDoesNotContainToken() {
+        // Act
+        String digest = VerifiedTokenCache.digest("token-a");
+
+        // Assert
+        assertEquals(digest, VerifiedTokenCache.digest("token-a"));
+        assertNotEquals(digest, VerifiedTokenCache.digest("token-b"));
+        assertEquals(64, digest.length());
+    }
+
+    private Claims claimsExpiringIn(Duration duration) {
+        return Jwts.claims()
+                .subject("test@test.com")
+                .expiration(new Date(System.currentTimeMillis() + duration.toMillis()))
+                .build();
+    }
+
+}
@@ -3,6 +3,7 @@ package org.pertitrack.backend.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -13,6 +14,8 @@ import org.pertitrack.backend.dto.SignupRequest;
 import org.pertitrack.backend.entity.auth.User;
 import org.pertitrack.backend.exceptions.*;
 import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.pertitrack.backend.security.VerifiedTokenCache;
 import org.pertitrack.backend.security.JwtUtils;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -46,6 +49,9 @@ class AuthServiceTest {
     @Mock
     private JwtUtils jwtUtils;
 
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
     @Mock
     private Authentication authentication;
 
@@ -98,7 +104,7 @@ class AuthServiceTest {
 
         // Mock JWT token generation
         String TEST_JWT_TOKEN = "test.jwt.token";
-        when(jwtUtils.generateJwtToken(authentication))
+        when(jwtUtils.generateJwtToken(any(UserPrincipal.class)))
                 .thenReturn(TEST_JWT_TOKEN);
 
         // Act
@@ -123,7 +129,10 @@ class AuthServiceTest {
 
         // Verify interactions with mocks
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtils).generateJwtToken(authentication);
+        ArgumentCaptor<UserPrincipal> principalCaptor = ArgumentCaptor.forClass(UserPrincipal.class);
+        verify(jwtUtils).generateJwtToken(principalCaptor.capture());
+        assertEquals(testUser.getEmail(), principalCaptor.getValue().email());
+        assertEquals(User.Role.EMPLOYEE, principalCaptor.getValue().role());
         verify(authentication).getPrincipal();
     }
 
@@ -262,7 +271,7 @@ class AuthServiceTest {
                      mockStatic(SecurityContextHolder.class)) {
 
             // Act
-            ResponseEntity<?> response = authService.logoutUser();
+            ResponseEntity<?> response = authService.logoutUser("Bearer test.jwt.token");
 
             // Assert
             assertNotNull(response);
@@ -274,8 +283,19 @@ class AuthServiceTest {
 
             // Verify that SecurityContextHolder.clearContext() was called
             mockedSecurityContextHolder.verify(SecurityContextHolder::clearContext);
+            verify(verifiedTokenCache).evict("test.jwt.token");
         }
     }
 
+    @Test
+    void logoutUser_withoutBearerToken_onlyClearsContext() {
+        // Act
+        ResponseEntity<MessageResponse> response = authService.logoutUser(null);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verifyNoInteractions(verifiedTokenCache);
+    }
+
 
 }
\ No newline at end of file
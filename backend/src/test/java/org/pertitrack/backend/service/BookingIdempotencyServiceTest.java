@@ -0,0 +1,284 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.entity.timetrack.BookingIdempotencyKey;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.IdempotencyKeyReuseException;
+import org.pertitrack.backend.repository.BookingIdempotencyKeyRepository;
+import org.pertitrack.backend.service.BookingIdempotencyService.Outcome;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIdempotencyServiceTest {
+
+    private static final String SUBJECT = "test@pertitrack.org";
+    private static final String KEY = "5f0c9a4e-retry-key";
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 10, 1, 9, 0);
+
+    @Mock
+    private BookingIdempotencyKeyRepository repository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private BookingIdempotencyService idempotencyService;
+    private TimeRecordResponse response;
+    private AtomicInteger bookings;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new BookingIdempotencyService(repository, transactionTemplate, objectMapper,
+                100, Duration.ofHours(24));
+        response = new TimeRecordResponse("tr-1", "emp-1", "Max", "Mustermann", NOW.toLocalDate(), NOW,
+                TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE, "in", false, false, NOW, NOW);
+        bookings = new AtomicInteger();
+        authenticateAs(SUBJECT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticateAs(String subject) {
+        SecurityContextHolder.setContext(new SecurityContextImpl(new TestingAuthenticationToken(subject, null)));
+    }
+
+    private Supplier<TimeRecordResponse> booking() {
+        return () -> {
+            bookings.incrementAndGet();
+            return response;
+        };
+    }
+
+    private void runTransactionsInline() {
+        doAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null))
+                .when(transactionTemplate).execute(any());
+        lenient().when(repository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private BookingIdempotencyKey storedRow(String endpoint, LocalDateTime expiresAt) throws Exception {
+        BookingIdempotencyKey row = new BookingIdempotencyKey();
+        row.setSubject(SUBJECT);
+        row.setIdempotencyKey(KEY);
+        row.setEndpoint(endpoint);
+        row.setResponseStatus(201);
+        row.setResponseBody(objectMapper.writeValueAsString(response));
+        row.setExpiresAt(expiresAt);
+        return row;
+    }
+
+    @Test
+    void execute_withoutKey_runsBookingWithoutStoring() {
+        // Act
+        Outcome outcome = idempotencyService.execute(null, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertSame(response, outcome.response());
+        assertFalse(outcome.replayed());
+        assertEquals(1, bookings.get());
+        verify(repository, never()).saveAndFlush(any());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void execute_firstRequest_storesResponseInBookingTransaction() throws Exception {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY)).thenReturn(Optional.empty());
+
+        // Act
+        Outcome outcome = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertEquals(HttpStatus.CREATED, outcome.status());
+        assertFalse(outcome.replayed());
+        ArgumentCaptor<BookingIdempotencyKey> row = ArgumentCaptor.forClass(BookingIdempotencyKey.class);
+        verify(repository).saveAndFlush(row.capture());
+        assertEquals(SUBJECT, row.getValue().getSubject());
+        assertEquals("clock-in", row.getValue().getEndpoint());
+        assertEquals(201, row.getValue().getResponseStatus());
+        assertEquals(response, objectMapper.readValue(row.getValue().getResponseBody(), TimeRecordResponse.class));
+    }
+
+    @Test
+    void execute_retryOnSameInstance_replaysFromMemory() {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY)).thenReturn(Optional.empty());
+        idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Act
+        Outcome retry = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertTrue(retry.replayed());
+        assertEquals(response, retry.response());
+        assertEquals(1, bookings.get());
+        verify(repository, times(1)).findBySubjectAndIdempotencyKey(SUBJECT, KEY);
+    }
+
+    @Test
+    void execute_retryOnOtherInstance_replaysStoredRow() throws Exception {
+        // Arrange
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY))
+                .thenReturn(Optional.of(storedRow("clock-in", LocalDateTime.now().plusHours(1))));
+
+        // Act
+        Outcome retry = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertTrue(retry.replayed());
+        assertEquals(HttpStatus.CREATED, retry.status());
+        assertEquals(response, retry.response());
+        assertEquals(0, bookings.get());
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void execute_expiredRow_runsBookingAgain() throws Exception {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY))
+                .thenReturn(Optional.of(storedRow("clock-in", LocalDateTime.now().minusMinutes(1))));
+
+        // Act
+        Outcome outcome = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertFalse(outcome.replayed());
+        assertEquals(1, bookings.get());
+    }
+
+    @Test
+    void execute_keyReusedForOtherAction_throws() throws Exception {
+        // Arrange
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY))
+                .thenReturn(Optional.of(storedRow("clock-in", LocalDateTime.now().plusHours(1))));
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyReuseException.class,
+                () -> idempotencyService.execute(KEY, "clock-out", HttpStatus.OK, booking()));
+        assertEquals(0, bookings.get());
+    }
+
+    @Test
+    void execute_concurrentRequestWonTheRace_replaysItsResponse() throws Exception {
+        // Arrange: the winner claimed the same key while this request waited on it
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(storedRow("clock-in", LocalDateTime.now().plusHours(1))));
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act
+        Outcome outcome = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertTrue(outcome.replayed());
+        assertEquals(response, outcome.response());
+        assertEquals(0, bookings.get());
+    }
+
+    @Test
+    void execute_lockTimeoutWithoutWinner_rethrows() {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY)).thenReturn(Optional.empty());
+        when(repository.saveAndFlush(any())).thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        // Act & Assert
+        assertThrows(CannotAcquireLockException.class,
+                () -> idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking()));
+        verify(repository, times(2)).findBySubjectAndIdempotencyKey(SUBJECT, KEY);
+    }
+
+    @Test
+    void execute_failedBooking_rethrowsWithoutLookingForWinner() {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(SUBJECT, KEY)).thenReturn(Optional.empty());
+        IllegalStateException failure = new IllegalStateException("Employee is not clocked in. Cannot clock out.");
+        Supplier<TimeRecordResponse> failing = () -> {
+            throw failure;
+        };
+
+        // Act & Assert
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> idempotencyService.execute(KEY, "clock-out", HttpStatus.OK, failing)));
+        verify(repository, times(1)).findBySubjectAndIdempotencyKey(SUBJECT, KEY);
+    }
+
+    @Test
+    void execute_sameKeyFromOtherCaller_isNotReplayed() {
+        // Arrange
+        runTransactionsInline();
+        when(repository.findBySubjectAndIdempotencyKey(any(), any())).thenReturn(Optional.empty());
+        idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+        authenticateAs("other@pertitrack.org");
+
+        // Act
+        Outcome outcome = idempotencyService.execute(KEY, "clock-in", HttpStatus.CREATED, booking());
+
+        // Assert
+        assertFalse(outcome.replayed());
+        assertEquals(2, bookings.get());
+    }
+
+    @Test
+    void execute_blankOrOverlongKey_throws() {
+        String overlong = "k".repeat(BookingIdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(" ", "clock-in", HttpStatus.CREATED, booking()));
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.execute(overlong, "clock-in", HttpStatus.CREATED, booking()));
+        assertEquals(0, bookings.get());
+    }
+
+    @Test
+    void purgeExpiredKeys_deletesRowsPastExpiry() {
+        // Act
+        idempotencyService.purgeExpiredKeys();
+
+        // Assert
+        verify(repository).deleteExpired(any(LocalDateTime.class));
+    }
+
+}
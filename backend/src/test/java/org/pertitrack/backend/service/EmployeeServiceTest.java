@@ -16,8 +16,11 @@ import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.mapper.EmployeeMapper;
 import org.pertitrack.backend.repository.EmployeeRepository;
 import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.PrincipalCache;
+import org.pertitrack.backend.security.TokenRevocations;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.lang.reflect.*;
 import java.util.Arrays;
@@ -43,6 +46,12 @@ class EmployeeServiceTest {
     @Mock
     private EmployeeMapper employeeMapper;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private TokenRevocations tokenRevocations;
+
     @Mock
     private IdService idService;
 
@@ -60,6 +69,7 @@ class EmployeeServiceTest {
         // Setup test user
         testUser = new User();
 //        testUser.setId("550e8400-e29b-41d4-a716-446655440000");
+        ReflectionTestUtils.setField(testUser, "id", "550e8400-e29b-41d4-a716-446655440000");
         testUser.setEmail("john.doe@test.com");
         testUser.setFirstName("John");
         testUser.setLastName("Doe");
@@ -442,6 +452,25 @@ class EmployeeServiceTest {
         verify(employeeRepository).findById(employeeId);
         verify(employeeRepository).save(any(Employee.class));
         verify(employeeMapper).toDto(updatedEmployee);
+        verify(principalCache).evictEmployee(employeeId);
+        verify(tokenRevocations).revoke(testUser.getId());
+    }
+
+    @Test
+    void updateEmployee_KeepsTokens_WhenEmployeeStaysActive() {
+        // Arrange
+        String employeeId = "emp-123";
+        updateEmployeeRequest.setActive(true);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(testEmployee));
+        when(employeeRepository.save(testEmployee)).thenReturn(testEmployee);
+        when(employeeMapper.toDto(testEmployee)).thenReturn(testEmployeeDto);
+
+        // Act
+        employeeService.updateEmployee(employeeId, updateEmployeeRequest);
+
+        // Assert
+        verify(principalCache).evictEmployee(employeeId);
+        verify(tokenRevocations, never()).revoke(any());
     }
 
     @Test
@@ -469,7 +498,7 @@ class EmployeeServiceTest {
     void deleteEmployee_ReturnsTrue_WhenEmployeeExists() {
         // Arrange
         String employeeId = "emp-123";
-        when(employeeRepository.existsById(employeeId)).thenReturn(true);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.of(testEmployee));
 
         // Act
         boolean result = employeeService.deleteEmployee(employeeId);
@@ -477,15 +506,17 @@ class EmployeeServiceTest {
         // Assert
         assertTrue(result);
 
-        verify(employeeRepository).existsById(employeeId);
+        verify(employeeRepository).findById(employeeId);
         verify(employeeRepository).deleteById(employeeId);
+        verify(principalCache).evictEmployee(employeeId);
+        verify(tokenRevocations).revoke(testUser.getId());
     }
 
     @Test
     void deleteEmployee_ReturnsFalse_WhenEmployeeNotFound() {
         // Arrange
         String employeeId = "non-existent-id";
-        when(employeeRepository.existsById(employeeId)).thenReturn(false);
+        when(employeeRepository.findById(employeeId)).thenReturn(Optional.empty());
 
         // Act
         boolean result = employeeService.deleteEmployee(employeeId);
@@ -493,8 +524,9 @@ class EmployeeServiceTest {
         // Assert
         assertFalse(result);
 
-        verify(employeeRepository).existsById(employeeId);
+        verify(employeeRepository).findById(employeeId);
         verify(employeeRepository, never()).deleteById(anyString());
+        verify(tokenRevocations, never()).revoke(any());
     }
 
 }
\ No newline at end of file
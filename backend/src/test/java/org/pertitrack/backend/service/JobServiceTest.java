@@ -0,0 +1,424 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.ClusterNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.dto.JobRequest;
+import org.pertitrack.backend.dto.JobResponse;
+import org.pertitrack.backend.entity.auth.User;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.JobRepository;
+import org.pertitrack.backend.security.CurrentEmployeeResolver;
+import org.pertitrack.backend.security.UserPrincipal;
+import org.pertitrack.backend.service.job.JobContext;
+import org.pertitrack.backend.service.job.JobHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobServiceTest {
+
+    private static final String JOB_ID = "job-1";
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobHandler handler;
+
+    @Mock
+    private CurrentEmployeeResolver currentEmployeeResolver;
+
+    @Mock
+    private SharedFileStore fileStore;
+
+    private final ClusterNode clusterNode = new ClusterNode();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JobService jobService;
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        when(handler.type()).thenReturn(Job.Type.TIME_RECORD_EXPORT);
+        jobService = new JobService(jobRepository, List.of(handler), currentEmployeeResolver, objectMapper,
+                fileStore, clusterNode, 1, Duration.ofMinutes(1), Duration.ofDays(7));
+        job = new Job();
+        ReflectionTestUtils.setField(job, "id", JOB_ID);
+        job.setType(Job.Type.TIME_RECORD_EXPORT);
+        job.setParameters("{\"startDate\":\"2024-01-01\"}");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.shutdown();
+    }
+
+    @Nested
+    class SubmitTests {
+
+        @Test
+        void submit_validatesAndStoresQueuedJob() throws Exception {
+            // Arrange
+            JsonNode parameters = objectMapper.readTree("{\"startDate\":\"2024-01-01\"}");
+            when(currentEmployeeResolver.currentPrincipal()).thenReturn(Optional.of(
+                    new UserPrincipal("user-1", "admin@test.com", User.Role.ADMIN, null, true)));
+            when(jobRepository.save(any(Job.class))).thenAnswer(invocation -> {
+                Job saved = invocation.getArgument(0);
+                ReflectionTestUtils.setField(saved, "id", JOB_ID);
+                return saved;
+            });
+
+            // Act
+            JobResponse response = jobService.submit(new JobRequest(Job.Type.TIME_RECORD_EXPORT, parameters));
+
+            // Assert
+            assertEquals(JOB_ID, response.id());
+            assertEquals(Job.Status.QUEUED, response.status());
+            verify(handler).validate(parameters);
+            verify(jobRepository).save(argThat(saved -> clusterNode.id().equals(saved.getOwnerNode())
+                    && saved.getLeaseExpiresAt().isAfter(LocalDateTime.now())));
+        }
+
+        @Test
+        void submit_withInvalidParameters_doesNotQueueJob() {
+            // Arrange
+            doThrow(new IllegalArgumentException("startDate is required")).when(handler).validate(any());
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class,
+                    () -> jobService.submit(new JobRequest(Job.Type.TIME_RECORD_EXPORT, null)));
+            verify(jobRepository, never()).save(any());
+        }
+
+        @Test
+        void submit_withoutHandler_throwsIllegalArgumentException() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> jobService.submit(new JobRequest(Job.Type.DAILY_SUMMARY_REBUILD, null)));
+            verify(jobRepository, never()).save(any());
+        }
+    }
+
+    @Nested
+    class ExecuteTests {
+
+        @BeforeEach
+        void claimJob() {
+            when(jobRepository.claim(eq(JOB_ID), eq(Job.Status.QUEUED), eq(Job.Status.RUNNING),
+                    eq(clusterNode.id()), any(), any()))
+                    .thenReturn(1);
+            job.setOwnerNode(clusterNode.id());
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        }
+
+        @Test
+        void execute_storesResultOfSuccessfulJob() throws Exception {
+            // Arrange
+            ByteArrayOutputStream stored = new ByteArrayOutputStream();
+            when(fileStore.create(JOB_ID)).thenReturn(stored);
+            doAnswer(invocation -> {
+                JobContext context = invocation.getArgument(0);
+                assertEquals("2024-01-01", context.parameters().get("startDate").asText());
+                context.progress(2, 2L);
+                try (OutputStream out = context.openResult("export.ndjson", "application/x-ndjson")) {
+                    out.write("{}\n{}\n".getBytes(StandardCharsets.UTF_8));
+                }
+                return null;
+            }).when(handler).run(any());
+
+            // Act
+            jobService.execute(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.SUCCEEDED, job.getStatus());
+            assertEquals(2, job.getProgressCurrent());
+            assertEquals(2L, job.getProgressTotal());
+            assertEquals("export.ndjson", job.getResultFileName());
+            assertEquals(6L, job.getResultSize());
+            assertNotNull(job.getFinishedAt());
+            assertEquals("{}\n{}\n", stored.toString(StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void execute_whenCancelledWhileRunning_discardsPartialResult() throws Exception {
+            // Arrange
+            when(fileStore.create(JOB_ID)).thenReturn(new ByteArrayOutputStream());
+            doAnswer(invocation -> {
+                JobContext context = invocation.getArgument(0);
+                try (OutputStream out = context.openResult("export.ndjson", "application/x-ndjson")) {
+                    out.write('{');
+                    context.cancel();
+                    out.write('}');
+                }
+                return null;
+            }).when(handler).run(any());
+
+            // Act
+            jobService.execute(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.CANCELLED, job.getStatus());
+            verify(fileStore).delete(JOB_ID);
+            assertThrows(IllegalStateException.class, () -> jobService.getResult(JOB_ID));
+        }
+
+        @Test
+        void execute_whenTakenOverWhileFinishing_discardsOutcome() throws Exception {
+            // Arrange: the takeover bumped the version after finish read the row
+            when(jobRepository.save(job)).thenThrow(new ObjectOptimisticLockingFailureException(Job.class, JOB_ID));
+
+            // Act & Assert
+            assertDoesNotThrow(() -> jobService.execute(JOB_ID));
+            verify(handler).run(any());
+        }
+
+        @Test
+        void execute_whenTakenOverByAnotherNode_stopsAndLeavesJobToNewOwner() throws Exception {
+            // Arrange: the lease ran out, the progress write finds another owner
+            when(jobRepository.updateProgress(eq(JOB_ID), eq(clusterNode.id()), anyLong(), any())).thenAnswer(invocation -> {
+                job.setOwnerNode("other-node");
+                return 0;
+            });
+            doAnswer(invocation -> {
+                JobContext context = invocation.getArgument(0);
+                context.flushProgress();
+                context.checkCancelled();
+                return null;
+            }).when(handler).run(any());
+
+            // Act
+            jobService.execute(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.QUEUED, job.getStatus());
+            assertEquals("other-node", job.getOwnerNode());
+            verify(jobRepository, never()).save(any());
+            verify(fileStore, never()).delete(any());
+        }
+
+        @Test
+        void execute_whenHandlerFails_marksJobFailed() throws Exception {
+            // Arrange
+            doThrow(new IllegalStateException("database unavailable")).when(handler).run(any());
+
+            // Act
+            jobService.execute(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.FAILED, job.getStatus());
+            assertEquals("database unavailable", job.getErrorMessage());
+        }
+    }
+
+    @Test
+    void execute_whenJobWasCancelledBeforeStart_doesNotRunHandler() throws Exception {
+        // Arrange
+        when(jobRepository.claim(eq(JOB_ID), eq(Job.Status.QUEUED), eq(Job.Status.RUNNING),
+                eq(clusterNode.id()), any(), any()))
+                .thenReturn(0);
+
+        // Act
+        jobService.execute(JOB_ID);
+
+        // Assert
+        verify(handler, never()).run(any());
+    }
+
+    @Nested
+    class CancelTests {
+
+        @Test
+        void cancel_queuedJob_cancelsImmediately() {
+            // Arrange
+            Job cancelled = new Job();
+            ReflectionTestUtils.setField(cancelled, "id", JOB_ID);
+            cancelled.setStatus(Job.Status.CANCELLED);
+            cancelled.setCancelRequested(true);
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job), Optional.of(cancelled));
+            when(jobRepository.cancelQueued(eq(JOB_ID), eq(Job.Status.QUEUED), eq(Job.Status.CANCELLED), any()))
+                    .thenReturn(1);
+
+            // Act
+            JobResponse response = jobService.cancel(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.CANCELLED, response.status());
+            assertTrue(response.cancelRequested());
+            verify(jobRepository, never()).save(any());
+            verify(jobRepository, never()).requestCancel(any());
+        }
+
+        @Test
+        void cancel_queuedJobClaimedMeanwhile_requestsCancellation() {
+            // Arrange
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+            when(jobRepository.cancelQueued(eq(JOB_ID), eq(Job.Status.QUEUED), eq(Job.Status.CANCELLED), any()))
+                    .thenReturn(0);
+
+            // Act
+            JobResponse response = jobService.cancel(JOB_ID);
+
+            // Assert
+            assertTrue(response.cancelRequested());
+            verify(jobRepository).requestCancel(JOB_ID);
+            verify(jobRepository, never()).save(any());
+        }
+
+        @Test
+        void cancel_runningJob_requestsCancellation() {
+            // Arrange
+            job.setStatus(Job.Status.RUNNING);
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+            // Act
+            JobResponse response = jobService.cancel(JOB_ID);
+
+            // Assert
+            assertEquals(Job.Status.RUNNING, response.status());
+            assertTrue(response.cancelRequested());
+            verify(jobRepository).requestCancel(JOB_ID);
+        }
+
+        @Test
+        void cancel_finishedJob_throwsIllegalStateException() {
+            // Arrange
+            job.setStatus(Job.Status.SUCCEEDED);
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class, () -> jobService.cancel(JOB_ID));
+            verify(jobRepository, never()).requestCancel(any());
+        }
+
+        @Test
+        void cancel_unknownJob_throwsEntityNotFoundException() {
+            // Arrange
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(EntityNotFoundException.class, () -> jobService.cancel(JOB_ID));
+        }
+    }
+
+    @Nested
+    class ResultTests {
+
+        @Test
+        void getResult_readsResultFromSharedStore() throws Exception {
+            // Arrange
+            job.setStatus(Job.Status.SUCCEEDED);
+            job.setResultFileName("export.ndjson");
+            job.setResultContentType("application/x-ndjson");
+            job.setResultSize(3L);
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+            when(fileStore.exists(JOB_ID)).thenReturn(true);
+            when(fileStore.open(JOB_ID)).thenReturn(new ByteArrayInputStream("{}\n".getBytes(StandardCharsets.UTF_8)));
+
+            // Act
+            JobService.Result result = jobService.getResult(JOB_ID);
+
+            // Assert
+            assertEquals("export.ndjson", result.fileName());
+            assertEquals(3L, result.size());
+            assertEquals("{}\n", new String(result.content().readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        @Test
+        void getResult_whenResultWasRemoved_throwsEntityNotFoundException() {
+            // Arrange
+            job.setStatus(Job.Status.SUCCEEDED);
+            job.setResultFileName("export.ndjson");
+            when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+            when(fileStore.exists(JOB_ID)).thenReturn(false);
+
+            // Act & Assert
+            assertThrows(EntityNotFoundException.class, () -> jobService.getResult(JOB_ID));
+        }
+    }
+
+    @Nested
+    class LeaseTests {
+
+        @Test
+        void renewLeases_extendsLeasesOfThisNodesUnfinishedJobs() {
+            // Act
+            jobService.renewLeases();
+
+            // Assert
+            verify(jobRepository).renewLeases(eq(clusterNode.id()),
+                    eq(EnumSet.of(Job.Status.QUEUED, Job.Status.RUNNING)),
+                    argThat(until -> until.isAfter(LocalDateTime.now())));
+        }
+
+        @Test
+        void reclaimExpiredJobs_runsOnlyJobsThisNodeTookOver() {
+            // Arrange: another node was faster for job-2
+            when(jobRepository.findIdsWithExpiredLease(any(), any())).thenReturn(List.of(JOB_ID, "job-2"));
+            when(jobRepository.reclaim(eq(JOB_ID), any(), any(), eq(Job.Status.QUEUED), eq(clusterNode.id()), any()))
+                    .thenReturn(1);
+            when(jobRepository.reclaim(eq("job-2"), any(), any(), eq(Job.Status.QUEUED), eq(clusterNode.id()), any()))
+                    .thenReturn(0);
+
+            // Act
+            jobService.reclaimExpiredJobs();
+
+            // Assert
+            verify(jobRepository, timeout(1000)).claim(eq(JOB_ID), eq(Job.Status.QUEUED), eq(Job.Status.RUNNING),
+                    eq(clusterNode.id()), any(), any());
+            verify(jobRepository, never()).claim(eq("job-2"), any(), any(), any(), any(), any());
+        }
+    }
+
+    @Test
+    void purgeExpiredJobs_deletesRowsAndResultFiles() {
+        // Arrange
+        job.setStatus(Job.Status.SUCCEEDED);
+        job.setFinishedAt(LocalDateTime.now().minusDays(8));
+        job.setResultFileName("export.ndjson");
+        when(jobRepository.findByFinishedAtBefore(any())).thenReturn(List.of(job));
+
+        // Act
+        jobService.purgeExpiredJobs();
+
+        // Assert
+        verify(fileStore).deleteAll(List.of(JOB_ID));
+        verify(jobRepository).deleteAll(List.of(job));
+    }
+
+}
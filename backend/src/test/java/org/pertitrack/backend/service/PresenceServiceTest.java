@@ -0,0 +1,209 @@
+package org.pertitrack.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.dto.timeTrackingDto.PresenceResponse;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private TimeRecordService timeRecordService;
+
+    @Mock
+    private TimeRecordRepository timeRecordRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+    private final EmployeeDayStateRegistry dayStateRegistry = new EmployeeDayStateRegistry(invalidationBus);
+
+    private PresenceService presenceService;
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        // updates run inline instead of on the updater thread
+        presenceService = new PresenceService(timeRecordService, timeRecordRepository, employeeRepository,
+                dayStateRegistry, invalidationBus, Runnable::run);
+        alice = employee("emp-a", "Alice", "Adams");
+        bob = employee("emp-b", "Bob", "Baker");
+    }
+
+    private static Employee employee(String id, String firstName, String lastName) {
+        Employee employee = new Employee();
+        ReflectionTestUtils.setField(employee, "id", id);
+        employee.setFirstName(firstName);
+        employee.setLastName(lastName);
+        return employee;
+    }
+
+    private static TimeRecord record(Employee employee, int hour, TimeRecord.RecordType type,
+                                     TimeRecord.LocationType location) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(employee);
+        timeRecord.setRecordDate(TODAY);
+        timeRecord.setRecordTime(TODAY.atTime(hour, 0));
+        timeRecord.setRecordType(type);
+        timeRecord.setLocationType(location);
+        return timeRecord;
+    }
+
+    private void hydrateWithAliceWorkingAndBobOnBreak() {
+        when(timeRecordRepository.findByRecordDateWithEmployee(TODAY)).thenReturn(List.of(
+                record(alice, 8, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE),
+                record(bob, 8, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.HOME),
+                record(bob, 10, TimeRecord.RecordType.BREAK_START, TimeRecord.LocationType.HOME)));
+        presenceService.hydrate();
+    }
+
+    @Test
+    void hydrate_replaysTodaysRecordsPerEmployee() {
+        // Act
+        hydrateWithAliceWorkingAndBobOnBreak();
+
+        // Assert
+        List<PresenceResponse> board = presenceService.getPresence(null, null);
+        assertEquals(2, board.size());
+        assertEquals("Adams", board.get(0).lastName());
+        assertEquals(DailySummary.DayStatus.WORKING, board.get(0).status());
+        assertEquals(TimeRecord.LocationType.OFFICE, board.get(0).location());
+        assertEquals(DailySummary.DayStatus.BREAK, board.get(1).status());
+        assertEquals(TODAY.atTime(10, 0), board.get(1).since());
+    }
+
+    @Test
+    void getPresence_filtersByStatusAndLocation() {
+        // Arrange
+        hydrateWithAliceWorkingAndBobOnBreak();
+
+        // Act
+        List<PresenceResponse> working = presenceService.getPresence(DailySummary.DayStatus.WORKING, null);
+        List<PresenceResponse> atHome = presenceService.getPresence(null, TimeRecord.LocationType.HOME);
+        List<PresenceResponse> workingAtHome = presenceService.getPresence(
+                DailySummary.DayStatus.WORKING, TimeRecord.LocationType.HOME);
+
+        // Assert
+        assertEquals(List.of("emp-a"), working.stream().map(PresenceResponse::employeeId).toList());
+        assertEquals(List.of("emp-b"), atHome.stream().map(PresenceResponse::employeeId).toList());
+        assertTrue(workingAtHome.isEmpty());
+    }
+
+    @Test
+    void dayChanged_refreshesEntryFromCommittedDayState() {
+        // Arrange
+        hydrateWithAliceWorkingAndBobOnBreak();
+        when(timeRecordService.getDayState("emp-a", TODAY)).thenReturn(EmployeeDayState.replay(List.of(
+                record(alice, 8, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE),
+                record(alice, 16, TimeRecord.RecordType.CLOCK_OUT, TimeRecord.LocationType.OFFICE))));
+
+        // Act: outside a transaction the change counts as committed at once
+        dayStateRegistry.invalidate("emp-a", TODAY);
+
+        // Assert: the name is kept from the index, no employee lookup needed
+        List<PresenceResponse> finished = presenceService.getPresence(DailySummary.DayStatus.FINISHED, null);
+        assertEquals(1, finished.size());
+        assertEquals("Alice", finished.get(0).firstName());
+        verify(employeeRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void dayChanged_firstBookingOfEmployee_looksUpName() {
+        // Arrange
+        when(timeRecordService.getDayState("emp-a", TODAY)).thenReturn(EmployeeDayState.replay(List.of(
+                record(alice, 9, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.BUSINESS_TRIP))));
+        when(employeeRepository.findById("emp-a")).thenReturn(Optional.of(alice));
+
+        // Act
+        dayStateRegistry.invalidate("emp-a", TODAY);
+
+        // Assert
+        List<PresenceResponse> board = presenceService.getPresence(null, TimeRecord.LocationType.BUSINESS_TRIP);
+        assertEquals(1, board.size());
+        assertEquals("Adams", board.get(0).lastName());
+    }
+
+    @Test
+    void dayChanged_allRecordsDeleted_removesEntry() {
+        // Arrange
+        hydrateWithAliceWorkingAndBobOnBreak();
+        when(timeRecordService.getDayState("emp-b", TODAY)).thenReturn(EmployeeDayState.empty());
+
+        // Act
+        dayStateRegistry.invalidate("emp-b", TODAY);
+
+        // Assert
+        assertEquals(List.of("emp-a"),
+                presenceService.getPresence(null, null).stream().map(PresenceResponse::employeeId).toList());
+    }
+
+    @Test
+    void dayChanged_pastDay_isIgnored() {
+        // Act
+        dayStateRegistry.invalidate("emp-a", TODAY.minusDays(1));
+
+        // Assert
+        verify(timeRecordService, never()).getDayState(anyString(), any());
+        assertTrue(presenceService.getPresence(null, null).isEmpty());
+    }
+
+    @Test
+    void dayChangedOnOtherNode_refreshesEntry() {
+        // Arrange
+        hydrateWithAliceWorkingAndBobOnBreak();
+        when(timeRecordService.getDayState("emp-b", TODAY)).thenReturn(EmployeeDayState.replay(List.of(
+                record(bob, 8, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.HOME),
+                record(bob, 10, TimeRecord.RecordType.BREAK_START, TimeRecord.LocationType.HOME),
+                record(bob, 11, TimeRecord.RecordType.BREAK_END, TimeRecord.LocationType.HOME))));
+
+        // Act
+        invalidationBus.deliver("other-node\nDAY|emp-b|" + TODAY);
+
+        // Assert
+        assertEquals(2, presenceService.getPresence(DailySummary.DayStatus.WORKING, null).size());
+    }
+
+    @Test
+    void resync_reloadsIndexFromTimeRecords() {
+        // Arrange: bob's records were deleted while notifications were missed
+        hydrateWithAliceWorkingAndBobOnBreak();
+        when(timeRecordRepository.findByRecordDateWithEmployee(TODAY)).thenReturn(List.of(
+                record(alice, 8, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE)));
+
+        // Act
+        invalidationBus.resync();
+
+        // Assert
+        assertEquals(List.of("emp-a"),
+                presenceService.getPresence(null, null).stream().map(PresenceResponse::employeeId).toList());
+    }
+
+}
@@ -11,6 +11,7 @@ import org.pertitrack.backend.dto.PasswordChangeRequest;
 import org.pertitrack.backend.entity.auth.User;
 import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
 import org.pertitrack.backend.repository.UserRepository;
+import org.pertitrack.backend.security.PrincipalCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import jakarta.validation.ValidationException;
@@ -33,6 +34,9 @@ class SettingsServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     private User testUser;
     private PasswordChangeRequest validPasswordChangeRequest;
     private String testUserId;
@@ -77,6 +81,7 @@ class SettingsServiceTest {
         assertEquals("$2a$10$encodedNewPassword", savedUser.getPassword());
         verify(userRepository, times(1)).findById(testUserId);
         verify(userRepository, times(1)).save(testUser);
+        verify(principalCache).evictUser(testUser.getId());
     }
 
     @Test
@@ -0,0 +1,221 @@
+package org.pertitrack.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.dto.timeTrackingDto.CurrentStatusResponse;
+import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatusStreamServiceTest {
+
+    private static final String EMPLOYEE = "emp-1";
+
+    private static final CurrentStatusResponse CLOCKED_OUT = new CurrentStatusResponse(false, false, "OFFICE", null);
+    private static final CurrentStatusResponse WORKING = new CurrentStatusResponse(true, false, "OFFICE", null);
+    private static final TodaySummaryResponse NOT_STARTED =
+            new TodaySummaryResponse(null, null, "00:00", "00:00", "-08:00", "Not Started", false, false);
+    private static final TodaySummaryResponse ONE_MINUTE =
+            new TodaySummaryResponse("09:00", null, "00:00", "00:01", "-07:59", "Present", true, false);
+    private static final TodaySummaryResponse TWO_MINUTES = ONE_MINUTE.withWorkingTime("00:02");
+
+    @Mock
+    private TimeRecordService timeRecordService;
+
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+    private final EmployeeDayStateRegistry dayStateRegistry = new EmployeeDayStateRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private StatusStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = newService(10);
+        lenient().when(timeRecordService.getCurrentEmployeeId()).thenReturn(EMPLOYEE);
+        lenient().when(timeRecordService.getCurrentStatus(EMPLOYEE)).thenReturn(CLOCKED_OUT);
+        lenient().when(timeRecordService.getTodaySummary(EMPLOYEE)).thenReturn(NOT_STARTED);
+    }
+
+    @AfterEach
+    void tearDown() {
+        streamService.shutdown();
+    }
+
+    private StatusStreamService newService(int maxConnections) {
+        return new StatusStreamService(timeRecordService, dayStateRegistry, invalidationBus, maxConnections, Duration.ofMinutes(30)) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    // Captures the events instead of writing them to a response
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final List<Object> payloads = new CopyOnWriteArrayList<>();
+        private volatile boolean broken;
+
+        RecordingEmitter(long timeoutMillis) {
+            super(timeoutMillis);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (broken) {
+                throw new IOException("Broken pipe");
+            }
+            List<ResponseBodyEmitter.DataWithMediaType> parts = List.copyOf(builder.build());
+            String head = (String) parts.get(0).getData();
+            if (head.startsWith("event:")) {
+                events.add(head.substring("event:".length(), head.indexOf('\n')));
+                payloads.add(parts.get(1).getData());
+            } else {
+                events.add("comment");
+            }
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 5 seconds");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void subscribe_sendsStatusAndSummarySnapshot() throws Exception {
+        // Act
+        streamService.subscribe();
+
+        // Assert
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events.size() == 2);
+        assertEquals(List.of(StatusStreamService.STATUS_EVENT, StatusStreamService.SUMMARY_EVENT), emitter.events);
+        assertEquals(List.of(CLOCKED_OUT, NOT_STARTED), emitter.payloads);
+        assertEquals(1, streamService.connectionCount());
+    }
+
+    @Test
+    void dayChanged_pushesOnlyTheChangedEvents() throws Exception {
+        // Arrange
+        streamService.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events.size() == 2);
+        when(timeRecordService.getCurrentStatus(EMPLOYEE)).thenReturn(WORKING);
+
+        // Act: the booking commits outside a transaction here, so listeners run immediately
+        dayStateRegistry.invalidate(EMPLOYEE, LocalDate.now());
+
+        // Assert: the summary did not change and is not sent again
+        await(() -> emitter.events.size() == 3);
+        assertEquals(StatusStreamService.STATUS_EVENT, emitter.events.get(2));
+        assertEquals(WORKING, emitter.payloads.get(2));
+    }
+
+    @Test
+    void dayChanged_ofOtherEmployee_sendsNothing() throws Exception {
+        // Arrange
+        streamService.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events.size() == 2);
+
+        // Act
+        dayStateRegistry.invalidate("emp-2", LocalDate.now());
+        streamService.tick();
+
+        // Assert: the tick's keep-alive arrives, nothing for the other employee's change
+        await(() -> emitter.events.size() == 3);
+        assertEquals("comment", emitter.events.get(2));
+    }
+
+    @Test
+    void tick_pushesChangedSummaryWithoutRecomputingStatus() throws Exception {
+        // Arrange
+        when(timeRecordService.getTodaySummary(EMPLOYEE)).thenReturn(ONE_MINUTE);
+        streamService.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events.size() == 2);
+        when(timeRecordService.getTodaySummary(EMPLOYEE)).thenReturn(TWO_MINUTES);
+
+        // Act
+        streamService.tick();
+
+        // Assert
+        await(() -> emitter.events.size() == 3);
+        assertEquals(StatusStreamService.SUMMARY_EVENT, emitter.events.get(2));
+        assertEquals(TWO_MINUTES, emitter.payloads.get(2));
+        verify(timeRecordService, times(1)).getCurrentStatus(EMPLOYEE);
+    }
+
+    @Test
+    void subscribe_sameEmployeeTwice_bothStreamsReceiveChanges() throws Exception {
+        // Arrange
+        streamService.subscribe();
+        streamService.subscribe();
+        await(() -> emitters.stream().allMatch(e -> e.events.size() == 2));
+        when(timeRecordService.getCurrentStatus(EMPLOYEE)).thenReturn(WORKING);
+
+        // Act
+        dayStateRegistry.invalidate(EMPLOYEE, LocalDate.now());
+
+        // Assert
+        await(() -> emitters.stream().allMatch(e -> e.events.size() == 3));
+        assertEquals(2, streamService.connectionCount());
+    }
+
+    @Test
+    void send_failsForClosedConnection_dropsSubscriber() throws Exception {
+        // Arrange
+        streamService.subscribe();
+        RecordingEmitter emitter = emitters.get(0);
+        await(() -> emitter.events.size() == 2);
+        emitter.broken = true;
+
+        // Act
+        streamService.tick();
+
+        // Assert
+        await(() -> streamService.connectionCount() == 0);
+    }
+
+    @Test
+    void subscribe_beyondMaxConnections_throws() {
+        // Arrange
+        streamService.shutdown();
+        streamService = newService(1);
+        streamService.subscribe();
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> streamService.subscribe());
+        assertEquals(1, streamService.connectionCount());
+    }
+
+}
@@ -0,0 +1,189 @@
+package org.pertitrack.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeAccountResponse;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.pertitrack.backend.entity.timetrack.TimeAccountMonth;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeAccountMonthRepository;
+import org.pertitrack.backend.repository.TimeAccountRepository;
+import org.pertitrack.backend.service.timetrack.TargetTimeCalendar;
+import org.pertitrack.backend.service.timetrack.TimeAccountLedger;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeAccountServiceTest {
+
+    private static final String EMPLOYEE_ID = "emp-1";
+    private static final long HOUR = 3600;
+
+    @Mock
+    private TimeAccountRepository timeAccountRepository;
+
+    @Mock
+    private TimeAccountMonthRepository timeAccountMonthRepository;
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private TimeAccountLedger timeAccountLedger;
+
+    @Mock
+    private TargetTimeCalendar targetTimeCalendar;
+
+    @Mock
+    private TimeRecordService timeRecordService;
+
+    @InjectMocks
+    private TimeAccountService timeAccountService;
+
+    private TimeAccount account;
+
+    @BeforeEach
+    void setUp() {
+        account = new TimeAccount();
+        account.setTrackingStart(LocalDate.of(2023, 11, 1));
+        account.setTargetPostedThrough(LocalDate.of(2024, 2, 29));
+        account.setOpeningBalanceSeconds(HOUR);
+        account.setBalanceSeconds(7 * HOUR);
+    }
+
+    private static TimeAccountMonth month(LocalDate monthStart, long worked, long target, long balance) {
+        TimeAccountMonth month = new TimeAccountMonth();
+        month.setMonthStart(monthStart);
+        month.setWorkedSeconds(worked);
+        month.setTargetSeconds(target);
+        month.setBalanceSeconds(balance);
+        return month;
+    }
+
+    @Test
+    void getAccount_carriesOverClosingBalanceOfPreviousYear() {
+        // Arrange
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.of(account));
+        when(timeAccountMonthRepository.findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(
+                EMPLOYEE_ID, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 1)))
+                .thenReturn(List.of(
+                        month(LocalDate.of(2024, 1, 1), 170 * HOUR, 168 * HOUR, 6 * HOUR),
+                        month(LocalDate.of(2024, 2, 1), 161 * HOUR, 160 * HOUR, 7 * HOUR)));
+        when(timeAccountMonthRepository.findFirstByEmployee_IdAndMonthStartLessThanOrderByMonthStartDesc(
+                EMPLOYEE_ID, LocalDate.of(2024, 1, 1)))
+                .thenReturn(Optional.of(month(LocalDate.of(2023, 12, 1), 0, 0, 4 * HOUR)));
+
+        // Act
+        TimeAccountResponse response = timeAccountService.getAccount(EMPLOYEE_ID, 2024);
+
+        // Assert
+        assertEquals(4 * HOUR, response.openingBalanceSeconds());
+        assertEquals(331 * HOUR, response.workedSeconds());
+        assertEquals(328 * HOUR, response.targetSeconds());
+        assertEquals(7 * HOUR, response.closingBalanceSeconds());
+        assertEquals(7 * HOUR, response.balanceSeconds());
+        assertEquals(2, response.months().size());
+        assertEquals(6 * HOUR, response.months().get(1).openingBalanceSeconds());
+    }
+
+    @Test
+    void getAccount_withoutEarlierMonths_startsFromOpeningBalance() {
+        // Arrange
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.of(account));
+        when(timeAccountMonthRepository.findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(
+                any(), any(), any())).thenReturn(List.of());
+        when(timeAccountMonthRepository.findFirstByEmployee_IdAndMonthStartLessThanOrderByMonthStartDesc(
+                any(), any())).thenReturn(Optional.empty());
+
+        // Act
+        TimeAccountResponse response = timeAccountService.getAccount(EMPLOYEE_ID, 2023);
+
+        // Assert
+        assertEquals(HOUR, response.openingBalanceSeconds());
+        assertEquals(HOUR, response.closingBalanceSeconds());
+        assertTrue(response.months().isEmpty());
+    }
+
+    @Test
+    void getAccount_withoutAccount_throwsNotFound() {
+        // Arrange
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> timeAccountService.getAccount(EMPLOYEE_ID, 2024));
+    }
+
+    @Test
+    void getMyAccount_resolvesCurrentEmployee() {
+        // Arrange
+        when(timeRecordService.getCurrentEmployeeId()).thenReturn(EMPLOYEE_ID);
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.of(account));
+
+        // Act
+        TimeAccountResponse response = timeAccountService.getMyAccount(2024);
+
+        // Assert
+        assertEquals(EMPLOYEE_ID, response.employeeId());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recalculate_resetsAndPostsWorkedAndTargetTime() {
+        // Arrange
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.of(account));
+        DailySummary summary = new DailySummary();
+        summary.setSummaryDate(LocalDate.of(2024, 2, 5));
+        summary.setWorkingSeconds(9 * HOUR);
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDateGreaterThanEqual(
+                EMPLOYEE_ID, account.getTrackingStart())).thenReturn(List.of(summary));
+        Map<LocalDate, Duration> targets = new LinkedHashMap<>();
+        targets.put(LocalDate.of(2024, 2, 5), Duration.ofHours(8));
+        when(targetTimeCalendar.targets(EMPLOYEE_ID, account.getTrackingStart(), account.getTargetPostedThrough()))
+                .thenReturn(targets);
+
+        // Act
+        timeAccountService.recalculate(EMPLOYEE_ID);
+
+        // Assert
+        verify(timeAccountLedger).reset(EMPLOYEE_ID);
+        verify(targetTimeCalendar).evict(EMPLOYEE_ID);
+        ArgumentCaptor<Collection<TimeAccountLedger.Posting>> postings = ArgumentCaptor.forClass(Collection.class);
+        verify(timeAccountLedger).postAll(postings.capture());
+        assertEquals(List.of(
+                TimeAccountLedger.Posting.worked(EMPLOYEE_ID, LocalDate.of(2024, 2, 5), 9 * HOUR),
+                TimeAccountLedger.Posting.target(EMPLOYEE_ID, LocalDate.of(2024, 2, 5), 8 * HOUR)),
+                List.copyOf(postings.getValue()));
+    }
+
+    @Test
+    void recalculate_withoutAccount_throwsNotFound() {
+        // Arrange
+        when(timeAccountRepository.findByEmployee_Id(EMPLOYEE_ID)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> timeAccountService.recalculate(EMPLOYEE_ID));
+        verify(timeAccountLedger, never()).reset(any());
+    }
+
+}
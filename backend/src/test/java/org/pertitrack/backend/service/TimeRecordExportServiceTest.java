@@ -0,0 +1,118 @@
+package org.pertitrack.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeRecordExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private TimeRecordRepository timeRecordRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TimeRecordExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new TimeRecordExportService(timeRecordRepository, objectMapper);
+    }
+
+    @Test
+    void exportTimeRecords_writesOneJsonObjectPerLine() throws Exception {
+        // Arrange
+        when(timeRecordRepository.streamForExport(START, END))
+                .thenReturn(Stream.of(row("tr-1"), row("tr-2")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportTimeRecords(START, END, null, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("tr-1", first.get("id").asText());
+        assertEquals("emp-1", first.get("employeeId").asText());
+        assertEquals("2024-01-15T09:00:00", first.get("recordTime").asText());
+        assertEquals("tr-2", objectMapper.readTree(lines[1]).get("id").asText());
+    }
+
+    @Test
+    void exportTimeRecords_withEmployee_usesEmployeeQueryAndClosesStream() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<TimeRecordResponse> rows = IntStream.range(0, TimeRecordExportService.FLUSH_INTERVAL + 5)
+                .mapToObj(i -> row("tr-" + i))
+                .onClose(() -> closed.set(true));
+        when(timeRecordRepository.streamForExportByEmployeeId("emp-1", START, END)).thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportTimeRecords(START, END, "emp-1", out);
+
+        // Assert
+        assertEquals(TimeRecordExportService.FLUSH_INTERVAL + 5, count);
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void exportTimeRecords_reportsProgressAtEveryFlush() throws Exception {
+        // Arrange
+        Stream<TimeRecordResponse> rows = IntStream.range(0, 2 * TimeRecordExportService.FLUSH_INTERVAL + 1)
+                .mapToObj(i -> row("tr-" + i));
+        when(timeRecordRepository.streamForExport(START, END)).thenReturn(rows);
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        exportService.exportTimeRecords(START, END, null, new ByteArrayOutputStream(), progress::add);
+
+        // Assert
+        assertEquals(List.of((long) TimeRecordExportService.FLUSH_INTERVAL,
+                2L * TimeRecordExportService.FLUSH_INTERVAL,
+                2L * TimeRecordExportService.FLUSH_INTERVAL + 1), progress);
+    }
+
+    @Test
+    void exportTimeRecords_withReversedRange_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.exportTimeRecords(END, START, null, new ByteArrayOutputStream()));
+        verifyNoInteractions(timeRecordRepository);
+    }
+
+    private TimeRecordResponse row(String id) {
+        LocalDateTime time = LocalDateTime.of(2024, 1, 15, 9, 0);
+        return new TimeRecordResponse(id, "emp-1", "John", "Doe", time.toLocalDate(), time,
+                TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE, null, false, false, time, time);
+    }
+
+}
@@ -0,0 +1,247 @@
+package org.pertitrack.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.ClusterNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.dto.timeTrackingDto.TimeRecordImportResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.pertitrack.backend.exceptions.EntityNotFoundException;
+import org.pertitrack.backend.repository.TimeRecordImportRejectionRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRepository;
+import org.pertitrack.backend.service.timetrack.TimeRecordImportProcessor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeRecordImportServiceTest {
+
+    private static final String IMPORT_ID = "import-1";
+    private static final String UPLOAD_ID = "upload-1";
+
+    @Mock
+    private TimeRecordImportRepository importRepository;
+
+    @Mock
+    private TimeRecordImportRejectionRepository rejectionRepository;
+
+    @Mock
+    private TimeRecordImportProcessor importProcessor;
+
+    @Mock
+    private SharedFileStore fileStore;
+
+    private final ClusterNode clusterNode = new ClusterNode();
+
+    private TimeRecordImportService importService;
+    private TimeRecordImport timeRecordImport;
+
+    @BeforeEach
+    void setUp() {
+        importService = new TimeRecordImportService(importRepository, rejectionRepository, importProcessor,
+                fileStore, clusterNode, Duration.ofMinutes(1), 2, 1);
+        timeRecordImport = new TimeRecordImport();
+        ReflectionTestUtils.setField(timeRecordImport, "id", IMPORT_ID);
+        timeRecordImport.setFileName("terminal.csv");
+        timeRecordImport.setUploadId(UPLOAD_ID);
+        timeRecordImport.setOwnerNode(clusterNode.id());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void startImport_storesUploadInSharedStoreAndOwnsImport() {
+        // Arrange
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        when(fileStore.create(any())).thenReturn(stored);
+        when(importRepository.save(any(TimeRecordImport.class))).thenAnswer(invocation -> {
+            TimeRecordImport saved = invocation.getArgument(0);
+            ReflectionTestUtils.setField(saved, "id", IMPORT_ID);
+            return saved;
+        });
+        when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.empty());
+
+        // Act
+        TimeRecordImportResponse response = importService.startImport("terminal.csv",
+                new ByteArrayInputStream("line 1\n".getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(IMPORT_ID, response.id());
+        assertEquals("line 1\n", stored.toString(StandardCharsets.UTF_8));
+        verify(importRepository).save(argThat(saved -> clusterNode.id().equals(saved.getOwnerNode())
+                && saved.getLeaseExpiresAt().isAfter(LocalDateTime.now())
+                && saved.getUploadId() != null));
+    }
+
+    @Nested
+    class RunTests {
+
+        @Test
+        void run_resumesAfterCheckpointInChunks() {
+            // Arrange
+            upload("header", "line 2", "line 3", "line 4", "line 5", "line 6");
+            timeRecordImport.setProcessedLines(2);
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+
+            // Act
+            importService.run(IMPORT_ID);
+
+            // Assert
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<TimeRecordImportProcessor.Line>> chunks = ArgumentCaptor.forClass(List.class);
+            verify(importProcessor, times(2)).processChunk(eq(IMPORT_ID), eq(clusterNode.id()), chunks.capture());
+            assertEquals(List.of(List.of(3L, 4L), List.of(5L, 6L)), chunks.getAllValues().stream()
+                    .map(chunk -> chunk.stream().map(TimeRecordImportProcessor.Line::number).toList())
+                    .toList());
+            assertEquals(TimeRecordImport.Status.COMPLETED, timeRecordImport.getStatus());
+            assertNotNull(timeRecordImport.getStartedAt());
+            assertNotNull(timeRecordImport.getFinishedAt());
+            assertNull(timeRecordImport.getLeaseExpiresAt());
+            verify(fileStore).delete(UPLOAD_ID);
+        }
+
+        @Test
+        void run_whenChunkFails_marksImportFailedAndKeepsUpload() {
+            // Arrange
+            upload("line 1", "line 2", "line 3");
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+            when(importProcessor.processChunk(eq(IMPORT_ID), eq(clusterNode.id()), anyList()))
+                    .thenThrow(new IllegalStateException("database unavailable"));
+
+            // Act
+            importService.run(IMPORT_ID);
+
+            // Assert
+            assertEquals(TimeRecordImport.Status.FAILED, timeRecordImport.getStatus());
+            assertEquals("database unavailable", timeRecordImport.getErrorMessage());
+            verify(fileStore, never()).delete(any());
+        }
+
+        @Test
+        void run_whenTakenOverByAnotherNode_stopsAndLeavesImportToNewOwner() {
+            // Arrange
+            upload("line 1", "line 2", "line 3");
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+            when(importProcessor.processChunk(eq(IMPORT_ID), eq(clusterNode.id()), anyList()))
+                    .thenThrow(new CancellationException("taken over"));
+
+            // Act
+            importService.run(IMPORT_ID);
+
+            // Assert
+            assertEquals(TimeRecordImport.Status.RUNNING, timeRecordImport.getStatus());
+            assertNull(timeRecordImport.getFinishedAt());
+            verify(fileStore, never()).delete(any());
+        }
+
+        @Test
+        void run_whenOwnedByAnotherNode_doesNothing() {
+            // Arrange
+            timeRecordImport.setOwnerNode("other-node");
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+
+            // Act
+            importService.run(IMPORT_ID);
+
+            // Assert
+            verify(importRepository, never()).save(any());
+            verify(fileStore, never()).open(any());
+        }
+    }
+
+    @Nested
+    class LeaseTests {
+
+        @Test
+        void renewLeases_extendsLeasesOfThisNodesUnfinishedImports() {
+            // Act
+            importService.renewLeases();
+
+            // Assert
+            verify(importRepository).renewLeases(eq(clusterNode.id()),
+                    eq(EnumSet.of(TimeRecordImport.Status.QUEUED, TimeRecordImport.Status.RUNNING)),
+                    argThat(until -> until.isAfter(LocalDateTime.now())));
+        }
+
+        @Test
+        void reclaimExpiredImports_resumesOnlyImportsThisNodeTookOver() {
+            // Arrange: another node was faster for import-2
+            when(importRepository.findIdsWithExpiredLease(any(), any())).thenReturn(List.of(IMPORT_ID, "import-2"));
+            when(importRepository.reclaim(eq(IMPORT_ID), any(), any(), eq(TimeRecordImport.Status.QUEUED),
+                    eq(clusterNode.id()), any())).thenReturn(1);
+            when(importRepository.reclaim(eq("import-2"), any(), any(), eq(TimeRecordImport.Status.QUEUED),
+                    eq(clusterNode.id()), any())).thenReturn(0);
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+            when(fileStore.open(UPLOAD_ID)).thenReturn(new ByteArrayInputStream(new byte[0]));
+
+            // Act
+            importService.reclaimExpiredImports();
+
+            // Assert
+            verify(fileStore, timeout(1000)).delete(UPLOAD_ID);
+            verify(importRepository, never()).findById("import-2");
+        }
+    }
+
+    @Nested
+    class ResumeImportTests {
+
+        @Test
+        void resumeImport_whenNotFailed_throwsIllegalStateException() {
+            // Arrange
+            timeRecordImport.setStatus(TimeRecordImport.Status.RUNNING);
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.of(timeRecordImport));
+
+            // Act & Assert
+            assertThrows(IllegalStateException.class, () -> importService.resumeImport(IMPORT_ID));
+            verify(importRepository, never()).save(any());
+        }
+
+        @Test
+        void resumeImport_whenNotFound_throwsEntityNotFoundException() {
+            // Arrange
+            when(importRepository.findById(IMPORT_ID)).thenReturn(Optional.empty());
+
+            // Act & Assert
+            assertThrows(EntityNotFoundException.class, () -> importService.resumeImport(IMPORT_ID));
+        }
+    }
+
+    private void upload(String... lines) {
+        byte[] content = (String.join("\n", lines) + "\n").getBytes(StandardCharsets.UTF_8);
+        when(fileStore.open(UPLOAD_ID)).thenReturn(new ByteArrayInputStream(content));
+    }
+
+}
@@ -0,0 +1,124 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.exceptions.EmployeeNotFoundException;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.JobRepository;
+import org.pertitrack.backend.service.timetrack.DailySummaryRollup;
+import org.pertitrack.backend.service.timetrack.EmployeeBookingLock;
+import org.pertitrack.backend.service.timetrack.EmployeeDayStateRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailySummaryRebuildJobTest {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private DailySummaryRollup dailySummaryRollup;
+
+    @Mock
+    private EmployeeDayStateRegistry dayStateRegistry;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EmployeeBookingLock bookingLock;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private DailySummaryRebuildJob rebuildJob;
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        rebuildJob = new DailySummaryRebuildJob(employeeRepository, dailySummaryRollup, dayStateRegistry,
+                transactionTemplate, bookingLock);
+        employee = new Employee();
+        ReflectionTestUtils.setField(employee, "id", "emp-1");
+    }
+
+    @Test
+    void run_rebuildsEveryDayOfEveryEmployee() throws Exception {
+        // Arrange
+        Employee other = new Employee();
+        ReflectionTestUtils.setField(other, "id", "emp-2");
+        when(employeeRepository.findAll()).thenReturn(List.of(employee, other));
+        runTransactionsInline();
+        JobContext context = context("{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-03\"}");
+
+        // Act
+        rebuildJob.run(context);
+
+        // Assert
+        verify(dailySummaryRollup, times(6)).rebuild(any(), any());
+        verify(dailySummaryRollup).rebuild(other, LocalDate.of(2024, 1, 3));
+        verify(dayStateRegistry).invalidate("emp-1", LocalDate.of(2024, 1, 2));
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        assertEquals(6, context.progressCurrent());
+        assertEquals(6L, context.progressTotal());
+    }
+
+    @Test
+    void run_withUnknownEmployee_throwsEmployeeNotFoundException() throws Exception {
+        // Arrange
+        when(employeeRepository.findById("emp-9")).thenReturn(Optional.empty());
+        JobContext context = context("{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-01\",\"employeeId\":\"emp-9\"}");
+
+        // Act & Assert
+        assertThrows(EmployeeNotFoundException.class, () -> rebuildJob.run(context));
+        verify(dailySummaryRollup, never()).rebuild(any(), any());
+    }
+
+    @Test
+    void run_whenCancelled_stopsBeforeNextEmployee() throws Exception {
+        // Arrange
+        when(employeeRepository.findById("emp-1")).thenReturn(Optional.of(employee));
+        JobContext context = context("{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-01\",\"employeeId\":\"emp-1\"}");
+        context.cancel();
+
+        // Act & Assert
+        assertThrows(CancellationException.class, () -> rebuildJob.run(context));
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    private JobContext context(String parameters) throws Exception {
+        return new JobContext("job-1", objectMapper.readTree(parameters), "node-1", jobRepository, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runTransactionsInline() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+}
@@ -0,0 +1,44 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DateRangeParametersTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void from_readsRangeAndOptionalEmployee() throws Exception {
+        // Act
+        DateRangeParameters withEmployee = DateRangeParameters.from(objectMapper.readTree(
+                "{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-31\",\"employeeId\":\"emp-1\"}"));
+        DateRangeParameters allEmployees = DateRangeParameters.from(objectMapper.readTree(
+                "{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-01\"}"));
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 1, 1), withEmployee.startDate());
+        assertEquals(LocalDate.of(2024, 1, 31), withEmployee.endDate());
+        assertEquals("emp-1", withEmployee.employeeId());
+        assertEquals(31, withEmployee.days());
+        assertNull(allEmployees.employeeId());
+        assertEquals(1, allEmployees.days());
+    }
+
+    @Test
+    void from_withInvalidParameters_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> DateRangeParameters.from(null));
+        assertThrows(IllegalArgumentException.class, () -> DateRangeParameters.from(objectMapper.readTree(
+                "{\"endDate\":\"2024-01-31\"}")));
+        assertThrows(IllegalArgumentException.class, () -> DateRangeParameters.from(objectMapper.readTree(
+                "{\"startDate\":\"01.01.2024\",\"endDate\":\"2024-01-31\"}")));
+        assertThrows(IllegalArgumentException.class, () -> DateRangeParameters.from(objectMapper.readTree(
+                "{\"startDate\":\"2024-02-01\",\"endDate\":\"2024-01-31\"}")));
+    }
+
+}
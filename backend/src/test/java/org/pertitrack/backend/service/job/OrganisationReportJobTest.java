@@ -0,0 +1,105 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.repository.JobRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.service.report.OrganisationReport;
+import org.pertitrack.backend.service.report.OrganisationReportService;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrganisationReportJobTest {
+
+    private static final LocalDate START = LocalDate.of(2024, 1, 1);
+    private static final LocalDate END = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private OrganisationReportService organisationReportService;
+
+    @Mock
+    private TimeRecordRepository timeRecordRepository;
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private SharedFileStore fileStore;
+
+    private final ByteArrayOutputStream result = new ByteArrayOutputStream();
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+
+    private OrganisationReportJob reportJob;
+
+    @BeforeEach
+    void setUp() {
+        reportJob = new OrganisationReportJob(organisationReportService, timeRecordRepository, objectMapper);
+    }
+
+    @Test
+    void run_writesReportAsJson() throws Exception {
+        // Arrange
+        when(timeRecordRepository.countByRecordDateBetween(START, END)).thenReturn(12L);
+        when(organisationReportService.build(eq(START), eq(END), isNull(), any())).thenAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(3).accept(12);
+            return new OrganisationReport(START, END, 12, List.of(), List.of());
+        });
+        when(fileStore.create("job-1")).thenReturn(result);
+        JobContext context = context();
+
+        // Act
+        reportJob.run(context);
+
+        // Assert
+        assertEquals("organisation-report-2024-01-01-2024-01-31.json", context.resultFileName());
+        assertEquals("application/json", context.resultContentType());
+        assertEquals(12, context.progressCurrent());
+        assertEquals(12L, context.progressTotal());
+        assertEquals(result.size(), context.resultSize());
+        JsonNode written = objectMapper.readTree(result.toByteArray());
+        assertEquals("2024-01-01", written.get("startDate").asText());
+        assertEquals(12, written.get("recordCount").asLong());
+    }
+
+    @Test
+    void run_whenCancelled_stopsAggregation() throws Exception {
+        // Arrange
+        when(organisationReportService.build(eq(START), eq(END), isNull(), any())).thenAnswer(invocation -> {
+            invocation.<LongConsumer>getArgument(3).accept(10_000);
+            return new OrganisationReport(START, END, 0, List.of(), List.of());
+        });
+        JobContext context = context();
+        context.cancel();
+
+        // Act & Assert
+        assertThrows(CancellationException.class, () -> reportJob.run(context));
+    }
+
+    private JobContext context() throws Exception {
+        return new JobContext("job-1", objectMapper.readTree("{\"startDate\":\"2024-01-01\",\"endDate\":\"2024-01-31\"}"),
+                "node-1", jobRepository, fileStore);
+    }
+
+}
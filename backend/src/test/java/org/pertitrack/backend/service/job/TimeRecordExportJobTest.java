@@ -0,0 +1,132 @@
+package org.pertitrack.backend.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.ClusterNode;
+import org.pertitrack.backend.cluster.SharedFileStore;
+import org.pertitrack.backend.dto.JobRequest;
+import org.pertitrack.backend.dto.JobResponse;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.EmployeeRepository;
+import org.pertitrack.backend.repository.FileChunkRepository;
+import org.pertitrack.backend.repository.JobRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.pertitrack.backend.security.CurrentEmployeeResolver;
+import org.pertitrack.backend.service.JobService;
+import org.pertitrack.backend.service.TimeRecordExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Without a test transaction: the job runs on its own thread and must see committed rows
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import({JobService.class, TimeRecordExportJob.class, TimeRecordExportService.class, SharedFileStore.class,
+        ClusterNode.class, JacksonAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TimeRecordExportJobTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    private static final int RECORDS = 2000;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private FileChunkRepository fileChunkRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private CurrentEmployeeResolver currentEmployeeResolver;
+
+    @AfterEach
+    void tearDown() {
+        fileChunkRepository.deleteAll();
+        jobRepository.deleteAll();
+        timeRecordRepository.deleteAll();
+        employeeRepository.deleteAll();
+    }
+
+    @Test
+    void export_resultSpanningSeveralChunks_isReadableFromSharedStore() throws Exception {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setEmployeeNumber("EMP-EXPORT");
+        employee.setFirstName("Export");
+        employee.setLastName("Job");
+        employee = employeeRepository.save(employee);
+
+        List<TimeRecord> records = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            TimeRecord timeRecord = new TimeRecord();
+            timeRecord.setEmployee(employee);
+            timeRecord.setRecordDate(DAY);
+            timeRecord.setRecordTime(DAY.atStartOfDay().plusSeconds(i));
+            timeRecord.setRecordType(TimeRecord.RecordType.CLOCK_IN);
+            records.add(timeRecord);
+        }
+        timeRecordRepository.saveAll(records);
+
+        ObjectNode parameters = objectMapper.createObjectNode()
+                .put("startDate", DAY.toString())
+                .put("endDate", DAY.toString());
+
+        // Act
+        JobResponse submitted = jobService.submit(new JobRequest(Job.Type.TIME_RECORD_EXPORT, parameters));
+        JobResponse finished = awaitFinished(submitted.id());
+
+        // Assert
+        assertEquals(Job.Status.SUCCEEDED, finished.status());
+        JobService.Result result = jobService.getResult(submitted.id());
+        byte[] content;
+        try (InputStream in = result.content()) {
+            content = in.readAllBytes();
+        }
+        assertTrue(content.length > 256 * 1024, "result size: " + content.length);
+        assertEquals(result.size(), content.length);
+        assertEquals(RECORDS, new String(content, StandardCharsets.UTF_8).lines().count());
+    }
+
+    private JobResponse awaitFinished(String jobId) throws InterruptedException, IOException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            JobResponse job = jobService.getJob(jobId);
+            if (job.status().isFinished()) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new IOException("Job " + jobId + " did not finish in time");
+    }
+
+}
@@ -0,0 +1,168 @@
+package org.pertitrack.backend.service.report;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.job.Job;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import(OrganisationReportService.class)
+class OrganisationReportServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final long HOUR = 3600;
+
+    @Autowired
+    private OrganisationReportService organisationReportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = employee("EMP001", "Alice");
+        bob = employee("EMP002", "Bob");
+
+        record(alice, MONDAY, 8, 0, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        record(alice, MONDAY, 12, 0, TimeRecord.RecordType.BREAK_START, TimeRecord.LocationType.OFFICE);
+        record(alice, MONDAY, 12, 30, TimeRecord.RecordType.BREAK_END, TimeRecord.LocationType.HOME);
+        record(alice, MONDAY, 17, 0, TimeRecord.RecordType.CLOCK_OUT, TimeRecord.LocationType.HOME);
+        // seven hours without a break
+        record(bob, TUESDAY, 9, 0, TimeRecord.RecordType.CLOCK_IN, null);
+        record(bob, TUESDAY, 16, 0, TimeRecord.RecordType.CLOCK_OUT, null);
+        // outside the report range
+        record(bob, TUESDAY.plusDays(1), 9, 0, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        entityManager.flush();
+    }
+
+    private Employee employee(String number, String firstName) {
+        Employee created = new Employee();
+        created.setEmployeeNumber(number);
+        created.setFirstName(firstName);
+        created.setLastName("Last " + number);
+        return entityManager.persist(created);
+    }
+
+    private void record(Employee employee, LocalDate date, int hour, int minute,
+                        TimeRecord.RecordType type, TimeRecord.LocationType location) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(employee);
+        timeRecord.setRecordDate(date);
+        timeRecord.setRecordTime(date.atTime(hour, minute));
+        timeRecord.setRecordType(type);
+        timeRecord.setLocationType(location);
+        entityManager.persist(timeRecord);
+    }
+
+    private static OrganisationReport.EmployeeTotals totals(OrganisationReport report, Employee employee) {
+        return report.employees().stream()
+                .filter(totals -> totals.employeeId().equals(employee.getId()))
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    void build_aggregatesAllEmployeesInRange() {
+        // Arrange
+        List<Long> progress = new ArrayList<>();
+
+        // Act
+        OrganisationReport report = organisationReportService.build(MONDAY, TUESDAY, null, progress::add);
+
+        // Assert
+        assertEquals(6, report.recordCount());
+        assertEquals(List.of(6L), progress);
+        assertEquals(2, report.employees().size());
+
+        OrganisationReport.EmployeeTotals aliceTotals = totals(report, alice);
+        assertEquals("EMP001", aliceTotals.employeeNumber());
+        assertEquals("Alice", aliceTotals.firstName());
+        assertEquals(8 * HOUR + HOUR / 2, aliceTotals.workedSeconds());
+        assertEquals(HOUR / 2, aliceTotals.breakSeconds());
+        assertEquals(4 * HOUR, aliceTotals.workedSecondsByLocation().get(TimeRecord.LocationType.OFFICE));
+        assertEquals(0, aliceTotals.breakViolations());
+
+        OrganisationReport.EmployeeTotals bobTotals = totals(report, bob);
+        assertEquals(7 * HOUR, bobTotals.workedSeconds());
+        assertEquals(1, bobTotals.breakViolations());
+        // records without a location count as office time
+        assertEquals(7 * HOUR, bobTotals.workedSecondsByLocation().get(TimeRecord.LocationType.OFFICE));
+
+        assertEquals(1, report.days().get(0).employeesPresent());
+        assertEquals(7 * HOUR, report.days().get(1).workedSeconds());
+        assertEquals(1, report.days().get(1).breakViolations());
+    }
+
+    @Test
+    void build_jobProgressReportedFromCallback_isCommittedWhileReportRuns() {
+        // Arrange: a committed job row, as OrganisationReportJob reports progress into one
+        TransactionTemplate separate = new TransactionTemplate(transactionManager);
+        separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Job job = new Job();
+        job.setType(Job.Type.ORGANISATION_REPORT);
+        job.setOwnerNode("node-1");
+        String jobId = separate.execute(status -> jobRepository.save(job).getId());
+        List<Long> committed = new ArrayList<>();
+
+        try {
+            // Act
+            organisationReportService.build(MONDAY, TUESDAY, null, read -> {
+                jobRepository.updateProgress(jobId, "node-1", read, read);
+                committed.add(separate.execute(status ->
+                        jobRepository.findById(jobId).orElseThrow().getProgressCurrent()));
+            });
+
+            // Assert
+            assertEquals(List.of(6L), committed);
+        } finally {
+            separate.executeWithoutResult(status -> jobRepository.deleteById(jobId));
+        }
+    }
+
+    @Test
+    void build_forOneEmployee_readsOnlyTheirRecords() {
+        // Act
+        OrganisationReport report = organisationReportService.build(MONDAY, TUESDAY, alice.getId(), read -> {
+        });
+
+        // Assert
+        assertEquals(4, report.recordCount());
+        assertEquals(List.of(alice.getId()),
+                report.employees().stream().map(OrganisationReport.EmployeeTotals::employeeId).toList());
+    }
+
+    @Test
+    void build_withInvalidRange_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> organisationReportService.build(TUESDAY, MONDAY, null, read -> {
+                }));
+    }
+
+}
@@ -0,0 +1,179 @@
+package org.pertitrack.backend.service.report;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.service.timetrack.EmployeeDayState;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReportAccumulatorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate TUESDAY = MONDAY.plusDays(1);
+    private static final long HOUR = 3600;
+
+    private static long epoch(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static void add(EmployeeRecords records, LocalDate date, int hour, int minute,
+                            TimeRecord.RecordType type, TimeRecord.LocationType location) {
+        records.add(epoch(date.atTime(hour, minute)), EmployeeRecords.typeCode(type),
+                EmployeeRecords.locationCode(location));
+    }
+
+    // 08:00-12:00 at the office, 30 min break, 12:30-17:00 at home
+    private static EmployeeRecords regularDay(String employeeId, LocalDate date) {
+        EmployeeRecords records = new EmployeeRecords(employeeId);
+        add(records, date, 8, 0, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        add(records, date, 12, 0, TimeRecord.RecordType.BREAK_START, TimeRecord.LocationType.OFFICE);
+        add(records, date, 12, 30, TimeRecord.RecordType.BREAK_END, TimeRecord.LocationType.HOME);
+        add(records, date, 17, 0, TimeRecord.RecordType.CLOCK_OUT, TimeRecord.LocationType.HOME);
+        return records;
+    }
+
+    @Test
+    void add_sumsWorkAndBreakPerEmployeeAndDay() {
+        // Arrange
+        ReportAccumulator accumulator = new ReportAccumulator(MONDAY, TUESDAY);
+        EmployeeRecords records = regularDay("emp-1", MONDAY);
+        add(records, TUESDAY, 9, 0, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        add(records, TUESDAY, 13, 0, TimeRecord.RecordType.CLOCK_OUT, TimeRecord.LocationType.OFFICE);
+
+        // Act
+        accumulator.add(records);
+        OrganisationReport report = accumulator.toReport();
+
+        // Assert
+        assertEquals(6, report.recordCount());
+        OrganisationReport.EmployeeTotals employee = report.employees().getFirst();
+        assertEquals(2, employee.daysPresent());
+        assertEquals(12 * HOUR + HOUR / 2, employee.workedSeconds());
+        assertEquals(HOUR / 2, employee.breakSeconds());
+        assertEquals(0, employee.breakViolations());
+        assertEquals(8 * HOUR, employee.workedSecondsByLocation().get(TimeRecord.LocationType.OFFICE));
+        assertEquals(4 * HOUR + HOUR / 2, employee.workedSecondsByLocation().get(TimeRecord.LocationType.HOME));
+
+        OrganisationReport.DayTotals tuesday = report.days().get(1);
+        assertEquals(TUESDAY, tuesday.date());
+        assertEquals(1, tuesday.employeesPresent());
+        assertEquals(4 * HOUR, tuesday.workedSeconds());
+    }
+
+    @Test
+    void add_matchesEmployeeDayStateReplay() {
+        // Arrange
+        List<TimeRecord> entities = new ArrayList<>();
+        int[][] bookings = {{7, 45, 0}, {11, 50, 2}, {12, 20, 3}, {14, 5, 2}, {14, 20, 3}, {16, 40, 1},
+                {18, 0, 0}, {19, 15, 1}};
+        TimeRecord.RecordType[] types = {TimeRecord.RecordType.CLOCK_IN, TimeRecord.RecordType.CLOCK_OUT,
+                TimeRecord.RecordType.BREAK_START, TimeRecord.RecordType.BREAK_END};
+        EmployeeRecords records = new EmployeeRecords("emp-1", 1);
+        for (int[] booking : bookings) {
+            TimeRecord record = new TimeRecord();
+            record.setRecordDate(MONDAY);
+            record.setRecordTime(MONDAY.atTime(booking[0], booking[1]));
+            record.setRecordType(types[booking[2]]);
+            entities.add(record);
+            add(records, MONDAY, booking[0], booking[1], types[booking[2]], TimeRecord.LocationType.OFFICE);
+        }
+        EmployeeDayState state = EmployeeDayState.replay(entities);
+        ReportAccumulator accumulator = new ReportAccumulator(MONDAY, MONDAY);
+
+        // Act
+        accumulator.add(records);
+
+        // Assert
+        OrganisationReport.EmployeeTotals employee = accumulator.toReport().employees().getFirst();
+        assertEquals(state.closedWorkingTime().toSeconds(), employee.workedSeconds());
+        assertEquals(state.closedBreakTime().toSeconds(), employee.breakSeconds());
+    }
+
+    @Test
+    void add_countsBreakViolations() {
+        // Arrange
+        ReportAccumulator accumulator = new ReportAccumulator(MONDAY, MONDAY);
+        EmployeeRecords records = new EmployeeRecords("emp-1");
+        add(records, MONDAY, 8, 0, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        add(records, MONDAY, 12, 0, TimeRecord.RecordType.BREAK_START, TimeRecord.LocationType.OFFICE);
+        add(records, MONDAY, 12, 15, TimeRecord.RecordType.BREAK_END, TimeRecord.LocationType.OFFICE);
+        add(records, MONDAY, 15, 0, TimeRecord.RecordType.CLOCK_OUT, TimeRecord.LocationType.OFFICE);
+
+        // Act
+        accumulator.add(records);
+
+        // Assert
+        OrganisationReport report = accumulator.toReport();
+        assertEquals(1, report.employees().getFirst().breakViolations());
+        assertEquals(1, report.days().getFirst().breakViolations());
+    }
+
+    @Test
+    void violatesBreakRule_appliesSixAndNineHourThresholds() {
+        assertFalse(ReportAccumulator.violatesBreakRule(6 * HOUR, 0));
+        assertTrue(ReportAccumulator.violatesBreakRule(6 * HOUR + 1, 29 * 60));
+        assertFalse(ReportAccumulator.violatesBreakRule(9 * HOUR, 30 * 60));
+        assertTrue(ReportAccumulator.violatesBreakRule(9 * HOUR + 1, 30 * 60));
+        assertFalse(ReportAccumulator.violatesBreakRule(10 * HOUR, 45 * 60));
+    }
+
+    @Test
+    void add_ignoresDaysOutsideRange() {
+        // Arrange
+        ReportAccumulator accumulator = new ReportAccumulator(TUESDAY, TUESDAY);
+
+        // Act
+        accumulator.add(regularDay("emp-1", MONDAY));
+
+        // Assert
+        OrganisationReport report = accumulator.toReport();
+        assertEquals(0, report.employees().getFirst().daysPresent());
+        assertEquals(0, report.days().getFirst().workedSeconds());
+    }
+
+    @Test
+    void combine_addsDayTotalsAndKeepsEmployeeOrder() {
+        // Arrange
+        ReportAccumulator first = new ReportAccumulator(MONDAY, MONDAY);
+        first.add(regularDay("emp-1", MONDAY));
+        ReportAccumulator second = new ReportAccumulator(MONDAY, MONDAY);
+        second.add(regularDay("emp-2", MONDAY));
+
+        // Act
+        OrganisationReport report = first.combine(second).toReport();
+
+        // Assert
+        assertEquals(List.of("emp-1", "emp-2"),
+                report.employees().stream().map(OrganisationReport.EmployeeTotals::employeeId).toList());
+        assertEquals(2, report.days().getFirst().employeesPresent());
+        assertEquals(17 * HOUR, report.days().getFirst().workedSeconds());
+    }
+
+    @Test
+    void parallelAggregator_matchesSequentialResult() {
+        // Arrange
+        ReportAccumulator sequential = new ReportAccumulator(MONDAY, TUESDAY);
+        ParallelReportAggregator parallel = new ParallelReportAggregator(ForkJoinPool.commonPool(),
+                MONDAY, TUESDAY, 8, 2);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            EmployeeRecords records = regularDay("emp-" + i, i % 2 == 0 ? MONDAY : TUESDAY);
+            sequential.add(records);
+            parallel.add(records);
+        }
+
+        // Assert
+        assertEquals(sequential.toReport(), parallel.finish());
+    }
+
+}
@@ -0,0 +1,211 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.exceptions.BookingConflictException;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailySummaryRollupTest {
+
+    private static final String EMPLOYEE_ID = "emp-1";
+    private static final LocalDate DAY = LocalDate.of(2024, 10, 1);
+
+    @Mock
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Mock
+    private TimeRecordRepository timeRecordRepository;
+
+    @Mock
+    private TimeAccountLedger timeAccountLedger;
+
+    @InjectMocks
+    private DailySummaryRollup dailySummaryRollup;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        ReflectionTestUtils.setField(employee, "id", EMPLOYEE_ID);
+    }
+
+    private TimeRecord record(TimeRecord.RecordType type, int hour) {
+        TimeRecord record = new TimeRecord();
+        record.setEmployee(employee);
+        record.setRecordDate(DAY);
+        record.setRecordType(type);
+        record.setRecordTime(DAY.atTime(hour, 0));
+        record.setLocationType(TimeRecord.LocationType.HOME);
+        return record;
+    }
+
+    @Test
+    void store_createsRowForFirstBookingOfDay() {
+        // Arrange
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.empty());
+        when(dailySummaryRepository.save(any(DailySummary.class))).thenAnswer(inv -> inv.getArgument(0));
+        EmployeeDayState state = EmployeeDayState.empty().apply(record(TimeRecord.RecordType.CLOCK_IN, 9));
+
+        // Act
+        DailySummary summary = dailySummaryRollup.store(employee, DAY, state);
+
+        // Assert
+        assertSame(employee, summary.getEmployee());
+        assertEquals(DAY, summary.getSummaryDate());
+        assertEquals(DailySummary.DayStatus.WORKING, summary.getStatus());
+        assertEquals(DailySummary.SessionType.WORK, summary.getSessionType());
+        assertEquals(LocalTime.of(9, 0), summary.getArrivalTime());
+        assertEquals(TimeRecord.LocationType.HOME, summary.getLastLocationType());
+        assertEquals(1, summary.getRecordCount());
+    }
+
+    @Test
+    void store_updatesExistingRowAndRoundTripsState() {
+        // Arrange
+        DailySummary existing = new DailySummary();
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+        when(dailySummaryRepository.save(existing)).thenReturn(existing);
+        EmployeeDayState state = EmployeeDayState.replay(List.of(
+                record(TimeRecord.RecordType.CLOCK_IN, 9),
+                record(TimeRecord.RecordType.BREAK_START, 12),
+                record(TimeRecord.RecordType.BREAK_END, 13),
+                record(TimeRecord.RecordType.CLOCK_OUT, 17)));
+
+        // Act
+        dailySummaryRollup.store(employee, DAY, state);
+
+        // Assert
+        assertEquals(DailySummary.DayStatus.FINISHED, existing.getStatus());
+        assertEquals(7 * 3600, existing.getWorkingSeconds());
+        assertEquals(3600, existing.getBreakSeconds());
+        assertEquals(state, EmployeeDayState.fromSummary(existing));
+        verify(timeAccountLedger).post(TimeAccountLedger.Posting.worked(EMPLOYEE_ID, DAY, 7 * 3600));
+    }
+
+    @Test
+    void store_unchangedWorkingTime_postsNothing() {
+        // Arrange
+        DailySummary existing = new DailySummary();
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+        when(dailySummaryRepository.save(existing)).thenReturn(existing);
+
+        // Act: a running session is not counted until it is closed
+        dailySummaryRollup.store(employee, DAY, EmployeeDayState.empty().apply(record(TimeRecord.RecordType.CLOCK_IN, 9)));
+
+        // Assert
+        verify(timeAccountLedger, never()).post(any());
+    }
+
+    @Test
+    void append_updatesRowThatStillDescribesPreviousState() {
+        // Arrange
+        EmployeeDayState before = EmployeeDayState.empty().apply(record(TimeRecord.RecordType.CLOCK_IN, 9));
+        EmployeeDayState after = before.apply(record(TimeRecord.RecordType.BREAK_START, 12));
+        DailySummary existing = new DailySummary();
+        existing.setRecordCount(1);
+        existing.setLastRecordTime(DAY.atTime(9, 0));
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+        when(dailySummaryRepository.save(existing)).thenReturn(existing);
+
+        // Act
+        dailySummaryRollup.append(employee, DAY, before, after);
+
+        // Assert
+        assertEquals(2, existing.getRecordCount());
+        assertEquals(DailySummary.DayStatus.BREAK, existing.getStatus());
+    }
+
+    @Test
+    void append_rowAdvancedByConcurrentBooking_throwsConflict() {
+        // Arrange: the row already holds a clock in that the caller's state has not seen
+        EmployeeDayState before = EmployeeDayState.empty();
+        EmployeeDayState after = before.apply(record(TimeRecord.RecordType.CLOCK_IN, 9));
+        DailySummary existing = new DailySummary();
+        existing.setRecordCount(1);
+        existing.setLastRecordTime(DAY.atTime(9, 0));
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+
+        // Act & Assert
+        assertThrows(BookingConflictException.class,
+                () -> dailySummaryRollup.append(employee, DAY, before, after));
+        verify(dailySummaryRepository, never()).save(any(DailySummary.class));
+    }
+
+    @Test
+    void rebuild_withoutRecords_deletesRow() {
+        // Arrange
+        DailySummary existing = new DailySummary();
+        when(timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, DAY))
+                .thenReturn(Collections.emptyList());
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+
+        // Act
+        EmployeeDayState state = dailySummaryRollup.rebuild(employee, DAY);
+
+        // Assert
+        assertEquals(0, state.recordCount());
+        verify(dailySummaryRepository).delete(existing);
+        verify(dailySummaryRepository, never()).save(any(DailySummary.class));
+    }
+
+    @Test
+    void rebuild_withoutRecords_reversesWorkedTime() {
+        // Arrange
+        DailySummary existing = new DailySummary();
+        existing.setWorkingSeconds(4 * 3600);
+        when(timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, DAY))
+                .thenReturn(Collections.emptyList());
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.of(existing));
+
+        // Act
+        dailySummaryRollup.rebuild(employee, DAY);
+
+        // Assert
+        verify(timeAccountLedger).post(TimeAccountLedger.Posting.worked(EMPLOYEE_ID, DAY, -4 * 3600));
+    }
+
+    @Test
+    void rebuild_withRecords_storesReplayedState() {
+        // Arrange
+        when(timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, DAY))
+                .thenReturn(List.of(record(TimeRecord.RecordType.CLOCK_IN, 9)));
+        when(dailySummaryRepository.findByEmployee_IdAndSummaryDate(EMPLOYEE_ID, DAY)).thenReturn(Optional.empty());
+        when(dailySummaryRepository.save(any(DailySummary.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        EmployeeDayState state = dailySummaryRollup.rebuild(employee, DAY);
+
+        // Assert
+        ArgumentCaptor<DailySummary> saved = ArgumentCaptor.forClass(DailySummary.class);
+        verify(dailySummaryRepository).save(saved.capture());
+        assertEquals(EmployeeDayState.Phase.WORKING, state.phase());
+        assertEquals(DailySummary.DayStatus.WORKING, saved.getValue().getStatus());
+    }
+
+}
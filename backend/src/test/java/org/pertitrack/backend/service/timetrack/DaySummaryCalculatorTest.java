@@ -0,0 +1,184 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.dto.timeTrackingDto.TodaySummaryResponse;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DaySummaryCalculatorTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 10, 1, 0, 0);
+
+    private TimeRecord record(TimeRecord.RecordType type, int hour, int minute) {
+        TimeRecord record = new TimeRecord();
+        record.setRecordType(type);
+        record.setRecordTime(DAY.withHour(hour).withMinute(minute));
+        record.setLocationType(TimeRecord.LocationType.OFFICE);
+        return record;
+    }
+
+    @Nested
+    class SummarizeTests {
+
+        @Test
+        void summarize_notStarted_reportsTargetAsMissingTime() {
+            // Act
+            TodaySummaryResponse result = DaySummaryCalculator.summarize(
+                    EmployeeDayState.empty(), DAY.withHour(10), Duration.ofHours(8));
+
+            // Assert
+            assertEquals("Not Started", result.status());
+            assertNull(result.arrivalTime());
+            assertNull(result.departureTime());
+            assertEquals("00:00", result.breakTime());
+            assertEquals("00:00", result.workingTime());
+            assertEquals("-08:00", result.flexTime());
+            assertFalse(result.isWorking());
+        }
+
+        @Test
+        void summarize_fullDay_reportsTimesAndFlexTime() {
+            // Arrange
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0),
+                    record(TimeRecord.RecordType.BREAK_END, 12, 30),
+                    record(TimeRecord.RecordType.CLOCK_OUT, 17, 0)));
+
+            // Act
+            TodaySummaryResponse result = DaySummaryCalculator.summarize(state, DAY.withHour(20), Duration.ofHours(8));
+
+            // Assert
+            assertEquals("Finished", result.status());
+            assertEquals("09:00", result.arrivalTime());
+            assertEquals("17:00", result.departureTime());
+            assertEquals("00:30", result.breakTime());
+            assertEquals("+07:30", result.workingTime());
+            assertEquals("-00:30", result.flexTime());
+        }
+
+        @Test
+        void summarize_runningBreak_isCountedUpToNow() {
+            // Arrange
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0)));
+
+            // Act
+            TodaySummaryResponse result = DaySummaryCalculator.summarize(
+                    state, DAY.withHour(12).withMinute(20), Duration.ofHours(8));
+
+            // Assert
+            assertEquals("Break", result.status());
+            assertTrue(result.isOnBreak());
+            assertEquals("00:20", result.breakTime());
+            assertEquals("+03:00", result.workingTime());
+        }
+
+        @Test
+        void summarize_runningWork_isWorking() {
+            // Arrange
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 7, 0)));
+
+            // Act
+            TodaySummaryResponse result = DaySummaryCalculator.summarize(
+                    state, DAY.withHour(16).withMinute(15), Duration.ofHours(8));
+
+            // Assert
+            assertEquals("Working", result.status());
+            assertTrue(result.isWorking());
+            assertEquals("+01:15", result.flexTime());
+        }
+    }
+
+    @Nested
+    class FormatDurationTests {
+
+        @Test
+        void formatDurationNoSeconds_withZeroDuration_returnsZeroTime() {
+            // Act
+            String result = DaySummaryCalculator.formatDurationNoSeconds(Duration.ZERO);
+
+            // Assert
+            assertEquals("00:00", result);
+        }
+
+        @Test
+        void formatDurationNoSeconds_withOneHour_returnsCorrectFormat() {
+            // Act
+            String result = DaySummaryCalculator.formatDurationNoSeconds(Duration.ofHours(1));
+
+            // Assert
+            assertEquals("01:00", result);
+        }
+
+        @Test
+        void formatDurationNoSeconds_withHoursAndMinutes_returnsCorrectFormat() {
+            // Act
+            String result = DaySummaryCalculator.formatDurationNoSeconds(Duration.ofHours(8).plusMinutes(30));
+
+            // Assert
+            assertEquals("08:30", result);
+        }
+
+        @Test
+        void formatDurationNoSeconds_withMoreThan24Hours_formatsCorrectly() {
+            // Act
+            String result = DaySummaryCalculator.formatDurationNoSeconds(Duration.ofHours(25).plusMinutes(15));
+
+            // Assert
+            assertEquals("25:15", result);
+        }
+    }
+
+    @Nested
+    class FormatFlexTimeTests {
+
+        @Test
+        void formatFlexTimeNoSeconds_withZeroDuration_returnsPositiveZero() {
+            // Act
+            String result = DaySummaryCalculator.formatFlexTimeNoSeconds(Duration.ZERO);
+
+            // Assert
+            assertEquals("+00:00", result);
+        }
+
+        @Test
+        void formatFlexTimeNoSeconds_withPositiveDuration_returnsWithPlusSign() {
+            // Act
+            String result = DaySummaryCalculator.formatFlexTimeNoSeconds(Duration.ofHours(2).plusMinutes(30));
+
+            // Assert
+            assertEquals("+02:30", result);
+        }
+
+        @Test
+        void formatFlexTimeNoSeconds_withNegativeDuration_returnsWithMinusSign() {
+            // Act
+            String result = DaySummaryCalculator.formatFlexTimeNoSeconds(Duration.ofHours(-3).minusMinutes(15));
+
+            // Assert
+            assertEquals("-03:15", result);
+        }
+
+        @Test
+        void formatFlexTimeNoSeconds_withNegativeOneHour_returnsCorrectFormat() {
+            // Act
+            String result = DaySummaryCalculator.formatFlexTimeNoSeconds(Duration.ofHours(-1));
+
+            // Assert
+            assertEquals("-01:00", result);
+        }
+    }
+
+}
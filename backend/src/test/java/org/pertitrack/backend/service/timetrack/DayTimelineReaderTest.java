@@ -0,0 +1,121 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import(DayTimelineReader.class)
+class DayTimelineReaderTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private DayTimelineReader dayTimelineReader;
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employee("EMP001");
+        Employee other = employee("EMP002");
+
+        // persisted out of order, read back in time order
+        record(employee, DAY.atTime(12, 0, 5, 123_456_000), TimeRecord.RecordType.BREAK_START,
+                TimeRecord.LocationType.HOME);
+        record(employee, DAY.atTime(8, 0), TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.HOME);
+        record(employee, DAY.atTime(12, 30), TimeRecord.RecordType.BREAK_END, TimeRecord.LocationType.HOME);
+        record(employee, DAY.atTime(17, 0, 0, 999_999_000), TimeRecord.RecordType.CLOCK_OUT, null);
+        record(employee, DAY.plusDays(1).atTime(8, 0), TimeRecord.RecordType.CLOCK_IN,
+                TimeRecord.LocationType.OFFICE);
+        record(other, DAY.atTime(9, 0), TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        entityManager.flush();
+    }
+
+    private Employee employee(String number) {
+        Employee created = new Employee();
+        created.setEmployeeNumber(number);
+        created.setFirstName("First " + number);
+        created.setLastName("Last " + number);
+        return entityManager.persist(created);
+    }
+
+    private void record(Employee owner, LocalDateTime time, TimeRecord.RecordType type,
+                        TimeRecord.LocationType location) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(owner);
+        timeRecord.setRecordDate(time.toLocalDate());
+        timeRecord.setRecordTime(time);
+        timeRecord.setRecordType(type);
+        timeRecord.setLocationType(location);
+        entityManager.persist(timeRecord);
+    }
+
+    @Test
+    void read_returnsTheEmployeeDayInTimeOrder() {
+        // Act
+        DayTimeline timeline = dayTimelineReader.read(employee.getId(), DAY);
+
+        // Assert
+        assertEquals(4, timeline.size());
+        assertEquals(TimeRecord.RecordType.CLOCK_IN, timeline.type(0));
+        assertEquals(TimeRecord.LocationType.HOME, timeline.location(0));
+        assertEquals(TimeRecord.RecordType.BREAK_START, timeline.type(1));
+        assertEquals(DayTimeline.toMicros(DAY.atTime(12, 0, 5, 123_456_000)), timeline.micros(1));
+        assertEquals(TimeRecord.RecordType.CLOCK_OUT, timeline.type(3));
+        assertNull(timeline.location(3));
+    }
+
+    @Test
+    void read_replaysToTheSameStateAsTheEntities() {
+        // Act
+        EmployeeDayState fromTimeline = EmployeeDayState.replay(dayTimelineReader.read(employee.getId(), DAY));
+
+        // Assert
+        entityManager.clear();
+        assertEquals(EmployeeDayState.replay(
+                timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, DAY)), fromTimeline);
+    }
+
+    @Test
+    void read_keepsEveryMicrosecondOfTheRecordTime() {
+        // Arrange
+        LocalDateTime lastMicrosecond = DAY.plusDays(2).atTime(23, 59, 59, 999_999_000);
+        record(employee, lastMicrosecond, TimeRecord.RecordType.CLOCK_IN, TimeRecord.LocationType.OFFICE);
+        entityManager.flush();
+
+        // Act
+        DayTimeline timeline = dayTimelineReader.read(employee.getId(), lastMicrosecond.toLocalDate());
+
+        // Assert
+        assertEquals(DayTimeline.toMicros(lastMicrosecond), timeline.micros(0));
+    }
+
+    @Test
+    void read_withoutRecords_isEmpty() {
+        // Act & Assert
+        assertTrue(dayTimelineReader.read(employee.getId(), DAY.minusDays(1)).isEmpty());
+    }
+
+}
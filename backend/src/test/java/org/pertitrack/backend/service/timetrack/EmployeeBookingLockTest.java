@@ -0,0 +1,194 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.exceptions.BookingConflictException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeBookingLockTest {
+
+    // "emp-1" and "emp-2" hash to neighbouring stripes
+    private static final String EMPLOYEE = "emp-1";
+    private static final String OTHER_EMPLOYEE = "emp-2";
+
+    private EmployeeBookingLock bookingLock;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        bookingLock = new EmployeeBookingLock(256, Duration.ofMillis(100), false);
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete();
+        }
+        executor.shutdownNow();
+    }
+
+    // Stand-in for a transaction: synchronizations are registered on begin and
+    // run on completion, on the calling thread
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private <T> Future<T> inOtherTransaction(Supplier<T> action) {
+        return executor.submit(() -> {
+            begin();
+            try {
+                return action.get();
+            } finally {
+                complete();
+            }
+        });
+    }
+
+    @Test
+    void lock_withoutTransaction_throws() {
+        assertThrows(IllegalStateException.class, () -> bookingLock.lock(EMPLOYEE));
+    }
+
+    @Test
+    void lock_isHeldUntilTransactionCompletes() {
+        // Arrange
+        begin();
+
+        // Act
+        bookingLock.lock(EMPLOYEE);
+
+        // Assert
+        assertTrue(bookingLock.isHeldByCurrentThread(EMPLOYEE));
+        complete();
+        assertFalse(bookingLock.isHeldByCurrentThread(EMPLOYEE));
+    }
+
+    @Test
+    void lock_sameEmployeeInOtherTransaction_timesOutWithConflict() throws Exception {
+        // Arrange
+        begin();
+        bookingLock.lock(EMPLOYEE);
+
+        // Act
+        Future<Boolean> other = inOtherTransaction(() -> {
+            bookingLock.lock(EMPLOYEE);
+            return true;
+        });
+
+        // Assert
+        Exception e = assertThrows(Exception.class, () -> other.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof BookingConflictException);
+    }
+
+    @Test
+    void lock_sameEmployee_secondBookingWaitsForFirstToComplete() throws Exception {
+        // Arrange
+        bookingLock = new EmployeeBookingLock(256, Duration.ofSeconds(5), false);
+        begin();
+        bookingLock.lock(EMPLOYEE);
+        CountDownLatch started = new CountDownLatch(1);
+
+        // Act
+        Future<Long> other = inOtherTransaction(() -> {
+            started.countDown();
+            bookingLock.lock(EMPLOYEE);
+            return System.nanoTime();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertFalse(other.isDone());
+        long released = System.nanoTime();
+        complete();
+
+        // Assert
+        assertTrue(other.get(5, TimeUnit.SECONDS) >= released);
+    }
+
+    @Test
+    void lock_otherEmployee_doesNotWait() throws Exception {
+        // Arrange
+        begin();
+        bookingLock.lock(EMPLOYEE);
+
+        // Act
+        Future<Boolean> other = inOtherTransaction(() -> {
+            bookingLock.lock(OTHER_EMPLOYEE);
+            return bookingLock.isHeldByCurrentThread(OTHER_EMPLOYEE);
+        });
+
+        // Assert
+        assertTrue(other.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void lock_isReentrantWithinTransaction() {
+        // Arrange
+        begin();
+        bookingLock.lock(EMPLOYEE);
+
+        // Act
+        bookingLock.lock(EMPLOYEE);
+        complete();
+
+        // Assert: every acquisition is released on completion
+        assertFalse(bookingLock.isHeldByCurrentThread(EMPLOYEE));
+    }
+
+    @Test
+    void lockAll_overlappingSetsInOppositeOrder_doNotDeadlock() {
+        // Arrange
+        bookingLock = new EmployeeBookingLock(256, Duration.ofSeconds(5), false);
+        List<String> forward = List.of(EMPLOYEE, OTHER_EMPLOYEE);
+        List<String> backward = List.of(OTHER_EMPLOYEE, EMPLOYEE);
+
+        // Act
+        List<CompletableFuture<Integer>> runs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            List<String> ids = i % 2 == 0 ? forward : backward;
+            runs.add(CompletableFuture.supplyAsync(() -> {
+                begin();
+                try {
+                    bookingLock.lockAll(ids);
+                    return 1;
+                } finally {
+                    complete();
+                }
+            }, executor));
+        }
+
+        // Assert
+        assertEquals(200, runs.stream().mapToInt(CompletableFuture::join).sum());
+    }
+
+    @Test
+    void constructor_rejectsNonPositiveStripes() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmployeeBookingLock(0, Duration.ofSeconds(1), false));
+    }
+
+}
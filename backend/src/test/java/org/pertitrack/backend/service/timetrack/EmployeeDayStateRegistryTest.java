@@ -0,0 +1,187 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeDayStateRegistryTest {
+
+    private static final String EMPLOYEE_ID = "emp-1";
+    private static final LocalDate TODAY = LocalDate.of(2024, 10, 1);
+
+    private EmployeeDayStateRegistry registry;
+    private Employee employee;
+    private List<TimeRecord> table;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new EmployeeDayStateRegistry();
+        employee = new Employee();
+        ReflectionTestUtils.setField(employee, "id", EMPLOYEE_ID);
+        table = new ArrayList<>();
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<EmployeeDayState> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return EmployeeDayState.replay(table);
+        };
+    }
+
+    private TimeRecord record(TimeRecord.RecordType type, LocalDate date, int hour) {
+        TimeRecord record = new TimeRecord();
+        record.setEmployee(employee);
+        record.setRecordDate(date);
+        record.setRecordType(type);
+        record.setRecordTime(date.atTime(hour, 0));
+        return record;
+    }
+
+    @Test
+    void get_loadsOnceAndServesFromCache() {
+        // Act
+        EmployeeDayState first = registry.get(EMPLOYEE_ID, TODAY, loader());
+        EmployeeDayState second = registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void recordAppended_advancesCachedStateWithoutReload() {
+        // Arrange
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+        TimeRecord clockIn = record(TimeRecord.RecordType.CLOCK_IN, TODAY, 9);
+        table.add(clockIn);
+
+        // Act
+        registry.recordAppended(clockIn);
+        EmployeeDayState state = registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertEquals(EmployeeDayState.Phase.WORKING, state.phase());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void recordAppended_outOfOrderRecord_dropsEntryAndReplays() {
+        // Arrange
+        TimeRecord clockOut = record(TimeRecord.RecordType.CLOCK_OUT, TODAY, 17);
+        table.add(clockOut);
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+        TimeRecord lateClockIn = record(TimeRecord.RecordType.CLOCK_IN, TODAY, 9);
+        table.add(0, lateClockIn);
+
+        // Act
+        registry.recordAppended(lateClockIn);
+        EmployeeDayState state = registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertEquals(EmployeeDayState.Phase.FINISHED, state.phase());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_forcesReplayFromTable() {
+        // Arrange
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+        table.add(record(TimeRecord.RecordType.CLOCK_IN, TODAY, 9));
+
+        // Act
+        registry.invalidate(EMPLOYEE_ID, TODAY);
+        EmployeeDayState state = registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertEquals(EmployeeDayState.Phase.WORKING, state.phase());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_newDay_dropsEntriesOfPreviousDays() {
+        // Arrange
+        registry.get(EMPLOYEE_ID, TODAY.minusDays(1), loader());
+        registry.get("emp-2", TODAY.minusDays(1), loader());
+
+        // Act
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void changeListener_isNotifiedAfterCommitOnly() {
+        // Arrange
+        List<String> changes = new ArrayList<>();
+        registry.addChangeListener((employeeId, date) -> changes.add(employeeId + "@" + date));
+        TimeRecord clockIn = record(TimeRecord.RecordType.CLOCK_IN, TODAY, 9);
+        TransactionSynchronizationManager.initSynchronization();
+        List<TransactionSynchronization> synchronizations;
+        try {
+            // Act
+            registry.recordAppended(clockIn);
+            registry.invalidate("emp-2", TODAY);
+            assertTrue(changes.isEmpty());
+            synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(List.of(EMPLOYEE_ID + "@" + TODAY, "emp-2@" + TODAY), changes);
+    }
+
+    @Test
+    void remoteInvalidation_evictsEntryAndNotifiesListeners() {
+        // Arrange
+        CacheInvalidationBus bus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+        registry = new EmployeeDayStateRegistry(bus);
+        List<String> changes = new ArrayList<>();
+        registry.addChangeListener((employeeId, date) -> changes.add(employeeId + "@" + date));
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Act
+        bus.deliver("other-node\nDAY|" + EMPLOYEE_ID + "|" + TODAY);
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(List.of(EMPLOYEE_ID + "@" + TODAY), changes);
+    }
+
+    @Test
+    void remoteResync_dropsAllEntries() {
+        // Arrange
+        CacheInvalidationBus bus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+        registry = new EmployeeDayStateRegistry(bus);
+        registry.get(EMPLOYEE_ID, TODAY, loader());
+        registry.get("emp-2", TODAY, loader());
+
+        // Act
+        bus.resync();
+
+        // Assert
+        assertEquals(0, registry.size());
+    }
+
+}
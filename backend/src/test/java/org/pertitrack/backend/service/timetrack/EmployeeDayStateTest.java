@@ -0,0 +1,280 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeDayStateTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 10, 1, 0, 0);
+
+    private TimeRecord record(TimeRecord.RecordType type, int hour, int minute) {
+        TimeRecord record = new TimeRecord();
+        record.setRecordType(type);
+        record.setRecordTime(DAY.withHour(hour).withMinute(minute));
+        record.setLocationType(TimeRecord.LocationType.OFFICE);
+        return record;
+    }
+
+    @Nested
+    class PhaseTests {
+
+        @Test
+        void empty_isNotStarted() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(Collections.emptyList());
+
+            // Assert
+            assertSame(EmployeeDayState.empty(), state);
+            assertEquals(EmployeeDayState.Phase.NOT_STARTED, state.phase());
+            assertTrue(state.canClockIn());
+            assertFalse(state.canClockOut());
+            assertFalse(state.canStartBreak());
+            assertFalse(state.canEndBreak());
+        }
+
+        @Test
+        void clockIn_isWorking() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.empty()
+                    .apply(record(TimeRecord.RecordType.CLOCK_IN, 9, 0));
+
+            // Assert
+            assertEquals(EmployeeDayState.Phase.WORKING, state.phase());
+            assertTrue(state.isWorking());
+            assertFalse(state.canClockIn());
+            assertTrue(state.canStartBreak());
+            assertTrue(state.canClockOut());
+        }
+
+        @Test
+        void breakStart_isOnBreak() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0)));
+
+            // Assert
+            assertEquals(EmployeeDayState.Phase.BREAK, state.phase());
+            assertTrue(state.isOnBreak());
+            assertTrue(state.canEndBreak());
+            assertFalse(state.canStartBreak());
+            assertTrue(state.canClockOut());
+        }
+
+        @Test
+        void breakEnd_isWorkingAgain() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0),
+                    record(TimeRecord.RecordType.BREAK_END, 12, 30)));
+
+            // Assert
+            assertEquals(EmployeeDayState.Phase.WORKING, state.phase());
+        }
+
+        @Test
+        void clockOut_isFinished() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.CLOCK_OUT, 17, 0)));
+
+            // Assert
+            assertEquals(EmployeeDayState.Phase.FINISHED, state.phase());
+            assertTrue(state.canClockIn());
+            assertFalse(state.canClockOut());
+        }
+    }
+
+    @Nested
+    class TransitionTests {
+
+        @Test
+        void notStarted_allowsOnlyClockIn() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.empty();
+
+            // Assert
+            assertTrue(state.allows(TimeRecord.RecordType.CLOCK_IN));
+            assertFalse(state.allows(TimeRecord.RecordType.CLOCK_OUT));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_START));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_END));
+        }
+
+        @Test
+        void working_allowsBreakStartAndClockOut() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0)));
+
+            // Assert
+            assertFalse(state.allows(TimeRecord.RecordType.CLOCK_IN));
+            assertTrue(state.allows(TimeRecord.RecordType.CLOCK_OUT));
+            assertTrue(state.allows(TimeRecord.RecordType.BREAK_START));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_END));
+        }
+
+        @Test
+        void onBreak_allowsBreakEndAndClockOut() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0)));
+
+            // Assert
+            assertFalse(state.allows(TimeRecord.RecordType.CLOCK_IN));
+            assertTrue(state.allows(TimeRecord.RecordType.CLOCK_OUT));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_START));
+            assertTrue(state.allows(TimeRecord.RecordType.BREAK_END));
+        }
+
+        @Test
+        void afterBreakEnd_allowsAnotherBreak() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0),
+                    record(TimeRecord.RecordType.BREAK_END, 12, 30)));
+
+            // Assert
+            assertTrue(state.allows(TimeRecord.RecordType.BREAK_START));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_END));
+        }
+
+        @Test
+        void finished_allowsOnlyClockIn() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.CLOCK_OUT, 17, 0)));
+
+            // Assert
+            assertTrue(state.allows(TimeRecord.RecordType.CLOCK_IN));
+            assertFalse(state.allows(TimeRecord.RecordType.CLOCK_OUT));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_START));
+            assertFalse(state.allows(TimeRecord.RecordType.BREAK_END));
+        }
+    }
+
+    @Nested
+    class TotalsTests {
+
+        @Test
+        void fullDay_accumulatesClosedSessions() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0),
+                    record(TimeRecord.RecordType.BREAK_END, 12, 30),
+                    record(TimeRecord.RecordType.CLOCK_OUT, 17, 0)));
+
+            // Assert
+            LocalDateTime later = DAY.withHour(20);
+            assertEquals(Duration.ofMinutes(7 * 60 + 30), state.workingTimeAt(later));
+            assertEquals(Duration.ofMinutes(30), state.breakTimeAt(later));
+            assertEquals(LocalTime.of(9, 0), state.arrivalTime());
+            assertEquals(LocalTime.of(17, 0), state.departureTime());
+            assertEquals(4, state.recordCount());
+        }
+
+        @Test
+        void openSession_isCountedUpToNow() {
+            // Arrange
+            EmployeeDayState state = EmployeeDayState.replay(List.of(
+                    record(TimeRecord.RecordType.CLOCK_IN, 9, 0),
+                    record(TimeRecord.RecordType.BREAK_START, 12, 0)));
+
+            // Act
+            LocalDateTime now = DAY.withHour(12).withMinute(15);
+
+            // Assert
+            assertEquals(Duration.ofHours(3), state.workingTimeAt(now));
+            assertEquals(Duration.ofMinutes(15), state.breakTimeAt(now));
+            assertNull(state.departureTime());
+        }
+
+        @Test
+        void apply_doesNotModifyPreviousState() {
+            // Arrange
+            EmployeeDayState working = EmployeeDayState.empty()
+                    .apply(record(TimeRecord.RecordType.CLOCK_IN, 9, 0));
+
+            // Act
+            EmployeeDayState finished = working.apply(record(TimeRecord.RecordType.CLOCK_OUT, 10, 0));
+
+            // Assert
+            assertEquals(EmployeeDayState.Phase.WORKING, working.phase());
+            assertEquals(EmployeeDayState.Phase.FINISHED, finished.phase());
+        }
+
+        @Test
+        void acceptsAppendAt_rejectsRecordsBeforeLastRecord() {
+            // Arrange
+            EmployeeDayState state = EmployeeDayState.empty()
+                    .apply(record(TimeRecord.RecordType.CLOCK_IN, 9, 0));
+
+            // Assert
+            assertTrue(state.acceptsAppendAt(DAY.withHour(9)));
+            assertTrue(state.acceptsAppendAt(DAY.withHour(10)));
+            assertFalse(state.acceptsAppendAt(DAY.withHour(8)));
+        }
+    }
+
+
+    @Nested
+    class TimelineReplayTests {
+
+        @Test
+        void replayTimeline_withoutRecords_isEmpty() {
+            // Act
+            EmployeeDayState state = EmployeeDayState.replay(new DayTimeline());
+
+            // Assert
+            assertSame(EmployeeDayState.empty(), state);
+        }
+
+        @Test
+        void replay_matchesRecordsAppliedOneByOne() {
+            // Arrange
+            TimeRecord lateClockOut = record(TimeRecord.RecordType.CLOCK_OUT, 18, 5);
+            lateClockOut.setRecordTime(lateClockOut.getRecordTime().plusNanos(250_000_000));
+            lateClockOut.setLocationType(null);
+            List<List<TimeRecord>> days = List.of(
+                    List.of(record(TimeRecord.RecordType.CLOCK_IN, 9, 0)),
+                    List.of(record(TimeRecord.RecordType.CLOCK_IN, 8, 30),
+                            record(TimeRecord.RecordType.BREAK_START, 12, 0)),
+                    List.of(record(TimeRecord.RecordType.CLOCK_IN, 8, 0),
+                            record(TimeRecord.RecordType.BREAK_START, 12, 0),
+                            record(TimeRecord.RecordType.BREAK_END, 12, 45),
+                            record(TimeRecord.RecordType.CLOCK_OUT, 16, 0),
+                            record(TimeRecord.RecordType.CLOCK_IN, 17, 0),
+                            lateClockOut));
+
+            for (List<TimeRecord> day : days) {
+                // Act
+                EmployeeDayState applied = EmployeeDayState.empty();
+                for (TimeRecord record : day) {
+                    applied = applied.apply(record);
+                }
+
+                // Assert
+                assertEquals(applied, EmployeeDayState.replay(day));
+            }
+        }
+    }
+
+}
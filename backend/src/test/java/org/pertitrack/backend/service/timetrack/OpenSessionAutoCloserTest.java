@@ -0,0 +1,270 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeAccountRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import({OpenSessionAutoCloser.class, DailySummaryRollup.class, TimeAccountLedger.class,
+        EmployeeDayStateRegistry.class, CacheInvalidationBus.class})
+class OpenSessionAutoCloserTest {
+
+    // A Monday
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate TODAY = DAY.plusDays(1);
+
+    @Autowired
+    private OpenSessionAutoCloser autoCloser;
+
+    @Autowired
+    private DailySummaryRollup dailySummaryRollup;
+
+    @Autowired
+    private EmployeeDayStateRegistry dayStateRegistry;
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private TimeAccountRepository timeAccountRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee working;
+    private Employee onBreak;
+    private Employee lateShift;
+    private Employee finished;
+    private Employee workingToday;
+
+    @BeforeEach
+    void setUp() {
+        working = employee("EMP001");
+        schedule(working, LocalTime.of(17, 0));
+        book(working, DAY, 8, 0, TimeRecord.RecordType.CLOCK_IN);
+
+        onBreak = employee("EMP002");
+        book(onBreak, DAY, 8, 0, TimeRecord.RecordType.CLOCK_IN);
+        book(onBreak, DAY, 12, 0, TimeRecord.RecordType.BREAK_START);
+
+        lateShift = employee("EMP003");
+        schedule(lateShift, LocalTime.of(17, 0));
+        book(lateShift, DAY, 18, 30, TimeRecord.RecordType.CLOCK_IN);
+
+        finished = employee("EMP004");
+        book(finished, DAY, 8, 0, TimeRecord.RecordType.CLOCK_IN);
+        book(finished, DAY, 16, 0, TimeRecord.RecordType.CLOCK_OUT);
+
+        workingToday = employee("EMP005");
+        book(workingToday, TODAY, 7, 0, TimeRecord.RecordType.CLOCK_IN);
+
+        for (Employee employee : List.of(working, onBreak, lateShift, finished)) {
+            dailySummaryRollup.rebuild(employee, DAY);
+        }
+        dailySummaryRollup.rebuild(workingToday, TODAY);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private Employee employee(String number) {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber(number);
+        employee.setFirstName("First " + number);
+        employee.setLastName("Last " + number);
+        return entityManager.persist(employee);
+    }
+
+    private void schedule(Employee employee, LocalTime endTime) {
+        WorkSchedule schedule = new WorkSchedule();
+        schedule.setEmployee(employee);
+        schedule.setDayOfWeek(DAY.getDayOfWeek().getValue());
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(endTime);
+        schedule.setEffectiveFrom(DAY.minusMonths(1));
+        schedule.setEffectiveUntil(DAY.plusMonths(1));
+        entityManager.persist(schedule);
+    }
+
+    private void book(Employee employee, LocalDate date, int hour, int minute, TimeRecord.RecordType type) {
+        TimeRecord timeRecord = new TimeRecord();
+        timeRecord.setEmployee(employee);
+        timeRecord.setRecordDate(date);
+        timeRecord.setRecordTime(date.atTime(hour, minute));
+        timeRecord.setRecordType(type);
+        timeRecord.setLocationType(TimeRecord.LocationType.HOME);
+        entityManager.persist(timeRecord);
+    }
+
+    private List<TimeRecord> records(Employee employee, LocalDate date) {
+        return timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, date);
+    }
+
+    private DailySummary summary(Employee employee, LocalDate date) {
+        return dailySummaryRepository.findByEmployee_IdAndSummaryDate(employee.getId(), date).orElseThrow();
+    }
+
+    @Test
+    void closeOpenSessionsBefore_clocksOutAtScheduledEnd() {
+        // Act
+        int closed = autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(3, closed);
+        TimeRecord clockOut = records(working, DAY).getLast();
+        assertEquals(TimeRecord.RecordType.CLOCK_OUT, clockOut.getRecordType());
+        assertEquals(DAY.atTime(17, 0), clockOut.getRecordTime());
+        assertEquals(TimeRecord.LocationType.HOME, clockOut.getLocationType());
+        assertTrue(clockOut.getIsAutoClosed());
+        assertFalse(clockOut.getIsManual());
+        assertEquals(OpenSessionAutoCloser.AUTO_CLOSE_NOTE, clockOut.getNotes());
+
+        DailySummary summary = summary(working, DAY);
+        assertEquals(DailySummary.DayStatus.FINISHED, summary.getStatus());
+        assertEquals(9 * 3600, summary.getWorkingSeconds());
+        assertEquals(LocalTime.of(17, 0), summary.getDepartureTime());
+        assertNull(summary.getSessionStart());
+        assertEquals(2, summary.getRecordCount());
+    }
+
+    @Test
+    void closeOpenSessionsBefore_withoutScheduleOrAfterIt_clocksOutAtLastRecord() {
+        // Act
+        autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert: the open break ends with the day, no time is added
+        assertEquals(DAY.atTime(12, 0), records(onBreak, DAY).getLast().getRecordTime());
+        DailySummary breakSummary = summary(onBreak, DAY);
+        assertEquals(4 * 3600, breakSummary.getWorkingSeconds());
+        assertEquals(0, breakSummary.getBreakSeconds());
+        assertEquals(DailySummary.DayStatus.FINISHED, breakSummary.getStatus());
+
+        // clocked in after the scheduled end
+        assertEquals(DAY.atTime(18, 30), records(lateShift, DAY).getLast().getRecordTime());
+        assertEquals(0, summary(lateShift, DAY).getWorkingSeconds());
+    }
+
+    @Test
+    void closeOpenSessionsBefore_dayWithRecordsButNoSummary_isSummarizedAndClosed() {
+        // Arrange: booked without going through the rollup
+        Employee unsummarized = employee("EMP006");
+        schedule(unsummarized, LocalTime.of(16, 0));
+        book(unsummarized, DAY, 7, 0, TimeRecord.RecordType.CLOCK_IN);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        int closed = autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(4, closed);
+        TimeRecord clockOut = records(unsummarized, DAY).getLast();
+        assertEquals(TimeRecord.RecordType.CLOCK_OUT, clockOut.getRecordType());
+        assertEquals(DAY.atTime(16, 0), clockOut.getRecordTime());
+        DailySummary summary = summary(unsummarized, DAY);
+        assertEquals(DailySummary.DayStatus.FINISHED, summary.getStatus());
+        assertEquals(9 * 3600, summary.getWorkingSeconds());
+        assertEquals(EmployeeDayState.replay(records(unsummarized, DAY)), EmployeeDayState.fromSummary(summary));
+    }
+
+    @Test
+    void closeOpenSessionsBefore_summaryMatchesReplayOfRecords() {
+        // Act
+        autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert
+        for (Employee employee : List.of(working, onBreak, lateShift)) {
+            EmployeeDayState replayed = EmployeeDayState.replay(records(employee, DAY));
+            EmployeeDayState stored = EmployeeDayState.fromSummary(summary(employee, DAY));
+            assertEquals(replayed, stored);
+        }
+    }
+
+    @Test
+    void closeOpenSessionsBefore_leavesTodayAndFinishedDaysAlone() {
+        // Act
+        autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, records(workingToday, TODAY).size());
+        assertEquals(DailySummary.DayStatus.WORKING, summary(workingToday, TODAY).getStatus());
+        assertEquals(2, records(finished, DAY).size());
+    }
+
+    @Test
+    void closeOpenSessionsBefore_secondRun_closesNothing() {
+        // Arrange
+        autoCloser.closeOpenSessionsBefore(TODAY);
+
+        // Act
+        int closed = autoCloser.closeOpenSessionsBefore(TODAY);
+
+        // Assert
+        assertEquals(0, closed);
+        entityManager.clear();
+        assertEquals(2, records(working, DAY).size());
+    }
+
+    @Test
+    void closeOpenSessionsBefore_postsClosedWorkingTimeToTimeAccount() {
+        // Arrange
+        TimeAccount account = new TimeAccount();
+        account.setEmployee(working);
+        account.setTrackingStart(DAY.withDayOfMonth(1));
+        account.setTargetPostedThrough(DAY.minusDays(1));
+        entityManager.persist(account);
+        entityManager.flush();
+
+        // Act
+        autoCloser.closeOpenSessionsBefore(TODAY);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(9 * 3600, timeAccountRepository.findByEmployee_Id(working.getId()).orElseThrow()
+                .getBalanceSeconds());
+    }
+
+    @Test
+    void closeOpenSessionsBefore_dropsCachedDayStates() {
+        // Arrange
+        dayStateRegistry.get(working.getId(), DAY, EmployeeDayState::empty);
+
+        // Act
+        autoCloser.closeOpenSessionsBefore(TODAY);
+
+        // Assert
+        assertEquals(0, dayStateRegistry.size());
+    }
+
+}
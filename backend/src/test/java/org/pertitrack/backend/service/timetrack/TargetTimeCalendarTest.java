@@ -0,0 +1,167 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.pertitrack.backend.repository.AbsenceRepository;
+import org.pertitrack.backend.repository.WorkScheduleRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TargetTimeCalendarTest {
+
+    private static final String EMPLOYEE_ID = "emp-1";
+    // A Monday
+    private static final LocalDate MONDAY = LocalDate.of(2024, 3, 4);
+    private static final LocalDate SATURDAY = MONDAY.plusDays(5);
+
+    @Mock
+    private WorkScheduleRepository workScheduleRepository;
+
+    @Mock
+    private AbsenceRepository absenceRepository;
+
+    private final CacheInvalidationBus invalidationBus = new CacheInvalidationBus(null, false, "pertitrack_invalidation");
+
+    private TargetTimeCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new TargetTimeCalendar(workScheduleRepository, absenceRepository, invalidationBus, Duration.ofHours(8));
+    }
+
+    private static WorkSchedule schedule(LocalDate effectiveFrom, LocalTime start, LocalTime end, int breakMinutes) {
+        WorkSchedule schedule = new WorkSchedule();
+        schedule.setDayOfWeek(MONDAY.getDayOfWeek().getValue());
+        schedule.setStartTime(start);
+        schedule.setEndTime(end);
+        schedule.setBreakDurationMinutes(breakMinutes);
+        schedule.setEffectiveFrom(effectiveFrom);
+        schedule.setEffectiveUntil(MONDAY.plusYears(1));
+        return schedule;
+    }
+
+    private static Absence absence(LocalTime start, LocalTime end) {
+        Absence absence = new Absence();
+        absence.setStartDate(MONDAY);
+        absence.setEndDate(MONDAY);
+        absence.setStartTime(start);
+        absence.setEndTime(end);
+        return absence;
+    }
+
+    @Test
+    void target_withoutSchedule_usesDefaultOnWeekdaysOnly() {
+        // Act & Assert
+        assertEquals(Duration.ofHours(8), calendar.target(MONDAY, List.of(), List.of()));
+        assertEquals(Duration.ZERO, calendar.target(SATURDAY, List.of(), List.of()));
+    }
+
+    @Test
+    void target_withSchedule_isWorkingTimeWithoutBreak() {
+        // Arrange
+        WorkSchedule schedule = schedule(MONDAY.minusMonths(1), LocalTime.of(7, 30), LocalTime.of(16, 0), 45);
+
+        // Act & Assert
+        assertEquals(Duration.ofHours(7).plusMinutes(45), calendar.target(MONDAY, List.of(schedule), List.of()));
+    }
+
+    @Test
+    void target_nonWorkingDayOrDayWithoutRow_isZero() {
+        // Arrange
+        WorkSchedule dayOff = schedule(MONDAY.minusMonths(1), LocalTime.of(8, 0), LocalTime.of(16, 0), 0);
+        dayOff.setIsWorkingDay(false);
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, calendar.target(MONDAY, List.of(dayOff), List.of()));
+        // the schedule covers Tuesday but has no row for it
+        assertEquals(Duration.ZERO, calendar.target(MONDAY.plusDays(1),
+                List.of(schedule(MONDAY.minusMonths(1), LocalTime.of(8, 0), LocalTime.of(16, 0), 0)), List.of()));
+    }
+
+    @Test
+    void target_overlappingSchedules_latestStartedWins() {
+        // Arrange
+        WorkSchedule old = schedule(MONDAY.minusYears(1), LocalTime.of(8, 0), LocalTime.of(17, 0), 60);
+        WorkSchedule reduced = schedule(MONDAY.minusMonths(1), LocalTime.of(8, 0), LocalTime.of(12, 0), 0);
+
+        // Act & Assert
+        assertEquals(Duration.ofHours(4), calendar.target(MONDAY, List.of(old, reduced), List.of()));
+    }
+
+    @Test
+    void target_withApprovedAbsences_isReduced() {
+        // Arrange
+        WorkSchedule schedule = schedule(MONDAY.minusMonths(1), LocalTime.of(8, 0), LocalTime.of(17, 0), 60);
+
+        // Act & Assert
+        assertEquals(Duration.ZERO, calendar.target(MONDAY, List.of(schedule), List.of(absence(null, null))));
+        assertEquals(Duration.ofHours(5), calendar.target(MONDAY, List.of(schedule),
+                List.of(absence(LocalTime.of(8, 0), LocalTime.of(11, 0)))));
+        assertEquals(Duration.ZERO, calendar.target(MONDAY, List.of(schedule),
+                List.of(absence(LocalTime.of(6, 0), LocalTime.of(18, 0)))));
+    }
+
+    @Test
+    void targetFor_servesRepeatedCallsFromMemoryUntilEvicted() {
+        // Arrange
+        when(workScheduleRepository.findEffective(any(), any(), any())).thenReturn(List.of());
+        when(absenceRepository.findApproved(any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        calendar.targetFor(EMPLOYEE_ID, MONDAY);
+        Duration target = calendar.targetFor(EMPLOYEE_ID, MONDAY);
+        calendar.evict(EMPLOYEE_ID);
+        calendar.targetFor(EMPLOYEE_ID, MONDAY);
+
+        // Assert
+        assertEquals(Duration.ofHours(8), target);
+        verify(workScheduleRepository, times(2)).findEffective(List.of(EMPLOYEE_ID), MONDAY, MONDAY);
+    }
+
+    @Test
+    void targetFor_isEvictedByScheduleChangeOnAnotherNode() {
+        // Arrange
+        when(workScheduleRepository.findEffective(any(), any(), any())).thenReturn(List.of());
+        when(absenceRepository.findApproved(any(), any(), any())).thenReturn(List.of());
+        calendar.targetFor(EMPLOYEE_ID, MONDAY);
+
+        // Act
+        invalidationBus.deliver("other-node\nTARGET_TIME|" + EMPLOYEE_ID + "|");
+        calendar.targetFor(EMPLOYEE_ID, MONDAY);
+
+        // Assert
+        verify(workScheduleRepository, times(2)).findEffective(List.of(EMPLOYEE_ID), MONDAY, MONDAY);
+    }
+
+    @Test
+    void targets_coversEveryDayOfRange() {
+        // Arrange
+        when(workScheduleRepository.findEffective(List.of(EMPLOYEE_ID), MONDAY, SATURDAY)).thenReturn(List.of());
+        when(absenceRepository.findApproved(List.of(EMPLOYEE_ID), MONDAY, SATURDAY)).thenReturn(List.of());
+
+        // Act
+        Map<LocalDate, Duration> targets = calendar.targets(EMPLOYEE_ID, MONDAY, SATURDAY);
+
+        // Assert
+        assertEquals(6, targets.size());
+        assertEquals(Duration.ofHours(40), targets.values().stream().reduce(Duration.ZERO, Duration::plus));
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.Absence;
+import org.pertitrack.backend.entity.timetrack.AbsenceType;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Writes schedules and absences through JPA and checks that the cached target follows
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import({TargetTimeCalendar.class, TargetTimeChangeListener.class, CacheInvalidationBus.class})
+class TargetTimeChangeListenerTest {
+
+    // A Monday
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+
+    @Autowired
+    private TargetTimeCalendar calendar;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee employee() {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber("EMP001");
+        employee.setFirstName("First");
+        employee.setLastName("Last");
+        return entityManager.persist(employee);
+    }
+
+    @Test
+    void scheduleWrites_evictTheCachedTarget() {
+        // Arrange
+        Employee employee = employee();
+        assertEquals(Duration.ofHours(8), calendar.targetFor(employee.getId(), DAY));
+
+        WorkSchedule schedule = new WorkSchedule();
+        schedule.setEmployee(employee);
+        schedule.setDayOfWeek(DAY.getDayOfWeek().getValue());
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(LocalTime.of(14, 0));
+        schedule.setBreakDurationMinutes(0);
+        schedule.setEffectiveFrom(DAY.minusMonths(1));
+        schedule.setEffectiveUntil(DAY.plusMonths(1));
+
+        // Act & Assert
+        entityManager.persistAndFlush(schedule);
+        assertEquals(Duration.ofHours(6), calendar.targetFor(employee.getId(), DAY));
+
+        schedule.setEndTime(LocalTime.of(12, 0));
+        entityManager.flush();
+        assertEquals(Duration.ofHours(4), calendar.targetFor(employee.getId(), DAY));
+
+        entityManager.remove(schedule);
+        entityManager.flush();
+        assertEquals(Duration.ofHours(8), calendar.targetFor(employee.getId(), DAY));
+    }
+
+    @Test
+    void absenceWrites_evictTheCachedTarget() {
+        // Arrange
+        Employee employee = employee();
+        assertEquals(Duration.ofHours(8), calendar.targetFor(employee.getId(), DAY));
+
+        AbsenceType vacation = new AbsenceType();
+        vacation.setName("Vacation");
+        vacation.setCode("VAC");
+        entityManager.persist(vacation);
+
+        Absence absence = new Absence();
+        absence.setEmployee(employee);
+        absence.setAbsenceType(vacation);
+        absence.setStartDate(DAY);
+        absence.setEndDate(DAY);
+        absence.setStatus(Absence.AbsenceStatus.APPROVED);
+
+        // Act & Assert
+        entityManager.persistAndFlush(absence);
+        assertEquals(Duration.ZERO, calendar.targetFor(employee.getId(), DAY));
+    }
+
+}
@@ -0,0 +1,180 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.pertitrack.backend.entity.timetrack.TimeAccountMonth;
+import org.pertitrack.backend.entity.timetrack.WorkSchedule;
+import org.pertitrack.backend.repository.TimeAccountMonthRepository;
+import org.pertitrack.backend.repository.TimeAccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import({TimeAccountAccrual.class, TimeAccountLedger.class, TargetTimeCalendar.class, CacheInvalidationBus.class})
+class TimeAccountAccrualTest {
+
+    // A Monday; the range runs over the end of March into April
+    private static final LocalDate START = LocalDate.of(2024, 3, 25);
+    private static final LocalDate THROUGH = LocalDate.of(2024, 4, 5);
+    private static final long HOUR = 3600;
+
+    @Autowired
+    private TimeAccountAccrual accrual;
+
+    @Autowired
+    private TimeAccountRepository timeAccountRepository;
+
+    @Autowired
+    private TimeAccountMonthRepository timeAccountMonthRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee standard;
+    private Employee partTime;
+
+    @BeforeEach
+    void setUp() {
+        standard = employee("EMP001", true);
+
+        // Mondays and Tuesdays 08:00 - 13:30 with a 30 minute break, the rest of the week off
+        partTime = employee("EMP002", true);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            schedule(partTime, day, day == DayOfWeek.MONDAY || day == DayOfWeek.TUESDAY);
+        }
+
+        entityManager.flush();
+        accrual.openAccounts(START);
+    }
+
+    private Employee employee(String number, boolean active) {
+        Employee employee = new Employee();
+        employee.setEmployeeNumber(number);
+        employee.setFirstName("First " + number);
+        employee.setLastName("Last " + number);
+        employee.setIsActive(active);
+        return entityManager.persist(employee);
+    }
+
+    private void schedule(Employee employee, DayOfWeek day, boolean workingDay) {
+        WorkSchedule schedule = new WorkSchedule();
+        schedule.setEmployee(employee);
+        schedule.setDayOfWeek(day.getValue());
+        schedule.setStartTime(LocalTime.of(8, 0));
+        schedule.setEndTime(LocalTime.of(13, 30));
+        schedule.setBreakDurationMinutes(30);
+        schedule.setIsWorkingDay(workingDay);
+        schedule.setEffectiveFrom(START.minusYears(1));
+        schedule.setEffectiveUntil(START.plusYears(1));
+        entityManager.persist(schedule);
+    }
+
+    private TimeAccount account(Employee employee) {
+        return timeAccountRepository.findByEmployee_Id(employee.getId()).orElseThrow();
+    }
+
+    private List<TimeAccountMonth> months(Employee employee) {
+        return timeAccountMonthRepository.findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(
+                employee.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 1));
+    }
+
+    @Test
+    void openAccounts_opensOneAccountPerActiveEmployee() {
+        // Arrange
+        employee("EMP003", false);
+        entityManager.flush();
+
+        // Act
+        int opened = accrual.openAccounts(START.plusDays(1));
+
+        // Assert: the accounts opened in setUp are kept, the inactive employee gets none
+        assertEquals(0, opened);
+        assertEquals(2, timeAccountRepository.count());
+        TimeAccount account = account(standard);
+        assertEquals(START, account.getTrackingStart());
+        assertEquals(START.minusDays(1), account.getTargetPostedThrough());
+    }
+
+    @Test
+    void accrueThrough_postsTargetsPerMonthWithCarryOver() {
+        // Act
+        int accrued = accrual.accrueThrough(THROUGH);
+        entityManager.clear();
+
+        // Assert: without a schedule eight hours Monday to Friday
+        assertEquals(2, accrued);
+        List<TimeAccountMonth> standardMonths = months(standard);
+        assertEquals(5 * 8 * HOUR, standardMonths.get(0).getTargetSeconds());
+        assertEquals(-40 * HOUR, standardMonths.get(0).getBalanceSeconds());
+        assertEquals(-40 * HOUR, standardMonths.get(1).openingBalanceSeconds());
+        assertEquals(-80 * HOUR, standardMonths.get(1).getBalanceSeconds());
+        assertEquals(-80 * HOUR, account(standard).getBalanceSeconds());
+        assertEquals(THROUGH, account(standard).getTargetPostedThrough());
+
+        // five hours on each of the two Mondays and Tuesdays
+        List<TimeAccountMonth> partTimeMonths = months(partTime);
+        assertEquals(2 * 5 * HOUR, partTimeMonths.get(0).getTargetSeconds());
+        assertEquals(2 * 5 * HOUR, partTimeMonths.get(1).getTargetSeconds());
+        assertEquals(-20 * HOUR, account(partTime).getBalanceSeconds());
+    }
+
+    @Test
+    void accrueThrough_secondRun_postsNothing() {
+        // Arrange
+        accrual.accrueThrough(THROUGH);
+
+        // Act
+        int accrued = accrual.accrueThrough(THROUGH);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(0, accrued);
+        assertEquals(-80 * HOUR, account(standard).getBalanceSeconds());
+    }
+
+    @Test
+    void accrueThrough_missedNights_areCaughtUp() {
+        // Arrange
+        accrual.accrueThrough(START.plusDays(1));
+
+        // Act
+        accrual.accrueThrough(THROUGH);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(-80 * HOUR, account(standard).getBalanceSeconds());
+    }
+
+    @Test
+    void accrueThrough_inactiveEmployee_advancesWithoutTarget() {
+        // Arrange
+        standard.setIsActive(false);
+        entityManager.merge(standard);
+        entityManager.flush();
+
+        // Act
+        accrual.accrueThrough(THROUGH);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(THROUGH, account(standard).getTargetPostedThrough());
+        assertEquals(0, account(standard).getBalanceSeconds());
+        assertTrue(months(standard).isEmpty());
+    }
+
+}
@@ -0,0 +1,174 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeAccount;
+import org.pertitrack.backend.entity.timetrack.TimeAccountMonth;
+import org.pertitrack.backend.repository.TimeAccountMonthRepository;
+import org.pertitrack.backend.repository.TimeAccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import(TimeAccountLedger.class)
+class TimeAccountLedgerTest {
+
+    private static final LocalDate TRACKING_START = LocalDate.of(2024, 1, 1);
+    private static final long HOUR = 3600;
+
+    @Autowired
+    private TimeAccountLedger ledger;
+
+    @Autowired
+    private TimeAccountRepository timeAccountRepository;
+
+    @Autowired
+    private TimeAccountMonthRepository timeAccountMonthRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        employee = employee("EMP001");
+        TimeAccount account = new TimeAccount();
+        account.setEmployee(employee);
+        account.setTrackingStart(TRACKING_START);
+        account.setTargetPostedThrough(TRACKING_START.minusDays(1));
+        account.setOpeningBalanceSeconds(2 * HOUR);
+        account.setBalanceSeconds(2 * HOUR);
+        entityManager.persist(account);
+        entityManager.flush();
+    }
+
+    private Employee employee(String number) {
+        Employee created = new Employee();
+        created.setEmployeeNumber(number);
+        created.setFirstName("First " + number);
+        created.setLastName("Last " + number);
+        return entityManager.persist(created);
+    }
+
+    private long balance() {
+        entityManager.clear();
+        return timeAccountRepository.findByEmployee_Id(employee.getId()).orElseThrow().getBalanceSeconds();
+    }
+
+    private List<TimeAccountMonth> months() {
+        entityManager.clear();
+        return timeAccountMonthRepository.findByEmployee_IdAndMonthStartBetweenOrderByMonthStartAsc(
+                employee.getId(), LocalDate.of(2000, 1, 1), LocalDate.of(2100, 1, 1));
+    }
+
+    @Test
+    void postAll_addsWorkedAndTargetTimeToAccountAndMonth() {
+        // Act
+        ledger.postAll(List.of(
+                TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 4), 9 * HOUR),
+                TimeAccountLedger.Posting.target(employee.getId(), LocalDate.of(2024, 3, 4), 8 * HOUR),
+                TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 5), 7 * HOUR)));
+
+        // Assert
+        assertEquals(2 * HOUR + 8 * HOUR, balance());
+        TimeAccountMonth march = months().getFirst();
+        assertEquals(LocalDate.of(2024, 3, 1), march.getMonthStart());
+        assertEquals(16 * HOUR, march.getWorkedSeconds());
+        assertEquals(8 * HOUR, march.getTargetSeconds());
+        assertEquals(2 * HOUR, march.openingBalanceSeconds());
+        assertEquals(10 * HOUR, march.getBalanceSeconds());
+    }
+
+    @Test
+    void post_newMonth_startsFromClosingBalanceOfMonthBefore() {
+        // Arrange
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 4), HOUR));
+
+        // Act
+        ledger.post(TimeAccountLedger.Posting.target(employee.getId(), LocalDate.of(2024, 4, 1), 8 * HOUR));
+
+        // Assert
+        List<TimeAccountMonth> months = months();
+        assertEquals(3 * HOUR, months.get(0).getBalanceSeconds());
+        assertEquals(3 * HOUR, months.get(1).openingBalanceSeconds());
+        assertEquals(-5 * HOUR, months.get(1).getBalanceSeconds());
+        assertEquals(-5 * HOUR, balance());
+    }
+
+    @Test
+    void post_intoEarlierMonth_carriesDeltaIntoLaterMonths() {
+        // Arrange
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 4, 2), HOUR));
+
+        // Act: a correction in February, a month without a row yet
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 2, 12), HOUR));
+
+        // Assert
+        List<TimeAccountMonth> months = months();
+        assertEquals(LocalDate.of(2024, 2, 1), months.get(0).getMonthStart());
+        assertEquals(2 * HOUR, months.get(0).openingBalanceSeconds());
+        assertEquals(3 * HOUR, months.get(0).getBalanceSeconds());
+        assertEquals(3 * HOUR, months.get(1).openingBalanceSeconds());
+        assertEquals(4 * HOUR, months.get(1).getBalanceSeconds());
+        assertEquals(4 * HOUR, balance());
+    }
+
+    @Test
+    void post_negativeCorrection_reducesBalance() {
+        // Arrange
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 4), 8 * HOUR));
+
+        // Act
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 4), -8 * HOUR));
+
+        // Assert
+        assertEquals(0, months().getFirst().getWorkedSeconds());
+        assertEquals(2 * HOUR, balance());
+    }
+
+    @Test
+    void post_beforeTrackingStartOrWithoutAccount_isIgnored() {
+        // Arrange
+        Employee untracked = employee("EMP002");
+        entityManager.flush();
+
+        // Act
+        ledger.postAll(List.of(
+                TimeAccountLedger.Posting.worked(employee.getId(), TRACKING_START.minusDays(1), 8 * HOUR),
+                TimeAccountLedger.Posting.worked(untracked.getId(), LocalDate.of(2024, 3, 4), 8 * HOUR)));
+
+        // Assert
+        assertEquals(2 * HOUR, balance());
+        assertTrue(months().isEmpty());
+        assertTrue(timeAccountMonthRepository.findAll().isEmpty());
+    }
+
+    @Test
+    void reset_dropsPostingsAndKeepsOpeningBalance() {
+        // Arrange
+        ledger.post(TimeAccountLedger.Posting.worked(employee.getId(), LocalDate.of(2024, 3, 4), 8 * HOUR));
+
+        // Act
+        boolean reset = ledger.reset(employee.getId());
+
+        // Assert
+        assertTrue(reset);
+        assertEquals(2 * HOUR, balance());
+        assertTrue(months().isEmpty());
+        assertFalse(ledger.reset("missing"));
+    }
+
+}
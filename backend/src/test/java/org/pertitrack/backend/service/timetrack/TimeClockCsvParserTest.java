@@ -0,0 +1,60 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeClockCsvParserTest {
+
+    @Test
+    void parse_readsBookingWithDefaultLocation() {
+        // Act
+        TimeClockCsvParser.Entry entry = TimeClockCsvParser.parse(" EMP001,2024-03-04 08:15:00,clock_in ");
+
+        // Assert
+        assertEquals("EMP001", entry.employeeNumber());
+        assertEquals(LocalDateTime.of(2024, 3, 4, 8, 15), entry.recordTime());
+        assertEquals(TimeRecord.RecordType.CLOCK_IN, entry.recordType());
+        assertEquals(TimeRecord.LocationType.OFFICE, entry.locationType());
+    }
+
+    @Test
+    void parse_acceptsSemicolonsIsoTimeAndLocation() {
+        // Act
+        TimeClockCsvParser.Entry entry = TimeClockCsvParser.parse("EMP002;2024-03-04T17:00:30;CLOCK_OUT;HOME");
+
+        // Assert
+        assertEquals(LocalDateTime.of(2024, 3, 4, 17, 0, 30), entry.recordTime());
+        assertEquals(TimeRecord.RecordType.CLOCK_OUT, entry.recordType());
+        assertEquals(TimeRecord.LocationType.HOME, entry.locationType());
+    }
+
+    @Test
+    void parse_skipsBlankCommentAndHeaderLines() {
+        assertNull(TimeClockCsvParser.parse(""));
+        assertNull(TimeClockCsvParser.parse("   "));
+        assertNull(TimeClockCsvParser.parse("# terminal 4, 2024-03-04"));
+        assertNull(TimeClockCsvParser.parse("employee_number,record_time,record_type"));
+    }
+
+    @Test
+    void parse_withInvalidFields_throwsWithReason() {
+        IllegalArgumentException fields = assertThrows(IllegalArgumentException.class,
+                () -> TimeClockCsvParser.parse("EMP001,2024-03-04 08:15"));
+        IllegalArgumentException time = assertThrows(IllegalArgumentException.class,
+                () -> TimeClockCsvParser.parse("EMP001,yesterday,CLOCK_IN"));
+        IllegalArgumentException type = assertThrows(IllegalArgumentException.class,
+                () -> TimeClockCsvParser.parse("EMP001,2024-03-04 08:15,LUNCH"));
+
+        assertTrue(fields.getMessage().contains("fields"));
+        assertTrue(time.getMessage().contains("record time"));
+        assertTrue(type.getMessage().contains("LUNCH"));
+    }
+
+}
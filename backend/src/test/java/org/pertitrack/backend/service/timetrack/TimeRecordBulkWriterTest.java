@@ -0,0 +1,80 @@
+package org.pertitrack.backend.service.timetrack;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=25"
+})
+@ActiveProfiles("test")
+@Import(TimeRecordBulkWriter.class)
+class TimeRecordBulkWriterTest {
+
+    @Autowired
+    private TimeRecordBulkWriter bulkWriter;
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertAll_persistsEveryRecordInJdbcBatches() {
+        // Arrange
+        Employee employee = new Employee();
+        employee.setEmployeeNumber("EMP-BULK");
+        employee.setFirstName("Bulk");
+        employee.setLastName("Loader");
+        entityManager.persistAndFlush(employee);
+
+        LocalDate day = LocalDate.of(2024, 3, 4);
+        List<TimeRecord> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            TimeRecord timeRecord = new TimeRecord();
+            timeRecord.setEmployee(employee);
+            timeRecord.setRecordDate(day);
+            timeRecord.setRecordTime(day.atStartOfDay().plusMinutes(i));
+            timeRecord.setRecordType(TimeRecord.RecordType.CLOCK_IN);
+            records.add(timeRecord);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        bulkWriter.insertAll(records);
+
+        // Assert
+        assertEquals(100, statistics.getEntityInsertCount());
+        // one prepared insert per JDBC batch of 25 instead of one per row
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "prepared statements: " + statistics.getPrepareStatementCount());
+        records.forEach(timeRecord -> assertNotNull(timeRecord.getId()));
+        assertEquals(100, timeRecordRepository.count());
+    }
+
+}
@@ -0,0 +1,39 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeRecordCursorTest {
+
+    @Test
+    void encode_thenDecode_returnsSamePosition() {
+        // Arrange
+        TimeRecordCursor cursor = new TimeRecordCursor(
+                LocalDateTime.of(2024, 10, 1, 9, 0, 30, 123_000_000), "tr-789-ghi-012");
+
+        // Act
+        String encoded = cursor.encode();
+
+        // Assert
+        assertFalse(encoded.contains("tr-789"));
+        assertEquals(cursor, TimeRecordCursor.decode(encoded));
+    }
+
+    @Test
+    void decode_withGarbage_throwsIllegalArgumentException() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2024-10-01T09:00".getBytes(StandardCharsets.UTF_8));
+        String badTime = Base64.getUrlEncoder().encodeToString("yesterday|tr-1".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> TimeRecordCursor.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> TimeRecordCursor.decode(noSeparator));
+        assertThrows(IllegalArgumentException.class, () -> TimeRecordCursor.decode(badTime));
+    }
+
+}
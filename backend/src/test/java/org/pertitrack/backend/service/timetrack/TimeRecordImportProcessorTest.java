@@ -0,0 +1,150 @@
+package org.pertitrack.backend.service.timetrack;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pertitrack.backend.cluster.CacheInvalidationBus;
+import org.pertitrack.backend.entity.personnel.Employee;
+import org.pertitrack.backend.entity.timetrack.DailySummary;
+import org.pertitrack.backend.entity.timetrack.TimeRecord;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImport;
+import org.pertitrack.backend.entity.timetrack.TimeRecordImportRejection;
+import org.pertitrack.backend.repository.DailySummaryRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRejectionRepository;
+import org.pertitrack.backend.repository.TimeRecordImportRepository;
+import org.pertitrack.backend.repository.TimeRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true")
+@ActiveProfiles("test")
+@Import({TimeRecordImportProcessor.class, TimeRecordBulkWriter.class, DailySummaryRollup.class,
+        TimeAccountLedger.class, EmployeeDayStateRegistry.class, CacheInvalidationBus.class, EmployeeBookingLock.class})
+class TimeRecordImportProcessorTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 4);
+    private static final String NODE = "node-1";
+
+    @Autowired
+    private TimeRecordImportProcessor processor;
+
+    @Autowired
+    private TimeRecordImportRepository importRepository;
+
+    @Autowired
+    private TimeRecordImportRejectionRepository rejectionRepository;
+
+    @Autowired
+    private TimeRecordRepository timeRecordRepository;
+
+    @Autowired
+    private DailySummaryRepository dailySummaryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Employee employee;
+    private String importId;
+
+    @BeforeEach
+    void setUp() {
+        employee = new Employee();
+        employee.setEmployeeNumber("EMP001");
+        employee.setFirstName("Terminal");
+        employee.setLastName("User");
+        entityManager.persist(employee);
+
+        TimeRecord existing = new TimeRecord();
+        existing.setEmployee(employee);
+        existing.setRecordDate(DAY);
+        existing.setRecordTime(DAY.atTime(8, 0));
+        existing.setRecordType(TimeRecord.RecordType.CLOCK_IN);
+        entityManager.persist(existing);
+
+        TimeRecordImport timeRecordImport = new TimeRecordImport();
+        timeRecordImport.setFileName("terminal.csv");
+        timeRecordImport.setUploadId("upload-1");
+        timeRecordImport.setOwnerNode(NODE);
+        importId = entityManager.persist(timeRecordImport).getId();
+        entityManager.flush();
+    }
+
+    @Test
+    void processChunk_insertsValidBookingsSkipsDuplicatesAndRejectsInvalidLines() {
+        // Arrange
+        List<TimeRecordImportProcessor.Line> lines = List.of(
+                new TimeRecordImportProcessor.Line(1, "employee_number,record_time,record_type"),
+                new TimeRecordImportProcessor.Line(2, "EMP001,2024-03-04 08:00:00,CLOCK_IN"),
+                new TimeRecordImportProcessor.Line(3, "EMP001,2024-03-04 08:30:00,CLOCK_IN"),
+                new TimeRecordImportProcessor.Line(4, "EMP001,2024-03-04 12:00:00,BREAK_START"),
+                new TimeRecordImportProcessor.Line(5, "EMP001,2024-03-04 11:00:00,BREAK_END"),
+                new TimeRecordImportProcessor.Line(6, "EMP001,2024-03-04 12:30:00,BREAK_END"),
+                new TimeRecordImportProcessor.Line(7, "EMP999,2024-03-04 09:00:00,CLOCK_IN"),
+                new TimeRecordImportProcessor.Line(8, "EMP001,not-a-time,CLOCK_OUT"),
+                new TimeRecordImportProcessor.Line(9, "EMP001,2024-03-04 17:00:00,CLOCK_OUT"),
+                new TimeRecordImportProcessor.Line(10, "EMP001,2024-03-04 17:00:00,CLOCK_OUT"));
+
+        // Act
+        TimeRecordImport result = processor.processChunk(importId, NODE, lines);
+
+        // Assert
+        assertEquals(3, result.getCreatedCount());
+        assertEquals(2, result.getDuplicateCount());
+        assertEquals(4, result.getRejectedCount());
+        assertEquals(10, result.getProcessedLines());
+
+        List<Long> rejectedLines = rejectionRepository
+                .findByImportIdAndLineNumberGreaterThanOrderByLineNumberAsc(importId, 0, Limit.of(10))
+                .stream()
+                .map(TimeRecordImportRejection::getLineNumber)
+                .toList();
+        assertEquals(List.of(3L, 5L, 7L, 8L), rejectedLines);
+
+        List<TimeRecord> day = timeRecordRepository.findByEmployeeAndRecordDateOrderByRecordTimeAsc(employee, DAY);
+        assertEquals(4, day.size());
+        DailySummary summary = dailySummaryRepository.findByEmployee_IdAndSummaryDate(employee.getId(), DAY).orElseThrow();
+        assertEquals(DailySummary.DayStatus.FINISHED, summary.getStatus());
+        assertEquals(4, summary.getRecordCount());
+        assertEquals(30 * 60, summary.getBreakSeconds());
+        assertEquals(8 * 3600 + 30 * 60, summary.getWorkingSeconds());
+    }
+
+    @Test
+    void processChunk_nextChunkContinuesFromCommittedState() {
+        // Arrange
+        processor.processChunk(importId, NODE, List.of(
+                new TimeRecordImportProcessor.Line(1, "EMP001,2024-03-04 12:00:00,BREAK_START")));
+
+        // Act
+        TimeRecordImport result = processor.processChunk(importId, NODE, List.of(
+                new TimeRecordImportProcessor.Line(2, "EMP001,2024-03-04 12:00:00,BREAK_START"),
+                new TimeRecordImportProcessor.Line(3, "EMP001,2024-03-04 12:30:00,BREAK_END")));
+
+        // Assert
+        assertEquals(2, result.getCreatedCount());
+        assertEquals(1, result.getDuplicateCount());
+        assertEquals(0, result.getRejectedCount());
+        assertEquals(3, result.getProcessedLines());
+        assertEquals(3, importRepository.findById(importId).orElseThrow().getProcessedLines());
+    }
+
+    @Test
+    void processChunk_whenImportWasTakenOver_writesNothing() {
+        // Act & Assert
+        assertThrows(CancellationException.class, () -> processor.processChunk(importId, "node-2", List.of(
+                new TimeRecordImportProcessor.Line(1, "EMP001,2024-03-04 12:00:00,BREAK_START"))));
+        assertEquals(1, timeRecordRepository.count());
+        assertEquals(0, importRepository.findById(importId).orElseThrow().getProcessedLines());
+    }
+
+}
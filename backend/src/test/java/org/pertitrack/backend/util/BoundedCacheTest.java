@@ -0,0 +1,123 @@
+package org.pertitrack.backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoundedCacheTest {
+
+    private MutableClock clock;
+    private BoundedCache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-10-01T08:00:00Z"));
+        cache = new BoundedCache<>(2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_returnsStoredValueUntilItExpires() {
+        // Arrange
+        cache.put("a", "alpha");
+
+        // Act & Assert
+        assertEquals("alpha", cache.get("a"));
+        clock.advance(Duration.ofMinutes(5));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedEntryWhenFull() {
+        // Arrange
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+        cache.get("a");
+
+        // Act
+        cache.put("c", "gamma");
+
+        // Assert
+        assertEquals("alpha", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("gamma", cache.get("c"));
+    }
+
+    @Test
+    void put_withShorterTtl_expiresEarlier() {
+        // Arrange
+        cache.put("a", "alpha", Duration.ofSeconds(30));
+
+        // Act
+        clock.advance(Duration.ofSeconds(31));
+
+        // Assert
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void put_withElapsedTtl_isIgnored() {
+        // Act
+        cache.put("a", "alpha", Duration.ZERO);
+
+        // Assert
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void removeIf_dropsMatchingValues() {
+        // Arrange
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+
+        // Act
+        cache.removeIf(value -> value.startsWith("a"));
+
+        // Assert
+        assertNull(cache.get("a"));
+        assertEquals("beta", cache.get("b"));
+    }
+
+    @Test
+    void constructor_withNonPositiveSize_throwsException() {
+        Duration ttl = Duration.ofMinutes(1);
+        assertThrows(IllegalArgumentException.class, () -> new BoundedCache<String, String>(0, ttl));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
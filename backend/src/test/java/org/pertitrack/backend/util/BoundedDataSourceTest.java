@@ -0,0 +1,91 @@
+package org.pertitrack.backend.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    private BoundedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new BoundedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_holdsPermitUntilClosed() throws SQLException {
+        // Arrange
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertEquals(0, dataSource.availablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, dataSource.availablePermits());
+        verify(pooled, times(2)).close();
+
+        second.close();
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void getConnection_whenPoolFails_returnsPermit() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool exhausted"));
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(2, dataSource.availablePermits());
+    }
+
+    @Test
+    void connection_delegatesAndUnwrapsToPooledConnection() throws SQLException {
+        // Arrange
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        when(pooled.getAutoCommit()).thenReturn(true);
+        when(pooled.unwrap(Runnable.class)).thenThrow(new SQLException("not a wrapper"));
+
+        // Act
+        Connection connection = dataSource.getConnection();
+
+        // Assert
+        assertEquals(true, connection.getAutoCommit());
+        assertSame(connection, connection.unwrap(Connection.class));
+        assertThrows(SQLException.class, () -> connection.unwrap(Runnable.class));
+    }
+
+    @Test
+    void constructor_withoutPermits_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedDataSource(target, 0, Duration.ofSeconds(1)));
+    }
+
+}
@@ -17,8 +17,7 @@ export default function TodaysSummary() {
         // These options ensure the data is always fresh
         refetchOnMountOrArgChange: true,
         refetchOnFocus: true,
-        // Optional: poll every 180 seconds for live updates
-        pollingInterval: 180000,
+        // live updates arrive over the status stream (see statusStream.ts)
     });
 
     const breakTime = todaySummary?.breakTime || "00:00:00";
@@ -0,0 +1,128 @@
+// Shared connection to /api/timetrack/status/stream.
+// The server pushes "status" and "summary" events whenever the user's bookings change and
+// refreshes the summary periodically, so the status queries do not need to poll.
+// EventSource cannot send the bearer token, hence fetch with a small event-stream parser.
+// One connection serves every listener in the tab; it is opened with the first listener,
+// closed with the last one and re-opened with a growing delay when it drops.
+
+type StatusStreamEvent = 'status' | 'summary';
+type Listener = ( data: unknown ) => void;
+
+const STREAM_URL = '/api/timetrack/status/stream';
+const MIN_RETRY_MS = 1000;
+const MAX_RETRY_MS = 30000;
+
+const listeners = new Map<StatusStreamEvent, Set<Listener>>();
+let getToken: () => string | null | undefined = () => null;
+let controller: AbortController | null = null;
+
+const listenerCount = () =>
+    [...listeners.values()].reduce(( count, set ) => count + set.size, 0);
+
+const dispatch = ( event: string, data: string ) => {
+    const handlers = listeners.get(event as StatusStreamEvent);
+    if ( !handlers || !data ) {
+        return;
+    }
+    const payload = JSON.parse(data);
+    handlers.forEach(handler => handler(payload));
+};
+
+// Parses "event:" / "data:" lines; a blank line ends an event, ":" lines are keep-alives
+const readEvents = async ( body: ReadableStream<Uint8Array>, signal: AbortSignal ) => {
+    const reader = body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = '';
+    let event = 'message';
+    let data: string[] = [];
+
+    while ( !signal.aborted ) {
+        const { value, done } = await reader.read();
+        if ( done ) {
+            return;
+        }
+        buffer += decoder.decode(value, { stream: true });
+
+        let newline = buffer.indexOf('\n');
+        while ( newline >= 0 ) {
+            const line = buffer.slice(0, newline).replace(/\r$/, '');
+            buffer = buffer.slice(newline + 1);
+
+            if ( line === '' ) {
+                dispatch(event, data.join('\n'));
+                event = 'message';
+                data = [];
+            } else if ( line.startsWith('event:') ) {
+                event = line.slice(6).trim();
+            } else if ( line.startsWith('data:') ) {
+                data.push(line.slice(5).replace(/^ /, ''));
+            }
+            newline = buffer.indexOf('\n');
+        }
+    }
+};
+
+const connect = async ( signal: AbortSignal ) => {
+    let retryMs = MIN_RETRY_MS;
+
+    while ( !signal.aborted ) {
+        const token = getToken();
+        try {
+            const response = await fetch(STREAM_URL, {
+                headers: {
+                    accept: 'text/event-stream',
+                    ...( token ? { authorization: `Bearer ${ token }` } : {} ),
+                },
+                signal,
+            });
+            if ( response.status === 401 || response.status === 403 ) {
+                // the regular queries handle logout and redirects
+                return;
+            }
+            if ( response.ok && response.body ) {
+                retryMs = MIN_RETRY_MS;
+                await readEvents(response.body, signal);
+            }
+        } catch ( error ) {
+            if ( signal.aborted ) {
+                return;
+            }
+            console.log('Status stream interrupted, reconnecting...', error);
+        }
+
+        await new Promise(resolve => setTimeout(resolve, retryMs));
+        retryMs = Math.min(retryMs * 2, MAX_RETRY_MS);
+    }
+};
+
+// Registers a handler for one event type and returns the function that removes it
+export const listenToStatusStream = (
+    event: StatusStreamEvent,
+    listener: Listener,
+    tokenProvider: () => string | null | undefined,
+): ( () => void ) => {
+    getToken = tokenProvider;
+    if ( !listeners.has(event) ) {
+        listeners.set(event, new Set());
+    }
+    listeners.get(event)!.add(listener);
+
+    if ( !controller ) {
+        const current = new AbortController();
+        controller = current;
+        void connect(current.signal).finally(() => {
+            // allow the next listener to reconnect after the server refused the stream
+            if ( controller === current ) {
+                controller = null;
+            }
+        });
+    }
+
+    return () => {
+        listeners.get(event)?.delete(listener);
+        if ( listenerCount() === 0 && controller ) {
+            controller.abort();
+            controller = null;
+        }
+    };
+};
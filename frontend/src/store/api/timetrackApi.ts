@@ -1,4 +1,6 @@
 import { baseApi } from './baseApi';
+import { listenToStatusStream } from './statusStream';
+import type { RootState } from '../store.ts';
 import {
     timeRecordSchema,
     timeRecordListSchema,
@@ -351,6 +353,19 @@ export const timetrackApi = baseApi.injectEndpoints({
             }),
             transformResponse: (response: unknown) => currentStatusResponseSchema.parse(response),
             providesTags: ['TimeRecord', 'Dashboard'],
+            // kept current by the status stream instead of polling
+            async onCacheEntryAdded(_arg, { updateCachedData, cacheDataLoaded, cacheEntryRemoved, getState }) {
+                try {
+                    await cacheDataLoaded;
+                } catch {
+                    return;
+                }
+                const stopListening = listenToStatusStream('status',
+                    data => updateCachedData(() => currentStatusResponseSchema.parse(data)),
+                    () => (getState() as RootState).auth?.token);
+                await cacheEntryRemoved;
+                stopListening();
+            },
         }),
 
         // Update time record notes
@@ -376,6 +391,19 @@ export const timetrackApi = baseApi.injectEndpoints({
             transformResponse: (response: unknown) => todaySummaryResponseSchema.parse(response),
             providesTags: ['Dashboard', 'MyTimeRecord'],
             keepUnusedDataFor: 0,
+            // the stream also refreshes the running times every minute
+            async onCacheEntryAdded(_arg, { updateCachedData, cacheDataLoaded, cacheEntryRemoved, getState }) {
+                try {
+                    await cacheDataLoaded;
+                } catch {
+                    return;
+                }
+                const stopListening = listenToStatusStream('summary',
+                    data => updateCachedData(() => todaySummaryResponseSchema.parse(data)),
+                    () => (getState() as RootState).auth?.token);
+                await cacheEntryRemoved;
+                stopListening();
+            },
         }),
 
     }),
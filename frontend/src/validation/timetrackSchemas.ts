@@ -19,6 +19,8 @@ export const timeRecordSchema = z.object({
     locationType: locationTypeSchema,
     notes: z.string().nullable(),
     isManual: z.boolean(),
+    // CLOCK_OUT inserted by the nightly auto-close of a forgotten session
+    isAutoClosed: z.boolean().optional(),
     // Timestamps in YYYY-MM-DDTHH:mm:ss format (consistent with backend @JsonFormat)
     createdAt: z.string().regex(/^\d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}$/, 'CreatedAt must be in YYYY-MM-DDTHH:mm:ss format'),
     updatedAt: z.string().regex(/^\d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}$/, 'UpdatedAt must be in YYYY-MM-DDTHH:mm:ss format'),
@@ -129,6 +131,7 @@ export const timeRecordResponseSchema = z.object({
     locationType: locationTypeSchema,
     notes: z.string().nullable(),
     isManual: z.boolean(),
+    isAutoClosed: z.boolean().optional(),
     createdAt: z.string().regex(/^\d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}$/, 'CreatedAt must be in YYYY-MM-DDTHH:mm:ss format'),
     updatedAt: z.string().regex(/^\d{4}-\d{2}-\d{2}T\d{2}:\d{2}:\d{2}$/, 'UpdatedAt must be in YYYY-MM-DDTHH:mm:ss format'),
 });